@@ -22,6 +22,11 @@ public final class AmqpAdapterConstants {
      * is stored under in a {@code ProtonConnection}'s attachments.
      */
     public static final String KEY_CLIENT_DEVICE = "CLIENT_DEVICE";
+    /**
+     * They key that the admission of a client's connection is stored under in a
+     * {@code ProtonConnection}'s attachments.
+     */
+    public static final String KEY_CONNECTION_ADMISSION = "CONNECTION_ADMISSION";
 
     private AmqpAdapterConstants() {
         // avoid instantiation
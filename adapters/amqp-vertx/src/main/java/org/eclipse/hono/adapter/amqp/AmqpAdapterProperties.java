@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.hono.adapter.amqp;
+
+import java.util.Objects;
+
+import org.eclipse.hono.config.ProtocolAdapterProperties;
+
+/**
+ * Properties for configuring the AMQP adapter.
+ */
+public class AmqpAdapterProperties extends ProtocolAdapterProperties {
+
+    /**
+     * The default maximum size of AMQP frames (bytes).
+     */
+    public static final int DEFAULT_MAX_FRAME_SIZE = 32 * 1024; // 32 KB
+    /**
+     * The default maximum number of frames that a device may send on a session
+     * without waiting for the adapter to process them.
+     */
+    public static final int DEFAULT_MAX_SESSION_FRAMES = 100;
+    /**
+     * The default number of credits issued to devices on links for uploading messages.
+     */
+    public static final int DEFAULT_LINK_CREDITS = 30;
+    /**
+     * The minimum maximum frame size as defined by the AMQP 1.0 specification.
+     */
+    public static final int MIN_MAX_FRAME_SIZE = 512;
+
+    private int maxFrameSize = DEFAULT_MAX_FRAME_SIZE;
+    private int maxSessionFrames = DEFAULT_MAX_SESSION_FRAMES;
+    private int linkCredits = DEFAULT_LINK_CREDITS;
+    private CreditReplenishmentStrategy creditReplenishmentStrategy = CreditReplenishmentStrategy.PREFETCH;
+
+    /**
+     * Gets the maximum size of AMQP frames that the adapter accepts from devices.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_MAX_FRAME_SIZE}.
+     *
+     * @return The number of bytes.
+     */
+    public final int getMaxFrameSize() {
+        return maxFrameSize;
+    }
+
+    /**
+     * Sets the maximum size of AMQP frames that the adapter accepts from devices.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_MAX_FRAME_SIZE}.
+     *
+     * @param maxFrameSize The number of bytes.
+     * @throws IllegalArgumentException if the size is &lt; {@link #MIN_MAX_FRAME_SIZE}.
+     */
+    public final void setMaxFrameSize(final int maxFrameSize) {
+        if (maxFrameSize < MIN_MAX_FRAME_SIZE) {
+            throw new IllegalArgumentException("max frame size must be >= " + MIN_MAX_FRAME_SIZE);
+        }
+        this.maxFrameSize = maxFrameSize;
+    }
+
+    /**
+     * Gets the maximum number of frames that a device may send on a session
+     * before the adapter has processed them.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_MAX_SESSION_FRAMES}.
+     *
+     * @return The number of frames.
+     */
+    public final int getMaxSessionFrames() {
+        return maxSessionFrames;
+    }
+
+    /**
+     * Sets the maximum number of frames that a device may send on a session
+     * before the adapter has processed them.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_MAX_SESSION_FRAMES}.
+     *
+     * @param maxSessionFrames The number of frames.
+     * @throws IllegalArgumentException if the number is &lt; 1.
+     */
+    public final void setMaxSessionFrames(final int maxSessionFrames) {
+        if (maxSessionFrames < 1) {
+            throw new IllegalArgumentException("max session frames must be > 0");
+        }
+        this.maxSessionFrames = maxSessionFrames;
+    }
+
+    /**
+     * Gets the incoming capacity of sessions established with devices.
+     * <p>
+     * The capacity is the product of the maximum frame size and the
+     * maximum number of session frames.
+     *
+     * @return The number of bytes.
+     */
+    public final int getMaxSessionWindowSize() {
+        return (int) Math.min(Integer.MAX_VALUE, (long) maxFrameSize * maxSessionFrames);
+    }
+
+    /**
+     * Gets the number of credits that the adapter issues to devices on links
+     * for uploading messages.
+     * <p>
+     * This value is used for devices of tenants which do not define a link credit
+     * specific to the adapter.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_LINK_CREDITS}.
+     *
+     * @return The number of credits.
+     */
+    public final int getLinkCredits() {
+        return linkCredits;
+    }
+
+    /**
+     * Sets the number of credits that the adapter issues to devices on links
+     * for uploading messages.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_LINK_CREDITS}.
+     *
+     * @param linkCredits The number of credits.
+     * @throws IllegalArgumentException if the number is &lt; 1.
+     */
+    public final void setLinkCredits(final int linkCredits) {
+        if (linkCredits < 1) {
+            throw new IllegalArgumentException("link credits must be > 0");
+        }
+        this.linkCredits = linkCredits;
+    }
+
+    /**
+     * Gets the strategy for replenishing the credit of links for uploading messages.
+     * <p>
+     * The default value of this property is {@link CreditReplenishmentStrategy#PREFETCH}.
+     *
+     * @return The strategy.
+     */
+    public final CreditReplenishmentStrategy getCreditReplenishmentStrategy() {
+        return creditReplenishmentStrategy;
+    }
+
+    /**
+     * Sets the strategy for replenishing the credit of links for uploading messages.
+     * <p>
+     * The default value of this property is {@link CreditReplenishmentStrategy#PREFETCH}.
+     *
+     * @param strategy The strategy.
+     * @throws NullPointerException if strategy is {@code null}.
+     */
+    public final void setCreditReplenishmentStrategy(final CreditReplenishmentStrategy strategy) {
+        this.creditReplenishmentStrategy = Objects.requireNonNull(strategy);
+    }
+}
@@ -18,6 +18,7 @@ import java.security.cert.TrustAnchor;
 import java.security.cert.X509Certificate;
 import java.util.Collections;
 import java.util.Objects;
+import java.util.Optional;
 
 import javax.net.ssl.SSLPeerUnverifiedException;
 import javax.security.auth.login.CredentialException;
@@ -37,6 +38,8 @@ import org.eclipse.hono.service.auth.device.SubjectDnCredentials;
 import org.eclipse.hono.service.auth.device.UsernamePasswordAuthProvider;
 import org.eclipse.hono.service.auth.device.UsernamePasswordCredentials;
 import org.eclipse.hono.service.auth.device.X509AuthProvider;
+import org.eclipse.hono.service.limiting.ConnectionAdmissionController;
+import org.eclipse.hono.service.limiting.ConnectionAdmissionController.Admission;
 import org.eclipse.hono.util.AuthenticationConstants;
 import org.eclipse.hono.util.Constants;
 import org.eclipse.hono.util.TenantObject;
@@ -74,11 +77,14 @@ public class AmqpAdapterSaslAuthenticatorFactory implements ProtonSaslAuthentica
     private final ProtocolAdapterProperties config;
     private final HonoClient tenantServiceClient;
     private final HonoClient credentialsServiceClient;
+    private final ConnectionAdmissionController admissionController;
 
     /**
      * Creates a new SASL authenticator factory for an authentication provider. If the AMQP adapter supports
      * multi-tenancy, then the authentication identifier contained in the SASL response should have the pattern
      * {@code [<authId>@<tenantId>]}.
+     * <p>
+     * Connections are not subject to admission control.
      *
      * @param tenantServiceClient The Tenant Service client of the SASL authenticator.
      * @param credentialsServiceClient The Credentials servicec client of the SASL authenticator.
@@ -88,14 +94,37 @@ public class AmqpAdapterSaslAuthenticatorFactory implements ProtonSaslAuthentica
      */
     public AmqpAdapterSaslAuthenticatorFactory(final HonoClient tenantServiceClient, final HonoClient credentialsServiceClient,
             final ProtocolAdapterProperties config) {
+        this(tenantServiceClient, credentialsServiceClient, config, new ConnectionAdmissionController());
+    }
+
+    /**
+     * Creates a new SASL authenticator factory for an authentication provider. If the AMQP adapter supports
+     * multi-tenancy, then the authentication identifier contained in the SASL response should have the pattern
+     * {@code [<authId>@<tenantId>]}.
+     * <p>
+     * A connection is admitted before the SASL handshake starts. The admission is stored in the
+     * connection's attachments under key {@link AmqpAdapterConstants#KEY_CONNECTION_ADMISSION}.
+     * The SASL handshake fails with a temporary error if the connection cannot be admitted
+     * or if the maximum number of concurrent authentications has been reached.
+     *
+     * @param tenantServiceClient The Tenant Service client of the SASL authenticator.
+     * @param credentialsServiceClient The Credentials servicec client of the SASL authenticator.
+     * @param config The protocol adapter configuration object.
+     * @param admissionController The controller deciding if connections are accepted.
+     *
+     * @throws NullPointerException if any of the parameters is null.
+     */
+    public AmqpAdapterSaslAuthenticatorFactory(final HonoClient tenantServiceClient, final HonoClient credentialsServiceClient,
+            final ProtocolAdapterProperties config, final ConnectionAdmissionController admissionController) {
         this.tenantServiceClient = Objects.requireNonNull(tenantServiceClient, "Tenant client cannot be null");
         this.credentialsServiceClient = Objects.requireNonNull(credentialsServiceClient, "Credentials client cannot be null");
         this.config = Objects.requireNonNull(config, "configuration cannot be null");
+        this.admissionController = Objects.requireNonNull(admissionController, "admission controller cannot be null");
     }
 
     @Override
     public ProtonSaslAuthenticator create() {
-        return new AmqpAdapterSaslAuthenticator(tenantServiceClient, credentialsServiceClient, config);
+        return new AmqpAdapterSaslAuthenticator(tenantServiceClient, credentialsServiceClient, config, admissionController);
     }
 
     /**
@@ -108,8 +137,10 @@ public class AmqpAdapterSaslAuthenticatorFactory implements ProtonSaslAuthentica
         private final ProtocolAdapterProperties config;
         private final HonoClient tenantServiceClient;
         private final HonoClient credentialsServiceClient;
+        private final ConnectionAdmissionController admissionController;
 
         private Sasl sasl;
+        private Admission admission;
         private boolean succeeded;
         private ProtonConnection protonConnection;
         private Certificate[] peerCertificateChain;
@@ -117,16 +148,28 @@ public class AmqpAdapterSaslAuthenticatorFactory implements ProtonSaslAuthentica
         private HonoClientBasedAuthProvider clientCertAuthProvider;
         private DeviceCertificateValidator certValidator;
 
-        AmqpAdapterSaslAuthenticator(final HonoClient tenantServiceClient, final HonoClient credentialsServiceClient, final ProtocolAdapterProperties config) {
+        AmqpAdapterSaslAuthenticator(
+                final HonoClient tenantServiceClient,
+                final HonoClient credentialsServiceClient,
+                final ProtocolAdapterProperties config,
+                final ConnectionAdmissionController admissionController) {
             this.tenantServiceClient = tenantServiceClient;
             this.credentialsServiceClient = credentialsServiceClient;
             this.config = config;
+            this.admissionController = admissionController;
         }
 
         @Override
         public void init(final NetSocket socket, final ProtonConnection protonConnection, final Transport transport) {
             LOG.debug("initializing SASL authenticator");
             this.protonConnection = protonConnection;
+            this.admission = admissionController.tryAdmit();
+            if (admission != null) {
+                protonConnection.attachments().set(AmqpAdapterConstants.KEY_CONNECTION_ADMISSION, Admission.class, admission);
+                // release the admission if the client disconnects before the connection
+                // has been established, the adapter replaces this handler afterwards
+                protonConnection.disconnectHandler(con -> admission.release());
+            }
             this.sasl = transport.sasl();
             sasl.server();
             sasl.allowSkip(false);
@@ -148,6 +191,11 @@ public class AmqpAdapterSaslAuthenticatorFactory implements ProtonSaslAuthentica
                 LOG.debug("client device provided an empty list of SASL mechanisms [hostname: {}, state: {}]",
                         sasl.getHostname(), sasl.getState());
                 completionHandler.handle(Boolean.FALSE);
+            } else if (admission == null || !admission.tryStartAuthentication()) {
+                LOG.debug("rejecting connection, maximum number of connections, accept rate or concurrent authentications exceeded");
+                Optional.ofNullable(admission).ifPresent(Admission::release);
+                sasl.done(SaslOutcome.PN_SASL_TEMP);
+                completionHandler.handle(Boolean.TRUE);
             } else {
                 final String remoteMechanism = remoteMechanisms[0];
                 LOG.debug("client device wants to authenticate using SASL [mechanism: {}, host: {}, state: {}]",
@@ -156,6 +204,7 @@ public class AmqpAdapterSaslAuthenticatorFactory implements ProtonSaslAuthentica
                 final Context currentContext = Vertx.currentContext();
                 final Future<DeviceUser> deviceAuthTracker = Future.future();
                 deviceAuthTracker.setHandler(outcome -> {
+                    admission.authenticationFinished();
                     if (outcome.succeeded()) {
 
                         final Device authenticatedDevice = outcome.result();
@@ -166,6 +215,7 @@ public class AmqpAdapterSaslAuthenticatorFactory implements ProtonSaslAuthentica
 
                     } else {
                         LOG.debug("validation of credentials failed: " + outcome.cause().getMessage());
+                        admission.release();
                         sasl.done(SaslOutcome.PN_SASL_AUTH);
 
                     }
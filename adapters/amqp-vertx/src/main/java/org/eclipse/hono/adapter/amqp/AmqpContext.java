@@ -21,6 +21,7 @@ import org.apache.qpid.proton.message.Message;
 import org.eclipse.hono.client.ServerErrorException;
 import org.eclipse.hono.client.ServiceInvocationException;
 import org.eclipse.hono.auth.Device;
+import org.eclipse.hono.service.http.HttpUtils;
 import org.eclipse.hono.util.Constants;
 import org.eclipse.hono.util.MapBasedExecutionContext;
 import org.eclipse.hono.util.MessageHelper;
@@ -219,6 +220,8 @@ public class AmqpContext extends MapBasedExecutionContext {
                 return ProtonHelper.condition(Constants.AMQP_BAD_REQUEST, error.getMessage());
             case HttpURLConnection.HTTP_FORBIDDEN:
                 return ProtonHelper.condition(AmqpError.UNAUTHORIZED_ACCESS, error.getMessage());
+            case HttpUtils.HTTP_TOO_MANY_REQUESTS:
+                return ProtonHelper.condition(AmqpError.RESOURCE_LIMIT_EXCEEDED, error.getMessage());
             default:
                 return ProtonHelper.condition(AmqpError.PRECONDITION_FAILED, error.getMessage());
             }
@@ -21,7 +21,7 @@ import org.springframework.context.annotation.Configuration;
 /**
  * The Hono AMQP main application class.
  */
-@ComponentScan(basePackages = "org.eclipse.hono.adapter.amqp")
+@ComponentScan(basePackages = { "org.eclipse.hono.adapter.amqp", "org.eclipse.hono.service.metric" })
 @Configuration
 @EnableAutoConfiguration
 public class Application extends AbstractApplication {
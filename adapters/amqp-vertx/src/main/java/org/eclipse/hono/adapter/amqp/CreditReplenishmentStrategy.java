@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.hono.adapter.amqp;
+
+/**
+ * The strategies that the AMQP adapter supports for replenishing the credit
+ * of the links that devices use for uploading messages.
+ */
+public enum CreditReplenishmentStrategy {
+
+    /**
+     * Credit is replenished as soon as a message has been received from the device,
+     * i.e. before the message has been forwarded downstream.
+     * <p>
+     * This strategy maximizes throughput at the expense of the number of messages
+     * being buffered by the adapter.
+     */
+    PREFETCH,
+    /**
+     * Credit is replenished only after a message has been settled with the device,
+     * i.e. after the outcome of forwarding the message downstream is known.
+     * <p>
+     * This strategy limits the number of messages that are being processed
+     * for a link to the link's credit.
+     */
+    SETTLEMENT,
+    /**
+     * Credit is replenished after a message has been settled with the device, but only
+     * to the extent that the downstream telemetry sender of the device's tenant has credit.
+     * <p>
+     * The links of all devices of a tenant share the credit of the downstream sender.
+     * Devices are thus slowed down if the downstream consumers cannot keep up with the
+     * messages. For links of unauthenticated devices, the tenant is not known in advance
+     * and this strategy behaves like {@link #SETTLEMENT}.
+     */
+    DOWNSTREAM
+}
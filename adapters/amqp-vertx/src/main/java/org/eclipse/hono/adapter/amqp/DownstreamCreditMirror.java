@@ -0,0 +1,260 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.hono.adapter.amqp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import org.eclipse.hono.client.MessageSender;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.proton.ProtonConnection;
+import io.vertx.proton.ProtonReceiver;
+
+/**
+ * Mirrors the credit of a tenant's downstream sender to the links that the
+ * tenant's devices use for uploading messages.
+ * <p>
+ * The credit issued to the device links plus the number of messages that have been
+ * received from devices but not yet settled never exceeds the credit that the downstream
+ * sender has been granted by the downstream peer. The available credit is distributed
+ * among the device links in a round robin fashion, limited by each link's maximum
+ * credit. Devices are thus slowed down instead of having their messages rejected
+ * if the downstream consumers cannot keep up.
+ * <p>
+ * Credit is replenished when a device link has been added or removed, when a message
+ * received from a device has been settled and when the downstream sender has been
+ * replenished with credit by the downstream peer.
+ * <p>
+ * All methods are expected to be invoked on the vert.x context of the adapter
+ * instance that the device links and the downstream sender have been created on.
+ */
+final class DownstreamCreditMirror {
+
+    /**
+     * The number of milliseconds after which credit is re-checked if the
+     * downstream sender cannot notify this mirror about replenished credit.
+     */
+    static final long RECHECK_INTERVAL_MILLIS = 200;
+
+    private static final Logger LOG = LoggerFactory.getLogger(DownstreamCreditMirror.class);
+
+    private final Vertx vertx;
+    private final Supplier<Future<MessageSender>> senderSupplier;
+    private final List<DeviceLink> links = new ArrayList<>();
+
+    private int nextLink;
+    private int inFlight;
+    private boolean waitingForDownstreamCredit;
+
+    /**
+     * Creates a new mirror.
+     *
+     * @param vertx The vert.x instance to use for scheduling re-checks.
+     * @param senderSupplier The supplier of the downstream sender to mirror the credit of.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    DownstreamCreditMirror(final Vertx vertx, final Supplier<Future<MessageSender>> senderSupplier) {
+        this.vertx = Objects.requireNonNull(vertx);
+        this.senderSupplier = Objects.requireNonNull(senderSupplier);
+    }
+
+    /**
+     * Adds a device link.
+     * <p>
+     * The link is expected to have been opened with a prefetch of zero.
+     *
+     * @param connection The connection that the link has been established on.
+     * @param receiver The link.
+     * @param maxCredits The maximum credit to issue to the link.
+     * @throws NullPointerException if connection or receiver are {@code null}.
+     * @throws IllegalArgumentException if max credits is &lt; 1.
+     */
+    void addLink(final ProtonConnection connection, final ProtonReceiver receiver, final int maxCredits) {
+
+        if (maxCredits < 1) {
+            throw new IllegalArgumentException("max credits must be > 0");
+        }
+        links.add(new DeviceLink(Objects.requireNonNull(connection), Objects.requireNonNull(receiver), maxCredits));
+        replenish();
+    }
+
+    /**
+     * Removes a device link.
+     *
+     * @param receiver The link to remove.
+     */
+    void removeLink(final ProtonReceiver receiver) {
+        if (links.removeIf(link -> link.receiver == receiver)) {
+            replenish();
+        }
+    }
+
+    /**
+     * Removes all device links that have been established on a connection.
+     *
+     * @param connection The connection.
+     */
+    void removeLinks(final ProtonConnection connection) {
+        if (links.removeIf(link -> link.connection == connection)) {
+            replenish();
+        }
+    }
+
+    /**
+     * Checks if this mirror has any device links.
+     *
+     * @return {@code true} if no device links have been added or all of them have been removed.
+     */
+    boolean isEmpty() {
+        return links.isEmpty();
+    }
+
+    /**
+     * Records that a message has been received over one of the device links.
+     * <p>
+     * The message is considered in flight until {@link #messageSettled()} is
+     * invoked for it. The credit used by messages in flight is not issued again.
+     */
+    void messageReceived() {
+        inFlight++;
+    }
+
+    /**
+     * Records that a message received over one of the device links has been
+     * settled (or rejected) and issues the credit that has become available.
+     */
+    void messageSettled() {
+        if (inFlight > 0) {
+            inFlight--;
+        }
+        replenish();
+    }
+
+    /**
+     * Gets the number of messages that have been received from devices
+     * but not yet been settled.
+     *
+     * @return The number of messages.
+     */
+    int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Issues the downstream sender's credit that has not already been issued
+     * to the device links or been used by messages in flight.
+     */
+    void replenish() {
+
+        if (links.isEmpty() || waitingForDownstreamCredit) {
+            return;
+        }
+        senderSupplier.get().map(sender -> {
+            distribute(sender);
+            return null;
+        }).otherwise(t -> {
+            LOG.debug("cannot get downstream sender, re-checking credit later", t);
+            recheckLater();
+            return null;
+        });
+    }
+
+    private void distribute(final MessageSender sender) {
+
+        final int downstreamCredit = Math.max(0, sender.getCredit());
+        int available = downstreamCredit - inFlight - getIssuedCredit();
+
+        if (available > 0) {
+            // hand out credit in portions so that all links get their share,
+            // credit not taken by links which have reached their maximum
+            // is handed out to the other links in the next round
+            boolean issued = true;
+            while (available > 0 && issued) {
+                issued = false;
+                final int portion = Math.max(1, available / links.size());
+                for (int i = 0; i < links.size() && available > 0; i++) {
+                    final DeviceLink link = links.get((nextLink + i) % links.size());
+                    final int credit = Math.min(available, Math.min(portion, link.maxCredits - link.getCredit()));
+                    if (credit > 0) {
+                        link.receiver.flow(credit);
+                        available -= credit;
+                        issued = true;
+                    }
+                }
+            }
+            nextLink = (nextLink + 1) % links.size();
+        } else if (downstreamCredit == 0) {
+            waitForDownstreamCredit(sender);
+        }
+    }
+
+    private void waitForDownstreamCredit(final MessageSender sender) {
+
+        LOG.trace("downstream sender has no credit, waiting for replenishment");
+        waitingForDownstreamCredit = true;
+        try {
+            sender.sendQueueDrainHandler(replenished -> {
+                waitingForDownstreamCredit = false;
+                replenish();
+            });
+        } catch (final IllegalStateException e) {
+            // somebody else is already waiting for credit
+            waitingForDownstreamCredit = false;
+            recheckLater();
+        }
+    }
+
+    private void recheckLater() {
+
+        waitingForDownstreamCredit = true;
+        vertx.setTimer(RECHECK_INTERVAL_MILLIS, tid -> {
+            waitingForDownstreamCredit = false;
+            replenish();
+        });
+    }
+
+    private int getIssuedCredit() {
+        return links.stream().mapToInt(DeviceLink::getCredit).sum();
+    }
+
+    /**
+     * A link established by a device for uploading messages.
+     */
+    private static final class DeviceLink {
+
+        private final ProtonConnection connection;
+        private final ProtonReceiver receiver;
+        private final int maxCredits;
+
+        DeviceLink(final ProtonConnection connection, final ProtonReceiver receiver, final int maxCredits) {
+            this.connection = connection;
+            this.receiver = receiver;
+            this.maxCredits = maxCredits;
+        }
+
+        /**
+         * Gets the credit that has been issued to the device but not been used yet.
+         *
+         * @return The number of credits.
+         */
+        int getCredit() {
+            return Math.max(0, receiver.getCredit() - receiver.getQueued());
+        }
+    }
+}
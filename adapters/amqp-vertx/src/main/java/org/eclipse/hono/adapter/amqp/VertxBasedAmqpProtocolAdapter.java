@@ -13,8 +13,11 @@
 package org.eclipse.hono.adapter.amqp;
 
 import java.net.HttpURLConnection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import org.apache.qpid.proton.amqp.messaging.Accepted;
 import org.apache.qpid.proton.amqp.messaging.Rejected;
@@ -31,23 +34,31 @@ import org.eclipse.hono.client.MessageConsumer;
 import org.eclipse.hono.client.MessageSender;
 import org.eclipse.hono.client.ServerErrorException;
 import org.eclipse.hono.client.ServiceInvocationException;
-import org.eclipse.hono.config.ProtocolAdapterProperties;
 import org.eclipse.hono.service.AbstractProtocolAdapterBase;
+import org.eclipse.hono.service.http.HttpUtils;
+import org.eclipse.hono.service.limiting.ConnectionAdmissionController.Admission;
+import org.eclipse.hono.service.metric.UploadStage;
+import org.eclipse.hono.service.metric.UploadTimer;
 import org.eclipse.hono.util.CommandConstants;
 import org.eclipse.hono.util.Constants;
 import org.eclipse.hono.util.EndpointType;
+import org.eclipse.hono.util.EventConstants;
 import org.eclipse.hono.util.HonoProtonHelper;
 import org.eclipse.hono.util.MessageHelper;
 import org.eclipse.hono.util.ResourceIdentifier;
 import org.eclipse.hono.util.Strings;
+import org.eclipse.hono.util.TelemetryConstants;
+import org.eclipse.hono.util.TenantConstants;
 import org.eclipse.hono.util.TenantObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 
 import io.vertx.core.AsyncResult;
 import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
 import io.vertx.proton.ProtonConnection;
 import io.vertx.proton.ProtonDelivery;
@@ -63,12 +74,9 @@ import io.vertx.proton.sasl.ProtonSaslAuthenticatorFactory;
 /**
  * A Vert.x based Hono protocol adapter for publishing messages to Hono's Telemetry and Event APIs using AMQP.
  */
-public final class VertxBasedAmqpProtocolAdapter extends AbstractProtocolAdapterBase<ProtocolAdapterProperties> {
+public final class VertxBasedAmqpProtocolAdapter extends AbstractProtocolAdapterBase<AmqpAdapterProperties> {
 
     private static final Logger LOG = LoggerFactory.getLogger(VertxBasedAmqpProtocolAdapter.class);
-    // These values should be made configurable.
-    private static final int DEFAULT_MAX_FRAME_SIZE = 32 * 1024; // 32 KB
-    private static final int DEFAULT_MAX_SESSION_WINDOW = 100 * DEFAULT_MAX_FRAME_SIZE;
     private static final long DEFAULT_COMMAND_CONSUMER_CHECK_INTERVAL_MILLIS = 10000; // 10 seconds
 
     /**
@@ -86,6 +94,23 @@ public final class VertxBasedAmqpProtocolAdapter extends AbstractProtocolAdapter
      */
     private ProtonSaslAuthenticatorFactory authenticatorFactory;
 
+    private AmqpAdapterMetrics metrics = AmqpAdapterMetrics.NOOP;
+
+    /**
+     * The mirrors of the downstream credit of the tenants that devices have established links for.
+     */
+    private final Map<String, DownstreamCreditMirror> creditMirrors = new HashMap<>();
+
+    /**
+     * Sets the metrics for this service.
+     *
+     * @param metrics The metrics
+     */
+    @Autowired
+    public void setMetrics(final AmqpAdapterMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     // -----------------------------------------< AbstractProtocolAdapterBase >---
     /**
      * {@inheritDoc}
@@ -103,7 +128,8 @@ public final class VertxBasedAmqpProtocolAdapter extends AbstractProtocolAdapter
         checkPortConfiguration()
                 .compose(success -> {
                     if (authenticatorFactory == null && getConfig().isAuthenticationRequired()) {
-                        authenticatorFactory = new AmqpAdapterSaslAuthenticatorFactory(getTenantServiceClient(), getCredentialsServiceClient(), getConfig());
+                        authenticatorFactory = new AmqpAdapterSaslAuthenticatorFactory(getTenantServiceClient(), getCredentialsServiceClient(), getConfig(),
+                                getAdmissionController());
                     }
                     return Future.succeededFuture();
                 }).compose(succcess -> {
@@ -149,7 +175,9 @@ public final class VertxBasedAmqpProtocolAdapter extends AbstractProtocolAdapter
             final ProtonServerOptions options =
                     new ProtonServerOptions()
                     .setHost(getConfig().getInsecurePortBindAddress())
-                    .setPort(determineInsecurePort());
+                    .setPort(determineInsecurePort())
+                    .setMaxFrameSize(getConfig().getMaxFrameSize());
+            getConfig().applyTransportOptions(options);
 
             final Future<Void> result = Future.future();
             insecureServer = createServer(insecureServer, options);
@@ -173,7 +201,8 @@ public final class VertxBasedAmqpProtocolAdapter extends AbstractProtocolAdapter
                     new ProtonServerOptions()
                     .setHost(getConfig().getBindAddress())
                     .setPort(determineSecurePort())
-                    .setMaxFrameSize(DEFAULT_MAX_FRAME_SIZE);
+                    .setMaxFrameSize(getConfig().getMaxFrameSize());
+            getConfig().applyTransportOptions(options);
             addTlsKeyCertOptions(options);
             addTlsTrustOptions(options);
 
@@ -211,11 +240,22 @@ public final class VertxBasedAmqpProtocolAdapter extends AbstractProtocolAdapter
                 .get(AmqpAdapterConstants.KEY_CLIENT_DEVICE, Device.class);
 
         final Future<Void> connectAuthorizationCheck = Future.future();
+        final Admission admission = getAdmission(con);
 
-        if (getConfig().isAuthenticationRequired()) {
+        if (admission == null) {
+            LOG.debug("rejecting connection request, maximum number of connections or accept rate exceeded [container: {}]",
+                    con.getRemoteContainer());
+            connectAuthorizationCheck.fail(new ClientErrorException(HttpUtils.HTTP_TOO_MANY_REQUESTS,
+                    "maximum number of connections exceeded"));
+        } else if (getConfig().isAuthenticationRequired()) {
 
             if (authenticatedDevice == null) {
                 connectAuthorizationCheck.fail(new ClientErrorException(HttpURLConnection.HTTP_UNAUTHORIZED));
+            } else if (!admission.tryAssignTenant(authenticatedDevice.getTenantId())) {
+                LOG.debug("rejecting connection request, maximum number of connections exceeded for tenant [{}]",
+                        authenticatedDevice.getTenantId());
+                connectAuthorizationCheck.fail(new ClientErrorException(HttpUtils.HTTP_TOO_MANY_REQUESTS,
+                        "maximum number of connections exceeded for tenant"));
             } else {
                 LOG.trace("received connection request from {}", authenticatedDevice);
                 // the SASL handshake will already have authenticated the device
@@ -235,19 +275,52 @@ public final class VertxBasedAmqpProtocolAdapter extends AbstractProtocolAdapter
             con.open();
             return null;
         }).otherwise(t -> {
+            Optional.ofNullable(admission).ifPresent(Admission::release);
             con.setCondition(AmqpContext.getErrorCondition(t));
             con.close();
             return null;
         });
     }
 
+    /**
+     * Gets the admission of a connection.
+     * <p>
+     * The admission is created by the SASL authenticator before the device is authenticated.
+     * If the connection has not been admitted yet, e.g. because devices are not authenticated,
+     * the connection is admitted by this method.
+     *
+     * @param con The connection.
+     * @return The admission or {@code null} if the connection should be rejected.
+     */
+    private Admission getAdmission(final ProtonConnection con) {
+
+        final Admission admission = con.attachments().get(AmqpAdapterConstants.KEY_CONNECTION_ADMISSION, Admission.class);
+        if (admission != null) {
+            return admission;
+        }
+        final Admission newAdmission = getAdmissionController().tryAdmit();
+        if (newAdmission != null) {
+            con.attachments().set(AmqpAdapterConstants.KEY_CONNECTION_ADMISSION, Admission.class, newAdmission);
+        }
+        return newAdmission;
+    }
+
+    private static void releaseAdmission(final ProtonConnection con) {
+        Optional.ofNullable(con.attachments().get(AmqpAdapterConstants.KEY_CONNECTION_ADMISSION, Admission.class))
+            .ifPresent(Admission::release);
+    }
+
     private void setConnectionHandlers(final ProtonConnection con) {
         con.disconnectHandler(lostConnection -> {
             LOG.debug("lost connection to device [container: {}]", con.getRemoteContainer());
+            releaseAdmission(con);
+            removeFromCreditMirrors(con);
             Optional.ofNullable(getConnectionLossHandler(con)).ifPresent(handler -> handler.handle(null));
         });
         con.closeHandler(remoteClose -> {
             handleRemoteConnectionClose(con, remoteClose);
+            releaseAdmission(con);
+            removeFromCreditMirrors(con);
             Optional.ofNullable(getConnectionLossHandler(con)).ifPresent(handler -> handler.handle(null));
         });
 
@@ -300,12 +373,15 @@ public final class VertxBasedAmqpProtocolAdapter extends AbstractProtocolAdapter
 
     /**
      * This method is called when an AMQP BEGIN frame is received from a remote client. This method sets the incoming
-     * capacity in its BEGIN Frame to be communicated to the remote peer
+     * capacity in its BEGIN Frame to be communicated to the remote peer.
+     * <p>
+     * The capacity is determined by the <em>maxFrameSize</em> and <em>maxSessionFrames</em>
+     * configuration properties.
      *
      */
     private void handleSessionOpen(final ProtonConnection conn, final ProtonSession session) {
         LOG.debug("opening new session with client [container: {}]", conn.getRemoteContainer());
-        session.setIncomingCapacity(DEFAULT_MAX_SESSION_WINDOW);
+        session.setIncomingCapacity(getConfig().getMaxSessionWindowSize());
         session.open();
     }
 
@@ -334,6 +410,11 @@ public final class VertxBasedAmqpProtocolAdapter extends AbstractProtocolAdapter
      * <p>
      * If the attach frame contains a target address, this method simply closes the link,
      * otherwise, it accepts and opens the link.
+     * <p>
+     * The number of credits issued to the device is determined by the <em>link-credits</em>
+     * property of the authenticated device's tenant configuration. If not set, the
+     * <em>linkCredits</em> configuration property is used. The credit is replenished
+     * according to the configured {@link CreditReplenishmentStrategy}.
      * 
      * @param conn The connection through which the request is initiated.
      * @param receiver The receiver link for receiving the data.
@@ -356,40 +437,109 @@ public final class VertxBasedAmqpProtocolAdapter extends AbstractProtocolAdapter
             final Device authenticatedDevice = conn.attachments().get(AmqpAdapterConstants.KEY_CLIENT_DEVICE,
                     Device.class);
 
-            receiver.setTarget(receiver.getRemoteTarget());
-            receiver.setSource(receiver.getRemoteSource());
-            receiver.setQoS(receiver.getRemoteQoS());
-            receiver.setPrefetch(30);
-            // manage disposition handling manually
-            receiver.setAutoAccept(false);
-            HonoProtonHelper.setCloseHandler(receiver, remoteDetach -> onLinkDetach(receiver));
-            HonoProtonHelper.setDetachHandler(receiver, remoteDetach -> onLinkDetach(receiver));
-            receiver.handler((delivery, message) -> {
-
-                validateEndpoint(message.getAddress(), delivery)
-                .compose(address -> validateAddress(address, authenticatedDevice))
-                .recover(t -> {
-                    // invalid address / endpoint
-                    MessageHelper.rejected(delivery, AmqpContext.getErrorCondition(t));
-                    return Future.failedFuture(t);
-                })
-                .map(validatedAddress -> createContext(validatedAddress, delivery, message, authenticatedDevice))
-                .map(context -> {
-                    uploadMessage(context);
-                    return null;
-                });
+            getLinkCredits(authenticatedDevice).map(credits -> {
+                openReceiver(conn, receiver, authenticatedDevice, credits);
+                return null;
             });
-            receiver.open();
-            if (authenticatedDevice == null) {
-                LOG.debug("established link for receiving messages from device [container: {}]",
-                        conn.getRemoteContainer());
-            } else {
-                LOG.debug("established link for receiving messages from device [tenant: {}, device-id: {}]]",
-                        authenticatedDevice.getTenantId(), authenticatedDevice.getDeviceId());
+        }
+    }
+
+    private Future<Integer> getLinkCredits(final Device authenticatedDevice) {
+
+        if (authenticatedDevice == null) {
+            return Future.succeededFuture(getConfig().getLinkCredits());
+        } else {
+            return getTenantConfiguration(authenticatedDevice.getTenantId(), null)
+                    .map(tenant -> tenant.getLinkCredits(getTypeName()))
+                    .otherwise(TenantConstants.UNDEFINED_LINK_CREDITS)
+                    .map(credits -> credits > 0 ? credits : getConfig().getLinkCredits());
+        }
+    }
+
+    private void openReceiver(
+            final ProtonConnection conn,
+            final ProtonReceiver receiver,
+            final Device authenticatedDevice,
+            final int credits) {
+
+        final CreditReplenishmentStrategy strategy = getConfig().getCreditReplenishmentStrategy();
+        final DownstreamCreditMirror creditMirror = strategy == CreditReplenishmentStrategy.DOWNSTREAM
+                && authenticatedDevice != null ? getCreditMirror(authenticatedDevice.getTenantId()) : null;
+        final boolean replenishOnSettlement = strategy != CreditReplenishmentStrategy.PREFETCH && creditMirror == null;
+
+        receiver.setTarget(receiver.getRemoteTarget());
+        receiver.setSource(receiver.getRemoteSource());
+        receiver.setQoS(receiver.getRemoteQoS());
+        receiver.setPrefetch(strategy == CreditReplenishmentStrategy.PREFETCH ? credits : 0);
+        // manage disposition handling manually
+        receiver.setAutoAccept(false);
+        final Handler<Void> onDetach = remoteDetach -> {
+            if (creditMirror != null) {
+                removeFromCreditMirror(authenticatedDevice.getTenantId(), mirror -> mirror.removeLink(receiver));
+            }
+            onLinkDetach(receiver);
+        };
+        HonoProtonHelper.setCloseHandler(receiver, remoteDetach -> onDetach.handle(null));
+        HonoProtonHelper.setDetachHandler(receiver, remoteDetach -> onDetach.handle(null));
+        receiver.handler((delivery, message) -> {
+
+            if (creditMirror != null) {
+                creditMirror.messageReceived();
+            }
+            validateEndpoint(message.getAddress(), delivery)
+            .compose(address -> validateAddress(address, authenticatedDevice))
+            .recover(t -> {
+                // invalid address / endpoint
+                MessageHelper.rejected(delivery, AmqpContext.getErrorCondition(t));
+                return Future.failedFuture(t);
+            })
+            .map(validatedAddress -> createContext(validatedAddress, delivery, message, authenticatedDevice))
+            .compose(context -> uploadMessage(context))
+            .setHandler(settled -> {
+                if (creditMirror != null) {
+                    creditMirror.messageSettled();
+                } else if (replenishOnSettlement && receiver.isOpen()) {
+                    receiver.flow(1);
+                }
+            });
+        });
+        receiver.open();
+        if (creditMirror != null) {
+            creditMirror.addLink(conn, receiver, credits);
+        } else if (replenishOnSettlement) {
+            receiver.flow(credits);
+        }
+        if (authenticatedDevice == null) {
+            LOG.debug("established link for receiving messages from device [container: {}, credits: {}]",
+                    conn.getRemoteContainer(), credits);
+        } else {
+            LOG.debug("established link for receiving messages from device [tenant: {}, device-id: {}, credits: {}]",
+                    authenticatedDevice.getTenantId(), authenticatedDevice.getDeviceId(), credits);
+        }
+    }
+
+    private DownstreamCreditMirror getCreditMirror(final String tenantId) {
+        return creditMirrors.computeIfAbsent(tenantId,
+                id -> new DownstreamCreditMirror(vertx, () -> getTelemetrySender(id)));
+    }
+
+    private void removeFromCreditMirror(final String tenantId, final Consumer<DownstreamCreditMirror> removal) {
+        final DownstreamCreditMirror mirror = creditMirrors.get(tenantId);
+        if (mirror != null) {
+            removal.accept(mirror);
+            if (mirror.isEmpty()) {
+                creditMirrors.remove(tenantId);
             }
         }
     }
 
+    private void removeFromCreditMirrors(final ProtonConnection con) {
+        final Device authenticatedDevice = con.attachments().get(AmqpAdapterConstants.KEY_CLIENT_DEVICE, Device.class);
+        if (authenticatedDevice != null) {
+            removeFromCreditMirror(authenticatedDevice.getTenantId(), mirror -> mirror.removeLinks(con));
+        }
+    }
+
     private AmqpContext createContext(
             final ResourceIdentifier validatedAddress,
             final ProtonDelivery delivery,
@@ -581,8 +731,11 @@ public final class VertxBasedAmqpProtocolAdapter extends AbstractProtocolAdapter
      * This method also handles disposition updates.
      * 
      * @param context The context that the message has been received in.
+     * @return A future indicating that the message has been settled with the device.
+     *         The future will be completed once the disposition has been updated,
+     *         regardless of the outcome of forwarding the message.
      */
-    protected void uploadMessage(final AmqpContext context) {
+    protected Future<Void> uploadMessage(final AmqpContext context) {
 
         final Future<Void> contentTypeCheck = Future.future();
 
@@ -593,14 +746,16 @@ public final class VertxBasedAmqpProtocolAdapter extends AbstractProtocolAdapter
                     "empty notifications must not contain payload"));
         }
 
-        contentTypeCheck.compose(ok -> {
+        return contentTypeCheck.compose(ok -> {
             switch (EndpointType.fromString(context.getEndpoint())) {
             case TELEMETRY:
                 LOG.trace("forwarding telemetry data");
-                return doUploadMessage(context, getTelemetrySender(context.getTenantId()));
+                return doUploadMessage(context, getTelemetrySender(context.getTenantId()),
+                        TelemetryConstants.TELEMETRY_ENDPOINT);
             case EVENT:
                 LOG.trace("forwarding event");
-                return doUploadMessage(context, getEventSender(context.getTenantId()));
+                return doUploadMessage(context, getEventSender(context.getTenantId()),
+                        EventConstants.EVENT_ENDPOINT);
             case CONTROL:
                 LOG.trace("forwarding command response");
                 return doUploadCommandResponseMessage(context);
@@ -611,27 +766,40 @@ public final class VertxBasedAmqpProtocolAdapter extends AbstractProtocolAdapter
         })
         .map(downstreamDelivery -> {
             context.accept();
-            return null;
+            return (Void) null;
         })
         .otherwise(t -> {
             context.handleFailure(t);
             return null;
         });
-
     }
 
-    private Future<ProtonDelivery> doUploadMessage(final AmqpContext context, final Future<MessageSender> senderFuture) {
+    private Future<ProtonDelivery> doUploadMessage(final AmqpContext context, final Future<MessageSender> senderFuture,
+            final String endpointName) {
+
+        final Buffer payload = context.getMessagePayload();
+        final Future<Void> limitCheck = checkMessageLimit(context.getTenantId(), payload == null ? 0 : payload.length());
+        if (limitCheck.failed()) {
+            LOG.debug("rejecting {} message from device [tenant: {}, device-id: {}]: message limit exceeded",
+                    context.getEndpoint(), context.getTenantId(), context.getDeviceId());
+            metrics.incrementRateLimitedMessages(endpointName, context.getTenantId());
+            return Future.failedFuture(limitCheck.cause());
+        }
 
-        final Future<JsonObject> tokenFuture = getRegistrationAssertion(context.getTenantId(), context.getDeviceId(),
-                context.getAuthenticatedDevice(), null);
-        final Future<TenantObject> tenantConfigFuture = getTenantConfiguration(context.getTenantId(), null);
+        final UploadTimer timer = new UploadTimer(metrics, endpointName, context.getTenantId());
+        final Future<JsonObject> tokenFuture = timer.track(UploadStage.REGISTRATION_ASSERTION,
+                getRegistrationAssertion(context.getTenantId(), context.getDeviceId(),
+                        context.getAuthenticatedDevice(), null));
+        final Future<TenantObject> tenantConfigFuture = timer.track(UploadStage.TENANT_LOOKUP,
+                getTenantConfiguration(context.getTenantId(), null));
+        final Future<MessageSender> senderAcquisition = timer.track(UploadStage.SENDER_ACQUISITION, senderFuture);
 
-        return CompositeFuture.all(tenantConfigFuture, tokenFuture, senderFuture)
+        return CompositeFuture.all(tenantConfigFuture, tokenFuture, senderAcquisition)
                 .compose(ok -> {
                     final TenantObject tenantObject = tenantConfigFuture.result();
                     if (tenantObject.isAdapterEnabled(getTypeName())) {
 
-                        final MessageSender sender = senderFuture.result();
+                        final MessageSender sender = senderAcquisition.result();
                         final Message downstreamMessage = newMessage(context.getResourceIdentifier(),
                                 sender.isRegistrationAssertionRequired(),
                                 context.getEndpoint(), context.getMessageContentType(), context.getMessagePayload(),
@@ -639,10 +807,10 @@ public final class VertxBasedAmqpProtocolAdapter extends AbstractProtocolAdapter
 
                         if (context.isRemotelySettled()) {
                             // client uses AT_MOST_ONCE delivery semantics -> fire and forget
-                            return sender.send(downstreamMessage);
+                            return timer.track(UploadStage.DISPOSITION, sender.send(downstreamMessage));
                         } else {
                             // client uses AT_LEAST_ONCE delivery semantics
-                            return sender.sendAndWaitForOutcome(downstreamMessage);
+                            return timer.track(UploadStage.DISPOSITION, sender.sendAndWaitForOutcome(downstreamMessage));
                         }
                     } else {
                         // this adapter is not enabled for tenant
@@ -651,11 +819,15 @@ public final class VertxBasedAmqpProtocolAdapter extends AbstractProtocolAdapter
                                         String.format("This adapter is not enabled for tenant [tenantId: %s].",
                                                 context.getTenantId())));
                     }
+                }).map(delivery -> {
+                    timer.stop();
+                    return delivery;
                 }).recover(t -> {
                     LOG.debug("cannot process {} message from device [tenant: {}, device-id: {}]",
                             context.getEndpoint(),
                             context.getTenantId(),
                             context.getDeviceId(), t);
+                    timer.stop();
                     return Future.failedFuture(t);
                 });
     }
@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.hono.adapter.amqp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.hono.client.MessageSender;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.proton.ProtonConnection;
+import io.vertx.proton.ProtonReceiver;
+
+/**
+ * Verifies behavior of {@link DownstreamCreditMirror}.
+ *
+ */
+public class DownstreamCreditMirrorTest {
+
+    private AtomicInteger downstreamCredit;
+    private AtomicReference<Handler<Void>> drainHandler;
+    private ProtonConnection connection;
+    private DownstreamCreditMirror mirror;
+
+    /**
+     * Sets up the fixture.
+     */
+    @SuppressWarnings("unchecked")
+    @Before
+    public void setUp() {
+
+        downstreamCredit = new AtomicInteger();
+        drainHandler = new AtomicReference<>();
+        final MessageSender sender = mock(MessageSender.class);
+        when(sender.getCredit()).thenAnswer(invocation -> downstreamCredit.get());
+        doAnswer(invocation -> {
+            drainHandler.set(invocation.getArgument(0));
+            return null;
+        }).when(sender).sendQueueDrainHandler(any(Handler.class));
+        connection = mock(ProtonConnection.class);
+        mirror = new DownstreamCreditMirror(mock(Vertx.class), () -> Future.succeededFuture(sender));
+    }
+
+    private static ProtonReceiver newLink(final AtomicInteger credit) {
+        final ProtonReceiver receiver = mock(ProtonReceiver.class);
+        when(receiver.getCredit()).thenAnswer(invocation -> credit.get());
+        doAnswer(invocation -> {
+            credit.addAndGet(invocation.getArgument(0));
+            return receiver;
+        }).when(receiver).flow(anyInt());
+        return receiver;
+    }
+
+    /**
+     * Verifies that the credit issued to the device links does not exceed
+     * the downstream sender's credit and the links' maximum credit.
+     */
+    @Test
+    public void testReplenishDistributesDownstreamCredit() {
+
+        downstreamCredit.set(10);
+        final AtomicInteger firstLinkCredit = new AtomicInteger();
+        final AtomicInteger secondLinkCredit = new AtomicInteger();
+        mirror.addLink(connection, newLink(firstLinkCredit), 4);
+        assertEquals(4, firstLinkCredit.get());
+
+        mirror.addLink(connection, newLink(secondLinkCredit), 20);
+        assertEquals(6, secondLinkCredit.get());
+
+        // WHEN a device uses its credit and the message has been forwarded downstream
+        firstLinkCredit.decrementAndGet();
+        downstreamCredit.decrementAndGet();
+        mirror.replenish();
+
+        // THEN no credit is issued because the downstream credit has been used up
+        assertEquals(3, firstLinkCredit.get());
+        assertEquals(6, secondLinkCredit.get());
+    }
+
+    /**
+     * Verifies that credit is issued to the device links once the downstream
+     * sender has been replenished.
+     */
+    @Test
+    public void testReplenishWaitsForDownstreamCredit() {
+
+        final AtomicInteger linkCredit = new AtomicInteger();
+        mirror.addLink(connection, newLink(linkCredit), 10);
+        assertEquals(0, linkCredit.get());
+        assertTrue(drainHandler.get() != null);
+
+        downstreamCredit.set(5);
+        drainHandler.get().handle(null);
+        assertEquals(5, linkCredit.get());
+    }
+
+    /**
+     * Verifies that the credit of removed links is issued to the remaining links.
+     */
+    @Test
+    public void testRemoveLinksReissuesCredit() {
+
+        downstreamCredit.set(10);
+        final AtomicInteger firstLinkCredit = new AtomicInteger();
+        final AtomicInteger secondLinkCredit = new AtomicInteger();
+        final ProtonConnection otherConnection = mock(ProtonConnection.class);
+        mirror.addLink(otherConnection, newLink(firstLinkCredit), 10);
+        mirror.addLink(connection, newLink(secondLinkCredit), 10);
+        assertEquals(0, secondLinkCredit.get());
+
+        mirror.removeLinks(otherConnection);
+        assertEquals(10, secondLinkCredit.get());
+    }
+
+    /**
+     * Verifies that the credit used by messages which have been received from
+     * devices but not yet been settled is not issued again when another message
+     * is settled.
+     */
+    @Test
+    public void testReplenishDoesNotReissueCreditOfMessagesInFlight() {
+
+        downstreamCredit.set(4);
+        final AtomicInteger linkCredit = new AtomicInteger();
+        mirror.addLink(connection, newLink(linkCredit), 10);
+        assertEquals(4, linkCredit.get());
+
+        // WHEN the device sends three messages which are still being processed,
+        // i.e. have not been forwarded downstream yet
+        for (int i = 0; i < 3; i++) {
+            linkCredit.decrementAndGet();
+            mirror.messageReceived();
+        }
+        // and a fourth message which has been forwarded and settled
+        linkCredit.decrementAndGet();
+        mirror.messageReceived();
+        downstreamCredit.decrementAndGet();
+        mirror.messageSettled();
+
+        // THEN no credit is issued to the device
+        // because the remaining downstream credit is needed for the messages in flight
+        assertEquals(0, linkCredit.get());
+        assertEquals(3, mirror.getInFlight());
+
+        // and when one of the messages in flight has been forwarded and settled
+        downstreamCredit.decrementAndGet();
+        mirror.messageSettled();
+        // then still no credit is issued
+        assertEquals(0, linkCredit.get());
+
+        // until the downstream peer has issued more credit
+        downstreamCredit.addAndGet(2);
+        mirror.replenish();
+        assertEquals(2, linkCredit.get());
+    }
+}
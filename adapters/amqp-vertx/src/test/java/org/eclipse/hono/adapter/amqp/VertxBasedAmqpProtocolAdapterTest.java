@@ -30,10 +30,13 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
+import org.apache.qpid.proton.amqp.messaging.Accepted;
 import org.apache.qpid.proton.amqp.messaging.AmqpValue;
 import org.apache.qpid.proton.amqp.messaging.ApplicationProperties;
 import org.apache.qpid.proton.amqp.messaging.Rejected;
 import org.apache.qpid.proton.amqp.messaging.Target;
+import org.apache.qpid.proton.amqp.transport.AmqpError;
+import org.apache.qpid.proton.amqp.transport.ErrorCondition;
 import org.apache.qpid.proton.amqp.transport.Source;
 import org.apache.qpid.proton.engine.Record;
 import org.apache.qpid.proton.engine.impl.RecordImpl;
@@ -48,7 +51,6 @@ import org.eclipse.hono.client.ServiceInvocationException;
 import org.eclipse.hono.client.TenantClient;
 import org.eclipse.hono.client.CommandConnection;
 import org.eclipse.hono.auth.Device;
-import org.eclipse.hono.config.ProtocolAdapterProperties;
 import org.eclipse.hono.util.CommandConstants;
 import org.eclipse.hono.util.Constants;
 import org.eclipse.hono.util.EventConstants;
@@ -56,6 +58,7 @@ import org.eclipse.hono.util.MessageHelper;
 import org.eclipse.hono.util.RegistrationConstants;
 import org.eclipse.hono.util.ResourceIdentifier;
 import org.eclipse.hono.util.TelemetryConstants;
+import org.eclipse.hono.util.TenantConstants;
 import org.eclipse.hono.util.TenantObject;
 import org.junit.Before;
 import org.junit.Rule;
@@ -74,6 +77,7 @@ import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
 import io.vertx.proton.ProtonConnection;
 import io.vertx.proton.ProtonDelivery;
+import io.vertx.proton.ProtonMessageHandler;
 import io.vertx.proton.ProtonQoS;
 import io.vertx.proton.ProtonReceiver;
 import io.vertx.proton.ProtonSender;
@@ -110,7 +114,7 @@ public class VertxBasedAmqpProtocolAdapterTest {
     private RegistrationClient registrationClient;
     private TenantClient tenantClient;
 
-    private ProtocolAdapterProperties config;
+    private AmqpAdapterProperties config;
 
     /**
      * Setups the protocol adapter.
@@ -152,7 +156,7 @@ public class VertxBasedAmqpProtocolAdapterTest {
         commandConnection = mock(CommandConnection.class);
         when(commandConnection.connect(any(Handler.class))).thenReturn(Future.succeededFuture(commandConnection));
 
-        config = new ProtocolAdapterProperties();
+        config = new AmqpAdapterProperties();
         config.setAuthenticationRequired(false);
         config.setInsecurePort(4040);
     }
@@ -203,6 +207,53 @@ public class VertxBasedAmqpProtocolAdapterTest {
         verify(link).close();
     }
 
+    /**
+     * Verifies that the adapter issues the number of credits configured for the
+     * device's tenant and replenishes a credit only after a message has been
+     * settled if configured to do so.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testAdapterReplenishesTenantSpecificCreditOnSettlement() {
+
+        // GIVEN an adapter configured to replenish credit on settlement
+        config.setCreditReplenishmentStrategy(CreditReplenishmentStrategy.SETTLEMENT);
+        final VertxBasedAmqpProtocolAdapter adapter = givenAnAmqpAdapter();
+        final MessageSender telemetrySender = givenATelemetrySenderForAnyTenant();
+        final Future<ProtonDelivery> outcome = Future.future();
+        when(telemetrySender.sendAndWaitForOutcome(any(Message.class))).thenReturn(outcome);
+
+        // and a tenant for which a specific link credit is configured
+        final TenantObject tenantConfig = TenantObject.from(TEST_TENANT_ID, Boolean.TRUE);
+        tenantConfig.addAdapterConfiguration(TenantObject.newAdapterConfig(Constants.PROTOCOL_ADAPTER_TYPE_AMQP, true)
+                .put(TenantConstants.FIELD_LINK_CREDITS, 100));
+        when(tenantClient.get(eq(TEST_TENANT_ID), (SpanContext) any())).thenReturn(Future.succeededFuture(tenantConfig));
+
+        // WHEN a device of the tenant opens a link for uploading messages
+        final ProtonReceiver receiver = getReceiver(ProtonQoS.AT_LEAST_ONCE, null);
+        when(receiver.isOpen()).thenReturn(Boolean.TRUE);
+        adapter.handleRemoteReceiverOpen(getConnection(new Device(TEST_TENANT_ID, TEST_DEVICE)), receiver);
+
+        // THEN the adapter flows the tenant's credit to the device
+        final ArgumentCaptor<ProtonMessageHandler> messageHandler = ArgumentCaptor.forClass(ProtonMessageHandler.class);
+        verify(receiver).setPrefetch(0);
+        verify(receiver).handler(messageHandler.capture());
+        verify(receiver).open();
+        verify(receiver).flow(100);
+
+        // and when the device sends a message
+        final ProtonDelivery delivery = mock(ProtonDelivery.class);
+        final String to = ResourceIdentifier.from(TelemetryConstants.TELEMETRY_ENDPOINT, TEST_TENANT_ID, TEST_DEVICE).toString();
+        messageHandler.getValue().handle(delivery, getFakeMessage(to));
+
+        // the adapter does not replenish the credit before the message has been settled
+        verify(telemetrySender).sendAndWaitForOutcome(any(Message.class));
+        verify(receiver, never()).flow(1);
+        outcome.complete(mock(ProtonDelivery.class));
+        verify(delivery).disposition(any(Accepted.class), eq(true));
+        verify(receiver).flow(1);
+    }
+
     /**
      * Verifies that a request to upload a pre-settled telemetry message results
      * in the downstream sender not waiting for the consumer's acknowledgment.
@@ -451,6 +502,49 @@ public class VertxBasedAmqpProtocolAdapterTest {
         assertThat(MessageHelper.getTimeUntilDisconnect(messageCaptor.getValue()), equalTo(0));
     }
 
+    /**
+     * Verifies that the adapter rejects a connection with a <em>resource-limit-exceeded</em>
+     * error once the maximum number of connections has been reached.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testAdapterRejectsConnectionIfMaxConnectionsExceeded(final TestContext ctx) {
+
+        // GIVEN an AMQP adapter that accepts a single connection only
+        config.setMaxConnections(1);
+        final ProtonServer server = getAmqpServer();
+        final VertxBasedAmqpProtocolAdapter adapter = getAdapter(server);
+
+        final Async startup = ctx.async();
+        final Future<Void> startupTracker = Future.future();
+        startupTracker.setHandler(ctx.asyncAssertSuccess(ok -> {
+            startup.complete();
+        }));
+        adapter.start(startupTracker);
+        startup.await();
+
+        // WHEN two devices connect
+        final ArgumentCaptor<Handler<ProtonConnection>> connectHandler = ArgumentCaptor.forClass(Handler.class);
+        verify(server).connectHandler(connectHandler.capture());
+        final ProtonConnection firstConnection = mock(ProtonConnection.class);
+        when(firstConnection.attachments()).thenReturn(new RecordImpl());
+        connectHandler.getValue().handle(firstConnection);
+        final ProtonConnection secondConnection = mock(ProtonConnection.class);
+        when(secondConnection.attachments()).thenReturn(new RecordImpl());
+        connectHandler.getValue().handle(secondConnection);
+
+        // THEN the first connection is opened
+        verify(firstConnection).open();
+        // and the second connection is closed with a resource-limit-exceeded error
+        final ArgumentCaptor<ErrorCondition> errorCaptor = ArgumentCaptor.forClass(ErrorCondition.class);
+        verify(secondConnection).setCondition(errorCaptor.capture());
+        assertThat(errorCaptor.getValue().getCondition(), equalTo(AmqpError.RESOURCE_LIMIT_EXCEEDED));
+        verify(secondConnection).close();
+        verify(secondConnection, never()).open();
+    }
+
     /**
      * Verify that the AMQP adapter forwards command responses downstream.
      */
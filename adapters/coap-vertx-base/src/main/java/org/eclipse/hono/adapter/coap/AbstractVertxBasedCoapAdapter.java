@@ -35,6 +35,8 @@ import org.eclipse.hono.client.ClientErrorException;
 import org.eclipse.hono.client.MessageSender;
 import org.eclipse.hono.auth.Device;
 import org.eclipse.hono.service.AbstractProtocolAdapterBase;
+import org.eclipse.hono.service.metric.UploadStage;
+import org.eclipse.hono.service.metric.UploadTimer;
 import org.eclipse.hono.util.Constants;
 import org.eclipse.hono.util.EventConstants;
 import org.eclipse.hono.util.ResourceIdentifier;
@@ -454,14 +456,28 @@ public abstract class AbstractVertxBasedCoapAdapter<T extends CoapAdapterPropert
             exchange.respond(ResponseCode.NOT_ACCEPTABLE);
         } else {
 
-            final Future<JsonObject> tokenTracker = getRegistrationAssertion(
-                    device.getTenantId(), device.getDeviceId(),
-                    authenticatedDevice,
-                    null);
-            final Future<TenantObject> tenantConfigTracker = getTenantConfiguration(device.getTenantId(), null);
-            CompositeFuture.all(tokenTracker, senderTracker, tenantConfigTracker).compose(ok -> {
+            final Future<Void> limitCheck = checkMessageLimit(device.getTenantId(), payload.length());
+            if (limitCheck.failed()) {
+                LOG.debug("rejecting message for device [tenantId: {}, deviceId: {}, endpoint: {}]: message limit exceeded",
+                        device.getTenantId(), device.getDeviceId(), endpointName);
+                metrics.incrementRateLimitedMessages(endpointName, device.getTenantId());
+                CoapErrorResponse.respond(exchange, limitCheck.cause());
+                return;
+            }
+
+            final UploadTimer timer = new UploadTimer(metrics, endpointName, device.getTenantId());
+            final Future<JsonObject> tokenTracker = timer.track(UploadStage.REGISTRATION_ASSERTION,
+                    getRegistrationAssertion(
+                            device.getTenantId(), device.getDeviceId(),
+                            authenticatedDevice,
+                            null));
+            final Future<TenantObject> tenantConfigTracker = timer.track(UploadStage.TENANT_LOOKUP,
+                    getTenantConfiguration(device.getTenantId(), null));
+            final Future<MessageSender> senderAcquisition = timer.track(UploadStage.SENDER_ACQUISITION,
+                    senderTracker);
+            CompositeFuture.all(tokenTracker, senderAcquisition, tenantConfigTracker).compose(ok -> {
                 if (tenantConfigTracker.result().isAdapterEnabled(getTypeName())) {
-                    final MessageSender sender = senderTracker.result();
+                    final MessageSender sender = senderAcquisition.result();
                     final Message downstreamMessage = newMessage(
                             ResourceIdentifier.from(endpointName, device.getTenantId(), device.getDeviceId()),
                             sender.isRegistrationAssertionRequired(),
@@ -473,9 +489,9 @@ public abstract class AbstractVertxBasedCoapAdapter<T extends CoapAdapterPropert
                     customizeDownstreamMessage(downstreamMessage, exchange);
                     if (waitForOutcome) {
                         // wait for outcome, ensure message order, if CoAP NSTART-1 is used.
-                        return sender.sendAndWaitForOutcome(downstreamMessage);
+                        return timer.track(UploadStage.DISPOSITION, sender.sendAndWaitForOutcome(downstreamMessage));
                     } else {
-                        return sender.send(downstreamMessage);
+                        return timer.track(UploadStage.DISPOSITION, sender.send(downstreamMessage));
                     }
                 } else {
                     // this adapter is not enabled for the tenant
@@ -485,6 +501,7 @@ public abstract class AbstractVertxBasedCoapAdapter<T extends CoapAdapterPropert
                 LOG.trace("successfully processed message for device [tenantId: {}, deviceId: {}, endpoint: {}]",
                         device.getTenantId(), device.getDeviceId(), endpointName);
                 metrics.incrementProcessedMessages(endpointName, device.getTenantId());
+                timer.stop();
                 exchange.respond(ResponseCode.CHANGED);
                 return delivery;
             }).recover(t -> {
@@ -493,6 +510,7 @@ public abstract class AbstractVertxBasedCoapAdapter<T extends CoapAdapterPropert
                 if (!(ClientErrorException.class.isInstance(t))) {
                     metrics.incrementUndeliverableMessages(endpointName, device.getTenantId());
                 }
+                timer.stop();
                 CoapErrorResponse.respond(exchange, t);
                 return Future.failedFuture(t);
             });
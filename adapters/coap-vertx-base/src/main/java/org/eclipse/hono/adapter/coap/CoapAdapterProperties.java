@@ -15,6 +15,7 @@ package org.eclipse.hono.adapter.coap;
 
 import java.util.Objects;
 
+import org.eclipse.hono.client.RequestResponseClientConfigProperties;
 import org.eclipse.hono.config.ProtocolAdapterProperties;
 
 /**
@@ -34,6 +35,18 @@ public class CoapAdapterProperties extends ProtocolAdapterProperties {
      * The default maximum size of device cache.
      */
     public static final long DEFAULT_DEVICE_CACHE_MAX_SIZE = 1000000L;
+    /**
+     * The default number of seconds that pre-shared keys are cached for.
+     */
+    public static final long DEFAULT_PSK_CACHE_TIMEOUT = RequestResponseClientConfigProperties.DEFAULT_RESPONSE_CACHE_TIMEOUT;
+    /**
+     * The default maximum number of concurrent pre-shared key lookups.
+     */
+    public static final int DEFAULT_MAX_CONCURRENT_PSK_LOOKUPS = 100;
+    /**
+     * The default number of milliseconds to wait for a pre-shared key lookup to complete.
+     */
+    public static final long DEFAULT_PSK_LOOKUP_TIMEOUT = 10000L;
 
     private String idSplitRegex = DEFAULT_ID_SPLIT_REGEX;
     private String networkConfig = null;
@@ -43,6 +56,9 @@ public class CoapAdapterProperties extends ProtocolAdapterProperties {
     private int coapThreads = 2;
     private int deviceCacheMinSize = DEFAULT_DEVICE_CACHE_MIN_SIZE;
     private long deviceCacheMaxSize = DEFAULT_DEVICE_CACHE_MAX_SIZE;
+    private long pskCacheTimeout = DEFAULT_PSK_CACHE_TIMEOUT;
+    private int maxConcurrentPskLookups = DEFAULT_MAX_CONCURRENT_PSK_LOOKUPS;
+    private long pskLookupTimeout = DEFAULT_PSK_LOOKUP_TIMEOUT;
 
     public final String getIdSplitRegex() {
         return idSplitRegex;
@@ -135,6 +151,96 @@ public class CoapAdapterProperties extends ProtocolAdapterProperties {
         this.deviceCacheMaxSize = size;
     }
 
+    /**
+     * Gets the number of seconds that pre-shared keys retrieved from the Credentials service
+     * are cached for.
+     * <p>
+     * Cached keys are used for DTLS handshakes without invoking the Credentials service.
+     * The value should therefore not exceed the maximum age that the Credentials service
+     * indicates in the cache directive of its responses.
+     * <p>
+     * The default value is {@link #DEFAULT_PSK_CACHE_TIMEOUT}.
+     * 
+     * @return The number of seconds.
+     */
+    public final long getPskCacheTimeout() {
+        return pskCacheTimeout;
+    }
+
+    /**
+     * Sets the number of seconds that pre-shared keys retrieved from the Credentials service
+     * are cached for.
+     * <p>
+     * Setting this property to 0 disables caching of keys.
+     * <p>
+     * The default value is {@link #DEFAULT_PSK_CACHE_TIMEOUT}.
+     * 
+     * @param timeout The number of seconds.
+     * @throws IllegalArgumentException if timeout is &lt; 0.
+     */
+    public final void setPskCacheTimeout(final long timeout) {
+        if (timeout < 0) {
+            throw new IllegalArgumentException("timeout must not be negative");
+        }
+        this.pskCacheTimeout = timeout;
+    }
+
+    /**
+     * Gets the maximum number of pre-shared key lookups that may be in progress at the same time.
+     * <p>
+     * DTLS handshakes requiring a key that is not cached are rejected while the maximum number
+     * of lookups are in progress. This prevents a slow Credentials service from stalling all
+     * handshakes.
+     * <p>
+     * The default value is {@link #DEFAULT_MAX_CONCURRENT_PSK_LOOKUPS}.
+     * 
+     * @return The maximum number of lookups.
+     */
+    public final int getMaxConcurrentPskLookups() {
+        return maxConcurrentPskLookups;
+    }
+
+    /**
+     * Sets the maximum number of pre-shared key lookups that may be in progress at the same time.
+     * <p>
+     * The default value is {@link #DEFAULT_MAX_CONCURRENT_PSK_LOOKUPS}.
+     * 
+     * @param lookups The maximum number of lookups.
+     * @throws IllegalArgumentException if lookups is &lt; 1.
+     */
+    public final void setMaxConcurrentPskLookups(final int lookups) {
+        if (lookups < 1) {
+            throw new IllegalArgumentException("maximum number of lookups must be at least one");
+        }
+        this.maxConcurrentPskLookups = lookups;
+    }
+
+    /**
+     * Gets the number of milliseconds that a DTLS handshake waits for a pre-shared key lookup to complete.
+     * <p>
+     * The default value is {@link #DEFAULT_PSK_LOOKUP_TIMEOUT}.
+     * 
+     * @return The number of milliseconds.
+     */
+    public final long getPskLookupTimeout() {
+        return pskLookupTimeout;
+    }
+
+    /**
+     * Sets the number of milliseconds that a DTLS handshake waits for a pre-shared key lookup to complete.
+     * <p>
+     * The default value is {@link #DEFAULT_PSK_LOOKUP_TIMEOUT}.
+     * 
+     * @param timeout The number of milliseconds.
+     * @throws IllegalArgumentException if timeout is &lt; 1.
+     */
+    public final void setPskLookupTimeout(final long timeout) {
+        if (timeout < 1) {
+            throw new IllegalArgumentException("timeout must be at least one millisecond");
+        }
+        this.pskLookupTimeout = timeout;
+    }
+
     /**
      * Gets the number of connector threads.
      * 
@@ -20,6 +20,7 @@ import org.eclipse.californium.core.coap.MessageFormatException;
 import org.eclipse.californium.core.coap.Response;
 import org.eclipse.californium.core.server.resources.CoapExchange;
 import org.eclipse.hono.client.ServiceInvocationException;
+import org.eclipse.hono.service.http.HttpUtils;
 
 /**
  * Utility send response with an error.
@@ -68,13 +69,19 @@ public class CoapErrorResponse {
         final ResponseCode code;
         if (ServiceInvocationException.class.isInstance(cause)) {
             final int error = ((ServiceInvocationException) cause).getErrorCode();
-            code = toCoapCode(error, defaultCode);
             switch (error) {
             case HttpURLConnection.HTTP_UNAVAILABLE:
+                code = toCoapCode(error, defaultCode);
                 // delay retry by 2 seconds, see http adapter, HttpUtils.serviceUnavailable(ctx, 2)
                 exchange.setMaxAge(2);
                 break;
+            case HttpUtils.HTTP_TOO_MANY_REQUESTS:
+                // no 4.29 response code available, delay retry by 1 second instead
+                code = ResponseCode.SERVICE_UNAVAILABLE;
+                exchange.setMaxAge(1);
+                break;
             default:
+                code = toCoapCode(error, defaultCode);
                 break;
             }
         } else {
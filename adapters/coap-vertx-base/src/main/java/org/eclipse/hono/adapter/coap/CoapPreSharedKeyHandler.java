@@ -20,7 +20,10 @@ import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -62,6 +65,19 @@ public class CoapPreSharedKeyHandler implements PskStore, CoapAuthenticationHand
      * Cache mapping principal information to hono devices.
      */
     private final Cache<PreSharedKeyDeviceIdentity, Device> devices;
+    /**
+     * Cache mapping principal information to pre-shared keys and hono devices.
+     * Used for serving handshakes without a lookup.
+     */
+    private final Cache<PreSharedKeyDeviceIdentity, SharedKey> keys;
+    /**
+     * The lookups of pre-shared keys that are currently in progress.
+     */
+    private final ConcurrentMap<PreSharedKeyDeviceIdentity, CompletableFuture<byte[]>> pendingLookups = new ConcurrentHashMap<>();
+    /**
+     * Limits the number of concurrent lookups of pre-shared keys.
+     */
+    private final Semaphore lookupPermits;
     /**
      * Configuration used to split identity into authentication id and tenant.
      */
@@ -88,12 +104,21 @@ public class CoapPreSharedKeyHandler implements PskStore, CoapAuthenticationHand
                 .initialCapacity(config.getDeviceCacheMinSize())
                 .maximumSize(config.getDeviceCacheMaxSize());
         this.devices = builder.build();
+        if (config.getPskCacheTimeout() > 0 && config.getDeviceCacheMaxSize() > 0) {
+            this.keys = CacheBuilder.newBuilder()
+                    .maximumSize(config.getDeviceCacheMaxSize())
+                    .expireAfterWrite(config.getPskCacheTimeout(), TimeUnit.SECONDS)
+                    .build();
+        } else {
+            this.keys = null;
+        }
+        this.lookupPermits = new Semaphore(config.getMaxConcurrentPskLookups());
     }
 
     /**
      * Get pre-shared-key for device from credentials service.
      * <p>
-     * On success, add hono device to cache.
+     * On success, add hono device and pre-shared-key to cache.
      * 
      * @param handshakeIdentity pre-shared-key identity of device.
      * @return future with pre-shared-key.
@@ -106,8 +131,11 @@ public class CoapPreSharedKeyHandler implements PskStore, CoapAuthenticationHand
                 .compose((credentials) -> {
                     final byte[] key = getCandidateKey(credentials);
                     if (key != null) {
-                        devices.put(handshakeIdentity,
-                                new Device(handshakeIdentity.getTenantId(), credentials.getDeviceId()));
+                        final Device device = new Device(handshakeIdentity.getTenantId(), credentials.getDeviceId());
+                        devices.put(handshakeIdentity, device);
+                        if (keys != null) {
+                            keys.put(handshakeIdentity, new SharedKey(key, device));
+                        }
                         return Future.succeededFuture(key);
                     } else {
                         return Future.failedFuture("secret key missing!");
@@ -150,6 +178,15 @@ public class CoapPreSharedKeyHandler implements PskStore, CoapAuthenticationHand
         return PreSharedKeyDeviceIdentity.create(identity, splitRegex);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This method is invoked by the DTLS handshake and therefore blocks until the key is available.
+     * Keys are served from the cache if possible. Otherwise the key is looked up using the
+     * Credentials service, sharing a lookup that is already in progress for the same identity.
+     * If the configured maximum number of lookups is already in progress, the
+     * handshake is rejected immediately in order to not stall the DTLS handshake threads.
+     */
     @Override
     public byte[] getKey(final String identity) {
         LOG.debug("get secret key for {}", identity);
@@ -157,21 +194,24 @@ public class CoapPreSharedKeyHandler implements PskStore, CoapAuthenticationHand
         if (handshakeIdentity == null) {
             return null;
         }
-        //
-        final CompletableFuture<byte[]> secret = new CompletableFuture<>();
-        vertx.runOnContext((v) -> {
-            getSharedKeyForDevice(handshakeIdentity).setHandler((getAttempt) -> {
-                if (getAttempt.succeeded()) {
-                    secret.complete(getAttempt.result());
-                } else {
-                    secret.completeExceptionally(getAttempt.cause());
-                }
-            });
-        });
+        if (keys != null) {
+            final SharedKey cachedKey = keys.getIfPresent(handshakeIdentity);
+            if (cachedKey != null) {
+                LOG.trace("using cached secret key for {}", identity);
+                devices.put(handshakeIdentity, cachedKey.device);
+                return cachedKey.key;
+            }
+        }
+        final CompletableFuture<byte[]> secret = getPendingLookup(handshakeIdentity);
+        if (secret == null) {
+            LOG.debug("rejecting handshake for {}, too many concurrent secret key lookups", identity);
+            return null;
+        }
         try {
             // timeout, don't block handshake too long
-            return secret.get(10000, TimeUnit.MILLISECONDS);
+            return secret.get(config.getPskLookupTimeout(), TimeUnit.MILLISECONDS);
         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         } catch (TimeoutException e) {
         } catch (CancellationException e) {
         } catch (ExecutionException e) {
@@ -180,6 +220,44 @@ public class CoapPreSharedKeyHandler implements PskStore, CoapAuthenticationHand
         return null;
     }
 
+    /**
+     * Gets the lookup of a pre-shared-key from the credentials service.
+     * <p>
+     * A new lookup is started on the vert.x context if no lookup is in progress
+     * for the identity yet.
+     * 
+     * @param handshakeIdentity pre-shared-key identity of device.
+     * @return The lookup or {@code null} if the maximum number of concurrent lookups is reached.
+     */
+    private CompletableFuture<byte[]> getPendingLookup(final PreSharedKeyDeviceIdentity handshakeIdentity) {
+
+        final CompletableFuture<byte[]> pendingLookup = pendingLookups.get(handshakeIdentity);
+        if (pendingLookup != null) {
+            return pendingLookup;
+        }
+        if (!lookupPermits.tryAcquire()) {
+            return null;
+        }
+        final CompletableFuture<byte[]> newLookup = new CompletableFuture<>();
+        final CompletableFuture<byte[]> concurrentLookup = pendingLookups.putIfAbsent(handshakeIdentity, newLookup);
+        if (concurrentLookup != null) {
+            lookupPermits.release();
+            return concurrentLookup;
+        }
+        vertx.runOnContext((v) -> {
+            getSharedKeyForDevice(handshakeIdentity).setHandler((getAttempt) -> {
+                pendingLookups.remove(handshakeIdentity, newLookup);
+                lookupPermits.release();
+                if (getAttempt.succeeded()) {
+                    newLookup.complete(getAttempt.result());
+                } else {
+                    newLookup.completeExceptionally(getAttempt.cause());
+                }
+            });
+        });
+        return newLookup;
+    }
+
     @Override
     public byte[] getKey(final ServerNames serverNames, final String identity) {
         // for now, don't support serverNames indication
@@ -235,4 +313,18 @@ public class CoapPreSharedKeyHandler implements PskStore, CoapAuthenticationHand
         }
         return Future.failedFuture(new IllegalArgumentException("Principal not supported by this handler!"));
     }
+
+    /**
+     * A pre-shared key and the device it belongs to.
+     */
+    private static final class SharedKey {
+
+        private final byte[] key;
+        private final Device device;
+
+        SharedKey(final byte[] key, final Device device) {
+            this.key = key;
+            this.device = device;
+        }
+    }
 }
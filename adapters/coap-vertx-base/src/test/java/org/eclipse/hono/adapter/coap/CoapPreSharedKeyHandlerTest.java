@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.adapter.coap;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.hono.client.CredentialsClient;
+import org.eclipse.hono.client.HonoClient;
+import org.eclipse.hono.util.CredentialsConstants;
+import org.eclipse.hono.util.CredentialsObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+
+/**
+ * Verifies behavior of {@link CoapPreSharedKeyHandler}.
+ *
+ */
+public class CoapPreSharedKeyHandlerTest {
+
+    private static final byte[] KEY = "secret".getBytes(StandardCharsets.UTF_8);
+
+    private Vertx vertx;
+    private HonoClient credentialsServiceClient;
+    private CredentialsClient credentialsClient;
+    private CoapAdapterProperties config;
+
+    /**
+     * Sets up the fixture.
+     */
+    @SuppressWarnings("unchecked")
+    @Before
+    public void setUp() {
+
+        vertx = mock(Vertx.class);
+        doAnswer(invocation -> {
+            final Handler<Void> handler = invocation.getArgument(0);
+            handler.handle(null);
+            return null;
+        }).when(vertx).runOnContext(any(Handler.class));
+
+        credentialsClient = mock(CredentialsClient.class);
+        when(credentialsClient.get(eq(CredentialsConstants.SECRETS_TYPE_PRESHARED_KEY), anyString())).thenAnswer(invocation -> {
+            return Future.succeededFuture(CredentialsObject.fromPresharedKey("device", invocation.getArgument(1), KEY, null, null));
+        });
+        credentialsServiceClient = mock(HonoClient.class);
+        when(credentialsServiceClient.getOrCreateCredentialsClient(anyString()))
+                .thenReturn(Future.succeededFuture(credentialsClient));
+
+        config = new CoapAdapterProperties();
+    }
+
+    /**
+     * Verifies that a key retrieved from the Credentials service is cached and
+     * used for subsequent handshakes of the same device.
+     */
+    @Test
+    public void testGetKeyUsesCachedKey() {
+
+        final CoapPreSharedKeyHandler handler = new CoapPreSharedKeyHandler(vertx, config, credentialsServiceClient);
+
+        assertArrayEquals(KEY, handler.getKey("auth@tenant"));
+        assertArrayEquals(KEY, handler.getKey("auth@tenant"));
+        verify(credentialsClient, times(1)).get(CredentialsConstants.SECRETS_TYPE_PRESHARED_KEY, "auth");
+        assertEquals("device", handler.getCachedDevice("auth@tenant").getDeviceId());
+    }
+
+    /**
+     * Verifies that keys are looked up for every handshake if caching is disabled.
+     */
+    @Test
+    public void testGetKeyDoesNotCacheKeyIfDisabled() {
+
+        config.setPskCacheTimeout(0);
+        final CoapPreSharedKeyHandler handler = new CoapPreSharedKeyHandler(vertx, config, credentialsServiceClient);
+
+        assertArrayEquals(KEY, handler.getKey("auth@tenant"));
+        assertArrayEquals(KEY, handler.getKey("auth@tenant"));
+        verify(credentialsClient, times(2)).get(CredentialsConstants.SECRETS_TYPE_PRESHARED_KEY, "auth");
+    }
+
+    /**
+     * Verifies that a handshake is rejected without looking up the key if the
+     * maximum number of concurrent lookups is reached.
+     */
+    @Test
+    public void testGetKeyFailsIfMaxConcurrentLookupsIsReached() {
+
+        // GIVEN a Credentials service that does not respond
+        when(credentialsClient.get(eq(CredentialsConstants.SECRETS_TYPE_PRESHARED_KEY), anyString()))
+            .thenReturn(Future.future());
+        // and a handler that allows for a single lookup only
+        config.setMaxConcurrentPskLookups(1);
+        config.setPskLookupTimeout(10);
+        final CoapPreSharedKeyHandler handler = new CoapPreSharedKeyHandler(vertx, config, credentialsServiceClient);
+
+        // WHEN two devices start a handshake
+        assertNull(handler.getKey("one@tenant"));
+        assertNull(handler.getKey("two@tenant"));
+
+        // THEN the key of the second device is not looked up
+        verify(credentialsClient).get(CredentialsConstants.SECRETS_TYPE_PRESHARED_KEY, "one");
+        verify(credentialsClient, times(1)).get(eq(CredentialsConstants.SECRETS_TYPE_PRESHARED_KEY), anyString());
+    }
+}
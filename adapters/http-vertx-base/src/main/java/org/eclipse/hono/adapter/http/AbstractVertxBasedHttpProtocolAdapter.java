@@ -36,6 +36,8 @@ import org.eclipse.hono.service.AbstractProtocolAdapterBase;
 import org.eclipse.hono.service.auth.DeviceUser;
 import org.eclipse.hono.service.http.DefaultFailureHandler;
 import org.eclipse.hono.service.http.HttpUtils;
+import org.eclipse.hono.service.metric.UploadStage;
+import org.eclipse.hono.service.metric.UploadTimer;
 import org.eclipse.hono.tracing.TracingHelper;
 import org.eclipse.hono.util.Constants;
 import org.eclipse.hono.util.EventConstants;
@@ -303,6 +305,7 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
             .setMaxChunkSize(4096);
         addTlsKeyCertOptions(options);
         addTlsTrustOptions(options);
+        getConfig().applyTransportOptions(options);
         return options;
     }
 
@@ -320,6 +323,7 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
 
         final HttpServerOptions options = new HttpServerOptions();
         options.setHost(getConfig().getInsecurePortBindAddress()).setPort(getConfig().getInsecurePort(getInsecurePortDefaultValue())).setMaxChunkSize(4096);
+        getConfig().applyTransportOptions(options);
         return options;
     }
 
@@ -553,6 +557,11 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
             final Integer qos = getQoSLevel(qosHeaderValue);
             if (qos != null && qos == HEADER_QOS_INVALID) {
                 HttpUtils.badRequest(ctx, "unsupported QoS-Level header value");
+            } else if (checkMessageLimit(tenant, payload == null ? 0 : payload.length()).failed()) {
+                LOG.debug("rejecting [{}] message from device [tenantId: {}, deviceId: {}]: message limit exceeded",
+                        endpointName, tenant, deviceId);
+                metrics.incrementRateLimitedMessages(endpointName, tenant);
+                HttpUtils.tooManyRequests(ctx, 1, "message limit of tenant exceeded");
             } else {
 
                 final Device authenticatedDevice = getAuthenticatedDevice(ctx);
@@ -566,13 +575,18 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
                         .withTag(TracingHelper.TAG_AUTHENTICATED.getKey(), authenticatedDevice != null)
                         .start();
 
+                final UploadTimer timer = new UploadTimer(metrics, endpointName, tenant);
                 final Future<Void> responseReady = Future.future();
-                final Future<JsonObject> tokenTracker = getRegistrationAssertion(
-                        tenant,
-                        deviceId,
-                        authenticatedDevice,
-                        currentSpan.context());
-                final Future<TenantObject> tenantConfigTracker = getTenantConfiguration(tenant, currentSpan.context());
+                final Future<JsonObject> tokenTracker = timer.track(UploadStage.REGISTRATION_ASSERTION,
+                        getRegistrationAssertion(
+                                tenant,
+                                deviceId,
+                                authenticatedDevice,
+                                currentSpan.context()));
+                final Future<TenantObject> tenantConfigTracker = timer.track(UploadStage.TENANT_LOOKUP,
+                        getTenantConfiguration(tenant, currentSpan.context()));
+                final Future<MessageSender> senderAcquisition = timer.track(UploadStage.SENDER_ACQUISITION,
+                        senderTracker);
                 final Future<Integer> ttdTracker = tenantConfigTracker.compose(tenantObj -> {
                     final Integer ttdParam = HttpUtils.getTimeTilDisconnect(ctx);
                     return getTimeUntilDisconnect(tenantObj, ttdParam).map(effectiveTtd -> {
@@ -585,10 +599,10 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
                 final Future<MessageConsumer> commandConsumerTracker = ttdTracker
                         .compose(ttd -> createCommandConsumer(ttd, tenant, deviceId, ctx, responseReady, currentSpan));
 
-                CompositeFuture.all(tokenTracker, senderTracker, commandConsumerTracker).compose(ok -> {
+                CompositeFuture.all(tokenTracker, senderAcquisition, commandConsumerTracker).compose(ok -> {
 
                     if (tenantConfigTracker.result().isAdapterEnabled(getTypeName())) {
-                        final MessageSender sender = senderTracker.result();
+                        final MessageSender sender = senderAcquisition.result();
                         final Message downstreamMessage = newMessage(
                                 ResourceIdentifier.from(endpointName, tenant, deviceId),
                                 sender.isRegistrationAssertionRequired(),
@@ -602,10 +616,15 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
                         addConnectionCloseHandler(ctx, commandConsumerTracker.result(), tenant, deviceId);
 
                         if (qos == null) {
-                            return CompositeFuture.all(sender.send(downstreamMessage, currentSpan.context()), responseReady);
+                            return CompositeFuture.all(
+                                    timer.track(UploadStage.DISPOSITION, sender.send(downstreamMessage, currentSpan.context())),
+                                    responseReady);
                         } else {
                             currentSpan.setTag(Constants.HEADER_QOS_LEVEL, qosHeaderValue);
-                            return CompositeFuture.all(sender.sendAndWaitForOutcome(downstreamMessage, currentSpan.context()), responseReady);
+                            return CompositeFuture.all(
+                                    timer.track(UploadStage.DISPOSITION,
+                                            sender.sendAndWaitForOutcome(downstreamMessage, currentSpan.context())),
+                                    responseReady);
                         }
                     } else {
                         // this adapter is not enabled for the tenant
@@ -614,6 +633,7 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
                     }
                 }).compose(delivery -> {
 
+                    timer.stop();
                     if (!ctx.response().closed()) {
                         final CommandContext commandContext = ctx.get(CommandContext.KEY_COMMAND_CONTEXT);
                         setResponsePayload(ctx.response(), commandContext, currentSpan);
@@ -655,6 +675,7 @@ public abstract class AbstractVertxBasedHttpProtocolAdapter<T extends HttpProtoc
 
                     LOG.debug("cannot process [{}] message from device [tenantId: {}, deviceId: {}]",
                             endpointName, tenant, deviceId, t);
+                    timer.stop();
                     final CommandContext commandContext = ctx.get(CommandContext.KEY_COMMAND_CONTEXT);
                     if (commandContext != null) {
                         commandContext.release();
@@ -19,6 +19,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.apache.qpid.proton.amqp.transport.ErrorCondition;
@@ -39,6 +40,9 @@ import org.eclipse.hono.service.auth.device.DeviceCredentials;
 import org.eclipse.hono.service.auth.device.HonoClientBasedAuthProvider;
 import org.eclipse.hono.service.auth.device.UsernamePasswordAuthProvider;
 import org.eclipse.hono.service.auth.device.UsernamePasswordCredentials;
+import org.eclipse.hono.service.limiting.ConnectionAdmissionController.Admission;
+import org.eclipse.hono.service.metric.UploadStage;
+import org.eclipse.hono.service.metric.UploadTimer;
 import org.eclipse.hono.tracing.TracingHelper;
 import org.eclipse.hono.util.CommandConstants;
 import org.eclipse.hono.util.Constants;
@@ -98,6 +102,7 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends ProtocolAd
     private MqttServer server;
     private MqttServer insecureServer;
     private HonoClientBasedAuthProvider usernamePasswordAuthProvider;
+    private final Map<MqttEndpoint, Admission> admissions = new HashMap<>();
 
     /**
      * Sets the provider to use for authenticating devices based on a username and password.
@@ -177,6 +182,7 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends ProtocolAd
                     .setHost(getConfig().getBindAddress())
                     .setPort(determineSecurePort())
                     .setMaxMessageSize(getConfig().getMaxPayloadSize());
+            getConfig().applyTransportOptions(options);
             addTlsKeyCertOptions(options);
             addTlsTrustOptions(options);
 
@@ -199,6 +205,7 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends ProtocolAd
                     .setHost(getConfig().getInsecurePortBindAddress())
                     .setPort(determineInsecurePort())
                     .setMaxMessageSize(getConfig().getMaxPayloadSize());
+            getConfig().applyTransportOptions(options);
 
             return bindMqttServer(options, insecureServer).map(server -> {
                 insecureServer = server;
@@ -313,6 +320,18 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends ProtocolAd
     final void handleEndpointConnection(final MqttEndpoint endpoint) {
 
         LOG.debug("connection request from client [client-id: {}]", endpoint.clientIdentifier());
+        final Admission admission = getAdmissionController().tryAdmit();
+        if (admission == null) {
+            LOG.debug("connection request from client [client-id: {}] rejected: maximum number of connections or accept rate exceeded",
+                    endpoint.clientIdentifier());
+            endpoint.reject(MqttConnectReturnCode.CONNECTION_REFUSED_SERVER_UNAVAILABLE);
+            return;
+        }
+        admissions.put(endpoint, admission);
+        // make sure the admission is released if the client disconnects
+        // before the connection has been established
+        endpoint.closeHandler(v -> releaseAdmission(endpoint));
+
         final Span span = tracer.buildSpan("CONNECT")
                 .ignoreActiveSpan()
                 .withTag(Tags.SPAN_KIND.getKey(), Tags.SPAN_KIND_SERVER)
@@ -328,15 +347,18 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends ProtocolAd
         }
 
         isConnected()
-                .compose(v -> handleConnectionRequest(endpoint, span))
+                .compose(v -> handleConnectionRequest(endpoint, admission, span))
                 .setHandler(result -> handleConnectionRequestResult(endpoint, span, result));
 
     }
 
-    private Future<Device> handleConnectionRequest(final MqttEndpoint endpoint, final Span currentSpan) {
+    private Future<Device> handleConnectionRequest(
+            final MqttEndpoint endpoint,
+            final Admission admission,
+            final Span currentSpan) {
 
         if (getConfig().isAuthenticationRequired()) {
-            return handleEndpointConnectionWithAuthentication(endpoint, currentSpan);
+            return handleEndpointConnectionWithAuthentication(endpoint, admission, currentSpan);
         } else {
             return handleEndpointConnectionWithoutAuthentication(endpoint);
         }
@@ -369,6 +391,7 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends ProtocolAd
                                     MqttConnectReturnCode.CONNECTION_REFUSED_SERVER_UNAVAILABLE,
                                     sendAttempt.cause());
                             endpoint.reject(MqttConnectReturnCode.CONNECTION_REFUSED_SERVER_UNAVAILABLE);
+                            releaseAdmission(endpoint);
                             TracingHelper.logError(currentSpan, sendAttempt.cause());
                         }
                     });
@@ -388,6 +411,7 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends ProtocolAd
                         endpoint.clientIdentifier(), MqttConnectReturnCode.CONNECTION_REFUSED_SERVER_UNAVAILABLE);
                 endpoint.reject(MqttConnectReturnCode.CONNECTION_REFUSED_SERVER_UNAVAILABLE);
             }
+            releaseAdmission(endpoint);
             TracingHelper.logError(currentSpan, t);
         }
         currentSpan.finish();
@@ -418,11 +442,21 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends ProtocolAd
     }
 
     private Future<Device> handleEndpointConnectionWithAuthentication(final MqttEndpoint endpoint,
+            final Admission admission,
             final Span currentSpan) {
 
         final Future<DeviceCredentials> credentialsTracker = getCredentials(endpoint);
         return credentialsTracker
-                .compose(credentials -> authenticate(credentials, currentSpan))
+                .compose(credentials -> authenticate(credentials, admission, currentSpan))
+                .compose(device -> {
+                    if (admission.tryAssignTenant(device.getTenantId())) {
+                        return Future.succeededFuture(device);
+                    } else {
+                        currentSpan.log("maximum number of connections for tenant exceeded");
+                        LOG.debug("maximum number of connections exceeded for tenant [{}]", device.getTenantId());
+                        return rejected(MqttConnectReturnCode.CONNECTION_REFUSED_SERVER_UNAVAILABLE);
+                    }
+                })
                 .compose(device -> CompositeFuture.all(
                         getTenantConfiguration(device.getTenantId(), currentSpan.context())
                                 .compose(tenant -> isAdapterEnabled(tenant)),
@@ -879,6 +913,14 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends ProtocolAd
         if (!isPayloadOfIndicatedType(payload, ctx.contentType())) {
             return Future.failedFuture(new ClientErrorException(HttpURLConnection.HTTP_BAD_REQUEST,
                     String.format("Content-Type %s does not match payload", ctx.contentType())));
+        }
+
+        final Future<Void> limitCheck = checkMessageLimit(tenant, payload == null ? 0 : payload.length());
+        if (limitCheck.failed()) {
+            LOG.debug("discarding message [endpoint: {}] from device [tenantId: {}, deviceId: {}]: message limit exceeded",
+                    endpointName, tenant, deviceId);
+            metrics.incrementRateLimitedMessages(endpointName, tenant);
+            return limitCheck;
         } else {
 
             final Span currentSpan = tracer.buildSpan("upload " + endpointName)
@@ -891,15 +933,19 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends ProtocolAd
                     .withTag(TracingHelper.TAG_AUTHENTICATED.getKey(), ctx.authenticatedDevice() != null)
                     .start();
 
-            final Future<JsonObject> tokenTracker = getRegistrationAssertion(tenant, deviceId,
-                    ctx.authenticatedDevice(), currentSpan.context());
-            final Future<TenantObject> tenantConfigTracker = getTenantConfiguration(tenant, currentSpan.context());
+            final UploadTimer timer = new UploadTimer(metrics, endpointName, tenant);
+            final Future<JsonObject> tokenTracker = timer.track(UploadStage.REGISTRATION_ASSERTION,
+                    getRegistrationAssertion(tenant, deviceId, ctx.authenticatedDevice(), currentSpan.context()));
+            final Future<TenantObject> tenantConfigTracker = timer.track(UploadStage.TENANT_LOOKUP,
+                    getTenantConfiguration(tenant, currentSpan.context()));
+            final Future<? extends MessageSender> senderAcquisition = timer.track(UploadStage.SENDER_ACQUISITION,
+                    senderTracker);
 
-            return CompositeFuture.all(tokenTracker, tenantConfigTracker, senderTracker).compose(ok -> {
+            return CompositeFuture.all(tokenTracker, tenantConfigTracker, senderAcquisition).compose(ok -> {
 
                 if (tenantConfigTracker.result().isAdapterEnabled(getTypeName())) {
 
-                    final MessageSender sender = senderTracker.result();
+                    final MessageSender sender = senderAcquisition.result();
                     final Message downstreamMessage = newMessage(
                             ResourceIdentifier.from(endpointName, tenant, deviceId),
                             sender.isRegistrationAssertionRequired(),
@@ -913,9 +959,11 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends ProtocolAd
                     customizeDownstreamMessage(downstreamMessage, ctx);
 
                     if (ctx.message().qosLevel() == MqttQoS.AT_LEAST_ONCE) {
-                        return sender.sendAndWaitForOutcome(downstreamMessage, currentSpan.context());
+                        return timer.track(UploadStage.DISPOSITION,
+                                sender.sendAndWaitForOutcome(downstreamMessage, currentSpan.context()));
                     } else {
-                        return sender.send(downstreamMessage, currentSpan.context());
+                        return timer.track(UploadStage.DISPOSITION,
+                                sender.send(downstreamMessage, currentSpan.context()));
                     }
                 } else {
                     // this adapter is not enabled for the tenant
@@ -932,6 +980,7 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends ProtocolAd
                     currentSpan.log("sending PUBACK");
                     ctx.deviceEndpoint().publishAcknowledge(ctx.message().messageId());
                 }
+                timer.stop();
                 currentSpan.finish();
                 return Future.<Void> succeededFuture();
 
@@ -945,6 +994,7 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends ProtocolAd
                     LOG.debug("cannot process message [endpoint: {}] from device [tenantId: {}, deviceId: {}]",
                             endpointName, tenant, deviceId, t);
                 }
+                timer.stop();
                 TracingHelper.logError(currentSpan, t);
                 currentSpan.finish();
                 return Future.failedFuture(t);
@@ -975,6 +1025,7 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends ProtocolAd
      * @param authenticatedDevice Optional authenticated device information, may be {@code null}.
      */
     protected final void close(final MqttEndpoint endpoint, final Device authenticatedDevice) {
+        releaseAdmission(endpoint);
         onClose(endpoint);
         sendDisconnectedEvent(endpoint.clientIdentifier(), authenticatedDevice);
         if (authenticatedDevice == null) {
@@ -993,6 +1044,10 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends ProtocolAd
         }
     }
 
+    private void releaseAdmission(final MqttEndpoint endpoint) {
+        Optional.ofNullable(admissions.remove(endpoint)).ifPresent(Admission::release);
+    }
+
     /**
      * Gets the current span from an execution context.
      * 
@@ -1188,9 +1243,20 @@ public abstract class AbstractVertxBasedMqttProtocolAdapter<T extends ProtocolAd
         }
     }
 
-    private Future<DeviceUser> authenticate(final DeviceCredentials credentials, final Span currentSpan) {
+    private Future<DeviceUser> authenticate(
+            final DeviceCredentials credentials,
+            final Admission admission,
+            final Span currentSpan) {
+
+        if (!admission.tryStartAuthentication()) {
+            currentSpan.log("maximum number of concurrent authentications exceeded");
+            LOG.debug("maximum number of concurrent authentications exceeded, rejecting device [tenant-id: {}, auth-id: {}]",
+                    credentials.getTenantId(), credentials.getAuthId());
+            return rejected(MqttConnectReturnCode.CONNECTION_REFUSED_SERVER_UNAVAILABLE);
+        }
         final Future<DeviceUser> result = Future.future();
         usernamePasswordAuthProvider.authenticate(credentials, handler -> {
+            admission.authenticationFinished();
             if (handler.succeeded()) {
                 final DeviceUser authenticatedDevice = handler.result();
                 currentSpan.log("device authenticated");
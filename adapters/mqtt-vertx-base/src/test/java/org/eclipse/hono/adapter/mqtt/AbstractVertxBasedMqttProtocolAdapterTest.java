@@ -49,6 +49,9 @@ import org.eclipse.hono.service.auth.DeviceUser;
 import org.eclipse.hono.service.auth.device.DeviceCredentials;
 import org.eclipse.hono.service.auth.device.HonoClientBasedAuthProvider;
 import org.eclipse.hono.service.auth.device.UsernamePasswordCredentials;
+import org.eclipse.hono.service.limiting.ConnectionAdmissionController;
+import org.eclipse.hono.service.http.HttpUtils;
+import org.eclipse.hono.service.metric.UploadStage;
 import org.eclipse.hono.util.EventConstants;
 import org.eclipse.hono.util.MessageHelper;
 import org.eclipse.hono.util.RegistrationConstants;
@@ -369,7 +372,7 @@ public class AbstractVertxBasedMqttProtocolAdapterTest {
         assertThat(credentialsCaptor.getValue().getAuthId(), is("sensor1"));
         verify(endpoint).accept(false);
         verify(endpoint).publishHandler(any(Handler.class));
-        verify(endpoint).closeHandler(any(Handler.class));
+        verify(endpoint, times(2)).closeHandler(any(Handler.class));
     }
 
     /**
@@ -428,10 +431,82 @@ public class AbstractVertxBasedMqttProtocolAdapterTest {
         // THEN the connection is established and handlers are registered
         verify(usernamePasswordAuthProvider, never()).authenticate(any(DeviceCredentials.class), any(Handler.class));
         verify(endpoint).publishHandler(any(Handler.class));
-        verify(endpoint).closeHandler(any(Handler.class));
+        verify(endpoint, times(2)).closeHandler(any(Handler.class));
         verify(endpoint).accept(false);
     }
 
+    /**
+     * Verifies that the adapter rejects connections once the maximum number of
+     * connections has been reached and accepts connections again once a
+     * connection has been closed.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testEndpointConnectionRejectedIfMaxConnectionsExceeded() {
+
+        // GIVEN an adapter that accepts a single connection only
+        config.setAuthenticationRequired(false);
+        final MqttServer server = getMqttServer(false);
+        final AbstractVertxBasedMqttProtocolAdapter<ProtocolAdapterProperties> adapter = getAdapter(server);
+        final ConnectionAdmissionController admissionController = new ConnectionAdmissionController();
+        admissionController.setLimits(1, 0, 0, 0);
+        adapter.setAdmissionController(admissionController);
+        forceClientMocksToConnected();
+
+        // WHEN two devices connect
+        final MqttEndpoint firstEndpoint = mockEndpoint();
+        adapter.handleEndpointConnection(firstEndpoint);
+        final MqttEndpoint secondEndpoint = mockEndpoint();
+        adapter.handleEndpointConnection(secondEndpoint);
+
+        // THEN the first connection is accepted
+        verify(firstEndpoint).accept(false);
+        // and the second connection is rejected without registering any handlers
+        verify(secondEndpoint).reject(MqttConnectReturnCode.CONNECTION_REFUSED_SERVER_UNAVAILABLE);
+        verify(secondEndpoint, never()).publishHandler(any(Handler.class));
+
+        // and the connection is released when the first device disconnects
+        final ArgumentCaptor<Handler<Void>> closeHandlerCaptor = ArgumentCaptor.forClass(Handler.class);
+        verify(firstEndpoint, times(2)).closeHandler(closeHandlerCaptor.capture());
+        closeHandlerCaptor.getValue().handle(null);
+        assertThat(admissionController.getConnections(), is(0));
+    }
+
+    /**
+     * Verifies that the adapter rejects connections of devices of a tenant once the
+     * maximum number of connections per tenant has been reached.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testEndpointConnectionRejectedIfMaxConnectionsPerTenantExceeded() {
+
+        // GIVEN an adapter that accepts a single connection per tenant
+        final MqttServer server = getMqttServer(false);
+        final AbstractVertxBasedMqttProtocolAdapter<ProtocolAdapterProperties> adapter = getAdapter(server);
+        final ConnectionAdmissionController admissionController = new ConnectionAdmissionController();
+        admissionController.setLimits(0, 1, 0, 0);
+        adapter.setAdmissionController(admissionController);
+        forceClientMocksToConnected();
+        doAnswer(invocation -> {
+            final Handler<AsyncResult<DeviceUser>> resultHandler = invocation.getArgument(1);
+            resultHandler.handle(Future.succeededFuture(new DeviceUser("DEFAULT_TENANT", "4711")));
+            return null;
+        }).when(usernamePasswordAuthProvider).authenticate(any(DeviceCredentials.class), any(Handler.class));
+
+        // WHEN two devices of the same tenant connect
+        final MqttEndpoint firstEndpoint = getMqttEndpointAuthenticated();
+        adapter.handleEndpointConnection(firstEndpoint);
+        final MqttEndpoint secondEndpoint = getMqttEndpointAuthenticated();
+        adapter.handleEndpointConnection(secondEndpoint);
+
+        // THEN the first connection is accepted
+        verify(firstEndpoint).accept(false);
+        // and the second connection is rejected after authentication
+        verify(secondEndpoint).reject(MqttConnectReturnCode.CONNECTION_REFUSED_SERVER_UNAVAILABLE);
+        assertThat(admissionController.getConnections(), is(1));
+        assertThat(admissionController.getConnections("DEFAULT_TENANT"), is(1));
+    }
+
     /**
      * Verifies that the adapter discards messages that contain a malformed
      * topic.
@@ -535,6 +610,75 @@ public class AbstractVertxBasedMqttProtocolAdapterTest {
                 }));
     }
 
+    /**
+     * Verifies that the adapter rejects messages exceeding the message rate limit of the device's
+     * tenant without asserting the device's registration status.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testUploadTelemetryMessageFailsIfMessageLimitIsExceeded(final TestContext ctx) {
+
+        // GIVEN an adapter
+        final MqttServer server = getMqttServer(false);
+        // for which the devices of "my-tenant" may publish a single message per second only
+        final TenantObject myTenantConfig = TenantObject.from("my-tenant", true);
+        myTenantConfig.addAdapterConfiguration(TenantObject.newAdapterConfig(ADAPTER_TYPE, true)
+                .put(TenantConstants.FIELD_MAX_MESSAGES_PER_SECOND, 1));
+        when(tenantClient.get(eq("my-tenant"), (SpanContext) any())).thenReturn(Future.succeededFuture(myTenantConfig));
+        final AbstractVertxBasedMqttProtocolAdapter<ProtocolAdapterProperties> adapter = getAdapter(server);
+        forceClientMocksToConnected();
+        final MessageSender sender = mock(MessageSender.class);
+        when(sender.send(any(Message.class), (SpanContext) any())).thenReturn(Future.succeededFuture(mock(ProtonDelivery.class)));
+        when(messagingClient.getOrCreateTelemetrySender(anyString())).thenReturn(Future.succeededFuture(sender));
+        final MqttPublishMessage msg = mock(MqttPublishMessage.class);
+        when(msg.topicName()).thenReturn(TelemetryConstants.TELEMETRY_ENDPOINT);
+
+        // WHEN a device of "my-tenant" publishes three telemetry messages in quick succession
+        adapter.uploadTelemetryMessage(newMqttContext(msg, mockEndpoint()), "my-tenant", "the-device", Buffer.buffer("test"))
+            .compose(ok -> adapter.uploadTelemetryMessage(newMqttContext(msg, mockEndpoint()), "my-tenant", "the-device", Buffer.buffer("test")))
+            .compose(ok -> adapter.uploadTelemetryMessage(newMqttContext(msg, mockEndpoint()), "my-tenant", "the-device", Buffer.buffer("test")))
+            .setHandler(ctx.asyncAssertFailure(t -> {
+                // THEN the third message is rejected
+                ctx.assertEquals(HttpUtils.HTTP_TOO_MANY_REQUESTS, ((ClientErrorException) t).getErrorCode());
+                // without asserting the device's registration status
+                verify(regClient, times(2)).assertRegistration(anyString(), (String) any(), (SpanContext) any());
+                verify(sender, times(2)).send(any(Message.class), (SpanContext) any());
+                // and the message has been reported as rate limited
+                verify(metrics).incrementRateLimitedMessages(TelemetryConstants.TELEMETRY_ENDPOINT, "my-tenant");
+            }));
+    }
+
+    /**
+     * Verifies that the adapter reports the duration of each stage of processing
+     * a telemetry message.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testUploadTelemetryMessageReportsStageDurations(final TestContext ctx) {
+
+        // GIVEN an adapter with a downstream telemetry consumer
+        final MqttServer server = getMqttServer(false);
+        final AbstractVertxBasedMqttProtocolAdapter<ProtocolAdapterProperties> adapter = getAdapter(server);
+        forceClientMocksToConnected();
+        final MessageSender sender = mock(MessageSender.class);
+        when(sender.send(any(Message.class), (SpanContext) any())).thenReturn(Future.succeededFuture(mock(ProtonDelivery.class)));
+        when(messagingClient.getOrCreateTelemetrySender(anyString())).thenReturn(Future.succeededFuture(sender));
+        final MqttPublishMessage msg = mock(MqttPublishMessage.class);
+        when(msg.topicName()).thenReturn(TelemetryConstants.TELEMETRY_ENDPOINT);
+
+        // WHEN a device publishes a telemetry message
+        adapter.uploadTelemetryMessage(newMqttContext(msg, mockEndpoint()), "my-tenant", "the-device", Buffer.buffer("test"))
+            .setHandler(ctx.asyncAssertSuccess(ok -> {
+                // THEN the durations of all stages have been reported
+                for (final UploadStage stage : UploadStage.values()) {
+                    verify(metrics).reportUploadDuration(eq(TelemetryConstants.TELEMETRY_ENDPOINT), eq("my-tenant"),
+                            eq(stage), anyLong());
+                }
+            }));
+    }
+
     /**
      * Verifies that the adapter waits for an event being settled and accepted by a downstream peer before sending a
      * PUBACK package to the device.
@@ -958,7 +1102,7 @@ public class AbstractVertxBasedMqttProtocolAdapterTest {
 
         verify(metrics).incrementConnections("DEFAULT_TENANT");
         final ArgumentCaptor<Handler<Void>> closeHandlerCaptor = ArgumentCaptor.forClass(Handler.class);
-        verify(endpoint).closeHandler(closeHandlerCaptor.capture());
+        verify(endpoint, times(2)).closeHandler(closeHandlerCaptor.capture());
         closeHandlerCaptor.getValue().handle(null);
         verify(metrics).decrementConnections("DEFAULT_TENANT");
     }
@@ -985,7 +1129,7 @@ public class AbstractVertxBasedMqttProtocolAdapterTest {
 
         verify(metrics).incrementUnauthenticatedConnections();
         final ArgumentCaptor<Handler<Void>> closeHandlerCaptor = ArgumentCaptor.forClass(Handler.class);
-        verify(endpoint).closeHandler(closeHandlerCaptor.capture());
+        verify(endpoint, times(2)).closeHandler(closeHandlerCaptor.capture());
         closeHandlerCaptor.getValue().handle(null);
         verify(metrics).decrementUnauthenticatedConnections();
     }
@@ -15,6 +15,7 @@ package org.eclipse.hono.client;
 
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.apache.qpid.proton.amqp.Symbol;
 import org.apache.qpid.proton.message.Message;
@@ -327,6 +328,9 @@ public interface HonoClient {
      * <p>
      * The events passed in to the event consumer will be settled automatically if the consumer does not throw an
      * exception and does not manually handle the message disposition using the passed in delivery.
+     * <p>
+     * The event consumer is always invoked on the connection's vert.x context, i.e. events are not
+     * dispatched to worker threads even if the <em>dispatchThreads</em> configuration property is set.
      *
      * @param tenantId The tenant to consume events for.
      * @param eventConsumer The handler to invoke with every event received.
@@ -338,6 +342,48 @@ public interface HonoClient {
     Future<MessageConsumer> createEventConsumer(String tenantId, BiConsumer<ProtonDelivery, Message> eventConsumer,
             Handler<Void> closeHandler);
 
+    /**
+     * Creates a client for consuming data from Hono's north bound <em>Telemetry API</em>
+     * which settles messages only after they have been processed.
+     * <p>
+     * The message passed in to the telemetry consumer will be accepted once the future returned by
+     * the consumer succeeds or released if the future fails. Credit for further messages is
+     * issued only after messages have been settled, i.e. the number of messages being processed
+     * by the application at any time is limited by the number of credits. If the
+     * <em>adaptiveCreditEnabled</em> configuration property is set, the number of credits
+     * is adapted to the rate at which the application processes the messages.
+     *
+     * @param tenantId The tenant to consume data for.
+     * @param telemetryConsumer The handler to invoke with every message received.
+     * @param closeHandler The handler invoked when the peer detaches the link.
+     * @return A future that will complete with the consumer once the link has been established. The future will fail if
+     *         the link cannot be established, e.g. because this client is not connected.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    Future<MessageConsumer> createTelemetryConsumerWithManualAck(String tenantId,
+            Function<Message, Future<Void>> telemetryConsumer, Handler<Void> closeHandler);
+
+    /**
+     * Creates a client for consuming events from Hono's north bound <em>Event API</em>
+     * which settles events only after they have been processed.
+     * <p>
+     * The event passed in to the event consumer will be accepted once the future returned by
+     * the consumer succeeds or released if the future fails. Credit for further events is
+     * issued only after events have been settled, i.e. the number of events being processed
+     * by the application at any time is limited by the number of credits. If the
+     * <em>adaptiveCreditEnabled</em> configuration property is set, the number of credits
+     * is adapted to the rate at which the application processes the events.
+     *
+     * @param tenantId The tenant to consume events for.
+     * @param eventConsumer The handler to invoke with every event received.
+     * @param closeHandler The handler invoked when the peer detaches the link.
+     * @return A future that will complete with the consumer once the link has been established. The future will fail if
+     *         the link cannot be established, e.g. because this client is not connected.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    Future<MessageConsumer> createEventConsumerWithManualAck(String tenantId,
+            Function<Message, Future<Void>> eventConsumer, Handler<Void> closeHandler);
+
     /**
      * Gets a client for invoking operations on a service implementing Hono's <em>Device Registration</em> API.
      *
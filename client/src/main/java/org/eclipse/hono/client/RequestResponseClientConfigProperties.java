@@ -33,10 +33,17 @@ public class RequestResponseClientConfigProperties extends ClientConfigPropertie
      * The default timeout for cached responses in seconds until they are considered invalid.
      */
     public static final long DEFAULT_RESPONSE_CACHE_TIMEOUT = 600L;
+    /**
+     * The default timeout for cached <em>not found</em> responses in seconds.
+     */
+    public static final long DEFAULT_RESPONSE_CACHE_NEGATIVE_TIMEOUT = 0L;
 
     private int responseCacheMinSize = DEFAULT_RESPONSE_CACHE_MIN_SIZE;
     private long responseCacheMaxSize = DEFAULT_RESPONSE_CACHE_MAX_SIZE;
     private long responseCacheDefaultTimeout = DEFAULT_RESPONSE_CACHE_TIMEOUT;
+    private long responseCacheNegativeTimeout = DEFAULT_RESPONSE_CACHE_NEGATIVE_TIMEOUT;
+    private boolean registryNotificationsEnabled = false;
+    private String responseCacheSnapshotPath;
 
     /**
      * Gets the minimum size of the response cache.
@@ -129,4 +136,96 @@ public class RequestResponseClientConfigProperties extends ClientConfigPropertie
         }
         this.responseCacheDefaultTimeout = timeout;
     }
+
+    /**
+     * Gets the period of time after which cached <em>not found</em> responses are considered invalid.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_RESPONSE_CACHE_NEGATIVE_TIMEOUT}.
+     *
+     * @return The timeout in seconds.
+     */
+    public final long getResponseCacheNegativeTimeout() {
+        return responseCacheNegativeTimeout;
+    }
+
+    /**
+     * Sets the period of time after which cached <em>not found</em> responses should be considered invalid.
+     * <p>
+     * Responses with status code 404 that do not contain a cache directive are cached for this
+     * period of time, so that requests for unknown or disabled devices do not reach the service
+     * more often than once per period. Setting this property to 0 disables caching of such responses.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_RESPONSE_CACHE_NEGATIVE_TIMEOUT}.
+     *
+     * @param timeout The timeout in seconds.
+     * @throws IllegalArgumentException if timeout is &lt; 0.
+     */
+    public final void setResponseCacheNegativeTimeout(final long timeout) {
+        if (timeout < 0) {
+            throw new IllegalArgumentException("negative cache timeout must not be negative");
+        }
+        this.responseCacheNegativeTimeout = timeout;
+    }
+
+    /**
+     * Checks if the client should subscribe to notifications about changes of
+     * the device registry's content.
+     * <p>
+     * If enabled, the client invalidates cached responses as soon as the corresponding
+     * content of the registry changes, which allows for long cache timeouts.
+     * The device registry needs to support the
+     * {@link org.eclipse.hono.util.RegistryNotificationConstants#NOTIFICATION_ENDPOINT}.
+     * <p>
+     * The default value of this property is {@code false}.
+     *
+     * @return {@code true} if the client should subscribe to notifications.
+     */
+    public final boolean isRegistryNotificationsEnabled() {
+        return registryNotificationsEnabled;
+    }
+
+    /**
+     * Sets if the client should subscribe to notifications about changes of
+     * the device registry's content.
+     * <p>
+     * If enabled, the client invalidates cached responses as soon as the corresponding
+     * content of the registry changes, which allows for long cache timeouts.
+     * The device registry needs to support the
+     * {@link org.eclipse.hono.util.RegistryNotificationConstants#NOTIFICATION_ENDPOINT}.
+     * <p>
+     * The default value of this property is {@code false}.
+     *
+     * @param enabled {@code true} if the client should subscribe to notifications.
+     */
+    public final void setRegistryNotificationsEnabled(final boolean enabled) {
+        this.registryNotificationsEnabled = enabled;
+    }
+
+    /**
+     * Gets the path to the file that cached responses are kept in across restarts.
+     * <p>
+     * The default value of this property is {@code null}, which means that cached
+     * responses are discarded on shutdown.
+     *
+     * @return The path or {@code null} if not set.
+     */
+    public final String getResponseCacheSnapshotPath() {
+        return responseCacheSnapshotPath;
+    }
+
+    /**
+     * Sets the path to the file that cached responses are kept in across restarts.
+     * <p>
+     * The responses that have not expired yet are written to the file on graceful
+     * shutdown and are restored from it during start-up. Each client needs to use
+     * its own file.
+     * <p>
+     * The default value of this property is {@code null}, which means that cached
+     * responses are discarded on shutdown.
+     *
+     * @param path The path to the file.
+     */
+    public final void setResponseCacheSnapshotPath(final String path) {
+        this.responseCacheSnapshotPath = path;
+    }
 }
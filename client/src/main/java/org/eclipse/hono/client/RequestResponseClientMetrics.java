@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+
+package org.eclipse.hono.client;
+
+/**
+ * A collector for metrics of request-response clients.
+ * <p>
+ * The Hono client does not depend on a particular metrics library.
+ * Applications that want to collect metrics about the requests sent to Hono's
+ * request-response APIs (e.g. Device Registration, Tenant or Credentials API)
+ * need to provide an implementation of this interface.
+ */
+public interface RequestResponseClientMetrics {
+
+    /**
+     * A no-op implementation.
+     */
+    final class Noop implements RequestResponseClientMetrics {
+
+        private Noop() {
+        }
+
+        @Override
+        public void reportResponseTime(final String endpoint, final String tenantId, final long durationNanos) {
+        }
+
+        @Override
+        public void incrementPendingRequests(final String endpoint, final String tenantId) {
+        }
+
+        @Override
+        public void decrementPendingRequests(final String endpoint, final String tenantId) {
+        }
+
+        @Override
+        public void incrementTimedOutRequests(final String endpoint, final String tenantId) {
+        }
+
+        @Override
+        public void incrementRequestsWithoutCredit(final String endpoint, final String tenantId) {
+        }
+
+        @Override
+        public void incrementCacheHits(final String endpoint, final String tenantId) {
+        }
+
+        @Override
+        public void incrementCacheMisses(final String endpoint, final String tenantId) {
+        }
+
+        @Override
+        public void incrementStaleCacheHits(final String endpoint, final String tenantId) {
+        }
+    }
+
+    /**
+     * The no-op implementation.
+     */
+    RequestResponseClientMetrics NOOP = new Noop();
+
+    /**
+     * Reports the time it took to receive the outcome of a request sent to a service.
+     * <p>
+     * The time is reported regardless of whether the request has succeeded or failed
+     * (e.g. because it has timed out).
+     *
+     * @param endpoint The endpoint that the request has been sent to, e.g. <em>registration</em>.
+     * @param tenantId The tenant that the client is scoped to or {@code null} if the client
+     *                 is not scoped to a tenant.
+     * @param durationNanos The time between sending the request and receiving the outcome in nanoseconds.
+     */
+    void reportResponseTime(String endpoint, String tenantId, long durationNanos);
+
+    /**
+     * Reports a request having been sent to a service for which no outcome
+     * has been received yet.
+     *
+     * @param endpoint The endpoint that the request has been sent to, e.g. <em>registration</em>.
+     * @param tenantId The tenant that the client is scoped to or {@code null} if the client
+     *                 is not scoped to a tenant.
+     */
+    void incrementPendingRequests(String endpoint, String tenantId);
+
+    /**
+     * Reports the outcome of a pending request having been received or the request
+     * having been canceled.
+     *
+     * @param endpoint The endpoint that the request has been sent to, e.g. <em>registration</em>.
+     * @param tenantId The tenant that the client is scoped to or {@code null} if the client
+     *                 is not scoped to a tenant.
+     */
+    void decrementPendingRequests(String endpoint, String tenantId);
+
+    /**
+     * Reports a request having been canceled because no response has been
+     * received from the service in time.
+     *
+     * @param endpoint The endpoint that the request has been sent to, e.g. <em>registration</em>.
+     * @param tenantId The tenant that the client is scoped to or {@code null} if the client
+     *                 is not scoped to a tenant.
+     */
+    void incrementTimedOutRequests(String endpoint, String tenantId);
+
+    /**
+     * Reports a request having been failed without being sent because the service
+     * has not granted enough credit to the client.
+     *
+     * @param endpoint The endpoint that the request should have been sent to, e.g. <em>registration</em>.
+     * @param tenantId The tenant that the client is scoped to or {@code null} if the client
+     *                 is not scoped to a tenant.
+     */
+    void incrementRequestsWithoutCredit(String endpoint, String tenantId);
+
+    /**
+     * Reports a response having been served from the client's response cache.
+     *
+     * @param endpoint The endpoint that the response originates from, e.g. <em>registration</em>.
+     * @param tenantId The tenant that the client is scoped to or {@code null} if the client
+     *                 is not scoped to a tenant.
+     */
+    void incrementCacheHits(String endpoint, String tenantId);
+
+    /**
+     * Reports a response not having been found in the client's response cache.
+     *
+     * @param endpoint The endpoint that the response is requested from, e.g. <em>registration</em>.
+     * @param tenantId The tenant that the client is scoped to or {@code null} if the client
+     *                 is not scoped to a tenant.
+     */
+    void incrementCacheMisses(String endpoint, String tenantId);
+
+    /**
+     * Reports a response having been found in the client's response cache which
+     * could not be used because it had already expired.
+     *
+     * @param endpoint The endpoint that the response originates from, e.g. <em>registration</em>.
+     * @param tenantId The tenant that the client is scoped to or {@code null} if the client
+     *                 is not scoped to a tenant.
+     */
+    void incrementStaleCacheHits(String endpoint, String tenantId);
+}
@@ -18,8 +18,16 @@ import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.proton.ProtonConnection;
+import io.vertx.proton.ProtonDelivery;
+import io.vertx.proton.ProtonQoS;
 import io.vertx.proton.ProtonReceiver;
 
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.apache.qpid.proton.message.Message;
 import org.eclipse.hono.client.MessageConsumer;
 import org.eclipse.hono.config.ClientConfigProperties;
 
@@ -61,6 +69,100 @@ public abstract class AbstractConsumer extends AbstractHonoClient implements Mes
         this.receiver = receiver;
     }
 
+    /**
+     * Creates a receiver link which issues credit only for messages that have been processed.
+     * <p>
+     * Each message received is passed to the given handler. The message is settled and its credit
+     * is returned to the sender once the future returned by the handler completes. If the
+     * <em>adaptiveCreditEnabled</em> property of the client configuration is set, the number of
+     * credits is adapted to the rate at which the handler processes messages.
+     *
+     * @param ctx The vert.x context to use for establishing the link.
+     * @param clientConfig The configuration properties to use.
+     * @param con The connection to create the link for.
+     * @param sourceAddress The address to receive messages from.
+     * @param qos The quality of service to use for the link.
+     * @param messageHandler The handler to invoke with every message received.
+     * @param remoteCloseHook The handler to invoke when the link is closed at the peer's request (may be {@code null}).
+     * @return A future for the created link. The future will be completed once the link is open.
+     *         The future will fail with a {@link org.eclipse.hono.client.ServiceInvocationException}
+     *         if the link cannot be opened.
+     * @throws NullPointerException if any of the arguments other than close hook is {@code null}.
+     */
+    protected static final Future<ProtonReceiver> createFlowControlledReceiver(
+            final Context ctx,
+            final ClientConfigProperties clientConfig,
+            final ProtonConnection con,
+            final String sourceAddress,
+            final ProtonQoS qos,
+            final BiFunction<ProtonDelivery, Message, Future<Void>> messageHandler,
+            final Handler<String> remoteCloseHook) {
+
+        Objects.requireNonNull(messageHandler);
+        final CreditController creditController = new CreditController(ctx, clientConfig, messageHandler);
+        return createReceiver(ctx, clientConfig, con, sourceAddress, qos, creditController, 0, remoteCloseHook)
+                .map(receiver -> {
+                    creditController.start(receiver);
+                    return receiver;
+                });
+    }
+
+    /**
+     * Creates a receiver link which issues credit only for messages that have been processed.
+     * <p>
+     * If the <em>dispatchThreads</em> property of the client configuration is set, the
+     * messages are passed to the given handler on a pool of worker threads, partitioned by the
+     * ID of the device that a message originates from. Otherwise, the handler is invoked on
+     * the given context. In both cases, the message is settled and its credit is returned to
+     * the sender once the future returned by the handler completes.
+     *
+     * @param ctx The vert.x context to use for establishing the link.
+     * @param clientConfig The configuration properties to use.
+     * @param con The connection to create the link for.
+     * @param sourceAddress The address to receive messages from.
+     * @param qos The quality of service to use for the link.
+     * @param messageHandler The handler to invoke with every message received.
+     * @param remoteCloseHook The handler to invoke when the link is closed at the peer's request (may be {@code null}).
+     * @return A future for the created link. The future will be completed once the link is open.
+     *         The future will fail with a {@link org.eclipse.hono.client.ServiceInvocationException}
+     *         if the link cannot be opened.
+     * @throws NullPointerException if any of the arguments other than close hook is {@code null}.
+     */
+    protected static final Future<ProtonReceiver> createFlowControlledReceiver(
+            final Context ctx,
+            final ClientConfigProperties clientConfig,
+            final ProtonConnection con,
+            final String sourceAddress,
+            final ProtonQoS qos,
+            final Function<Message, Future<Void>> messageHandler,
+            final Handler<String> remoteCloseHook) {
+
+        Objects.requireNonNull(ctx);
+        Objects.requireNonNull(clientConfig);
+        Objects.requireNonNull(messageHandler);
+
+        if (clientConfig.getDispatchThreads() == 0) {
+            return createFlowControlledReceiver(ctx, clientConfig, con, sourceAddress, qos,
+                    (delivery, message) -> messageHandler.apply(message), remoteCloseHook);
+        }
+
+        final PartitionedDispatcher dispatcher = new PartitionedDispatcher(ctx.owner(), clientConfig.getDispatchThreads());
+        return createFlowControlledReceiver(ctx, clientConfig, con, sourceAddress, qos,
+                dispatcher.dispatchTo(messageHandler),
+                remoteClosed -> {
+                    dispatcher.close();
+                    if (remoteCloseHook != null) {
+                        remoteCloseHook.handle(remoteClosed);
+                    }
+                }).map(receiver -> {
+                    receiver.attachments().set(PartitionedDispatcher.class.getName(), PartitionedDispatcher.class, dispatcher);
+                    return receiver;
+                }).recover(t -> {
+                    dispatcher.close();
+                    return Future.failedFuture(t);
+                });
+    }
+
     /**
      * Sets a handler which will be invoked after this consumer has been
      * locally closed.
@@ -84,6 +186,13 @@ public abstract class AbstractConsumer extends AbstractHonoClient implements Mes
     @Override
     public void close(final Handler<AsyncResult<Void>> closeHandler) {
 
+        if (config.getDispatchThreads() > 0) {
+            final PartitionedDispatcher dispatcher = receiver.attachments()
+                    .get(PartitionedDispatcher.class.getName(), PartitionedDispatcher.class);
+            if (dispatcher != null) {
+                dispatcher.close();
+            }
+        }
         closeLinks(ok -> {
             if (localCloseHandler != null) {
                 localCloseHandler.handle(receiver.getSource().getAddress());
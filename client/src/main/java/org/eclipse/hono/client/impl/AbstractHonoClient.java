@@ -380,18 +380,54 @@ public abstract class AbstractHonoClient {
             final ProtonMessageHandler messageHandler,
             final Handler<String> remoteCloseHook) {
 
+        return createReceiver(ctx, clientConfig, con, sourceAddress, qos, messageHandler,
+                clientConfig.getInitialCredits(), remoteCloseHook);
+    }
+
+    /**
+     * Creates a receiver link.
+     * <p>
+     * The receiver will be created with its <em>autoAccept</em> property set to {@code true}.
+     *
+     * @param ctx The vert.x context to use for establishing the link.
+     * @param clientConfig The configuration properties to use.
+     * @param con The connection to create the link for.
+     * @param sourceAddress The address to receive messages from.
+     * @param qos The quality of service to use for the link.
+     * @param messageHandler The handler to invoke with every message received.
+     * @param preFetchSize The number of credits to flow to the sender automatically or 0
+     *                     if credit is managed explicitly by means of {@link ProtonReceiver#flow(int)}.
+     * @param remoteCloseHook The handler to invoke when the link is closed at the peer's request (may be {@code null}).
+     * @return A future for the created link. The future will be completed once the link is open.
+     *         The future will fail with a {@link ServiceInvocationException} if the link cannot be opened.
+     * @throws NullPointerException if any of the arguments other than close hook is {@code null}.
+     * @throws IllegalArgumentException if the pre-fetch size is negative.
+     */
+    protected static final Future<ProtonReceiver> createReceiver(
+            final Context ctx,
+            final ClientConfigProperties clientConfig,
+            final ProtonConnection con,
+            final String sourceAddress,
+            final ProtonQoS qos,
+            final ProtonMessageHandler messageHandler,
+            final int preFetchSize,
+            final Handler<String> remoteCloseHook) {
+
         Objects.requireNonNull(ctx);
         Objects.requireNonNull(clientConfig);
         Objects.requireNonNull(con);
         Objects.requireNonNull(sourceAddress);
         Objects.requireNonNull(qos);
         Objects.requireNonNull(messageHandler);
+        if (preFetchSize < 0) {
+            throw new IllegalArgumentException("pre-fetch size must not be negative");
+        }
 
         return HonoProtonHelper.executeOrRunOnContext(ctx, result -> {
             final ProtonReceiver receiver = con.createReceiver(sourceAddress);
             receiver.setAutoAccept(true);
             receiver.setQoS(qos);
-            receiver.setPrefetch(clientConfig.getInitialCredits());
+            receiver.setPrefetch(preFetchSize);
             receiver.handler((delivery, message) -> {
                 messageHandler.handle(delivery, message);
                 if (LOG.isTraceEnabled()) {
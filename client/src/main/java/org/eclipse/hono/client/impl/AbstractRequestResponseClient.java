@@ -25,10 +25,12 @@ import org.apache.qpid.proton.amqp.messaging.Accepted;
 import org.apache.qpid.proton.amqp.messaging.Rejected;
 import org.apache.qpid.proton.amqp.transport.DeliveryState;
 import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.cache.ExpiringValue;
 import org.eclipse.hono.cache.ExpiringValueCache;
 import org.eclipse.hono.client.ClientErrorException;
 import org.eclipse.hono.client.RequestResponseClient;
 import org.eclipse.hono.client.RequestResponseClientConfigProperties;
+import org.eclipse.hono.client.RequestResponseClientMetrics;
 import org.eclipse.hono.client.ServerErrorException;
 import org.eclipse.hono.client.StatusCodeMapper;
 import org.eclipse.hono.config.ClientConfigProperties;
@@ -92,6 +94,8 @@ public abstract class AbstractRequestResponseClient<R extends RequestResponseRes
 
     private long requestTimeoutMillis;
 
+    private RequestResponseClientMetrics metrics = RequestResponseClientMetrics.NOOP;
+
     /**
      * Creates a request-response client.
      * <p>
@@ -274,6 +278,18 @@ public abstract class AbstractRequestResponseClient<R extends RequestResponseRes
         LOG.info("enabling caching of responses from {}", targetAddress);
     }
 
+    /**
+     * Sets the metrics to report the outcome of requests to.
+     * <p>
+     * If not set explicitly, no metrics are reported.
+     *
+     * @param metrics The metrics.
+     * @throws NullPointerException if metrics is {@code null}.
+     */
+    public final void setMetrics(final RequestResponseClientMetrics metrics) {
+        this.metrics = Objects.requireNonNull(metrics);
+    }
+
     /**
      * Gets the default value for the period of time after which an entry in the response cache
      * is considered invalid.
@@ -296,6 +312,28 @@ public abstract class AbstractRequestResponseClient<R extends RequestResponseRes
         }
     }
 
+    /**
+     * Gets the period of time after which a <em>not found</em> response in the response cache
+     * is considered invalid.
+     * <p>
+     * The value is derived from the configuration properties as follows:
+     * <ol>
+     * <li>if the properties are of type {@link RequestResponseClientConfigProperties}
+     * then the value of its <em>responseCacheNegativeTimeout</em> property is used</li>
+     * <li>otherwise the {@linkplain RequestResponseClientConfigProperties#DEFAULT_RESPONSE_CACHE_NEGATIVE_TIMEOUT
+     * default negative timeout value} is used</li>
+     * </ol>
+     *
+     * @return The timeout period in seconds.
+     */
+    protected final long getResponseCacheNegativeTimeout() {
+        if (config instanceof RequestResponseClientConfigProperties) {
+            return ((RequestResponseClientConfigProperties) config).getResponseCacheNegativeTimeout();
+        } else {
+            return RequestResponseClientConfigProperties.DEFAULT_RESPONSE_CACHE_NEGATIVE_TIMEOUT;
+        }
+    }
+
     /**
      * Sets the period of time after which any requests are considered to have timed out.
      * <p>
@@ -419,7 +457,7 @@ public abstract class AbstractRequestResponseClient<R extends RequestResponseRes
         // 1. the handler for processing the response and
         // 2. the key to use for caching the response
         // 3. the Opentracing span covering the execution
-        final TriTuple<Handler<AsyncResult<R>>, Object, Span> handler = replyMap.remove(message.getCorrelationId());
+        final TriTuple<Handler<AsyncResult<R>>, Object, Span> handler = removePendingRequest(message.getCorrelationId());
 
         if (handler == null) {
             LOG.debug("discarding unexpected response [reply-to: {}, correlation ID: {}]",
@@ -464,7 +502,7 @@ public abstract class AbstractRequestResponseClient<R extends RequestResponseRes
         if (result.succeeded()) {
             throw new IllegalArgumentException("result must be failed");
         } else {
-            final TriTuple<Handler<AsyncResult<R>>, Object, Span> handler = replyMap.remove(correlationId);
+            final TriTuple<Handler<AsyncResult<R>>, Object, Span> handler = removePendingRequest(correlationId);
             if (handler == null) {
                 // response has already been processed
             } else {
@@ -476,6 +514,15 @@ public abstract class AbstractRequestResponseClient<R extends RequestResponseRes
         }
     }
 
+    private TriTuple<Handler<AsyncResult<R>>, Object, Span> removePendingRequest(final Object correlationId) {
+
+        final TriTuple<Handler<AsyncResult<R>>, Object, Span> handler = replyMap.remove(correlationId);
+        if (handler != null) {
+            metrics.decrementPendingRequests(getName(), tenantId);
+        }
+        return handler;
+    }
+
     private R getRequestResponseResult(final Message message) {
 
         final Integer status = MessageHelper.getApplicationProperty(
@@ -668,6 +715,8 @@ public abstract class AbstractRequestResponseClient<R extends RequestResponseRes
      * This method first checks if the sender has any credit left. If not, the result handler is failed immediately.
      * Otherwise, the request message is sent and a timer is started which fails the result handler,
      * if no response is received within <em>requestTimeoutMillis</em> milliseconds.
+     * The time it takes to receive the outcome of the request is reported to the
+     * {@linkplain #setMetrics(RequestResponseClientMetrics) metrics}.
      * 
      * @param action The operation that the request is supposed to trigger/invoke.
      * @param properties The headers to include in the request message as AMQP application properties.
@@ -713,6 +762,8 @@ public abstract class AbstractRequestResponseClient<R extends RequestResponseRes
      * This method first checks if the sender has any credit left. If not, the result handler is failed immediately.
      * Otherwise, the request message is sent and a timer is started which fails the result handler,
      * if no response is received within <em>requestTimeoutMillis</em> milliseconds.
+     * The time it takes to receive the outcome of the request is reported to the
+     * {@linkplain #setMetrics(RequestResponseClientMetrics) metrics}.
      * 
      * @param request The message to send.
      * @param resultHandler The handler to notify about the outcome of the request.
@@ -735,6 +786,7 @@ public abstract class AbstractRequestResponseClient<R extends RequestResponseRes
         executeOrRunOnContext(res -> {
             if (sender.sendQueueFull()) {
                 LOG.debug("cannot send request to peer, no credit left for link [target: {}]", targetAddress);
+                metrics.incrementRequestsWithoutCredit(getName(), tenantId);
                 resultHandler.handle(Future.failedFuture(new ServerErrorException(
                         HttpURLConnection.HTTP_UNAVAILABLE, "no credit available for sending request")));
             } else {
@@ -746,9 +798,15 @@ public abstract class AbstractRequestResponseClient<R extends RequestResponseRes
                 details.put(TracingHelper.TAG_CREDIT.getKey(), sender.getCredit());
                 details.put(TracingHelper.TAG_QOS.getKey(), sender.getQoS().toString());
                 currentSpan.log(details);
-                final TriTuple<Handler<AsyncResult<R>>, Object, Span> handler = TriTuple.of(resultHandler, cacheKey, currentSpan);
+                final long start = System.nanoTime();
+                final Handler<AsyncResult<R>> timedResultHandler = r -> {
+                    metrics.reportResponseTime(getName(), tenantId, System.nanoTime() - start);
+                    resultHandler.handle(r);
+                };
+                final TriTuple<Handler<AsyncResult<R>>, Object, Span> handler = TriTuple.of(timedResultHandler, cacheKey, currentSpan);
                 tracer.inject(currentSpan.context(), Format.Builtin.TEXT_MAP, new MessageAnnotationsInjectAdapter(request));
                 replyMap.put(correlationId, handler);
+                metrics.incrementPendingRequests(getName(), tenantId);
 
                 sender.send(request, deliveryUpdated -> {
                     final Future<R> failedResult = Future.future();
@@ -773,8 +831,8 @@ public abstract class AbstractRequestResponseClient<R extends RequestResponseRes
                         // if no reply-to is set, the request is assumed to be one-way (no response is expected)
                         if (request.getReplyTo() == null) {
                             Tags.HTTP_STATUS.set(currentSpan, HttpURLConnection.HTTP_ACCEPTED);
-                            replyMap.remove(correlationId);
-                            resultHandler.handle(Future.succeededFuture());
+                            removePendingRequest(correlationId);
+                            timedResultHandler.handle(Future.succeededFuture());
                         }
                     } else {
                         LOG.debug("service did not accept request [target address: {}, subject: {}, correlation ID: {}]: {}",
@@ -785,6 +843,9 @@ public abstract class AbstractRequestResponseClient<R extends RequestResponseRes
                 });
                 if (requestTimeoutMillis > 0) {
                     context.owner().setTimer(requestTimeoutMillis, tid -> {
+                        if (replyMap.containsKey(correlationId)) {
+                            metrics.incrementTimedOutRequests(getName(), tenantId);
+                        }
                         cancelRequest(correlationId, Future.failedFuture(new ServerErrorException(
                                 HttpURLConnection.HTTP_UNAVAILABLE, "request timed out after " + requestTimeoutMillis + "ms")));
                     });
@@ -852,11 +913,16 @@ public abstract class AbstractRequestResponseClient<R extends RequestResponseRes
         if (responseCache == null) {
             return Future.failedFuture(new IllegalStateException("no cache configured"));
         } else {
-            final R result = responseCache.get(key);
+            final ExpiringValue<R> result = responseCache.getExpiringValue(key);
             if (result == null) {
+                metrics.incrementCacheMisses(getName(), tenantId);
+                return Future.failedFuture("cache miss");
+            } else if (result.isExpired()) {
+                metrics.incrementStaleCacheHits(getName(), tenantId);
                 return Future.failedFuture("cache miss");
             } else {
-                return Future.succeededFuture(result);
+                metrics.incrementCacheHits(getName(), tenantId);
+                return Future.succeededFuture(result.getValue());
             }
         }
     }
@@ -872,6 +938,9 @@ public abstract class AbstractRequestResponseClient<R extends RequestResponseRes
      * one of the codes defined by <a href="https://tools.ietf.org/html/rfc2616#section-13.4">
      * RFC 2616, Section 13.4 Response Cacheability</a>, the response is put to the cache using
      * the default timeout returned by {@link #getResponseCacheDefaultTimeout()}<li>
+     * <li>else if the response does not contain any cache directive and the response's status code
+     * is 404, the response is put to the cache using the timeout returned by
+     * {@link #getResponseCacheNegativeTimeout()}</li>
      * <li>else if the response contains a <em>max-age</em> directive, the response
      * is put to the cache using the max age from the directive.</li>
      * <li>else if the response contains a <em>no-cache</em> directive, the response
@@ -892,6 +961,9 @@ public abstract class AbstractRequestResponseClient<R extends RequestResponseRes
                     .orElseGet(() -> {
                         if (isCacheableStatusCode(response.getStatus())) {
                             return CacheDirective.maxAgeDirective(getResponseCacheDefaultTimeout());
+                        } else if (response.getStatus() == HttpURLConnection.HTTP_NOT_FOUND
+                                && getResponseCacheNegativeTimeout() > 0) {
+                            return CacheDirective.maxAgeDirective(getResponseCacheNegativeTimeout());
                         } else {
                             return CacheDirective.noCacheDirective();
                         }
@@ -17,7 +17,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.hono.auth.Device;
 import org.eclipse.hono.client.CommandConnection;
@@ -41,6 +41,8 @@ public class CommandConnectionImpl extends HonoClientImpl implements CommandConn
     /**
      * The minimum number of milliseconds to wait between checking a
      * command consumer link's liveness.
+     * <p>
+     * This is also the interval at which the table of liveness checks is swept.
      */
     public static final long MIN_LIVENESS_CHECK_INTERVAL_MILLIS = 2000;
 
@@ -50,10 +52,19 @@ public class CommandConnectionImpl extends HonoClientImpl implements CommandConn
      */
     private final Map<String, MessageConsumer> commandConsumers = new HashMap<>();
     /**
-     * A mapping of command consumer addresses to vert.x timer IDs which represent the
-     * liveness checks for the consumers.
+     * The liveness checks for the command consumers.
+     * The device, which belongs to a tenant is used as the key, e.g. <em>DEFAULT_TENANT/4711</em>.
+     * <p>
+     * All checks are run by a single periodic timer which sweeps the table
+     * so that the number of timers does not grow with the number of devices.
+     * The table's iterator tolerates checks being removed during a sweep.
+     */
+    private final Map<String, LivenessCheck> livenessChecks = new ConcurrentHashMap<>();
+    /**
+     * The ID of the vert.x timer sweeping the liveness checks or {@code null}
+     * if no liveness checks are registered.
      */
-    private final Map<String, Long> livenessChecks = new HashMap<>();
+    private Long livenessSweepTimerId;
 
     /**
      * Creates a new client for a set of configuration properties.
@@ -130,7 +141,8 @@ public class CommandConnectionImpl extends HonoClientImpl implements CommandConn
      * <p>
      * The interval used for creating the periodic liveness check will be the maximum
      * of the given interval length and {@link #MIN_LIVENESS_CHECK_INTERVAL_MILLIS}.
-     * 
+     * The check is run by the periodic sweep of all liveness checks, i.e. the
+     * interval is rounded up to a multiple of {@link #MIN_LIVENESS_CHECK_INTERVAL_MILLIS}.
      */
     public final Future<MessageConsumer> createCommandConsumer(
             final String tenantId,
@@ -150,14 +162,46 @@ public class CommandConnectionImpl extends HonoClientImpl implements CommandConn
 
             final String key = Device.asAddress(tenantId, deviceId);
             final long effectiveCheckInterval = Math.max(MIN_LIVENESS_CHECK_INTERVAL_MILLIS, checkInterval);
-            final long livenessCheckId = vertx.setPeriodic(
-                    effectiveCheckInterval,
-                    newLivenessCheck(tenantId, deviceId, key, commandConsumer, remoteCloseHandler));
-            livenessChecks.put(key, livenessCheckId);
+            addLivenessCheck(key, new LivenessCheck(
+                    tenantId,
+                    deviceId,
+                    key,
+                    commandConsumer,
+                    remoteCloseHandler,
+                    (int) ((effectiveCheckInterval + MIN_LIVENESS_CHECK_INTERVAL_MILLIS - 1) / MIN_LIVENESS_CHECK_INTERVAL_MILLIS)));
             return c;
         });
     }
 
+    private void addLivenessCheck(final String key, final LivenessCheck check) {
+
+        livenessChecks.put(key, check);
+        if (livenessSweepTimerId == null) {
+            livenessSweepTimerId = vertx.setPeriodic(MIN_LIVENESS_CHECK_INTERVAL_MILLIS, this::sweepLivenessChecks);
+        }
+    }
+
+    private void removeLivenessCheck(final String key) {
+
+        if (livenessChecks.remove(key) != null && livenessChecks.isEmpty() && livenessSweepTimerId != null) {
+            vertx.cancelTimer(livenessSweepTimerId);
+            livenessSweepTimerId = null;
+        }
+    }
+
+    private void sweepLivenessChecks(final Long timerId) {
+
+        if (isShutdown()) {
+            vertx.cancelTimer(timerId);
+            livenessSweepTimerId = null;
+            livenessChecks.clear();
+        } else {
+            for (final LivenessCheck check : livenessChecks.values()) {
+                check.sweep(timerId);
+            }
+        }
+    }
+
     Handler<Long> newLivenessCheck(
             final String tenantId,
             final String deviceId,
@@ -165,38 +209,7 @@ public class CommandConnectionImpl extends HonoClientImpl implements CommandConn
             final Handler<CommandContext> commandConsumer,
             final Handler<Void> remoteCloseHandler) {
 
-        final AtomicBoolean recreating = new AtomicBoolean(false);
-        return timerId -> {
-            if (isShutdown()) {
-                vertx.cancelTimer(timerId);
-            } else if (isConnectedInternal() && !commandConsumers.containsKey(key)) {
-                // when a connection is lost unexpectedly,
-                // all consumers will be removed from the cache
-                if (recreating.compareAndSet(false, true)) {
-                    // set a lock in order to prevent spawning multiple attempts
-                    // to re-create the consumer
-                    log.debug("trying to re-create command consumer [tenant: {}, device-id: {}]",
-                            tenantId, deviceId);
-                    // we try to re-create the link using the original parameters
-                    // which will put the consumer into the cache again, if successful
-                    createCommandConsumer(tenantId, deviceId, commandConsumer, remoteCloseHandler)
-                    .map(consumer -> {
-                        log.debug("successfully re-created command consumer [tenant: {}, device-id: {}]",
-                                tenantId, deviceId);
-                        return consumer;
-                    })
-                    .otherwise(t -> {
-                        log.info("failed to re-create command consumer [tenant: {}, device-id: {}]: {}",
-                                tenantId, deviceId, t.getMessage());
-                        return null;
-                    })
-                    .setHandler(s -> recreating.compareAndSet(true, false));
-                } else {
-                    log.debug("already trying to re-create command consumer [tenant: {}, device-id: {}], yielding ...",
-                            tenantId, deviceId);
-                }
-            }
-        };
+        return new LivenessCheck(tenantId, deviceId, key, commandConsumer, remoteCloseHandler, 1);
     }
 
     private Future<MessageConsumer> newCommandConsumer(
@@ -217,7 +230,7 @@ public class CommandConnectionImpl extends HonoClientImpl implements CommandConn
                     commandConsumer,
                     sourceAddress -> { // local close hook
                         // stop liveness check
-                        Optional.ofNullable(livenessChecks.remove(key)).ifPresent(vertx::cancelTimer);
+                        removeLivenessCheck(key);
                         commandConsumers.remove(key);
                     },
                     sourceAddress -> { // remote close hook
@@ -241,7 +254,7 @@ public class CommandConnectionImpl extends HonoClientImpl implements CommandConn
         return executeOrRunOnContext(result -> {
             final String deviceAddress = Device.asAddress(tenantId, deviceId);
             // stop liveness check
-            Optional.ofNullable(livenessChecks.remove(deviceAddress)).ifPresent(vertx::cancelTimer);
+            removeLivenessCheck(deviceAddress);
             // close and remove link from cache 
             Optional.ofNullable(commandConsumers.remove(deviceAddress)).ifPresent(consumer -> {
                 consumer.close(result);
@@ -274,4 +287,81 @@ public class CommandConnectionImpl extends HonoClientImpl implements CommandConn
             });
         });
     }
+
+    /**
+     * A liveness check which is run every n-th sweep of the liveness checks.
+     * <p>
+     * The check re-creates the command consumer if the consumer has been removed
+     * from the cache because the connection to the peer has been lost.
+     * An instance is kept for every command consumer, so all state required for
+     * re-creating the consumer is held in a single object.
+     */
+    private final class LivenessCheck implements Handler<Long> {
+
+        private final String tenantId;
+        private final String deviceId;
+        private final String key;
+        private final Handler<CommandContext> commandConsumer;
+        private final Handler<Void> remoteCloseHandler;
+        private final int sweepsPerCheck;
+        private int remainingSweeps;
+        private boolean recreating;
+
+        LivenessCheck(
+                final String tenantId,
+                final String deviceId,
+                final String key,
+                final Handler<CommandContext> commandConsumer,
+                final Handler<Void> remoteCloseHandler,
+                final int sweepsPerCheck) {
+
+            this.tenantId = tenantId;
+            this.deviceId = deviceId;
+            this.key = key;
+            this.commandConsumer = commandConsumer;
+            this.remoteCloseHandler = remoteCloseHandler;
+            this.sweepsPerCheck = sweepsPerCheck;
+            this.remainingSweeps = sweepsPerCheck;
+        }
+
+        void sweep(final Long timerId) {
+            if (--remainingSweeps <= 0) {
+                remainingSweeps = sweepsPerCheck;
+                handle(timerId);
+            }
+        }
+
+        @Override
+        public void handle(final Long timerId) {
+
+            if (!isShutdown() && isConnectedInternal() && !commandConsumers.containsKey(key)) {
+                // when a connection is lost unexpectedly,
+                // all consumers will be removed from the cache
+                if (!recreating) {
+                    // set a lock in order to prevent spawning multiple attempts
+                    // to re-create the consumer
+                    recreating = true;
+                    log.debug("trying to re-create command consumer [tenant: {}, device-id: {}]",
+                            tenantId, deviceId);
+                    // we try to re-create the link using the original parameters
+                    // which will put the consumer into the cache again, if successful
+                    createCommandConsumer(tenantId, deviceId, commandConsumer, remoteCloseHandler)
+                    .map(consumer -> {
+                        log.debug("successfully re-created command consumer [tenant: {}, device-id: {}]",
+                                tenantId, deviceId);
+                        return consumer;
+                    })
+                    .otherwise(t -> {
+                        log.info("failed to re-create command consumer [tenant: {}, device-id: {}]: {}",
+                                tenantId, deviceId, t.getMessage());
+                        return null;
+                    })
+                    .setHandler(s -> recreating = false);
+                } else {
+                    log.debug("already trying to re-create command consumer [tenant: {}, device-id: {}], yielding ...",
+                            tenantId, deviceId);
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,255 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.client.impl;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.LongSupplier;
+
+import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.config.ClientConfigProperties;
+import org.eclipse.hono.util.HonoProtonHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.proton.ProtonDelivery;
+import io.vertx.proton.ProtonHelper;
+import io.vertx.proton.ProtonMessageHandler;
+import io.vertx.proton.ProtonReceiver;
+
+/**
+ * A message handler that issues credit for a receiver link only for messages that
+ * have been processed by the application.
+ * <p>
+ * The handler passes each message to an application provided function and settles
+ * the message once the future returned by the function completes. The message is
+ * <em>accepted</em> if the future succeeds and <em>released</em> if it fails.
+ * The credit for the message is returned to the sender after the message has been
+ * settled. The number of messages being processed and the credit available to the
+ * sender are thus limited by a <em>window</em>.
+ * <p>
+ * If <em>adaptiveCreditEnabled</em> is not set in the client configuration, the window
+ * has a fixed size of <em>initialCredits</em>. Otherwise, the window starts with
+ * <em>initialCredits</em> (at least one) and is periodically re-sized based on the
+ * rate at which the application has processed messages and the minimum processing
+ * time observed, so that the window covers the messages that can be processed within
+ * the processing time plus the <em>flowLatency</em> needed for credit to reach the
+ * sender. The window is only re-sized if the application has used the whole window
+ * during the preceding interval, i.e. if the number of messages being processed has
+ * reached the window's size. The window never exceeds <em>maxCredits</em>.
+ * <p>
+ * All methods are expected to be invoked on the vert.x context that the receiver
+ * link has been created on.
+ */
+final class CreditController implements ProtonMessageHandler {
+
+    /**
+     * The interval at which the window is re-sized.
+     */
+    static final long SAMPLE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    /**
+     * The factor by which the window is larger than the number of messages the
+     * application has been observed to process. This allows the window to grow
+     * as long as the application keeps up with the messages.
+     */
+    static final double PROBE_GAIN = 1.25;
+
+    private static final Logger LOG = LoggerFactory.getLogger(CreditController.class);
+
+    private final Context context;
+    private final BiFunction<ProtonDelivery, Message, Future<Void>> messageHandler;
+    private final boolean adaptive;
+    private final int maxCredits;
+    private final long flowLatencyNanos;
+    private final LongSupplier clock;
+
+    private ProtonReceiver receiver;
+    private int window;
+    private int inFlight;
+    private int maxInFlightInSample;
+    private int processedInSample;
+    private long sampleStart;
+    private long minProcessingTimeInSample = Long.MAX_VALUE;
+    private long minProcessingTime = -1;
+
+    /**
+     * Creates a new controller.
+     *
+     * @param context The vert.x context that the receiver link runs on.
+     * @param config The configuration properties to determine the window from.
+     * @param messageHandler The function to invoke with every message received.
+     *                       The function is expected to return a future which completes
+     *                       once the message has been processed.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    CreditController(
+            final Context context,
+            final ClientConfigProperties config,
+            final BiFunction<ProtonDelivery, Message, Future<Void>> messageHandler) {
+
+        this(context, config, messageHandler, System::nanoTime);
+    }
+
+    /**
+     * Creates a new controller.
+     *
+     * @param context The vert.x context that the receiver link runs on.
+     * @param config The configuration properties to determine the window from.
+     * @param messageHandler The function to invoke with every message received.
+     *                       The function is expected to return a future which completes
+     *                       once the message has been processed.
+     * @param clock The clock to use for determining the current time in nanoseconds.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    CreditController(
+            final Context context,
+            final ClientConfigProperties config,
+            final BiFunction<ProtonDelivery, Message, Future<Void>> messageHandler,
+            final LongSupplier clock) {
+
+        this.context = Objects.requireNonNull(context);
+        this.messageHandler = Objects.requireNonNull(messageHandler);
+        this.clock = Objects.requireNonNull(clock);
+        this.adaptive = config.isAdaptiveCreditEnabled();
+        this.maxCredits = config.getMaxCredits();
+        this.flowLatencyNanos = TimeUnit.MILLISECONDS.toNanos(config.getFlowLatency());
+        if (adaptive) {
+            this.window = Math.min(Math.max(1, config.getInitialCredits()), maxCredits);
+        } else {
+            this.window = config.getInitialCredits();
+        }
+    }
+
+    /**
+     * Starts issuing credit for a receiver link.
+     * <p>
+     * The receiver is expected to have been created with a prefetch of zero.
+     * Its <em>autoAccept</em> property is set to {@code false}.
+     *
+     * @param receiver The receiver link.
+     * @throws NullPointerException if receiver is {@code null}.
+     */
+    void start(final ProtonReceiver receiver) {
+        this.receiver = Objects.requireNonNull(receiver);
+        receiver.setAutoAccept(false);
+        sampleStart = clock.getAsLong();
+        replenish(true);
+    }
+
+    /**
+     * Gets the current size of the window.
+     *
+     * @return The maximum number of messages being processed or buffered at the sender.
+     */
+    int getWindow() {
+        return window;
+    }
+
+    /**
+     * Gets the number of messages that are being processed by the application.
+     *
+     * @return The number of messages.
+     */
+    int getInFlight() {
+        return inFlight;
+    }
+
+    @Override
+    public void handle(final ProtonDelivery delivery, final Message message) {
+
+        inFlight++;
+        maxInFlightInSample = Math.max(maxInFlightInSample, inFlight);
+        final long start = clock.getAsLong();
+
+        Future<Void> outcome;
+        try {
+            outcome = messageHandler.apply(delivery, message);
+        } catch (final RuntimeException e) {
+            outcome = Future.failedFuture(e);
+        }
+        if (outcome == null) {
+            outcome = Future.succeededFuture();
+        }
+        outcome.setHandler(processed -> HonoProtonHelper.executeOrRunOnContext(context, go -> {
+            onProcessed(delivery, processed, start);
+            go.complete();
+        }));
+    }
+
+    private void onProcessed(final ProtonDelivery delivery, final AsyncResult<Void> processed, final long start) {
+
+        // the application may already have settled the message itself
+        if (delivery.getLocalState() == null) {
+            if (processed.succeeded()) {
+                ProtonHelper.accepted(delivery, true);
+            } else {
+                LOG.debug("application failed to process message, releasing message", processed.cause());
+                ProtonHelper.released(delivery, true);
+            }
+        }
+        inFlight--;
+        if (adaptive) {
+            final long now = clock.getAsLong();
+            processedInSample++;
+            minProcessingTimeInSample = Math.min(minProcessingTimeInSample, now - start);
+            if (now - sampleStart >= SAMPLE_INTERVAL_NANOS) {
+                resize(now);
+            }
+        }
+        replenish(false);
+    }
+
+    private void resize(final long now) {
+
+        if (minProcessingTime < 0 || minProcessingTimeInSample <= minProcessingTime) {
+            minProcessingTime = minProcessingTimeInSample;
+        } else {
+            // let the minimum follow slowly if processing has become slower
+            minProcessingTime += (minProcessingTimeInSample - minProcessingTime) / 8;
+        }
+
+        if (maxInFlightInSample >= window) {
+            // the application has used all credit, i.e. the window
+            // has been limiting the rate at which messages were received
+            final double processedPerNano = (double) processedInSample / (now - sampleStart);
+            final double messages = PROBE_GAIN * processedPerNano * (flowLatencyNanos + minProcessingTime);
+            final int newWindow = (int) Math.min(maxCredits, Math.max(1, Math.ceil(messages)));
+            if (newWindow != window) {
+                LOG.trace("resizing window [old: {}, new: {}, processed: {}, min processing time: {}ns]",
+                        window, newWindow, processedInSample, minProcessingTime);
+                window = newWindow;
+            }
+        }
+
+        sampleStart = now;
+        processedInSample = 0;
+        maxInFlightInSample = inFlight;
+        minProcessingTimeInSample = Long.MAX_VALUE;
+    }
+
+    private void replenish(final boolean force) {
+
+        final int remainingCredit = receiver.getCredit() - receiver.getQueued();
+        final int credit = window - inFlight - remainingCredit;
+        // avoid sending a flow frame for every single message
+        // being processed unless the window is small
+        if (credit > 0 && (force || credit >= Math.max(1, window / 8))) {
+            receiver.flow(credit);
+        }
+    }
+}
@@ -22,18 +22,23 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 import org.apache.qpid.proton.amqp.Symbol;
 import org.apache.qpid.proton.message.Message;
 import org.eclipse.hono.cache.CacheProvider;
+import org.eclipse.hono.cache.ExpiringValueCache;
 import org.eclipse.hono.client.ClientErrorException;
 import org.eclipse.hono.client.CommandClient;
 import org.eclipse.hono.client.CredentialsClient;
@@ -42,6 +47,8 @@ import org.eclipse.hono.client.MessageConsumer;
 import org.eclipse.hono.client.MessageSender;
 import org.eclipse.hono.client.RegistrationClient;
 import org.eclipse.hono.client.RequestResponseClient;
+import org.eclipse.hono.client.RequestResponseClientConfigProperties;
+import org.eclipse.hono.client.RequestResponseClientMetrics;
 import org.eclipse.hono.client.ServerErrorException;
 import org.eclipse.hono.client.ServiceInvocationException;
 import org.eclipse.hono.client.TenantClient;
@@ -50,7 +57,11 @@ import org.eclipse.hono.connection.ConnectionFactory;
 import org.eclipse.hono.util.CommandConstants;
 import org.eclipse.hono.util.Constants;
 import org.eclipse.hono.util.HonoProtonHelper;
+import org.eclipse.hono.util.MessageHelper;
+import org.eclipse.hono.util.RegistrationConstants;
+import org.eclipse.hono.util.RegistryNotificationConstants;
 import org.eclipse.hono.util.ResourceIdentifier;
+import org.eclipse.hono.util.TenantConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -66,6 +77,7 @@ import io.vertx.core.Vertx;
 import io.vertx.proton.ProtonClientOptions;
 import io.vertx.proton.ProtonConnection;
 import io.vertx.proton.ProtonDelivery;
+import io.vertx.proton.ProtonQoS;
 
 /**
  * A helper class for creating Vert.x based clients for Hono's arbitrary APIs.
@@ -120,9 +132,11 @@ public class HonoClientImpl implements HonoClient {
 
     private ProtonClientOptions clientOptions;
     private CacheProvider cacheProvider;
+    private final Set<String> responseCacheNames = ConcurrentHashMap.newKeySet();
     private AtomicInteger connectAttempts;
     private List<Symbol> offeredCapabilities = Collections.emptyList();
     private Tracer tracer = NoopTracerFactory.create();
+    private RequestResponseClientMetrics requestResponseClientMetrics = RequestResponseClientMetrics.NOOP;
 
     /**
      * Creates a new client for a set of configuration properties.
@@ -193,6 +207,20 @@ public class HonoClientImpl implements HonoClient {
         this.tracer = Objects.requireNonNull(opentracingTracer);
     }
 
+    /**
+     * Sets the metrics to report the outcome of requests to that are sent
+     * by the request-response clients created by this client.
+     * <p>
+     * If not set explicitly, no metrics are reported.
+     *
+     * @param metrics The metrics.
+     * @throws NullPointerException if metrics is {@code null}.
+     */
+    @Autowired(required = false)
+    public final void setRequestResponseClientMetrics(final RequestResponseClientMetrics metrics) {
+        this.requestResponseClientMetrics = Objects.requireNonNull(metrics);
+    }
+
     /**
      * Gets the OpenTracing {@code Tracer} to use for tracing the processing
      * of messages received from or sent to devices.
@@ -414,7 +442,11 @@ public class HonoClientImpl implements HonoClient {
                                                     "client is already shut down")));
                                 } else {
                                     setConnection(newConnection);
-                                    connectionHandler.handle(Future.succeededFuture(this));
+                                    // cached responses are invalidated once subscribed, so make sure
+                                    // that the client is not used for retrieving responses before
+                                    // unless the subscription cannot be established in time
+                                    subscribeToRegistryNotifications(newConnection).setHandler(
+                                            subscription -> connectionHandler.handle(Future.succeededFuture(this)));
                                 }
                             }
                         });
@@ -426,6 +458,128 @@ public class HonoClientImpl implements HonoClient {
         });
     }
 
+    /**
+     * Subscribes to notifications about changes of the device registry's content
+     * in order to invalidate cached responses.
+     * <p>
+     * The subscription is only made if notifications are enabled in the client
+     * configuration and a cache provider is set. All cached responses are invalidated
+     * once the subscription has been established because changes may have been missed
+     * while not being subscribed. The same applies if the peer closes the link, in which
+     * case the client subscribes again after a short delay.
+     *
+     * @param con The connection to subscribe on.
+     * @return A future indicating the outcome of the subscription attempt. The future
+     *         is failed if the subscription has failed or has not been established within
+     *         the configured link establishment timeout.
+     */
+    private Future<Void> subscribeToRegistryNotifications(final ProtonConnection con) {
+
+        if (cacheProvider == null || !(clientConfigProperties instanceof RequestResponseClientConfigProperties)
+                || !((RequestResponseClientConfigProperties) clientConfigProperties).isRegistryNotificationsEnabled()) {
+            return Future.succeededFuture();
+        }
+
+        final Future<Void> result = Future.future();
+        // the peer may never answer the attach frame, e.g. if the connection is lost
+        // while the link is being established, so make sure that we do not wait forever
+        final long timerId = vertx.setTimer(clientConfigProperties.getLinkEstablishmentTimeout(), tid -> {
+            if (result.tryFail(new ServerErrorException(HttpURLConnection.HTTP_UNAVAILABLE,
+                    "registry notification link has not been established in time"))) {
+                log.warn("cannot subscribe to registry notifications in time, cached responses will be used until they expire");
+            }
+        });
+
+        AbstractHonoClient.createReceiver(
+                context,
+                clientConfigProperties,
+                con,
+                RegistryNotificationConstants.NOTIFICATION_ENDPOINT,
+                ProtonQoS.AT_MOST_ONCE,
+                (delivery, message) -> onRegistryNotification(message),
+                closedAddress -> {
+                    log.info("registry closed notification link, invalidating cached responses");
+                    clearResponseCaches(name -> true);
+                    vertx.setTimer(Constants.DEFAULT_RECONNECT_INTERVAL_MILLIS, resubscribe -> {
+                        if (connection == con && !shuttingDown.get()) {
+                            subscribeToRegistryNotifications(con);
+                        }
+                    });
+                }).setHandler(attempt -> {
+                    vertx.cancelTimer(timerId);
+                    if (attempt.succeeded()) {
+                        log.debug("subscribed to registry notifications");
+                        clearResponseCaches(name -> true);
+                        result.tryComplete();
+                    } else {
+                        log.warn("cannot subscribe to registry notifications, cached responses will be used until they expire",
+                                attempt.cause());
+                        result.tryFail(attempt.cause());
+                    }
+                });
+        return result;
+    }
+
+    private void onRegistryNotification(final Message notification) {
+
+        final String api = notification.getSubject();
+        final String tenantId = MessageHelper.getTenantId(notification);
+        log.trace("received registry notification [api: {}, tenant: {}, device: {}]",
+                api, tenantId, MessageHelper.getDeviceId(notification));
+
+        if (TenantConstants.TENANT_ENDPOINT.equals(api)) {
+            // the tenant cache contains the responses for all tenants, keyed by ID and trusted CA
+            clearResponseCaches(TenantClientImpl.getTargetAddress()::equals);
+        } else if (RegistrationConstants.REGISTRATION_ENDPOINT.equals(api)) {
+            // responses for gateways acting on behalf of the changed device are cached as well,
+            // so we invalidate all responses of the tenant
+            if (tenantId == null) {
+                clearResponseCaches(name -> name.startsWith(RegistrationConstants.REGISTRATION_ENDPOINT + "/"));
+            } else {
+                clearResponseCaches(RegistrationClientImpl.getTargetAddress(tenantId)::equals);
+            }
+        }
+        // responses of the Credentials API are not cached
+    }
+
+    private void clearResponseCaches(final Predicate<String> names) {
+
+        responseCacheNames.stream().filter(names).forEach(name -> {
+            final ExpiringValueCache<Object, Object> cache = cacheProvider.getCache(name);
+            if (cache != null) {
+                log.debug("invalidating cached responses [cache: {}]", name);
+                try {
+                    cache.clear();
+                } catch (final UnsupportedOperationException e) {
+                    log.warn("cannot invalidate cached responses, responses will be used until they expire [cache: {}]",
+                            name);
+                }
+            }
+        });
+    }
+
+    /**
+     * Gets the provider for the caches that request-response clients store responses in.
+     * <p>
+     * The provider records the names of the caches so that they can be cleared when
+     * the content of the device registry changes.
+     *
+     * @return The provider or {@code null} if no cache provider is set.
+     */
+    private CacheProvider getResponseCacheProvider() {
+
+        if (cacheProvider == null) {
+            return null;
+        }
+        return new CacheProvider() {
+            @Override
+            public <K, V> ExpiringValueCache<K, V> getCache(final String cacheName) {
+                responseCacheNames.add(cacheName);
+                return cacheProvider.getCache(cacheName);
+            }
+        };
+    }
+
     private void onRemoteClose(final AsyncResult<ProtonConnection> remoteClose,
             final Handler<ProtonConnection> connectionLossHandler) {
 
@@ -706,6 +860,14 @@ public class HonoClientImpl implements HonoClient {
             final Consumer<Message> eventConsumer,
             final Handler<Void> closeHandler) {
 
+        if (clientConfigProperties.getDispatchThreads() > 0) {
+            // the delivery is not passed to the consumer so that the event can be
+            // processed on one of the dispatcher's worker threads
+            return createEventConsumerWithManualAck(tenantId, message -> {
+                eventConsumer.accept(message);
+                return Future.succeededFuture();
+            }, closeHandler);
+        }
         return createEventConsumer(tenantId, (delivery, message) -> eventConsumer.accept(message), closeHandler);
     }
 
@@ -737,6 +899,54 @@ public class HonoClientImpl implements HonoClient {
         });
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final Future<MessageConsumer> createTelemetryConsumerWithManualAck(
+            final String tenantId,
+            final Function<Message, Future<Void>> telemetryConsumer,
+            final Handler<Void> closeHandler) {
+
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(telemetryConsumer);
+        Objects.requireNonNull(closeHandler);
+
+        return createConsumer(
+                tenantId,
+                () -> checkConnected().compose(con -> {
+                    final Future<MessageConsumer> result = Future.future();
+                    TelemetryConsumerImpl.createWithManualAck(context, clientConfigProperties, connection, tenantId,
+                            connectionFactory.getPathSeparator(), telemetryConsumer, result.completer(),
+                            closeHook -> closeHandler.handle(null));
+                    return result;
+                }));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final Future<MessageConsumer> createEventConsumerWithManualAck(
+            final String tenantId,
+            final Function<Message, Future<Void>> eventConsumer,
+            final Handler<Void> closeHandler) {
+
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(eventConsumer);
+        Objects.requireNonNull(closeHandler);
+
+        return createConsumer(
+                tenantId,
+                () -> checkConnected().compose(con -> {
+                    final Future<MessageConsumer> result = Future.future();
+                    EventConsumerImpl.createWithManualAck(context, clientConfigProperties, connection, tenantId,
+                            connectionFactory.getPathSeparator(), eventConsumer, result.completer(),
+                            closeHook -> closeHandler.handle(null));
+                    return result;
+                }));
+    }
+
     /**
      * Creates a new message consumer for a tenant.
      * 
@@ -878,7 +1088,7 @@ public class HonoClientImpl implements HonoClient {
             RegistrationClientImpl.create(
                     context,
                     clientConfigProperties,
-                    cacheProvider,
+                    getResponseCacheProvider(),
                     tracer,
                     connection,
                     tenantId,
@@ -932,7 +1142,7 @@ public class HonoClientImpl implements HonoClient {
             TenantClientImpl.create(
                     context,
                     clientConfigProperties,
-                    cacheProvider,
+                    getResponseCacheProvider(),
                     tracer,
                     connection,
                     this::removeTenantClient,
@@ -1043,6 +1253,9 @@ public class HonoClientImpl implements HonoClient {
             clientSupplier.get().setHandler(creationAttempt -> {
                 if (creationAttempt.succeeded()) {
                     log.debug("successfully created new client [target: {}]", key);
+                    if (creationAttempt.result() instanceof AbstractRequestResponseClient) {
+                        ((AbstractRequestResponseClient<?>) creationAttempt.result()).setMetrics(requestResponseClientMetrics);
+                    }
                     activeRequestResponseClients.put(key, creationAttempt.result());
                     result.tryComplete(creationAttempt.result());
                 } else {
@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.client.impl;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.util.MessageHelper;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
+import io.vertx.proton.ProtonDelivery;
+
+/**
+ * Dispatches received messages to a pool of worker threads, partitioned by device ID.
+ * <p>
+ * Each partition is served by a single worker thread. All messages of a device are
+ * assigned to the same partition so that the application's handler is invoked with the
+ * messages of a device in the order in which they have been received, while the messages
+ * of different devices are processed in parallel.
+ * <p>
+ * The future returned for a dispatched message is completed on the vert.x context that
+ * the message has been dispatched from once the future returned by the application's
+ * handler has completed. The dispatcher is intended to be used in conjunction with a
+ * {@link CreditController} so that credit for a message is only issued once the message
+ * has been processed.
+ */
+final class PartitionedDispatcher {
+
+    private static final AtomicInteger INSTANCE_COUNT = new AtomicInteger();
+
+    private final WorkerExecutor[] partitions;
+
+    /**
+     * Creates a new dispatcher.
+     *
+     * @param vertx The vert.x instance to create the worker threads on.
+     * @param numberOfPartitions The number of partitions (and thus worker threads).
+     * @throws NullPointerException if vertx is {@code null}.
+     * @throws IllegalArgumentException if the number of partitions is &lt; 1.
+     */
+    PartitionedDispatcher(final Vertx vertx, final int numberOfPartitions) {
+
+        Objects.requireNonNull(vertx);
+        if (numberOfPartitions < 1) {
+            throw new IllegalArgumentException("number of partitions must be > 0");
+        }
+        final String name = "hono-consumer-dispatcher-" + INSTANCE_COUNT.incrementAndGet();
+        this.partitions = new WorkerExecutor[numberOfPartitions];
+        for (int i = 0; i < numberOfPartitions; i++) {
+            partitions[i] = vertx.createSharedWorkerExecutor(name + "-" + i, 1);
+        }
+    }
+
+    /**
+     * Gets the partition that a message is assigned to.
+     *
+     * @param message The message.
+     * @return The index of the partition.
+     */
+    int getPartition(final Message message) {
+        final String deviceId = MessageHelper.getDeviceId(message);
+        return deviceId == null ? 0 : Math.floorMod(deviceId.hashCode(), partitions.length);
+    }
+
+    /**
+     * Creates a message handler which dispatches messages to the partitions.
+     * <p>
+     * The returned handler must be invoked on a vert.x context.
+     *
+     * @param messageHandler The application's handler to invoke on a worker thread
+     *                       for each message.
+     * @return The handler.
+     * @throws NullPointerException if message handler is {@code null}.
+     */
+    BiFunction<ProtonDelivery, Message, Future<Void>> dispatchTo(final Function<Message, Future<Void>> messageHandler) {
+
+        Objects.requireNonNull(messageHandler);
+        return (delivery, message) -> {
+            final Future<Void> result = Future.future();
+            partitions[getPartition(message)].executeBlocking(processing -> {
+                try {
+                    final Future<Void> outcome = messageHandler.apply(message);
+                    if (outcome == null) {
+                        processing.complete();
+                    } else {
+                        outcome.setHandler(processing.completer());
+                    }
+                } catch (final RuntimeException e) {
+                    processing.fail(e);
+                }
+            }, false, result.completer());
+            return result;
+        };
+    }
+
+    /**
+     * Releases the worker threads.
+     * <p>
+     * Messages that have already been dispatched are still processed.
+     */
+    void close() {
+        for (final WorkerExecutor partition : partitions) {
+            partition.close();
+        }
+    }
+}
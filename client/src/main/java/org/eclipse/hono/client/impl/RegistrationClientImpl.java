@@ -14,7 +14,9 @@
 package org.eclipse.hono.client.impl;
 
 import java.net.HttpURLConnection;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
@@ -56,6 +58,12 @@ public class RegistrationClientImpl extends AbstractRequestResponseClient<Regist
 
     private static final Logger LOG = LoggerFactory.getLogger(RegistrationClientImpl.class);
 
+    /**
+     * The handlers waiting for the outcome of assertion requests that have been sent
+     * to the service, keyed by the request's cache key.
+     */
+    private final Map<Object, List<Handler<AsyncResult<RegistrationResult>>>> pendingAssertions = new HashMap<>();
+
     /**
      * Creates a new client for accessing the Device Registration service.
      * 
@@ -310,8 +318,10 @@ public class RegistrationClientImpl extends AbstractRequestResponseClient<Regist
      * <a href="https://www.eclipse.org/hono/api/Device-Registration-API">Device Registration API</a>
      * on the service represented by the <em>sender</em> and <em>receiver</em> links.
      * <p>
-     * This method delegates to {@link #assertRegistration(String, String)} with {@code null}
-     * as the <em>gatewayId</em>.
+     * If a request for the same device and gateway is already waiting for a response
+     * from the service, no additional request is sent but the outcome of the pending
+     * request is used. Together with the caching of <em>not found</em> responses this
+     * limits the rate at which unknown or disabled devices are checked.
      */
     @Override
     public final Future<JsonObject> assertRegistration(
@@ -330,6 +340,18 @@ public class RegistrationClientImpl extends AbstractRequestResponseClient<Regist
         return getResponseFromCache(key).recover(t -> {
             cacheHit.set(false);
             final Future<RegistrationResult> regResult = Future.future();
+            final List<Handler<AsyncResult<RegistrationResult>>> waiting = pendingAssertions.get(key);
+            if (waiting != null) {
+                // a request for the same device is already on its way,
+                // share its outcome instead of sending another one
+                LOG.trace("joining pending assertion request [tenant: {}, device-id: {}, gateway-id: {}]",
+                        getTenantId(), deviceId, gatewayId);
+                waiting.add(regResult.completer());
+                return regResult;
+            }
+            final List<Handler<AsyncResult<RegistrationResult>>> handlers = new ArrayList<>();
+            handlers.add(regResult.completer());
+            pendingAssertions.put(key, handlers);
             final Map<String, Object> properties = createDeviceIdProperties(deviceId);
             if (gatewayId != null) {
                 properties.put(MessageHelper.APP_PROPERTY_GATEWAY_ID, gatewayId);
@@ -339,7 +361,10 @@ public class RegistrationClientImpl extends AbstractRequestResponseClient<Regist
                     properties,
                     null,
                     RegistrationConstants.CONTENT_TYPE_APPLICATION_JSON,
-                    regResult.completer(),
+                    response -> {
+                        pendingAssertions.remove(key);
+                        handlers.forEach(handler -> handler.handle(response));
+                    },
                     key,
                     span);
             return regResult;
@@ -28,6 +28,7 @@ import org.eclipse.hono.util.TelemetryConstants;
 
 import java.util.Objects;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * A Vertx-Proton based client for consuming telemetry data from a Hono server.
@@ -95,15 +96,74 @@ public class TelemetryConsumerImpl extends AbstractConsumer implements MessageCo
         Objects.requireNonNull(telemetryConsumer);
         Objects.requireNonNull(creationHandler);
 
-        createReceiver(context, clientConfig, con, String.format(TELEMETRY_ADDRESS_TEMPLATE, pathSeparator, tenantId), ProtonQoS.AT_LEAST_ONCE,
-                (delivery, message) -> telemetryConsumer.accept(message), closeHook).setHandler(created -> {
-                    if (created.succeeded()) {
-                        creationHandler.handle(Future.succeededFuture(
-                                new TelemetryConsumerImpl(context, clientConfig, created.result())));
-                    } else {
-                        creationHandler.handle(Future.failedFuture(created.cause()));
-                    }
-                });
+        final String address = String.format(TELEMETRY_ADDRESS_TEMPLATE, pathSeparator, tenantId);
+        final Future<ProtonReceiver> receiver;
+        if (clientConfig.isAdaptiveCreditEnabled() || clientConfig.getDispatchThreads() > 0) {
+            receiver = createFlowControlledReceiver(context, clientConfig, con, address, ProtonQoS.AT_LEAST_ONCE,
+                    message -> {
+                        telemetryConsumer.accept(message);
+                        return Future.succeededFuture();
+                    }, closeHook);
+        } else {
+            receiver = createReceiver(context, clientConfig, con, address, ProtonQoS.AT_LEAST_ONCE,
+                    (delivery, message) -> telemetryConsumer.accept(message), closeHook);
+        }
+        receiver.setHandler(created -> onReceiverCreated(context, clientConfig, created, creationHandler));
+    }
+
+    /**
+     * Creates a new telemetry data consumer for a tenant which settles messages
+     * only after they have been processed.
+     * <p>
+     * Each message received is passed to the given function. The message is <em>accepted</em>
+     * once the future returned by the function succeeds or <em>released</em> if the future fails.
+     * Credit for further messages is issued only after messages have been settled.
+     * 
+     * @param context The vert.x context to run all interactions with the server on.
+     * @param clientConfig The configuration properties to use.
+     * @param con The AMQP connection to the server.
+     * @param tenantId The tenant to consumer events for.
+     * @param pathSeparator The address path separator character used by the server.
+     * @param telemetryConsumer The function to invoke with each telemetry message received.
+     * @param creationHandler The handler to invoke with the outcome of the creation attempt.
+     * @param closeHook The handler to invoke when the link is closed by the peer (may be {@code null}).
+     * @throws NullPointerException if any of the parameters except the closeHook is {@code null}.
+     */
+    public static void createWithManualAck(
+            final Context context,
+            final ClientConfigProperties clientConfig,
+            final ProtonConnection con,
+            final String tenantId,
+            final String pathSeparator,
+            final Function<Message, Future<Void>> telemetryConsumer,
+            final Handler<AsyncResult<MessageConsumer>> creationHandler,
+            final Handler<String> closeHook) {
+
+        Objects.requireNonNull(context);
+        Objects.requireNonNull(clientConfig);
+        Objects.requireNonNull(con);
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(pathSeparator);
+        Objects.requireNonNull(telemetryConsumer);
+        Objects.requireNonNull(creationHandler);
+
+        createFlowControlledReceiver(context, clientConfig, con, String.format(TELEMETRY_ADDRESS_TEMPLATE, pathSeparator, tenantId),
+                ProtonQoS.AT_LEAST_ONCE, telemetryConsumer, closeHook)
+        .setHandler(created -> onReceiverCreated(context, clientConfig, created, creationHandler));
+    }
+
+    private static void onReceiverCreated(
+            final Context context,
+            final ClientConfigProperties clientConfig,
+            final AsyncResult<ProtonReceiver> created,
+            final Handler<AsyncResult<MessageConsumer>> creationHandler) {
+
+        if (created.succeeded()) {
+            creationHandler.handle(Future.succeededFuture(
+                    new TelemetryConsumerImpl(context, clientConfig, created.result())));
+        } else {
+            creationHandler.handle(Future.failedFuture(created.cause()));
+        }
     }
 
 }
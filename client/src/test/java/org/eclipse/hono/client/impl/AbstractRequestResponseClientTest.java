@@ -17,11 +17,13 @@ import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import java.net.HttpURLConnection;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -34,8 +36,10 @@ import org.apache.qpid.proton.amqp.messaging.Data;
 import org.apache.qpid.proton.amqp.messaging.Rejected;
 import org.apache.qpid.proton.amqp.transport.Target;
 import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.cache.BasicExpiringValue;
 import org.eclipse.hono.cache.ExpiringValueCache;
 import org.eclipse.hono.client.RequestResponseClientConfigProperties;
+import org.eclipse.hono.client.RequestResponseClientMetrics;
 import org.eclipse.hono.client.ServerErrorException;
 import org.eclipse.hono.config.ClientConfigProperties;
 import org.eclipse.hono.util.CacheDirective;
@@ -226,6 +230,35 @@ public class AbstractRequestResponseClientTest  {
         verify(vertx, never()).setTimer(anyLong(), any(Handler.class));
     }
 
+    /**
+     * Verifies that the client reports the time it took to receive the response
+     * to a request to the configured metrics.
+     * 
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testHandleResponseReportsResponseTime(final TestContext ctx) {
+
+        // GIVEN a client with metrics
+        final RequestResponseClientMetrics metrics = mock(RequestResponseClientMetrics.class);
+        client.setMetrics(metrics);
+
+        // and a request message that has been sent to a peer
+        final Async responseReceived = ctx.async();
+        client.createAndSendRequest("request", null, (Buffer) null, ctx.asyncAssertSuccess(s -> {
+            // THEN the response time has been reported before the handler is invoked
+            verify(metrics).reportResponseTime(eq("peer"), eq("tenant"), anyLong());
+            responseReceived.complete();
+        }));
+
+        // WHEN a response is received for the request
+        final Message response = ProtonHelper.message("payload");
+        response.setCorrelationId(MESSAGE_ID);
+        MessageHelper.addProperty(response, MessageHelper.APP_PROPERTY_STATUS, 200);
+        client.handleResponse(mock(ProtonDelivery.class), response);
+        responseReceived.await();
+    }
+
     /**
      * Verifies that the client cancels and fails a request for which no response
      * has been received after a certain amount of time. The request is then
@@ -258,6 +291,63 @@ public class AbstractRequestResponseClientTest  {
         requestFailure.await();
     }
 
+    /**
+     * Verifies that the client reports a request that has timed out to the
+     * configured metrics.
+     * 
+     * @param ctx The vert.x test context.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testCancelRequestReportsTimedOutRequest(final TestContext ctx) {
+
+        // GIVEN a request-response client with metrics which times out requests after 200 ms
+        final RequestResponseClientMetrics metrics = mock(RequestResponseClientMetrics.class);
+        client.setMetrics(metrics);
+        client.setRequestTimeout(200);
+
+        // WHEN no response is received for a request sent to the peer
+        doAnswer(invocation -> {
+            final Handler<Long> task = invocation.getArgument(1);
+            task.handle(1L);
+            return null;
+        }).when(vertx).setTimer(anyLong(), any(Handler.class));
+        final Async requestFailure = ctx.async();
+        client.createAndSendRequest("request", null, (Buffer) null, ctx.asyncAssertFailure(t -> {
+            requestFailure.complete();
+        }));
+
+        // THEN the request is reported as timed out and no longer pending
+        requestFailure.await();
+        verify(metrics).incrementPendingRequests("peer", "tenant");
+        verify(metrics).incrementTimedOutRequests("peer", "tenant");
+        verify(metrics).decrementPendingRequests("peer", "tenant");
+    }
+
+    /**
+     * Verifies that the client reports an expired response found in the cache
+     * as a stale cache hit.
+     * 
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testGetResponseFromCacheReportsStaleCacheHit(final TestContext ctx) {
+
+        // GIVEN a client with metrics and a cache containing an expired response
+        final RequestResponseClientMetrics metrics = mock(RequestResponseClientMetrics.class);
+        client.setMetrics(metrics);
+        client.setResponseCache(cache);
+        when(cache.getExpiringValue("key")).thenReturn(
+                new BasicExpiringValue<>(SimpleRequestResponseResult.from(200, null, null), Instant.now().minusSeconds(1)));
+
+        // WHEN looking up the response
+        client.getResponseFromCache("key").setHandler(ctx.asyncAssertFailure(t -> {
+            // THEN the lookup is reported as a stale cache hit
+            verify(metrics).incrementStaleCacheHits("peer", "tenant");
+            verify(metrics, never()).incrementCacheHits(anyString(), anyString());
+        }));
+    }
+
     /**
      * Verifies that a response handler is immediately failed with a
      * {@link ServerErrorException} when the sender link is not open (yet).
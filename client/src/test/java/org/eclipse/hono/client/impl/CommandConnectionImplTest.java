@@ -20,6 +20,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -235,7 +236,7 @@ public class CommandConnectionImplTest {
                 verify(receiver).open();
                 linkOpenHandler.getValue().handle(Future.succeededFuture(receiver));
                 when(receiver.isOpen()).thenReturn(Boolean.TRUE);
-                verify(vertx).setPeriodic(eq(5000L), any(Handler.class));
+                verify(vertx).setPeriodic(eq(CommandConnectionImpl.MIN_LIVENESS_CHECK_INTERVAL_MILLIS), any(Handler.class));
                 return consumer;
             }).map(consumer -> {
                 // WHEN closing the link locally
@@ -326,6 +327,47 @@ public class CommandConnectionImplTest {
         verify(vertx).cancelTimer(10L);
     }
 
+    /**
+     * Verifies that the liveness checks of all command consumers are run by a
+     * single timer which is canceled once the last consumer has been closed.
+     *
+     * @param ctx The test context.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testLivenessChecksShareSingleTimer(final TestContext ctx) {
+
+        final Handler<CommandContext> commandHandler = mock(Handler.class);
+        final Source source = mock(Source.class);
+        when(receiver.getSource()).thenReturn(source);
+        when(receiver.getRemoteSource()).thenReturn(source);
+        when(vertx.setPeriodic(anyLong(), any(Handler.class))).thenReturn(10L);
+
+        // GIVEN an established command connection
+        commandConnection.connect(new ProtonClientOptions()).setHandler(ctx.asyncAssertSuccess());
+        assertTrue(connectionFactory.await());
+
+        // WHEN command consumers are created for multiple devices
+        final ArgumentCaptor<Handler<AsyncResult<ProtonReceiver>>> linkOpenHandler = ArgumentCaptor.forClass(Handler.class);
+        for (int i = 0; i < 3; i++) {
+            when(source.getAddress()).thenReturn("control/theTenant/device-" + i);
+            commandConnection.createCommandConsumer("theTenant", "device-" + i, commandHandler, null, 5000L)
+                .setHandler(ctx.asyncAssertSuccess());
+            verify(receiver, times(i + 1)).openHandler(linkOpenHandler.capture());
+            linkOpenHandler.getValue().handle(Future.succeededFuture(receiver));
+        }
+
+        // THEN a single timer is used for checking the consumers' liveness
+        verify(vertx, times(1)).setPeriodic(eq(CommandConnectionImpl.MIN_LIVENESS_CHECK_INTERVAL_MILLIS), any(Handler.class));
+
+        // and the timer is canceled only after all consumers have been closed
+        commandConnection.closeCommandConsumer("theTenant", "device-0");
+        commandConnection.closeCommandConsumer("theTenant", "device-1");
+        verify(vertx, never()).cancelTimer(anyLong());
+        commandConnection.closeCommandConsumer("theTenant", "device-2");
+        verify(vertx).cancelTimer(10L);
+    }
+
     /**
      * Verifies that consecutive invocations of the liveness check created
      * for a command consumer do not start a new re-creation attempt if another
@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.client.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.qpid.proton.amqp.messaging.Accepted;
+import org.apache.qpid.proton.amqp.messaging.Released;
+import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.config.ClientConfigProperties;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.proton.ProtonDelivery;
+import io.vertx.proton.ProtonReceiver;
+
+/**
+ * Verifies behavior of {@link CreditController}.
+ *
+ */
+public class CreditControllerTest {
+
+    private Context context;
+    private ClientConfigProperties config;
+    private ProtonReceiver receiver;
+    private AtomicInteger credit;
+    private AtomicLong now;
+    private List<Future<Void>> outcomes;
+
+    /**
+     * Sets up the fixture.
+     */
+    @Before
+    public void setUp() {
+
+        context = HonoClientUnitTestHelper.mockContext(mock(Vertx.class));
+        config = new ClientConfigProperties();
+        credit = new AtomicInteger();
+        receiver = mock(ProtonReceiver.class);
+        when(receiver.getCredit()).thenAnswer(invocation -> credit.get());
+        doAnswer(invocation -> {
+            credit.addAndGet(invocation.getArgument(0));
+            return receiver;
+        }).when(receiver).flow(anyInt());
+        now = new AtomicLong();
+        outcomes = new ArrayList<>();
+    }
+
+    private CreditController newController() {
+        return new CreditController(context, config, (delivery, message) -> {
+            final Future<Void> outcome = Future.future();
+            outcomes.add(outcome);
+            return outcome;
+        }, now::get);
+    }
+
+    private ProtonDelivery receive(final CreditController controller) {
+        final ProtonDelivery delivery = mock(ProtonDelivery.class);
+        credit.decrementAndGet();
+        controller.handle(delivery, mock(Message.class));
+        return delivery;
+    }
+
+    /**
+     * Verifies that a message is accepted and its credit is returned to the
+     * sender only after the application has processed the message.
+     */
+    @Test
+    public void testHandleReturnsCreditAfterMessageHasBeenProcessed() {
+
+        // GIVEN a controller with a fixed window of 10 credits
+        config.setInitialCredits(10);
+        final CreditController controller = newController();
+        controller.start(receiver);
+        verify(receiver).setAutoAccept(false);
+        assertEquals(10, credit.get());
+
+        // WHEN a message is received
+        final ProtonDelivery delivery = receive(controller);
+
+        // THEN no credit is returned while the message is being processed
+        verify(delivery, never()).disposition(any(), anyBoolean());
+        assertEquals(9, credit.get());
+        assertEquals(1, controller.getInFlight());
+
+        // and the message is accepted and its credit is returned once it has been processed
+        outcomes.get(0).complete();
+        verify(delivery).disposition(any(Accepted.class), eq(true));
+        assertEquals(10, credit.get());
+        assertEquals(0, controller.getInFlight());
+    }
+
+    /**
+     * Verifies that a message is released if the application fails to process it.
+     */
+    @Test
+    public void testHandleReleasesMessageIfProcessingFails() {
+
+        final CreditController controller = newController();
+        controller.start(receiver);
+
+        final ProtonDelivery delivery = receive(controller);
+        outcomes.get(0).fail(new IllegalStateException("cannot process message"));
+
+        verify(delivery).disposition(any(Released.class), eq(true));
+        assertEquals(0, controller.getInFlight());
+    }
+
+    /**
+     * Verifies that an adaptive window grows if the application processes
+     * messages faster than credit is issued.
+     */
+    @Test
+    public void testAdaptiveWindowGrowsIfApplicationKeepsUp() {
+
+        // GIVEN an adaptive controller starting with a single credit
+        config.setAdaptiveCreditEnabled(true);
+        config.setInitialCredits(1);
+        config.setMaxCredits(100);
+        final CreditController controller = newController();
+        controller.start(receiver);
+        assertEquals(1, credit.get());
+
+        // WHEN the application processes each message within a millisecond
+        for (int i = 0; i < 1000; i++) {
+            receive(controller);
+            now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+            outcomes.get(i).complete();
+        }
+
+        // THEN the window is enlarged to cover the messages processed during
+        // the flow latency and the processing time
+        assertEquals(27, controller.getWindow());
+        assertEquals(27, credit.get());
+    }
+
+    /**
+     * Verifies that an adaptive window shrinks if messages are queuing up
+     * at the application.
+     */
+    @Test
+    public void testAdaptiveWindowShrinksIfApplicationFallsBehind() {
+
+        // GIVEN an adaptive controller with a window of 100 credits
+        config.setAdaptiveCreditEnabled(true);
+        config.setInitialCredits(100);
+        final CreditController controller = newController();
+        controller.start(receiver);
+
+        // WHEN the application takes 10ms for processing each of 100 received messages
+        for (int i = 0; i < 100; i++) {
+            receive(controller);
+        }
+        assertEquals(0, credit.get());
+        for (int i = 0; i < 100; i++) {
+            now.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+            outcomes.get(i).complete();
+        }
+
+        // THEN the window is reduced to the number of messages that can be processed
+        // during the flow latency and the processing time
+        assertEquals(4, controller.getWindow());
+
+        // and once the credit that has already been issued is used up
+        final int issued = credit.get();
+        for (int i = 0; i < issued; i++) {
+            receive(controller);
+        }
+        for (int i = 100; i < outcomes.size(); i++) {
+            now.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+            outcomes.get(i).complete();
+        }
+        // no more credit than the new window is issued
+        assertEquals(4, credit.get());
+    }
+}
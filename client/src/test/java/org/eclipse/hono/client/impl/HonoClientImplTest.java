@@ -18,13 +18,20 @@ import static org.mockito.Mockito.*;
 
 import java.net.HttpURLConnection;
 
+import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.cache.CacheProvider;
+import org.eclipse.hono.cache.ExpiringValueCache;
 import org.eclipse.hono.client.ClientErrorException;
 import org.eclipse.hono.client.MessageSender;
 import org.eclipse.hono.client.RegistrationClient;
 import org.eclipse.hono.client.RequestResponseClient;
+import org.eclipse.hono.client.RequestResponseClientConfigProperties;
 import org.eclipse.hono.client.ServerErrorException;
 import org.eclipse.hono.client.ServiceInvocationException;
 import org.eclipse.hono.config.ClientConfigProperties;
+import org.eclipse.hono.util.MessageHelper;
+import org.eclipse.hono.util.RegistrationConstants;
+import org.eclipse.hono.util.RegistryNotificationConstants;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
@@ -32,6 +39,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.Timeout;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
@@ -40,6 +48,10 @@ import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
 import io.vertx.proton.ProtonClientOptions;
 import io.vertx.proton.ProtonConnection;
+import io.vertx.proton.ProtonHelper;
+import io.vertx.proton.ProtonMessageHandler;
+import io.vertx.proton.ProtonReceiver;
+import io.vertx.proton.ProtonSender;
 
 /**
  * Test cases verifying the behavior of {@code HonoClient}.
@@ -526,4 +538,91 @@ public class HonoClientImplTest {
         // THEN reconnect gets stopped, i.e. connection fails
         connectionHandlerInvocation.await();
     }
+
+    /**
+     * Verifies that a client with registry notifications enabled subscribes to the
+     * notification endpoint when connecting and invalidates the responses cached for
+     * a tenant's device registrations when being notified about a change.
+     *
+     * @param ctx The test context.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testRegistryNotificationInvalidatesCachedRegistrations(final TestContext ctx) {
+
+        // GIVEN a client with registry notifications enabled
+        final RequestResponseClientConfigProperties config = new RequestResponseClientConfigProperties();
+        config.setRegistryNotificationsEnabled(true);
+        config.setLinkEstablishmentTimeout(100);
+        final ExpiringValueCache<Object, Object> cache = mock(ExpiringValueCache.class);
+        final CacheProvider cacheProvider = mock(CacheProvider.class);
+        when(cacheProvider.getCache(anyString())).thenReturn(cache);
+        when(con.createSender(anyString())).thenReturn(mock(ProtonSender.class));
+        when(con.createReceiver(anyString())).thenReturn(mock(ProtonReceiver.class));
+        // which does not get the notification link established
+        final ProtonReceiver notificationReceiver = mock(ProtonReceiver.class);
+        when(notificationReceiver.isOpen()).thenReturn(Boolean.TRUE);
+        when(con.createReceiver(RegistryNotificationConstants.NOTIFICATION_ENDPOINT)).thenReturn(notificationReceiver);
+        client = new HonoClientImpl(vertx, connectionFactory, config);
+        client.setCacheProvider(cacheProvider);
+
+        final Async subscribed = ctx.async();
+        client.connect().setHandler(ctx.asyncAssertSuccess(ok -> {
+            // THEN the client subscribes to notifications
+            verify(con).createReceiver(RegistryNotificationConstants.NOTIFICATION_ENDPOINT);
+            // AND uses a cache for the registration client
+            client.getOrCreateRegistrationClient("tenant");
+            verify(cacheProvider).getCache(RegistrationClientImpl.getTargetAddress("tenant"));
+            subscribed.complete();
+        }));
+        subscribed.await();
+
+        // WHEN a notification about a change of a device of the tenant is received
+        final ArgumentCaptor<ProtonMessageHandler> handler = ArgumentCaptor.forClass(ProtonMessageHandler.class);
+        verify(notificationReceiver).handler(handler.capture());
+        final Message notification = ProtonHelper.message();
+        notification.setSubject(RegistrationConstants.REGISTRATION_ENDPOINT);
+        MessageHelper.addTenantId(notification, "tenant");
+        MessageHelper.addDeviceId(notification, "4711");
+        final Async invalidated = ctx.async();
+        vertx.runOnContext(go -> {
+            handler.getValue().handle(null, notification);
+            invalidated.complete();
+        });
+        invalidated.await();
+
+        // THEN the responses cached for the tenant's registrations are invalidated
+        verify(cache).clear();
+    }
+
+    /**
+     * Verifies that the client completes the connection attempt if the peer never
+     * answers the attach frame of the registry notification link.
+     *
+     * @param ctx The test context.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testConnectSucceedsIfNotificationLinkIsNeverOpened(final TestContext ctx) {
+
+        // GIVEN a client with registry notifications enabled
+        final RequestResponseClientConfigProperties config = new RequestResponseClientConfigProperties();
+        config.setRegistryNotificationsEnabled(true);
+        config.setLinkEstablishmentTimeout(100);
+        final CacheProvider cacheProvider = mock(CacheProvider.class);
+        when(cacheProvider.getCache(anyString())).thenReturn(mock(ExpiringValueCache.class));
+        // and a peer which never answers the attach frame of the notification link
+        // and for which the link is not considered open anymore
+        final ProtonReceiver notificationReceiver = mock(ProtonReceiver.class);
+        when(notificationReceiver.isOpen()).thenReturn(Boolean.FALSE);
+        when(con.createReceiver(RegistryNotificationConstants.NOTIFICATION_ENDPOINT)).thenReturn(notificationReceiver);
+        client = new HonoClientImpl(vertx, connectionFactory, config);
+        client.setCacheProvider(cacheProvider);
+
+        // WHEN connecting to the peer
+        // THEN the connection attempt succeeds after the link establishment timeout
+        client.connect().setHandler(ctx.asyncAssertSuccess(ok -> {
+            verify(con).createReceiver(RegistryNotificationConstants.NOTIFICATION_ENDPOINT);
+        }));
+    }
 }
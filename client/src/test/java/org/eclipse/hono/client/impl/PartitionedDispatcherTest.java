@@ -0,0 +1,196 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.client.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BiFunction;
+
+import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.util.MessageHelper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.Timeout;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.proton.ProtonDelivery;
+import io.vertx.proton.ProtonHelper;
+
+/**
+ * Verifies behavior of {@link PartitionedDispatcher}.
+ *
+ */
+@RunWith(VertxUnitRunner.class)
+public class PartitionedDispatcherTest {
+
+    /**
+     * Timeout each test after 5 secs.
+     */
+    @Rule
+    public Timeout timeout = Timeout.seconds(5);
+
+    private Vertx vertx;
+    private PartitionedDispatcher dispatcher;
+
+    /**
+     * Sets up the fixture.
+     */
+    @Before
+    public void setUp() {
+        vertx = Vertx.vertx();
+        dispatcher = new PartitionedDispatcher(vertx, 4);
+    }
+
+    /**
+     * Cleans up the fixture.
+     *
+     * @param ctx The test context.
+     */
+    @After
+    public void tearDown(final TestContext ctx) {
+        dispatcher.close();
+        vertx.close(ctx.asyncAssertSuccess());
+    }
+
+    private static Message newMessage(final String deviceId, final int sequenceNo) {
+        final Message msg = ProtonHelper.message(String.valueOf(sequenceNo), "payload");
+        MessageHelper.addDeviceId(msg, deviceId);
+        return msg;
+    }
+
+    /**
+     * Verifies that the messages of a device are processed in order on a single
+     * worker thread and that the future returned for a message is completed on
+     * the context that the message has been dispatched from.
+     *
+     * @param ctx The test context.
+     */
+    @Test
+    public void testDispatchToPreservesOrderPerDevice(final TestContext ctx) {
+
+        final String[] devices = { "device-1", "device-2", "device-3", "device-4", "device-5" };
+        final int messagesPerDevice = 50;
+        final Map<String, List<Integer>> processed = new ConcurrentHashMap<>();
+        final Map<String, Thread> threads = new ConcurrentHashMap<>();
+
+        final BiFunction<ProtonDelivery, Message, Future<Void>> handler = dispatcher.dispatchTo(message -> {
+            final String deviceId = MessageHelper.getDeviceId(message);
+            final Thread previous = threads.putIfAbsent(deviceId, Thread.currentThread());
+            ctx.assertTrue(previous == null || previous == Thread.currentThread());
+            ctx.assertFalse(Thread.currentThread().getName().startsWith("vert.x-eventloop"));
+            processed.computeIfAbsent(deviceId, id -> new ArrayList<>())
+                .add(Integer.valueOf(message.getAddress()));
+            return Future.succeededFuture();
+        });
+
+        final Async completion = ctx.async(devices.length * messagesPerDevice);
+        vertx.runOnContext(go -> {
+            final Context dispatchingContext = vertx.getOrCreateContext();
+            for (int i = 0; i < messagesPerDevice; i++) {
+                for (final String deviceId : devices) {
+                    handler.apply(null, newMessage(deviceId, i)).setHandler(ctx.asyncAssertSuccess(ok -> {
+                        ctx.assertEquals(dispatchingContext, vertx.getOrCreateContext());
+                        completion.countDown();
+                    }));
+                }
+            }
+        });
+        completion.await();
+
+        for (final String deviceId : devices) {
+            final List<Integer> sequence = processed.get(deviceId);
+            ctx.assertEquals(messagesPerDevice, sequence.size());
+            for (int i = 0; i < messagesPerDevice; i++) {
+                ctx.assertEquals(i, sequence.get(i));
+            }
+        }
+    }
+
+    /**
+     * Verifies that a message assigned to one partition is processed while
+     * the worker thread of another partition is blocked.
+     *
+     * @param ctx The test context.
+     */
+    @Test
+    public void testDispatchToProcessesPartitionsInParallel(final TestContext ctx) {
+
+        final Message blockedMessage = newMessage("device-0", 0);
+        Message otherMessage = null;
+        for (int i = 1; otherMessage == null; i++) {
+            final Message candidate = newMessage("device-" + i, 0);
+            if (dispatcher.getPartition(candidate) != dispatcher.getPartition(blockedMessage)) {
+                otherMessage = candidate;
+            }
+        }
+        final CountDownLatch unblock = new CountDownLatch(1);
+        final BiFunction<ProtonDelivery, Message, Future<Void>> handler = dispatcher.dispatchTo(message -> {
+            if (message == blockedMessage) {
+                try {
+                    unblock.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return Future.succeededFuture();
+        });
+
+        final Message messageOnOtherPartition = otherMessage;
+        final Async otherProcessed = ctx.async();
+        final Async blockedProcessed = ctx.async();
+        vertx.runOnContext(go -> {
+            handler.apply(null, blockedMessage).setHandler(ctx.asyncAssertSuccess(ok -> blockedProcessed.complete()));
+            handler.apply(null, messageOnOtherPartition).setHandler(ctx.asyncAssertSuccess(ok -> {
+                // the other message has been processed while the first partition is still blocked
+                ctx.assertFalse(blockedProcessed.isCompleted());
+                otherProcessed.complete();
+                unblock.countDown();
+            }));
+        });
+        otherProcessed.await();
+        blockedProcessed.await();
+    }
+
+    /**
+     * Verifies that the future returned for a message fails if the application's
+     * handler throws an exception.
+     *
+     * @param ctx The test context.
+     */
+    @Test
+    public void testDispatchToFailsIfHandlerThrowsException(final TestContext ctx) {
+
+        final BiFunction<ProtonDelivery, Message, Future<Void>> handler = dispatcher.dispatchTo(message -> {
+            throw new IllegalStateException("cannot process message");
+        });
+
+        final Handler<AsyncResult<Void>> outcome = ctx.asyncAssertFailure();
+        vertx.runOnContext(go -> {
+            handler.apply(null, newMessage("device", 0)).setHandler(outcome);
+        });
+    }
+}
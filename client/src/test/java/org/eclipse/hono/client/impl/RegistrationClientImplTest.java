@@ -25,8 +25,10 @@ import java.time.Duration;
 import java.time.Instant;
 
 import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.cache.BasicExpiringValue;
 import org.eclipse.hono.cache.ExpiringValueCache;
 import org.eclipse.hono.client.RequestResponseClientConfigProperties;
+import org.eclipse.hono.client.ServiceInvocationException;
 import org.eclipse.hono.util.CacheDirective;
 import org.eclipse.hono.util.MessageHelper;
 import org.eclipse.hono.util.RegistrationConstants;
@@ -167,7 +169,8 @@ public class RegistrationClientImplTest {
         client.setResponseCache(cache);
         final JsonObject registrationAssertion = newRegistrationAssertionResult();
         final RegistrationResult regResult = RegistrationResult.from(HttpURLConnection.HTTP_OK, registrationAssertion);
-        when(cache.get(eq(TriTuple.of("assert", "device", "gateway")))).thenReturn(regResult);
+        when(cache.getExpiringValue(eq(TriTuple.of("assert", "device", "gateway"))))
+            .thenReturn(new BasicExpiringValue<>(regResult, Instant.MAX));
 
         // WHEN getting registration information
         client.assertRegistration("device", "gateway").setHandler(ctx.asyncAssertSuccess(result -> {
@@ -206,6 +209,76 @@ public class RegistrationClientImplTest {
                 is("gateway"));
     }
 
+    /**
+     * Verifies that a <em>not found</em> response without cache directive is put to the
+     * cache using the configured negative timeout.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testAssertRegistrationAddsNotFoundResponseToCache(final TestContext ctx) {
+
+        // GIVEN a client with a cache that caches negative responses for 5 seconds
+        final RequestResponseClientConfigProperties config = new RequestResponseClientConfigProperties();
+        config.setResponseCacheNegativeTimeout(5);
+        client = new RegistrationClientImpl(context, config, "tenant", sender, HonoClientUnitTestHelper.mockProtonReceiver());
+        client.setResponseCache(cache);
+
+        // WHEN asserting the registration of an unknown device
+        final Async assertion = ctx.async();
+        client.assertRegistration("unknownDevice").setHandler(ctx.asyncAssertFailure(t -> {
+            ctx.assertEquals(HttpURLConnection.HTTP_NOT_FOUND, ((ServiceInvocationException) t).getErrorCode());
+            assertion.complete();
+        }));
+
+        final ArgumentCaptor<Message> messageCaptor = ArgumentCaptor.forClass(Message.class);
+        verify(sender).send(messageCaptor.capture(), any(Handler.class));
+        final Message response = ProtonHelper.message();
+        MessageHelper.addProperty(response, MessageHelper.APP_PROPERTY_STATUS, HttpURLConnection.HTTP_NOT_FOUND);
+        response.setCorrelationId(messageCaptor.getValue().getMessageId());
+        client.handleResponse(mock(ProtonDelivery.class), response);
+
+        // THEN the response has been added to the cache using the negative timeout
+        assertion.await();
+        verify(cache).put(eq(TriTuple.of("assert", "unknownDevice", null)), any(RegistrationResult.class),
+                eq(Duration.ofSeconds(5)));
+    }
+
+    /**
+     * Verifies that the client sends a single request to the service for concurrent
+     * assertions of the same device.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testAssertRegistrationSharesPendingRequest(final TestContext ctx) {
+
+        // GIVEN a client with an empty cache
+        client.setResponseCache(cache);
+
+        // WHEN asserting the registration of a device twice before the service has responded
+        final Async assertions = ctx.async(2);
+        client.assertRegistration("device").setHandler(ctx.asyncAssertSuccess(result -> assertions.countDown()));
+        client.assertRegistration("device").setHandler(ctx.asyncAssertSuccess(result -> assertions.countDown()));
+
+        // THEN only one request is sent to the service
+        final ArgumentCaptor<Message> messageCaptor = ArgumentCaptor.forClass(Message.class);
+        verify(sender, times(1)).send(messageCaptor.capture(), any(Handler.class));
+
+        // and both assertions succeed once the response has been received
+        final Message response = ProtonHelper.message(newRegistrationAssertionResult().encode());
+        MessageHelper.addProperty(response, MessageHelper.APP_PROPERTY_STATUS, HttpURLConnection.HTTP_OK);
+        response.setCorrelationId(messageCaptor.getValue().getMessageId());
+        client.handleResponse(mock(ProtonDelivery.class), response);
+        assertions.await();
+
+        // and a subsequent assertion results in a new request
+        client.assertRegistration("device");
+        verify(sender, times(2)).send(any(Message.class), any(Handler.class));
+    }
+
     private static JsonObject newRegistrationAssertionResult() {
         return newRegistrationAssertionResult(null);
     }
@@ -26,11 +26,13 @@ import static org.mockito.Mockito.when;
 
 import java.net.HttpURLConnection;
 import java.time.Duration;
+import java.time.Instant;
 
 import javax.security.auth.x500.X500Principal;
 
 import org.apache.qpid.proton.amqp.messaging.Rejected;
 import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.cache.BasicExpiringValue;
 import org.eclipse.hono.cache.ExpiringValueCache;
 import org.eclipse.hono.client.RequestResponseClientConfigProperties;
 import org.eclipse.hono.util.CacheDirective;
@@ -180,7 +182,7 @@ public class TenantClientImplTest {
         final TenantResult<TenantObject> tenantResult = client.getResult(
                 HttpURLConnection.HTTP_OK, "application/json", tenantJsonObject.toBuffer(), null);
 
-        when(cache.get(any(TriTuple.class))).thenReturn(tenantResult);
+        when(cache.getExpiringValue(any(TriTuple.class))).thenReturn(new BasicExpiringValue<>(tenantResult, Instant.MAX));
 
         // WHEN getting tenant information
         client.get("tenant").setHandler(ctx.asyncAssertSuccess(result -> {
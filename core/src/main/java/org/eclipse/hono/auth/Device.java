@@ -13,6 +13,7 @@
 
 package org.eclipse.hono.auth;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
@@ -29,11 +30,18 @@ import io.vertx.core.json.JsonObject;
  * An authenticated client of a protocol adapter representing a device.
  * <p>
  * The device's identity and authorities are contained in a Java Web Token.
+ * <p>
+ * A protocol adapter keeps an instance for every connected device. The instance
+ * therefore only holds the device's identifiers and shares the (interned) tenant
+ * identifier with all other devices of the same tenant. The JSON representation
+ * of the principal and the set of authorities are only created on demand.
  */
 public class Device {
 
-    private final JsonObject principal;
-    private final Set<Object> authorities = new HashSet<>();
+    private final String tenantId;
+    private final String deviceId;
+    private Set<Object> authorities = Collections.emptySet();
+    private JsonObject principal;
 
     /**
      * Creates a new device for a token.
@@ -48,8 +56,8 @@ public class Device {
         this(Objects.requireNonNull(token).getBody().get("ten", String.class), token.getBody().getSubject());
         try {
             final Set<?> aut = token.getBody().get("aut", Set.class);
-            if (aut != null) {
-                authorities.addAll(aut);
+            if (aut != null && !aut.isEmpty()) {
+                authorities = new HashSet<>(aut);
             }
         } catch (final RequiredTypeException e) {
             // token contains no authorities claim
@@ -65,13 +73,9 @@ public class Device {
      */
     public Device(final String tenantId, final String deviceId) {
         super();
-        this.principal = getPrincipal(tenantId, deviceId);
-    }
-
-    private JsonObject getPrincipal(final String tenantId, final String deviceId) {
-        return new JsonObject()
-                .put(CredentialsConstants.FIELD_PAYLOAD_TENANT_ID, Objects.requireNonNull(tenantId))
-                .put(CredentialsConstants.FIELD_PAYLOAD_DEVICE_ID, Objects.requireNonNull(deviceId));
+        // the number of tenants is small compared to the number of devices
+        this.tenantId = Objects.requireNonNull(tenantId).intern();
+        this.deviceId = Objects.requireNonNull(deviceId);
     }
 
     /**
@@ -101,16 +105,39 @@ public class Device {
      * @return JSON representation of the Principal.
      */
     public final JsonObject principal() {
+        if (principal == null) {
+            principal = new JsonObject()
+                    .put(CredentialsConstants.FIELD_PAYLOAD_TENANT_ID, tenantId)
+                    .put(CredentialsConstants.FIELD_PAYLOAD_DEVICE_ID, deviceId);
+        }
         return principal;
     }
 
+    /**
+     * Checks if the JSON representation of the principal has been created.
+     *
+     * @return {@code true} if {@link #principal()} has been invoked.
+     */
+    final boolean isPrincipalCreated() {
+        return principal != null;
+    }
+
+    /**
+     * Gets the authorities contained in the token that this device has been created for.
+     *
+     * @return The authorities.
+     */
+    final Set<Object> getAuthorities() {
+        return authorities;
+    }
+
     /**
      * Gets the identifier of the tenant this device belongs to.
      * 
      * @return The identifier.
      */
     public final String getTenantId() {
-        return principal.getString(CredentialsConstants.FIELD_PAYLOAD_TENANT_ID);
+        return tenantId;
     }
 
     /**
@@ -119,7 +146,7 @@ public class Device {
      * @return The identifier.
      */
     public final String getDeviceId() {
-        return principal.getString(CredentialsConstants.FIELD_PAYLOAD_DEVICE_ID);
+        return deviceId;
     }
 
     @Override
@@ -42,6 +42,15 @@ public class BasicExpiringValue<T> implements ExpiringValue<T> {
         return value;
     }
 
+    /**
+     * Gets the instant after which the value will be considered expired.
+     *
+     * @return The expiration time.
+     */
+    public final Instant getExpirationTime() {
+        return expirationTime;
+    }
+
     @Override
     public boolean isExpired() {
         return isExpired(Instant.now());
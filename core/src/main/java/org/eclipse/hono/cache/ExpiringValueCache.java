@@ -60,4 +60,37 @@ public interface ExpiringValueCache<K, V> {
      *         if the value is expired.
      */
     V get(K key);
+
+    /**
+     * Removes all values from the cache.
+     * <p>
+     * This operation is optional. The default implementation always throws an
+     * {@code UnsupportedOperationException}.
+     *
+     * @throws UnsupportedOperationException if the cache does not support removing
+     *         all values, i.e. the values are kept until they expire.
+     */
+    default void clear() {
+        throw new UnsupportedOperationException("cache does not support removing all values");
+    }
+
+    /**
+     * Gets a value from the cache including its validity period.
+     * <p>
+     * In contrast to {@link #get(Object)}, this method also returns a value that
+     * has already expired. This allows callers to distinguish between keys for which
+     * no value is cached at all and keys for which the cached value has become stale.
+     * An expired value is removed from the cache.
+     * <p>
+     * This default implementation invokes {@link #get(Object)} and thus never returns
+     * an expired value. Implementations should override this method if they are able
+     * to determine expired values.
+     *
+     * @param key The key to get the value for.
+     * @return The value or {@code null} if no value exists for the key.
+     */
+    default ExpiringValue<V> getExpiringValue(final K key) {
+        final V value = get(key);
+        return value == null ? null : new BasicExpiringValue<>(value, Instant.MAX);
+    }
 }
@@ -29,6 +29,7 @@ import io.vertx.core.net.KeyCertOptions;
 import io.vertx.core.net.PemKeyCertOptions;
 import io.vertx.core.net.PemTrustOptions;
 import io.vertx.core.net.PfxOptions;
+import io.vertx.core.net.TCPSSLOptions;
 import io.vertx.core.net.TrustOptions;
 
 /**
@@ -54,6 +55,12 @@ public abstract class AbstractConfig {
     private FileFormat trustStoreFormat;
     private FileFormat keyFormat;
     private List<String> secureProtocols = Collections.singletonList("TLSv1.2");
+    private boolean tcpNoDelay = true;
+    private boolean tcpFastOpen = false;
+    private boolean tcpQuickAck = false;
+    private boolean reusePort = false;
+    private int sendBufferSize = -1;
+    private int receiveBufferSize = -1;
 
     /**
      * Checks if a given port number is valid.
@@ -432,6 +439,194 @@ public abstract class AbstractConfig {
         this.secureProtocols = enabledProtocols;
     }
 
+    /**
+     * Checks if the <em>TCP_NODELAY</em> option is set on TCP connections,
+     * i.e. if Nagle's algorithm is disabled.
+     * <p>
+     * The default value of this property is {@code true}.
+     *
+     * @return {@code true} if the option is set.
+     */
+    public final boolean isTcpNoDelay() {
+        return tcpNoDelay;
+    }
+
+    /**
+     * Sets whether the <em>TCP_NODELAY</em> option is set on TCP connections,
+     * i.e. if Nagle's algorithm is disabled.
+     * <p>
+     * The default value of this property is {@code true}.
+     *
+     * @param tcpNoDelay {@code true} if the option should be set.
+     */
+    public final void setTcpNoDelay(final boolean tcpNoDelay) {
+        this.tcpNoDelay = tcpNoDelay;
+    }
+
+    /**
+     * Checks if the <em>TCP_FASTOPEN</em> option is set on TCP connections.
+     * <p>
+     * The option is only supported by the native (epoll) transport on Linux.
+     * <p>
+     * The default value of this property is {@code false}.
+     *
+     * @return {@code true} if the option is set.
+     */
+    public final boolean isTcpFastOpen() {
+        return tcpFastOpen;
+    }
+
+    /**
+     * Sets whether the <em>TCP_FASTOPEN</em> option is set on TCP connections.
+     * <p>
+     * The option is only supported by the native (epoll) transport on Linux.
+     * <p>
+     * The default value of this property is {@code false}.
+     *
+     * @param tcpFastOpen {@code true} if the option should be set.
+     */
+    public final void setTcpFastOpen(final boolean tcpFastOpen) {
+        this.tcpFastOpen = tcpFastOpen;
+    }
+
+    /**
+     * Checks if the <em>TCP_QUICKACK</em> option is set on TCP connections.
+     * <p>
+     * The option is only supported by the native (epoll) transport on Linux.
+     * <p>
+     * The default value of this property is {@code false}.
+     *
+     * @return {@code true} if the option is set.
+     */
+    public final boolean isTcpQuickAck() {
+        return tcpQuickAck;
+    }
+
+    /**
+     * Sets whether the <em>TCP_QUICKACK</em> option is set on TCP connections.
+     * <p>
+     * The option is only supported by the native (epoll) transport on Linux.
+     * <p>
+     * The default value of this property is {@code false}.
+     *
+     * @param tcpQuickAck {@code true} if the option should be set.
+     */
+    public final void setTcpQuickAck(final boolean tcpQuickAck) {
+        this.tcpQuickAck = tcpQuickAck;
+    }
+
+    /**
+     * Checks if the <em>SO_REUSEPORT</em> option is set on server sockets.
+     * <p>
+     * If set, multiple processes can bind to the same server port so that the kernel
+     * spreads incoming connections among them. The option is only supported by the
+     * native transports.
+     * <p>
+     * The default value of this property is {@code false}.
+     *
+     * @return {@code true} if the option is set.
+     */
+    public final boolean isReusePort() {
+        return reusePort;
+    }
+
+    /**
+     * Sets whether the <em>SO_REUSEPORT</em> option is set on server sockets.
+     * <p>
+     * If set, multiple processes can bind to the same server port so that the kernel
+     * spreads incoming connections among them. The option is only supported by the
+     * native transports.
+     * <p>
+     * The default value of this property is {@code false}.
+     *
+     * @param reusePort {@code true} if the option should be set.
+     */
+    public final void setReusePort(final boolean reusePort) {
+        this.reusePort = reusePort;
+    }
+
+    /**
+     * Gets the size of the TCP send buffer of sockets.
+     * <p>
+     * The default value of this property is -1, i.e. the size is determined by the
+     * component or the operating system.
+     *
+     * @return The number of bytes or -1 if not set.
+     */
+    public final int getSendBufferSize() {
+        return sendBufferSize;
+    }
+
+    /**
+     * Sets the size of the TCP send buffer of sockets.
+     * <p>
+     * The default value of this property is -1, i.e. the size is determined by the
+     * component or the operating system.
+     *
+     * @param sendBufferSize The number of bytes or -1 for not setting the size explicitly.
+     * @throws IllegalArgumentException if the size is 0 or &lt; -1.
+     */
+    public final void setSendBufferSize(final int sendBufferSize) {
+        if (sendBufferSize == 0 || sendBufferSize < -1) {
+            throw new IllegalArgumentException("send buffer size must be > 0 or -1");
+        }
+        this.sendBufferSize = sendBufferSize;
+    }
+
+    /**
+     * Gets the size of the TCP receive buffer of sockets.
+     * <p>
+     * The default value of this property is -1, i.e. the size is determined by the
+     * component or the operating system.
+     *
+     * @return The number of bytes or -1 if not set.
+     */
+    public final int getReceiveBufferSize() {
+        return receiveBufferSize;
+    }
+
+    /**
+     * Sets the size of the TCP receive buffer of sockets.
+     * <p>
+     * The default value of this property is -1, i.e. the size is determined by the
+     * component or the operating system.
+     *
+     * @param receiveBufferSize The number of bytes or -1 for not setting the size explicitly.
+     * @throws IllegalArgumentException if the size is 0 or &lt; -1.
+     */
+    public final void setReceiveBufferSize(final int receiveBufferSize) {
+        if (receiveBufferSize == 0 || receiveBufferSize < -1) {
+            throw new IllegalArgumentException("receive buffer size must be > 0 or -1");
+        }
+        this.receiveBufferSize = receiveBufferSize;
+    }
+
+    /**
+     * Sets the TCP transport options defined by this configuration on vert.x network options.
+     * <p>
+     * The buffer sizes are only set if they have been configured explicitly.
+     *
+     * @param <T> The type of options.
+     * @param options The options to set the properties on.
+     * @return The options.
+     * @throws NullPointerException if options is {@code null}.
+     */
+    public final <T extends TCPSSLOptions> T applyTransportOptions(final T options) {
+
+        Objects.requireNonNull(options);
+        options.setTcpNoDelay(tcpNoDelay);
+        options.setTcpFastOpen(tcpFastOpen);
+        options.setTcpQuickAck(tcpQuickAck);
+        options.setReusePort(reusePort);
+        if (sendBufferSize > 0) {
+            options.setSendBufferSize(sendBufferSize);
+        }
+        if (receiveBufferSize > 0) {
+            options.setReceiveBufferSize(receiveBufferSize);
+        }
+        return options;
+    }
+
     private static String fromChars(final char[] chars) {
         if (chars == null) {
             return null;
@@ -39,6 +39,10 @@ public class ClientConfigProperties extends AbstractConfig {
      * The default number of credits issued by the receiver side of a link.
      */
     public static final int  DEFAULT_INITIAL_CREDITS = 200;
+    /**
+     * The default maximum number of credits issued by a receiver that adapts its credit.
+     */
+    public static final int  DEFAULT_MAX_CREDITS = 1000;
     /**
      * The default amount of time to wait for a response before a request times out.
      */
@@ -54,6 +58,9 @@ public class ClientConfigProperties extends AbstractConfig {
     private long flowLatency = DEFAULT_FLOW_LATENCY;
     private long linkEstablishmentTimeout = DEFAULT_LINK_ESTABLISHMENT_TIMEOUT;
     private int initialCredits = DEFAULT_INITIAL_CREDITS;
+    private int maxCredits = DEFAULT_MAX_CREDITS;
+    private boolean adaptiveCreditEnabled = false;
+    private int dispatchThreads = 0;
     private long requestTimeoutMillis = DEFAULT_REQUEST_TIMEOUT;
     private boolean hostnameVerificationRequired = true;
     private boolean tlsEnabled = false;
@@ -72,12 +79,15 @@ public class ClientConfigProperties extends AbstractConfig {
      * @param otherProperties The properties to copy.
      */
     public ClientConfigProperties(final ClientConfigProperties otherProperties) {
+        this.adaptiveCreditEnabled = otherProperties.adaptiveCreditEnabled;
         this.amqpHostname = otherProperties.amqpHostname;
         this.credentialsPath = otherProperties.credentialsPath;
+        this.dispatchThreads = otherProperties.dispatchThreads;
         this.flowLatency = otherProperties.flowLatency;
         this.host = otherProperties.host;
         this.hostnameVerificationRequired = otherProperties.hostnameVerificationRequired;
         this.initialCredits = otherProperties.initialCredits;
+        this.maxCredits = otherProperties.maxCredits;
         this.name = otherProperties.name;
         this.password = otherProperties.password;
         this.port = otherProperties.port;
@@ -393,6 +403,99 @@ public class ClientConfigProperties extends AbstractConfig {
         }
     }
 
+    /**
+     * Checks if receivers adapt the credit they issue to the rate at which
+     * the application processes messages.
+     * <p>
+     * If enabled, a consumer does not replenish a fixed number of credits but sizes
+     * its window based on the observed processing time of the message handler and the
+     * number of messages that are being processed. The window starts at
+     * <em>initialCredits</em> and is limited by <em>maxCredits</em>.
+     * <p>
+     * The default value of this property is {@code false}.
+     *
+     * @return {@code true} if credit is adapted.
+     */
+    public final boolean isAdaptiveCreditEnabled() {
+        return adaptiveCreditEnabled;
+    }
+
+    /**
+     * Sets whether receivers adapt the credit they issue to the rate at which
+     * the application processes messages.
+     * <p>
+     * The default value of this property is {@code false}.
+     *
+     * @param enabled {@code true} if credit should be adapted.
+     */
+    public final void setAdaptiveCreditEnabled(final boolean enabled) {
+        this.adaptiveCreditEnabled = enabled;
+    }
+
+    /**
+     * Gets the maximum number of credits that a receiver issues if it adapts its credit.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_MAX_CREDITS}.
+     *
+     * @return The maximum number of credits.
+     */
+    public final int getMaxCredits() {
+        return maxCredits;
+    }
+
+    /**
+     * Sets the maximum number of credits that a receiver issues if it adapts its credit.
+     * <p>
+     * This value limits the number of messages that are buffered or being processed
+     * by a consumer at any time.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_MAX_CREDITS}.
+     *
+     * @param maxCredits The maximum number of credits.
+     * @throws IllegalArgumentException if the number is &lt; 1.
+     */
+    public final void setMaxCredits(final int maxCredits) {
+        if (maxCredits < 1) {
+            throw new IllegalArgumentException("max credits must be > 0");
+        } else {
+            this.maxCredits = maxCredits;
+        }
+    }
+
+    /**
+     * Gets the number of worker threads that consumers dispatch received messages to.
+     * <p>
+     * If set to a value &gt; 0, a consumer passes each message to one of the given number of
+     * worker threads instead of invoking the application's message handler on the
+     * connection's vert.x context. Messages are assigned to the threads based on the
+     * ID of the device that the message originates from, i.e. the messages of a device
+     * are processed in the order in which they have been received. Credit for a message
+     * is only issued after the message has been processed.
+     * <p>
+     * The default value of this property is 0 (messages are not dispatched).
+     *
+     * @return The number of threads.
+     */
+    public final int getDispatchThreads() {
+        return dispatchThreads;
+    }
+
+    /**
+     * Sets the number of worker threads that consumers dispatch received messages to.
+     * <p>
+     * The default value of this property is 0 (messages are not dispatched).
+     *
+     * @param threads The number of threads.
+     * @throws IllegalArgumentException if the number is negative.
+     */
+    public final void setDispatchThreads(final int threads) {
+        if (threads < 0) {
+            throw new IllegalArgumentException("number of dispatch threads must not be negative");
+        } else {
+            this.dispatchThreads = threads;
+        }
+    }
+
     /**
      * Gets the maximum amount of time a client should wait for a response to a request before the request
      * is failed.
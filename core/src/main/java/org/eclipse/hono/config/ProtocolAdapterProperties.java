@@ -13,16 +13,37 @@
 
 package org.eclipse.hono.config;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
 /**
  * Common configuration properties for protocol adapters of Hono.
  *
  */
 public class ProtocolAdapterProperties extends ServiceConfigProperties {
 
+    /**
+     * The default number of milliseconds that the adapter spends at most on warming up its caches.
+     */
+    public static final long DEFAULT_WARM_UP_TIMEOUT = 10000L;
+    /**
+     * The default maximum number of requests that the adapter sends concurrently while warming up its caches.
+     */
+    public static final int DEFAULT_WARM_UP_MAX_CONCURRENT_REQUESTS = 10;
+
     private boolean authenticationRequired = true;
     private boolean jmsVendorPropsEnabled = false;
     private boolean defaultsEnabled = true;
     private long eventLoopBlockedCheckTimeout = 5000L;
+    private List<String> warmUpTenants = Collections.emptyList();
+    private long warmUpTimeout = DEFAULT_WARM_UP_TIMEOUT;
+    private int warmUpMaxConcurrentRequests = DEFAULT_WARM_UP_MAX_CONCURRENT_REQUESTS;
+    private int maxConnections = 0;
+    private int maxConnectionsPerTenant = 0;
+    private long connectionAcceptRate = 0L;
+    private int maxConcurrentAuthentications = 0;
 
     /**
      * Checks whether the protocol adapter always authenticates devices using their provided credentials as defined
@@ -154,4 +175,227 @@ public class ProtocolAdapterProperties extends ServiceConfigProperties {
     public final void setEventLoopBlockedCheckTimeout(final long eventLoopBlockedCheckTimeout) {
         this.eventLoopBlockedCheckTimeout = eventLoopBlockedCheckTimeout;
     }
+
+    /**
+     * Gets the identifiers of the tenants whose configuration the adapter retrieves
+     * from the Tenant service during start-up in order to warm up its cache.
+     * <p>
+     * The adapter does not report being ready before the warm-up has completed or
+     * the {@linkplain #getWarmUpTimeout() warm-up timeout} has been reached.
+     * <p>
+     * The default value of this property is an empty list, i.e. no warm-up.
+     *
+     * @return The (unmodifiable) tenant identifiers.
+     */
+    public final List<String> getWarmUpTenants() {
+        return warmUpTenants;
+    }
+
+    /**
+     * Sets the identifiers of the tenants whose configuration the adapter retrieves
+     * from the Tenant service during start-up in order to warm up its cache.
+     * <p>
+     * The adapter does not report being ready before the warm-up has completed or
+     * the {@linkplain #getWarmUpTimeout() warm-up timeout} has been reached.
+     * <p>
+     * The default value of this property is an empty list, i.e. no warm-up.
+     *
+     * @param tenants The tenant identifiers.
+     * @throws NullPointerException if tenants is {@code null}.
+     */
+    public final void setWarmUpTenants(final List<String> tenants) {
+        this.warmUpTenants = Collections.unmodifiableList(new ArrayList<>(Objects.requireNonNull(tenants)));
+    }
+
+    /**
+     * Gets the maximum period of time that the adapter spends on warming up its caches
+     * during start-up.
+     * <p>
+     * The adapter reports being ready once this period has elapsed, even if not all
+     * data has been retrieved yet.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_WARM_UP_TIMEOUT}.
+     *
+     * @return The timeout in milliseconds.
+     */
+    public final long getWarmUpTimeout() {
+        return warmUpTimeout;
+    }
+
+    /**
+     * Sets the maximum period of time that the adapter spends on warming up its caches
+     * during start-up.
+     * <p>
+     * The adapter reports being ready once this period has elapsed, even if not all
+     * data has been retrieved yet.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_WARM_UP_TIMEOUT}.
+     *
+     * @param timeout The timeout in milliseconds.
+     * @throws IllegalArgumentException if timeout is &lt;= 0.
+     */
+    public final void setWarmUpTimeout(final long timeout) {
+        if (timeout <= 0) {
+            throw new IllegalArgumentException("warm-up timeout must be greater than zero");
+        }
+        this.warmUpTimeout = timeout;
+    }
+
+    /**
+     * Gets the maximum number of requests that the adapter sends to a service
+     * concurrently while warming up its caches.
+     * <p>
+     * Limiting the number of concurrent requests prevents adapters, which are being
+     * restarted at the same time, from overloading the services.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_WARM_UP_MAX_CONCURRENT_REQUESTS}.
+     *
+     * @return The maximum number of requests.
+     */
+    public final int getWarmUpMaxConcurrentRequests() {
+        return warmUpMaxConcurrentRequests;
+    }
+
+    /**
+     * Sets the maximum number of requests that the adapter sends to a service
+     * concurrently while warming up its caches.
+     * <p>
+     * Limiting the number of concurrent requests prevents adapters, which are being
+     * restarted at the same time, from overloading the services.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_WARM_UP_MAX_CONCURRENT_REQUESTS}.
+     *
+     * @param maxRequests The maximum number of requests.
+     * @throws IllegalArgumentException if the number is &lt;= 0.
+     */
+    public final void setWarmUpMaxConcurrentRequests(final int maxRequests) {
+        if (maxRequests <= 0) {
+            throw new IllegalArgumentException("maximum number of concurrent requests must be greater than zero");
+        }
+        this.warmUpMaxConcurrentRequests = maxRequests;
+    }
+
+    /**
+     * Gets the maximum number of concurrent connections that the adapter accepts from devices.
+     * <p>
+     * Connections exceeding the limit are rejected before the device is authenticated.
+     * <p>
+     * The default value of this property is 0, which means that the number is not limited.
+     *
+     * @return The number or 0 if not limited.
+     */
+    public final int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * Sets the maximum number of concurrent connections that the adapter accepts from devices.
+     * <p>
+     * Connections exceeding the limit are rejected before the device is authenticated.
+     * <p>
+     * The default value of this property is 0, which means that the number is not limited.
+     *
+     * @param maxConnections The number or 0 if not limited.
+     * @throws IllegalArgumentException if the number is &lt; 0.
+     */
+    public final void setMaxConnections(final int maxConnections) {
+        if (maxConnections < 0) {
+            throw new IllegalArgumentException("maximum number of connections must not be negative");
+        }
+        this.maxConnections = maxConnections;
+    }
+
+    /**
+     * Gets the maximum number of concurrent connections that the adapter accepts from devices
+     * of the same tenant.
+     * <p>
+     * Connections exceeding the limit are rejected after the device has been authenticated.
+     * <p>
+     * The default value of this property is 0, which means that the number is not limited.
+     *
+     * @return The number or 0 if not limited.
+     */
+    public final int getMaxConnectionsPerTenant() {
+        return maxConnectionsPerTenant;
+    }
+
+    /**
+     * Sets the maximum number of concurrent connections that the adapter accepts from devices
+     * of the same tenant.
+     * <p>
+     * Connections exceeding the limit are rejected after the device has been authenticated.
+     * <p>
+     * The default value of this property is 0, which means that the number is not limited.
+     *
+     * @param maxConnectionsPerTenant The number or 0 if not limited.
+     * @throws IllegalArgumentException if the number is &lt; 0.
+     */
+    public final void setMaxConnectionsPerTenant(final int maxConnectionsPerTenant) {
+        if (maxConnectionsPerTenant < 0) {
+            throw new IllegalArgumentException("maximum number of connections per tenant must not be negative");
+        }
+        this.maxConnectionsPerTenant = maxConnectionsPerTenant;
+    }
+
+    /**
+     * Gets the maximum number of new connections that the adapter accepts per second.
+     * <p>
+     * Connections exceeding the rate are rejected before the device is authenticated. This slows down
+     * a mass reconnect of devices, e.g. after a network outage, instead of exhausting the adapter's resources.
+     * <p>
+     * The default value of this property is 0, which means that the rate is not limited.
+     *
+     * @return The rate or 0 if not limited.
+     */
+    public final long getConnectionAcceptRate() {
+        return connectionAcceptRate;
+    }
+
+    /**
+     * Sets the maximum number of new connections that the adapter accepts per second.
+     * <p>
+     * Connections exceeding the rate are rejected before the device is authenticated. This slows down
+     * a mass reconnect of devices, e.g. after a network outage, instead of exhausting the adapter's resources.
+     * <p>
+     * The default value of this property is 0, which means that the rate is not limited.
+     *
+     * @param connectionAcceptRate The rate or 0 if not limited.
+     * @throws IllegalArgumentException if the rate is &lt; 0.
+     */
+    public final void setConnectionAcceptRate(final long connectionAcceptRate) {
+        if (connectionAcceptRate < 0) {
+            throw new IllegalArgumentException("connection accept rate must not be negative");
+        }
+        this.connectionAcceptRate = connectionAcceptRate;
+    }
+
+    /**
+     * Gets the maximum number of connections for which the adapter authenticates devices concurrently.
+     * <p>
+     * Connections exceeding the limit are rejected instead of being authenticated.
+     * <p>
+     * The default value of this property is 0, which means that the number is not limited.
+     *
+     * @return The number or 0 if not limited.
+     */
+    public final int getMaxConcurrentAuthentications() {
+        return maxConcurrentAuthentications;
+    }
+
+    /**
+     * Sets the maximum number of connections for which the adapter authenticates devices concurrently.
+     * <p>
+     * Connections exceeding the limit are rejected instead of being authenticated.
+     * <p>
+     * The default value of this property is 0, which means that the number is not limited.
+     *
+     * @param maxConcurrentAuthentications The number or 0 if not limited.
+     * @throws IllegalArgumentException if the number is &lt; 0.
+     */
+    public final void setMaxConcurrentAuthentications(final int maxConcurrentAuthentications) {
+        if (maxConcurrentAuthentications < 0) {
+            throw new IllegalArgumentException("maximum number of concurrent authentications must not be negative");
+        }
+        this.maxConcurrentAuthentications = maxConcurrentAuthentications;
+    }
 }
@@ -192,6 +192,7 @@ public final class ConnectionFactoryImpl implements ConnectionFactory {
 
     private void addOptions(final ProtonClientOptions clientOptions, final String username, final String password) {
 
+        config.applyTransportOptions(clientOptions);
         addTlsTrustOptions(clientOptions);
         if (!Strings.isNullOrEmpty(username) && !Strings.isNullOrEmpty(password)) {
             clientOptions.addEnabledSaslMechanism(ProtonSaslPlainImpl.MECH_NAME);
@@ -19,6 +19,7 @@ import java.util.HashMap;
 import java.util.Objects;
 import java.util.Optional;
 
+import io.netty.buffer.ByteBuf;
 import io.vertx.core.buffer.Buffer;
 
 import org.apache.qpid.proton.amqp.Binary;
@@ -340,8 +341,13 @@ public final class MessageHelper {
         }
 
         if (msg.getBody() instanceof Data) {
-            final Data body = (Data) msg.getBody();
-            return Buffer.buffer(body.getValue().getArray());
+            final Binary body = ((Data) msg.getBody()).getValue();
+            if (body.getArrayOffset() == 0 && body.getLength() == body.getArray().length) {
+                return Buffer.buffer(body.getArray());
+            } else {
+                // the binary refers to a region of a larger array only
+                return Buffer.buffer(body.getLength()).appendBytes(body.getArray(), body.getArrayOffset(), body.getLength());
+            }
         } else if (msg.getBody() instanceof AmqpValue) {
             final AmqpValue body = (AmqpValue) msg.getBody();
             if (body.getValue() instanceof byte[]) {
@@ -683,7 +689,37 @@ public final class MessageHelper {
     public static void setPayload(final Message message, final String contentType, final Buffer payload) {
         Objects.requireNonNull(message);
 
-        setPayload(message, contentType, payload != null ? payload.getBytes() : null);
+        if (contentType != null) {
+            message.setContentType(contentType);
+        }
+        if (payload != null) {
+            message.setBody(new Data(toBinary(payload)));
+        }
+    }
+
+    /**
+     * Creates an AMQP <em>Binary</em> for the content of a buffer.
+     * <p>
+     * If the buffer is backed by a heap array (which is the case for buffers
+     * containing data that has been read from the network by vert.x), the returned
+     * binary refers to the region of the array containing the buffer's content,
+     * i.e. the content is not copied. The buffer must therefore not be modified
+     * after invoking this method. Otherwise, the buffer's content is copied to a
+     * new array.
+     * 
+     * @param payload The buffer.
+     * @return The binary.
+     * @throws NullPointerException if payload is {@code null}.
+     */
+    public static Binary toBinary(final Buffer payload) {
+        Objects.requireNonNull(payload);
+
+        final ByteBuf byteBuf = payload.getByteBuf();
+        if (byteBuf.hasArray()) {
+            return new Binary(byteBuf.array(), byteBuf.arrayOffset() + byteBuf.readerIndex(), byteBuf.readableBytes());
+        } else {
+            return new Binary(payload.getBytes());
+        }
     }
 
     /**
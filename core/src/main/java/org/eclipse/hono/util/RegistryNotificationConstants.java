@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.hono.util;
+
+/**
+ * Constants &amp; utility methods used for notifications about changes of the
+ * content of a device registry.
+ * <p>
+ * A client opens a link for receiving messages from the {@link #NOTIFICATION_ENDPOINT}
+ * address. The registry then sends a pre-settled message for each change of its content.
+ * The message's <em>subject</em> contains the name of the API whose content has changed,
+ * i.e. one of {@link TenantConstants#TENANT_ENDPOINT},
+ * {@link RegistrationConstants#REGISTRATION_ENDPOINT} or
+ * {@link CredentialsConstants#CREDENTIALS_ENDPOINT}. The affected tenant and device
+ * are contained in the {@link MessageHelper#APP_PROPERTY_TENANT_ID} and
+ * {@link MessageHelper#APP_PROPERTY_DEVICE_ID} application properties, if known.
+ * A message without a tenant indicates that the whole content of the API may have changed.
+ * <p>
+ * The registry closes the link if the client does not keep up with the changes.
+ * Clients therefore need to consider all data retrieved from the registry
+ * as stale whenever the link is (re-)established.
+ */
+public final class RegistryNotificationConstants {
+
+    /**
+     * The name of the registry notification endpoint.
+     */
+    public static final String NOTIFICATION_ENDPOINT = "notification";
+
+    private RegistryNotificationConstants() {
+        // prevent instantiation
+    }
+}
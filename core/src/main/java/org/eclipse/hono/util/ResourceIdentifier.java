@@ -12,10 +12,12 @@
  *******************************************************************************/
 package org.eclipse.hono.util;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * A unique identifier for a resource within Hono.
@@ -43,24 +45,48 @@ import java.util.Objects;
  * <li>telemetry/DEFAULT_TENANT</li>
  * <li>telemetry/DEFAULT_TENANT/</li>
  * </ol>
- *
+ * <p>
+ * Instances are immutable. The identifiers created by means of {@link #fromString(String)}
+ * are kept in a bounded cache so that parsing the same address over and over again
+ * (e.g. the address of each message sent by a device) does not allocate new objects.
+ * The cache evicts the least recently used identifiers, so it keeps the addresses
+ * that are currently in use. The endpoint and tenant segments are interned so that
+ * identifiers referring to the same tenant share the same string instances.
  */
 public final class ResourceIdentifier {
 
+    /**
+     * The maximum number of identifiers kept in the cache of parsed identifiers.
+     */
+    static final int MAX_CACHED_IDENTIFIERS = 4096;
+    /**
+     * The maximum number of distinct endpoint and tenant names that are interned.
+     * Once the limit is reached, new names are no longer interned.
+     */
+    static final int MAX_INTERNED_SEGMENTS = 8192;
+
     private static final int IDX_ENDPOINT = 0;
     private static final int IDX_TENANT_ID = 1;
     private static final int IDX_RESOURCE_ID = 2;
+    private static final char SEPARATOR = '/';
+    // the cache is split into segments which are locked independently of each other
+    private static final int CACHE_SEGMENTS = 16;
+    private static final ParsedIdentifiers[] PARSED_IDENTIFIERS = new ParsedIdentifiers[CACHE_SEGMENTS];
+    private static final ConcurrentMap<String, String> INTERNED_SEGMENTS = new ConcurrentHashMap<>();
+
+    static {
+        for (int i = 0; i < CACHE_SEGMENTS; i++) {
+            PARSED_IDENTIFIERS[i] = new ParsedIdentifiers(MAX_CACHED_IDENTIFIERS / CACHE_SEGMENTS);
+        }
+    }
+
     private String[] resourcePath;
     private String resource;
     private String basePath;
+    private int hashCode;
 
     private ResourceIdentifier(final String resource, final boolean assumeDefaultTenant) {
-        final String[] path = resource.split("\\/");
-        final List<String> pathSegments = new ArrayList<>(Arrays.asList(path));
-        if (assumeDefaultTenant) {
-            pathSegments.add(1, Constants.DEFAULT_TENANT);
-        }
-        setResourcePath(pathSegments.toArray(new String[pathSegments.size()]));
+        setResourcePath(split(resource, assumeDefaultTenant));
     }
 
     private ResourceIdentifier(final String endpoint, final String tenantId, final String resourceId) {
@@ -82,25 +108,92 @@ public final class ResourceIdentifier {
         setResourcePath(path);
     }
 
+    /**
+     * Splits a resource string into its path segments.
+     * <p>
+     * Trailing empty segments are removed, i.e. this method yields the same result as
+     * {@code resource.split("/")} but does not use a regular expression.
+     * 
+     * @param resource The string to split.
+     * @param assumeDefaultTenant {@code true} if the default tenant should be inserted
+     *                            as the second segment.
+     * @return The segments.
+     * @throws IllegalArgumentException if the resource consists of separators only.
+     */
+    private static String[] split(final String resource, final boolean assumeDefaultTenant) {
+
+        final int length = resource.length();
+        // ignore trailing separators
+        int end = length;
+        while (end > 0 && resource.charAt(end - 1) == SEPARATOR) {
+            end--;
+        }
+        if (end == 0 && length > 0) {
+            throw new IllegalArgumentException("resource must contain at least one non-empty segment");
+        }
+
+        int segmentCount = 1;
+        for (int i = 0; i < end; i++) {
+            if (resource.charAt(i) == SEPARATOR) {
+                segmentCount++;
+            }
+        }
+
+        final String[] result = new String[assumeDefaultTenant ? segmentCount + 1 : segmentCount];
+        int idx = 0;
+        int start = 0;
+        for (int i = 0; i <= end; i++) {
+            if (i == end || resource.charAt(i) == SEPARATOR) {
+                result[idx++] = resource.substring(start, i);
+                if (assumeDefaultTenant && idx == 1) {
+                    result[idx++] = Constants.DEFAULT_TENANT;
+                }
+                start = i + 1;
+            }
+        }
+        return result;
+    }
+
+    private static String intern(final String segment) {
+        if (segment == null) {
+            return null;
+        }
+        final String interned = INTERNED_SEGMENTS.get(segment);
+        if (interned != null) {
+            return interned;
+        } else if (INTERNED_SEGMENTS.size() < MAX_INTERNED_SEGMENTS) {
+            final String existing = INTERNED_SEGMENTS.putIfAbsent(segment, segment);
+            return existing == null ? segment : existing;
+        } else {
+            return segment;
+        }
+    }
+
     private void setResourcePath(final String[] path) {
-        final List<String> pathSegments = new ArrayList<>();
+
         boolean pathContainsNullSegment = false;
+        int segmentCount = 0;
         for (final String segment : path) {
             if (segment == null) {
                 pathContainsNullSegment = true;
             } else if (pathContainsNullSegment) {
                 throw new IllegalArgumentException("path may contain trailing null segments only");
             } else {
-                pathSegments.add(segment);
+                segmentCount++;
             }
         }
-        this.resourcePath = pathSegments.toArray(new String[pathSegments.size()]);
-        if (resourcePath.length > IDX_TENANT_ID && resourcePath[IDX_TENANT_ID].length() == 0) {
-            resourcePath[IDX_TENANT_ID] = null;
+        // always copy the path because it may have been provided by the caller
+        this.resourcePath = Arrays.copyOf(path, segmentCount);
+        if (resourcePath.length > IDX_ENDPOINT) {
+            resourcePath[IDX_ENDPOINT] = intern(resourcePath[IDX_ENDPOINT]);
+        }
+        if (resourcePath.length > IDX_TENANT_ID) {
+            resourcePath[IDX_TENANT_ID] = resourcePath[IDX_TENANT_ID].length() == 0 ? null : intern(resourcePath[IDX_TENANT_ID]);
         }
         if (resourcePath.length > IDX_RESOURCE_ID && resourcePath[IDX_RESOURCE_ID].length() == 0) {
             resourcePath[IDX_RESOURCE_ID] = null;
         }
+        this.hashCode = Arrays.hashCode(resourcePath);
         createStringRepresentation();
     }
 
@@ -142,6 +235,10 @@ public final class ResourceIdentifier {
      * the endpoint, the second segment is used as the tenant ID and the third segment (if present) is used as the
      * device ID.
      * </p>
+     * <p>
+     * The returned identifier may be a cached instance that has been created
+     * by a previous invocation of this method with the same string.
+     * </p>
      *
      * @param resource the resource string to parse.
      * @return the resource identifier.
@@ -150,7 +247,15 @@ public final class ResourceIdentifier {
      */
     public static ResourceIdentifier fromString(final String resource) {
         Objects.requireNonNull(resource);
-        return new ResourceIdentifier(resource, false);
+        final int hash = resource.hashCode();
+        final ParsedIdentifiers cache = PARSED_IDENTIFIERS[(hash ^ (hash >>> 16)) & (CACHE_SEGMENTS - 1)];
+        final ResourceIdentifier cachedIdentifier = cache.getIdentifier(resource);
+        if (cachedIdentifier != null) {
+            return cachedIdentifier;
+        }
+        final ResourceIdentifier identifier = new ResourceIdentifier(resource, false);
+        cache.putIdentifier(resource, identifier);
+        return identifier;
     }
 
     /**
@@ -304,11 +409,40 @@ public final class ResourceIdentifier {
         }
 
         final ResourceIdentifier that = (ResourceIdentifier) o;
-        return resourcePath != null ? Arrays.equals(resourcePath, that.resourcePath) : that.resourcePath == null;
+        return hashCode == that.hashCode && Arrays.equals(resourcePath, that.resourcePath);
     }
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(resourcePath);
+        return hashCode;
+    }
+
+    /**
+     * A segment of the cache of parsed identifiers which evicts the least
+     * recently used identifier once it is full.
+     */
+    private static final class ParsedIdentifiers extends LinkedHashMap<String, ResourceIdentifier> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int maxSize;
+
+        ParsedIdentifiers(final int maxSize) {
+            super(maxSize * 4 / 3 + 1, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        synchronized ResourceIdentifier getIdentifier(final String resource) {
+            return get(resource);
+        }
+
+        synchronized void putIdentifier(final String resource, final ResourceIdentifier identifier) {
+            put(resource, identifier);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, ResourceIdentifier> eldest) {
+            return size() > maxSize;
+        }
     }
 }
@@ -24,6 +24,15 @@ public final class TenantConstants extends RequestResponseApiConstants {
      * an upstream command.
      */
     public static final int DEFAULT_MAX_TTD = 60; // seconds
+    /**
+     * The value indicating that the number of messages or bytes that devices of a tenant
+     * may publish per second is not limited.
+     */
+    public static final long UNLIMITED_RATE = -1;
+    /**
+     * The value indicating that no link credit has been configured for a tenant.
+     */
+    public static final int UNDEFINED_LINK_CREDITS = -1;
 
     /**
      *  Messages that are sent by the Hono client for the Tenant API use this as a prefix for the messageId.
@@ -49,6 +58,21 @@ public final class TenantConstants extends RequestResponseApiConstants {
      * adapters should use for a tenant.
      */
     public static final String FIELD_MAX_TTD = "max-ttd";
+    /**
+     * The name of the property that contains the maximum number of messages per second
+     * that protocol adapters should accept from the devices of a tenant.
+     */
+    public static final String FIELD_MAX_MESSAGES_PER_SECOND = "max-messages-per-second";
+    /**
+     * The name of the property that contains the maximum number of payload bytes per second
+     * that protocol adapters should accept from the devices of a tenant.
+     */
+    public static final String FIELD_MAX_BYTES_PER_SECOND = "max-bytes-per-second";
+    /**
+     * The name of the property that contains the number of credits that protocol
+     * adapters should issue to devices of a tenant on links for uploading messages.
+     */
+    public static final String FIELD_LINK_CREDITS = "link-credits";
     /**
      * The name of the property that contains the Base64 encoded (binary) DER encoding of
      * the trusted certificate configured for a tenant.
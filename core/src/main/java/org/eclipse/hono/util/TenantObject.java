@@ -506,6 +506,92 @@ public final class TenantObject {
         }
     }
 
+    /**
+     * Gets the maximum number of messages per second that a protocol adapter should
+     * accept from the devices of this tenant.
+     * <p>
+     * The returned value is determined as follows:
+     * <ol>
+     * <li>if this tenant configuration contains a number typed {@link TenantConstants#FIELD_MAX_MESSAGES_PER_SECOND}
+     * property specific to the given adapter type, then return its value if it is &gt; 0</li>
+     * <li>otherwise, if this tenant configuration contains a general number typed
+     * {@link TenantConstants#FIELD_MAX_MESSAGES_PER_SECOND} property, then return its value if it is &gt; 0</li>
+     * <li>otherwise, return {@link TenantConstants#UNLIMITED_RATE}</li>
+     * </ol>
+     * 
+     * @param typeName The type of protocol adapter to get the limit for.
+     * @return The number of messages per second.
+     * @throws NullPointerException if type name is {@code null}.
+     */
+    @JsonIgnore
+    public long getMaxMessagesPerSecond(final String typeName) {
+        return getRateLimit(typeName, TenantConstants.FIELD_MAX_MESSAGES_PER_SECOND);
+    }
+
+    /**
+     * Gets the maximum number of payload bytes per second that a protocol adapter should
+     * accept from the devices of this tenant.
+     * <p>
+     * The returned value is determined in the same way as for {@link #getMaxMessagesPerSecond(String)}
+     * but based on the {@link TenantConstants#FIELD_MAX_BYTES_PER_SECOND} property.
+     * 
+     * @param typeName The type of protocol adapter to get the limit for.
+     * @return The number of bytes per second.
+     * @throws NullPointerException if type name is {@code null}.
+     */
+    @JsonIgnore
+    public long getMaxBytesPerSecond(final String typeName) {
+        return getRateLimit(typeName, TenantConstants.FIELD_MAX_BYTES_PER_SECOND);
+    }
+
+    /**
+     * Gets the number of credits that a protocol adapter should issue to the devices
+     * of this tenant on links for uploading messages.
+     * <p>
+     * The returned value is determined as follows:
+     * <ol>
+     * <li>if this tenant configuration contains a number typed {@link TenantConstants#FIELD_LINK_CREDITS}
+     * property specific to the given adapter type, then return its value if it is &gt; 0</li>
+     * <li>otherwise, if this tenant configuration contains a general number typed
+     * {@link TenantConstants#FIELD_LINK_CREDITS} property, then return its value if it is &gt; 0</li>
+     * <li>otherwise, return {@link TenantConstants#UNDEFINED_LINK_CREDITS}</li>
+     * </ol>
+     * 
+     * @param typeName The type of protocol adapter to get the credits for.
+     * @return The number of credits.
+     * @throws NullPointerException if type name is {@code null}.
+     */
+    @JsonIgnore
+    public int getLinkCredits(final String typeName) {
+
+        Objects.requireNonNull(typeName);
+
+        final Object value = Optional.ofNullable(getAdapterConfiguration(typeName))
+                .map(conf -> getProperty(conf, TenantConstants.FIELD_LINK_CREDITS))
+                .orElseGet(() -> getProperty(TenantConstants.FIELD_LINK_CREDITS));
+
+        if (value instanceof Number && ((Number) value).intValue() > 0) {
+            return ((Number) value).intValue();
+        } else {
+            return TenantConstants.UNDEFINED_LINK_CREDITS;
+        }
+    }
+
+    private long getRateLimit(final String typeName, final String propertyName) {
+
+        Objects.requireNonNull(typeName);
+
+        final Object value = Optional.ofNullable(getAdapterConfiguration(typeName))
+                .map(conf -> getProperty(conf, propertyName))
+                .orElseGet(() -> getProperty(propertyName));
+
+        if (value instanceof Number && ((Number) value).longValue() > 0) {
+            return ((Number) value).longValue();
+        } else {
+            return TenantConstants.UNLIMITED_RATE;
+        }
+    }
+
     /**
      * Creates a TenantObject for a tenantId and the enabled property.
      *
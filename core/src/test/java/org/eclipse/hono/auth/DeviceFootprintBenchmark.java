@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.hono.auth;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.HashSet;
+import java.util.function.IntFunction;
+
+import org.eclipse.hono.util.CredentialsConstants;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * A benchmark measuring the heap retained by the {@link Device} instances that a
+ * protocol adapter keeps for its connected devices.
+ * <p>
+ * The benchmark creates a large number of devices, keeps them reachable and compares
+ * the heap in use before and after, once for {@link Device} and once for the previous
+ * layout consisting of a JSON principal and an empty set of authorities. The device
+ * identifiers are created upfront because an adapter receives them with each
+ * connection anyway. The numbers only cover the device's state, not the state of
+ * the connection itself, and depend on the JVM, e.g. on whether compressed oops
+ * are used. This is why the measurement is not part of the unit tests.
+ * <p>
+ * The benchmark can be run from the <em>core</em> module's directory by means of
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+ * java -cp target/classes:target/test-classes:$(cat target/classpath.txt) org.eclipse.hono.auth.DeviceFootprintBenchmark [number of devices]
+ * </pre>
+ */
+public final class DeviceFootprintBenchmark {
+
+    private static final int DEFAULT_NUMBER_OF_DEVICES = 1_000_000;
+
+    private DeviceFootprintBenchmark() {
+        // prevent instantiation
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args The number of devices to create (optional).
+     */
+    public static void main(final String[] args) {
+
+        final int numberOfDevices = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NUMBER_OF_DEVICES;
+        final String[] deviceIds = new String[numberOfDevices];
+        for (int i = 0; i < numberOfDevices; i++) {
+            deviceIds[i] = "device-" + i;
+        }
+
+        // warm up
+        measure(deviceIds, i -> new Device("DEFAULT_TENANT", deviceIds[i]));
+        measure(deviceIds, i -> newJsonBasedDevice(deviceIds[i]));
+
+        System.out.printf("devices: %d, JVM: %s %s%n", numberOfDevices,
+                System.getProperty("java.vm.name"), System.getProperty("java.vm.version"));
+        System.out.printf("Device: %d bytes per device%n",
+                measure(deviceIds, i -> new Device("DEFAULT_TENANT", deviceIds[i])));
+        System.out.printf("JSON principal and authorities: %d bytes per device%n",
+                measure(deviceIds, i -> newJsonBasedDevice(deviceIds[i])));
+    }
+
+    private static Object newJsonBasedDevice(final String deviceId) {
+        return new Object[] {
+                new JsonObject()
+                    .put(CredentialsConstants.FIELD_PAYLOAD_TENANT_ID, "DEFAULT_TENANT")
+                    .put(CredentialsConstants.FIELD_PAYLOAD_DEVICE_ID, deviceId),
+                new HashSet<>() };
+    }
+
+    /**
+     * Measures the heap retained per device.
+     */
+    private static long measure(final String[] deviceIds, final IntFunction<Object> factory) {
+
+        final Object[] devices = new Object[deviceIds.length];
+        final long before = usedHeap();
+        for (int i = 0; i < devices.length; i++) {
+            devices[i] = factory.apply(i);
+        }
+        final long after = usedHeap();
+        // keep the devices reachable until the heap has been measured
+        if (devices[devices.length - 1] == null) {
+            throw new IllegalStateException();
+        }
+        return (after - before) / devices.length;
+    }
+
+    private static long usedHeap() {
+        final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.auth;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+
+import org.eclipse.hono.util.CredentialsConstants;
+import org.junit.Test;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Verifies behavior of {@link Device}.
+ *
+ */
+public class DeviceTest {
+
+    /**
+     * Verifies that the principal contains the tenant and device identifier.
+     */
+    @Test
+    public void testPrincipalContainsIdentifiers() {
+
+        final Device device = new Device("tenant", "4711");
+        final JsonObject principal = device.principal();
+        assertEquals("tenant", principal.getString(CredentialsConstants.FIELD_PAYLOAD_TENANT_ID));
+        assertEquals("4711", principal.getString(CredentialsConstants.FIELD_PAYLOAD_DEVICE_ID));
+        assertSame(principal, device.principal());
+    }
+
+    /**
+     * Verifies that all devices of a tenant share the same tenant identifier instance.
+     */
+    @Test
+    public void testDevicesShareTenantIdentifier() {
+
+        final Device first = new Device(new String("tenant"), "4711");
+        final Device second = new Device(new String("tenant"), "4712");
+        assertSame(first.getTenantId(), second.getTenantId());
+    }
+
+    /**
+     * Verifies that a device created from a token has the identifiers
+     * contained in the token and no authorities if the token contains none.
+     */
+    @Test
+    public void testDeviceFromTokenContainsIdentifiers() {
+
+        final String token = Jwts.builder()
+                .setSubject("4711")
+                .claim("ten", "tenant")
+                .signWith(SignatureAlgorithm.HS256, "secret".getBytes())
+                .compact();
+        final Jws<Claims> jws = Jwts.parser().setSigningKey("secret".getBytes()).parseClaimsJws(token);
+        final Device device = new Device(jws);
+
+        assertEquals("tenant", device.getTenantId());
+        assertEquals("4711", device.getDeviceId());
+        assertFalse(device.checkAuthorization("telemetry"));
+        assertSame(Collections.emptySet(), device.getAuthorities());
+    }
+
+    /**
+     * Verifies that a device does not create the JSON representation of its
+     * principal and the set of authorities unless they are needed.
+     * <p>
+     * A protocol adapter keeps a device instance for every connected device.
+     * See {@code DeviceFootprintBenchmark} for measuring the heap occupied by
+     * these instances.
+     */
+    @Test
+    public void testDeviceCreatesPrincipalAndAuthoritiesOnDemand() {
+
+        final Device device = new Device("tenant", "4711");
+        assertFalse(device.isPrincipalCreated());
+        assertSame(Collections.emptySet(), device.getAuthorities());
+        assertFalse(device.checkAuthorization("telemetry"));
+        assertFalse(device.isPrincipalCreated());
+
+        device.principal();
+        assertTrue(device.isPrincipalCreated());
+    }
+}
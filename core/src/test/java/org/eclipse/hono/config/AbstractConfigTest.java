@@ -19,6 +19,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import io.vertx.core.net.KeyCertOptions;
+import io.vertx.core.net.NetServerOptions;
 import io.vertx.core.net.PemKeyCertOptions;
 import io.vertx.core.net.PfxOptions;
 
@@ -138,4 +139,28 @@ public class AbstractConfigTest {
         cfg.setTrustStorePath(PREFIX_KEY_PATH + "doest-not-exist");
         cfg.getTrustOptions();
     }
+
+    /**
+     * Verifies that the configured transport options are set on network options
+     * and that buffer sizes are only set if configured explicitly.
+     */
+    @Test
+    public void testApplyTransportOptions() {
+
+        final NetServerOptions options = new NetServerOptions().setSendBufferSize(16 * 1024);
+        cfg.setTcpNoDelay(false);
+        cfg.setTcpFastOpen(true);
+        cfg.setTcpQuickAck(true);
+        cfg.setReusePort(true);
+        cfg.setReceiveBufferSize(64 * 1024);
+
+        cfg.applyTransportOptions(options);
+
+        Assert.assertFalse(options.isTcpNoDelay());
+        Assert.assertTrue(options.isTcpFastOpen());
+        Assert.assertTrue(options.isTcpQuickAck());
+        Assert.assertTrue(options.isReusePort());
+        Assert.assertEquals(16 * 1024, options.getSendBufferSize());
+        Assert.assertEquals(64 * 1024, options.getReceiveBufferSize());
+    }
 }
@@ -15,11 +15,15 @@ package org.eclipse.hono.util;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 
+import org.apache.qpid.proton.amqp.Binary;
+import org.apache.qpid.proton.amqp.messaging.Data;
 import org.apache.qpid.proton.message.Message;
 import org.junit.Test;
 
+import io.vertx.core.buffer.Buffer;
 import io.vertx.proton.ProtonHelper;
 
 /**
@@ -79,4 +83,38 @@ public class MessageHelperTest {
         assertNull(msg.getApplicationProperties());
     }
 
+    /**
+     * Verifies that the helper sets a heap buffer's content as the message's
+     * payload without copying it.
+     */
+    @Test
+    public void testSetPayloadDoesNotCopyHeapBuffer() {
+
+        final Buffer payload = Buffer.buffer("0123456789");
+        final Message msg = ProtonHelper.message();
+        MessageHelper.setPayload(msg, "text/plain", payload);
+
+        final Binary body = ((Data) msg.getBody()).getValue();
+        assertSame(payload.getByteBuf().array(), body.getArray());
+        assertThat(MessageHelper.getPayload(msg), is(payload));
+        assertThat(MessageHelper.getPayloadAsString(msg), is("0123456789"));
+    }
+
+    /**
+     * Verifies that the helper sets the correct region of the backing
+     * array as payload if the buffer is a slice of another buffer.
+     */
+    @Test
+    public void testSetPayloadSupportsSlicedBuffer() {
+
+        final Buffer payload = Buffer.buffer("0123456789").slice(2, 5);
+        final Message msg = ProtonHelper.message();
+        MessageHelper.setPayload(msg, "text/plain", payload);
+
+        final Binary body = ((Data) msg.getBody()).getValue();
+        assertThat(body.getLength(), is(3));
+        assertThat(MessageHelper.getPayload(msg).toString(), is("234"));
+        assertThat(MessageHelper.getPayloadAsString(msg), is("234"));
+    }
+
 }
@@ -201,4 +201,76 @@ public class ResourceIdentifierTest {
     public void testFromPathFailsForPathStartingWithNullSegment() {
         ResourceIdentifier.fromPath(new String[]{null, "second", "last"});
     }
+
+    /**
+     * Verifies that parsing a string yields the same segments as splitting
+     * the string by means of a regular expression.
+     */
+    @Test
+    public void testFromStringYieldsSameSegmentsAsRegexSplit() {
+        final String[] addresses = new String[] {
+                "telemetry", "telemetry/", "telemetry//", "telemetry//4711", "telemetry/tenant/4711",
+                "telemetry/tenant/4711/", "/telemetry/tenant", "control///req/cmd-req-id", "" };
+        for (final String address : addresses) {
+            final ResourceIdentifier expected = ResourceIdentifier.fromPath(address.split("\\/"));
+            final ResourceIdentifier id = ResourceIdentifier.fromString(address);
+            assertThat(id, is(expected));
+            assertThat(id.hashCode(), is(expected.hashCode()));
+            assertThat(id.toString(), is(expected.toString()));
+        }
+    }
+
+    /**
+     * Verifies that parsing the same string twice yields the same instance
+     * and that tenant identifiers are shared among identifiers.
+     */
+    @Test
+    public void testFromStringReusesParsedIdentifiers() {
+        final ResourceIdentifier id = ResourceIdentifier.fromString(new String("telemetry/cachedTenant"));
+        assertSame(id, ResourceIdentifier.fromString(new String("telemetry/cachedTenant")));
+        final ResourceIdentifier device = ResourceIdentifier.fromString(new String("telemetry/cachedTenant/4711"));
+        assertSame(device, ResourceIdentifier.fromString(new String("telemetry/cachedTenant/4711")));
+        final ResourceIdentifier other = ResourceIdentifier.fromString(new String("event/cachedTenant/4712"));
+        assertSame(id.getTenantId(), other.getTenantId());
+        assertSame(device.getTenantId(), other.getTenantId());
+    }
+
+    /**
+     * Verifies that the cache of parsed identifiers keeps the identifiers
+     * that are in use and evicts the ones that are no longer used.
+     */
+    @Test
+    public void testFromStringEvictsLeastRecentlyUsedIdentifiers() {
+        final ResourceIdentifier unused = ResourceIdentifier.fromString("telemetry/lruTenant/unused");
+        final ResourceIdentifier used = ResourceIdentifier.fromString("telemetry/lruTenant/used");
+        for (int i = 0; i < 4 * ResourceIdentifier.MAX_CACHED_IDENTIFIERS; i++) {
+            ResourceIdentifier.fromString("telemetry/lruTenant/" + i);
+            assertSame(used, ResourceIdentifier.fromString("telemetry/lruTenant/used"));
+        }
+        assertNotSame(unused, ResourceIdentifier.fromString("telemetry/lruTenant/unused"));
+    }
+
+    /**
+     * Verifies that creating an identifier from path segments does not
+     * modify the given path and is not affected by later changes of the path.
+     */
+    @Test
+    public void testFromPathCopiesPath() {
+        final String[] path = new String[] { "telemetry", "", "4711" };
+        final ResourceIdentifier id = ResourceIdentifier.fromPath(path);
+        assertThat(path[1], is(""));
+        final int hashCode = id.hashCode();
+        path[2] = "4712";
+        assertThat(id.getResourceId(), is("4711"));
+        assertThat(id.hashCode(), is(hashCode));
+    }
+
+    /**
+     * Verifies that a resource identifier cannot be created from a string
+     * that consists of separators only.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testFromStringFailsForSeparatorsOnly() {
+        ResourceIdentifier.fromString("//");
+    }
 }
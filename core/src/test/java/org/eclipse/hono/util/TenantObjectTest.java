@@ -198,6 +198,44 @@ public class TenantObjectTest {
         assertThat(obj.getMaxTimeUntilDisconnect("custom"), is(15));
     }
 
+    /**
+     * Verifies that message rate limits specific to an adapter have higher priority than
+     * limits specified for all adapter types and that missing or illegal limits
+     * are reported as unlimited.
+     */
+    @Test
+    public void testGetRateLimitsReturnsAdapterSpecificValues() {
+        final TenantObject obj = TenantObject.from(Constants.DEFAULT_TENANT, true);
+        obj.setProperty(TenantConstants.FIELD_MAX_MESSAGES_PER_SECOND, 100);
+        obj.setProperty(TenantConstants.FIELD_MAX_BYTES_PER_SECOND, -5);
+        obj.addAdapterConfiguration(TenantObject.newAdapterConfig("custom", true)
+                .put(TenantConstants.FIELD_MAX_MESSAGES_PER_SECOND, 10)
+                .put(TenantConstants.FIELD_MAX_BYTES_PER_SECOND, 2048L));
+        assertThat(obj.getMaxMessagesPerSecond("custom"), is(10L));
+        assertThat(obj.getMaxBytesPerSecond("custom"), is(2048L));
+        assertThat(obj.getMaxMessagesPerSecond("other"), is(100L));
+        assertThat(obj.getMaxBytesPerSecond("other"), is(TenantConstants.UNLIMITED_RATE));
+    }
+
+    /**
+     * Verifies that link credits specific to an adapter have higher priority than
+     * credits specified for all adapter types and that missing or illegal values
+     * are reported as undefined.
+     */
+    @Test
+    public void testGetLinkCreditsReturnsAdapterSpecificValue() {
+        final TenantObject obj = TenantObject.from(Constants.DEFAULT_TENANT, true);
+        assertThat(obj.getLinkCredits("custom"), is(TenantConstants.UNDEFINED_LINK_CREDITS));
+        obj.setProperty(TenantConstants.FIELD_LINK_CREDITS, 50);
+        obj.addAdapterConfiguration(TenantObject.newAdapterConfig("custom", true)
+                .put(TenantConstants.FIELD_LINK_CREDITS, 500));
+        obj.addAdapterConfiguration(TenantObject.newAdapterConfig("illegal", true)
+                .put(TenantConstants.FIELD_LINK_CREDITS, 0));
+        assertThat(obj.getLinkCredits("custom"), is(500));
+        assertThat(obj.getLinkCredits("other"), is(50));
+        assertThat(obj.getLinkCredits("illegal"), is(TenantConstants.UNDEFINED_LINK_CREDITS));
+    }
+
     /**
      * Verifies that the default TTD value is used if no specific or generic value is
      * set.
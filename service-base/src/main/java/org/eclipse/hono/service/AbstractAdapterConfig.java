@@ -23,7 +23,10 @@ import org.eclipse.hono.client.impl.CommandConnectionImpl;
 import org.eclipse.hono.client.impl.HonoClientImpl;
 import org.eclipse.hono.config.ClientConfigProperties;
 import org.eclipse.hono.config.VertxProperties;
+import org.eclipse.hono.service.cache.CacheSnapshot;
 import org.eclipse.hono.service.cache.SpringCacheProvider;
+import org.eclipse.hono.service.limiting.ConnectionAdmissionController;
+import org.eclipse.hono.service.limiting.TenantRateLimiter;
 import org.eclipse.hono.util.CommandConstants;
 import org.eclipse.hono.util.Constants;
 import org.eclipse.hono.util.CredentialsConstants;
@@ -186,7 +189,22 @@ public abstract class AbstractAdapterConfig {
     @Qualifier(RegistrationConstants.REGISTRATION_ENDPOINT)
     @Scope("prototype")
     public CacheProvider registrationCacheProvider() {
-        return newGuavaCache(registrationServiceClientConfig());
+        return newGuavaCache(registrationServiceClientConfig(), registrationCacheSnapshot());
+    }
+
+    /**
+     * Exposes the snapshot of the responses cached by the <em>Device Registration</em>
+     * clients as a Spring bean.
+     * <p>
+     * The snapshot is shared by all instances of the protocol adapter and is written
+     * to the file system when the application context is closed.
+     *
+     * @return The snapshot.
+     */
+    @Bean(destroyMethod = "save")
+    @Qualifier(RegistrationConstants.REGISTRATION_ENDPOINT)
+    public CacheSnapshot registrationCacheSnapshot() {
+        return new CacheSnapshot(registrationServiceClientConfig().getResponseCacheSnapshotPath());
     }
 
     /**
@@ -284,7 +302,22 @@ public abstract class AbstractAdapterConfig {
     @Qualifier(TenantConstants.TENANT_ENDPOINT)
     @Scope("prototype")
     public CacheProvider tenantCacheProvider() {
-        return newGuavaCache(tenantServiceClientConfig());
+        return newGuavaCache(tenantServiceClientConfig(), tenantCacheSnapshot());
+    }
+
+    /**
+     * Exposes the snapshot of the responses cached by the <em>Tenant</em>
+     * clients as a Spring bean.
+     * <p>
+     * The snapshot is shared by all instances of the protocol adapter and is written
+     * to the file system when the application context is closed.
+     *
+     * @return The snapshot.
+     */
+    @Bean(destroyMethod = "save")
+    @Qualifier(TenantConstants.TENANT_ENDPOINT)
+    public CacheSnapshot tenantCacheSnapshot() {
+        return new CacheSnapshot(tenantServiceClientConfig().getResponseCacheSnapshotPath());
     }
 
     /**
@@ -321,13 +354,41 @@ public abstract class AbstractAdapterConfig {
         return new VertxProperties();
     }
 
+    /**
+     * Exposes the limiter for enforcing the message rate limits of tenants as a Spring bean.
+     * <p>
+     * The limiter is shared by all instances of the protocol adapter.
+     *
+     * @return The limiter.
+     */
+    @Bean
+    public TenantRateLimiter tenantRateLimiter() {
+        return new TenantRateLimiter();
+    }
+
+    /**
+     * Exposes the controller for deciding if connections from devices are accepted as a Spring bean.
+     * <p>
+     * The controller is shared by all instances of the protocol adapter.
+     *
+     * @return The controller.
+     */
+    @Bean
+    public ConnectionAdmissionController connectionAdmissionController() {
+        return new ConnectionAdmissionController();
+    }
+
     /**
      * Create a new cache provider based on Guava and Spring Cache.
      * 
      * @param config The configuration to use as base for this cache.
+     * @param snapshot The snapshot to restore cached responses from and to include the cache in.
      * @return A new cache provider or {@code null} if no cache should be used.
      */
-    private static CacheProvider newGuavaCache(final RequestResponseClientConfigProperties config) {
+    private static CacheProvider newGuavaCache(
+            final RequestResponseClientConfigProperties config,
+            final CacheSnapshot snapshot) {
+
         final int minCacheSize = config.getResponseCacheMinSize();
         final long maxCacheSize = config.getResponseCacheMaxSize();
 
@@ -343,6 +404,7 @@ public abstract class AbstractAdapterConfig {
         final GuavaCacheManager manager = new GuavaCacheManager();
         manager.setAllowNullValues(false);
         manager.setCacheBuilder(builder);
+        snapshot.attach(manager);
 
         return new SpringCacheProvider(manager);
     }
@@ -13,6 +13,9 @@
 package org.eclipse.hono.service;
 
 import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.BiConsumer;
@@ -34,6 +37,9 @@ import org.eclipse.hono.auth.Device;
 import org.eclipse.hono.config.AbstractConfig;
 import org.eclipse.hono.config.ProtocolAdapterProperties;
 import org.eclipse.hono.service.auth.ValidityBasedTrustOptions;
+import org.eclipse.hono.service.http.HttpUtils;
+import org.eclipse.hono.service.limiting.ConnectionAdmissionController;
+import org.eclipse.hono.service.limiting.TenantRateLimiter;
 import org.eclipse.hono.service.monitoring.ConnectionEventProducer;
 import org.eclipse.hono.util.Constants;
 import org.eclipse.hono.util.CredentialsConstants;
@@ -84,6 +90,9 @@ public abstract class AbstractProtocolAdapterBase<T extends ProtocolAdapterPrope
     private CommandConnection commandConnection;
 
     private ConnectionEventProducer connectionEventProducer;
+    private TenantRateLimiter rateLimiter = new TenantRateLimiter();
+    private ConnectionAdmissionController admissionController = new ConnectionAdmissionController();
+    private final Future<Void> cacheWarmUp = Future.future();
 
     private final ConnectionEventProducer.Context connectionEventProducerContext = new ConnectionEventProducer.Context() {
 
@@ -224,6 +233,49 @@ public abstract class AbstractProtocolAdapterBase<T extends ProtocolAdapterPrope
         return this.connectionEventProducer;
     }
 
+    /**
+     * Sets the limiter to use for enforcing the message rate limits of tenants.
+     * <p>
+     * The limiter should be shared by all instances of the adapter in order for
+     * the limits to apply to the adapter as a whole.
+     * <p>
+     * If not set, each instance uses its own limiter.
+     *
+     * @param rateLimiter The limiter.
+     * @throws NullPointerException if limiter is {@code null}.
+     */
+    @Autowired(required = false)
+    public final void setRateLimiter(final TenantRateLimiter rateLimiter) {
+        this.rateLimiter = Objects.requireNonNull(rateLimiter);
+    }
+
+    /**
+     * Sets the controller to use for deciding if connections from devices are accepted.
+     * <p>
+     * The controller should be shared by all instances of the adapter in order for
+     * the limits to apply to the adapter as a whole.
+     * <p>
+     * If not set, each instance uses its own controller.
+     *
+     * @param admissionController The controller.
+     * @throws NullPointerException if controller is {@code null}.
+     */
+    @Autowired(required = false)
+    public final void setAdmissionController(final ConnectionAdmissionController admissionController) {
+        this.admissionController = Objects.requireNonNull(admissionController);
+    }
+
+    /**
+     * Gets the controller to use for deciding if connections from devices are accepted.
+     * <p>
+     * The controller's limits are set from this adapter's configuration during start-up.
+     *
+     * @return The controller.
+     */
+    protected final ConnectionAdmissionController getAdmissionController() {
+        return admissionController;
+    }
+
     /**
      * Gets this adapter's type name.
      * <p>
@@ -315,7 +367,12 @@ public abstract class AbstractProtocolAdapterBase<T extends ProtocolAdapterPrope
         } else if (commandConnection == null) {
             result.fail(new IllegalStateException("Command & Control service client must be set"));
         } else {
-            connectToService(tenantServiceClient, "Tenant service");
+            admissionController.setLimits(
+                    getConfig().getMaxConnections(),
+                    getConfig().getMaxConnectionsPerTenant(),
+                    getConfig().getConnectionAcceptRate(),
+                    getConfig().getMaxConcurrentAuthentications());
+            startCacheWarmUp(connectToService(tenantServiceClient, "Tenant service"));
             connectToService(messagingClient, "AMQP Messaging Network");
             connectToService(registrationServiceClient, "Device Registration service");
             connectToService(credentialsServiceClient, "Credentials service");
@@ -329,6 +386,66 @@ public abstract class AbstractProtocolAdapterBase<T extends ProtocolAdapterPrope
         return result;
     }
 
+    private void startCacheWarmUp(final Future<HonoClient> tenantServiceConnection) {
+
+        if (getConfig().getWarmUpTenants().isEmpty()) {
+            cacheWarmUp.complete();
+            return;
+        }
+        LOG.info("warming up caches [max duration: {}ms]", getConfig().getWarmUpTimeout());
+        vertx.setTimer(getConfig().getWarmUpTimeout(), tid -> {
+            if (cacheWarmUp.tryComplete()) {
+                LOG.info("cache warm-up has not completed within {}ms, proceeding anyway", getConfig().getWarmUpTimeout());
+            }
+        });
+        tenantServiceConnection.compose(connected -> warmUpCaches()).setHandler(warmUp -> {
+            if (cacheWarmUp.tryComplete()) {
+                LOG.info("cache warm-up has completed");
+            }
+        });
+    }
+
+    /**
+     * Warms up the caches of the service clients during start-up.
+     * <p>
+     * This method is invoked once the connection to the Tenant service has been established.
+     * The adapter's readiness check does not succeed before the returned future has completed
+     * or the configured <em>warmUpTimeout</em> has been reached.
+     * <p>
+     * This default implementation retrieves the configuration of the tenants set in
+     * the <em>warmUpTenants</em> configuration property from the Tenant service, sending at most
+     * <em>warmUpMaxConcurrentRequests</em> requests at a time. Failures to retrieve a tenant
+     * are ignored.
+     * <p>
+     * Subclasses may override this method in order to warm up additional caches.
+     *
+     * @return A future indicating the outcome of the warm-up.
+     */
+    protected Future<Void> warmUpCaches() {
+
+        final Iterator<String> tenants = getConfig().getWarmUpTenants().iterator();
+        return getTenantClient().compose(client -> {
+            @SuppressWarnings("rawtypes")
+            final List<Future> workers = new ArrayList<>();
+            for (int i = 0; i < getConfig().getWarmUpMaxConcurrentRequests() && tenants.hasNext(); i++) {
+                workers.add(warmUpNextTenant(client, tenants));
+            }
+            return CompositeFuture.all(workers).map(ok -> (Void) null);
+        });
+    }
+
+    private Future<Void> warmUpNextTenant(final TenantClient client, final Iterator<String> tenants) {
+
+        if (!tenants.hasNext() || cacheWarmUp.isComplete()) {
+            return Future.succeededFuture();
+        }
+        final String tenantId = tenants.next();
+        return client.get(tenantId).map(tenant -> (Void) null).otherwise(t -> {
+            LOG.debug("cannot retrieve configuration of tenant [{}] during warm-up: {}", tenantId, t.getMessage());
+            return null;
+        }).compose(ok -> warmUpNextTenant(client, tenants));
+    }
+
     /**
      * Invoked after the adapter has started up.
      * <p>
@@ -846,7 +963,42 @@ public abstract class AbstractProtocolAdapterBase<T extends ProtocolAdapterPrope
     protected final Future<TenantObject> getTenantConfiguration(final String tenantId, final SpanContext context) {
 
         Objects.requireNonNull(tenantId);
-        return getTenantClient().compose(client -> client.get(tenantId, context));
+        return getTenantClient().compose(client -> client.get(tenantId, context))
+                .map(tenant -> updateRateLimits(tenantId, tenant));
+    }
+
+    private TenantObject updateRateLimits(final String tenantId, final TenantObject tenant) {
+        rateLimiter.setLimits(
+                tenantId,
+                tenant.getMaxMessagesPerSecond(getTypeName()),
+                tenant.getMaxBytesPerSecond(getTypeName()));
+        return tenant;
+    }
+
+    /**
+     * Checks if a tenant's message rate limits allow for a message to be published.
+     * <p>
+     * This method does not involve any remote service invocation and should therefore
+     * be invoked before any device registry lookup is done for the message.
+     * The limits are taken from the tenant's configuration as retrieved by the most
+     * recent invocation of {@link #getTenantConfiguration(String, SpanContext)}.
+     * Messages of a tenant are not limited until its configuration has been retrieved.
+     *
+     * @param tenantId The tenant that the device publishing the message belongs to.
+     * @param payloadSize The size of the message's payload in bytes.
+     * @return A succeeded future if the message may be published. Otherwise the future
+     *         will be failed with a {@link ClientErrorException} having status code
+     *         {@link HttpUtils#HTTP_TOO_MANY_REQUESTS}.
+     * @throws NullPointerException if tenant ID is {@code null}.
+     */
+    protected final Future<Void> checkMessageLimit(final String tenantId, final long payloadSize) {
+
+        if (rateLimiter.tryAcquire(tenantId, payloadSize)) {
+            return Future.succeededFuture();
+        } else {
+            return Future.failedFuture(new ClientErrorException(HttpUtils.HTTP_TOO_MANY_REQUESTS,
+                    "message limit of tenant exceeded"));
+        }
     }
 
     /**
@@ -951,12 +1103,17 @@ public abstract class AbstractProtocolAdapterBase<T extends ProtocolAdapterPrope
     }
 
     /**
-     * Registers a check that succeeds if this component is connected to the services it depends on.
+     * Registers a check that succeeds if this component is connected to the services it depends on
+     * and a check that succeeds once the warm-up of the caches has completed.
      * 
      * @see #isConnected()
+     * @see #warmUpCaches()
      */
     @Override
     public void registerReadinessChecks(final HealthCheckHandler handler) {
+        handler.register("cache-warm-up", status -> {
+            status.tryComplete(cacheWarmUp.isComplete() ? Status.OK() : Status.KO());
+        });
         handler.register("connection-to-services", status -> {
             isConnected().map(connected -> {
                 status.tryComplete(Status.OK());
@@ -995,6 +1152,8 @@ public abstract class AbstractProtocolAdapterBase<T extends ProtocolAdapterPrope
      * <li>additional properties set by {@link #addProperties(Message, JsonObject, boolean)}</li>
      * </ul>
      * This method also sets the message's payload as an AMQP <em>Data</em> section.
+     * The section refers to the payload buffer's backing array (if any) instead of
+     * a copy of the payload, so the buffer must not be modified after invoking this method.
      *
      * @param target The resource that the message is targeted at.
      * @param regAssertionRequired {@code true} if the downstream peer requires the registration assertion to
@@ -127,7 +127,7 @@ public abstract class EventBusService<C> extends ConfigurationSupportingVerticle
         }
 
         final EventBusMessage request = EventBusMessage.fromJson(msg.body());
-        processRequest(request).recover(t -> {
+        handleRequest(request).recover(t -> {
             log.debug("cannot process request [operation: {}]: {}", request.getOperation(), t.getMessage());
             final int status = ServiceInvocationException.extractStatusCode(t);
             return Future.succeededFuture(request.getResponse(status));
@@ -146,6 +146,21 @@ public abstract class EventBusService<C> extends ConfigurationSupportingVerticle
         });
     }
 
+    /**
+     * Handles a service invocation request received via the vert.x event bus.
+     * <p>
+     * This default implementation simply invokes {@link #processRequest(EventBusMessage)}.
+     * Subclasses may override this method in order to reject requests or to keep track
+     * of the requests that have been processed successfully.
+     *
+     * @param request The request message.
+     * @return A future indicating the outcome of the service invocation.
+     * @throws NullPointerException If the request message is {@code null}.
+     */
+    protected Future<EventBusMessage> handleRequest(final EventBusMessage request) {
+        return processRequest(request);
+    }
+
     /**
      * Processes a service invocation request.
      * <p>
@@ -370,6 +370,7 @@ public abstract class AmqpServiceBase<T extends ServiceConfigProperties> extends
         options.setReceiveBufferSize(16 * 1024); // 16kb
         options.setSendBufferSize(16 * 1024); // 16kb
         options.setLogActivity(getConfig().isNetworkDebugLoggingEnabled());
+        getConfig().applyTransportOptions(options);
 
         return options;
     }
@@ -23,7 +23,13 @@ import org.eclipse.hono.config.SignatureSupportingConfigProperties;
  */
 public class AuthenticationServerClientConfigProperties extends ClientConfigProperties {
 
+    /**
+     * The default maximum number of tokens to cache.
+     */
+    public static final int DEFAULT_TOKEN_CACHE_MAX_SIZE = 1000;
+
     private final SignatureSupportingConfigProperties validation = new SignatureSupportingConfigProperties();
+    private int tokenCacheMaxSize = DEFAULT_TOKEN_CACHE_MAX_SIZE;
 
     /**
      * Gets the properties for determining key material for validating user tokens.
@@ -33,4 +39,38 @@ public class AuthenticationServerClientConfigProperties extends ClientConfigProp
     public final SignatureSupportingConfigProperties getValidation() {
         return validation;
     }
+
+    /**
+     * Gets the maximum number of tokens retrieved from the Authentication service
+     * that should be cached.
+     * <p>
+     * Cached tokens are re-used for subsequent authentication requests containing
+     * the same credentials until the token expires.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_TOKEN_CACHE_MAX_SIZE}.
+     * 
+     * @return The maximum number of tokens. A value of 0 indicates that tokens should not be cached.
+     */
+    public final int getTokenCacheMaxSize() {
+        return tokenCacheMaxSize;
+    }
+
+    /**
+     * Sets the maximum number of tokens retrieved from the Authentication service
+     * that should be cached.
+     * <p>
+     * Cached tokens are re-used for subsequent authentication requests containing
+     * the same credentials until the token expires.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_TOKEN_CACHE_MAX_SIZE}.
+     * 
+     * @param maxSize The maximum number of tokens. A value of 0 disables caching.
+     * @throws IllegalArgumentException if size is negative.
+     */
+    public final void setTokenCacheMaxSize(final int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("max size must not be negative");
+        }
+        this.tokenCacheMaxSize = maxSize;
+    }
 }
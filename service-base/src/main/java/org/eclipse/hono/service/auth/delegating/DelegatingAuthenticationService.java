@@ -13,14 +13,28 @@
 
 package org.eclipse.hono.service.auth.delegating;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Consumer;
 
+import org.eclipse.hono.auth.Authorities;
 import org.eclipse.hono.auth.HonoUser;
+import org.eclipse.hono.auth.HonoUserAdapter;
 import org.eclipse.hono.client.AuthenticationServerClient;
 import org.eclipse.hono.connection.ConnectionFactory;
 import org.eclipse.hono.service.HealthCheckProvider;
 import org.eclipse.hono.service.auth.AbstractHonoAuthenticationService;
 import org.eclipse.hono.util.AuthenticationConstants;
+import org.eclipse.hono.util.JwtHelper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Profile;
@@ -39,6 +53,12 @@ import io.vertx.ext.healthchecks.Status;
  * An authentication service that delegates authentication requests to a remote identity server.
  * <p>
  * This is the default authentication service for all Hono services.
+ * <p>
+ * Tokens retrieved from the remote server are cached (keyed by SASL mechanism and a digest of the
+ * credentials) until they expire. Concurrent requests containing the same credentials are
+ * coalesced into a single request to the remote server. Note that the remote server authenticates
+ * the client during the SASL handshake, so a connection to it cannot be re-used for verifying
+ * other credentials.
  */
 @Service
 @Profile("!authentication-impl")
@@ -47,6 +67,8 @@ public class DelegatingAuthenticationService extends AbstractHonoAuthenticationS
     private AuthenticationServerClient client;
     private ConnectionFactory factory;
     private DnsClient dnsClient;
+    private Map<String, HonoUser> tokenCache;
+    private final Map<String, List<Handler<AsyncResult<HonoUser>>>> pendingRequests = new HashMap<>();
 
     @Autowired
     @Override
@@ -133,20 +155,154 @@ public class DelegatingAuthenticationService extends AbstractHonoAuthenticationS
             startFuture.fail("no connection factory for Authentication service set");
         } else {
             client = new AuthenticationServerClient(vertx, factory);
+            tokenCache = newTokenCache(getConfig().getTokenCacheMaxSize());
             startFuture.complete();
         }
     }
 
     @Override
     public void verifyExternal(final String authzid, final String subjectDn, final Handler<AsyncResult<HonoUser>> authenticationResultHandler) {
-        client.verifyExternal(authzid, subjectDn, authenticationResultHandler);
+        final String key = getCacheKey(AuthenticationConstants.MECHANISM_EXTERNAL, authzid, subjectDn);
+        getToken(key, handler -> client.verifyExternal(authzid, subjectDn, handler), authenticationResultHandler);
     }
 
     @Override
     public void verifyPlain(final String authzid, final String authcid, final String password,
             final Handler<AsyncResult<HonoUser>> authenticationResultHandler) {
 
-        client.verifyPlain(authzid, authcid, password, authenticationResultHandler);
+        final String key = getCacheKey(AuthenticationConstants.MECHANISM_PLAIN, authzid, authcid, password);
+        getToken(key, handler -> client.verifyPlain(authzid, authcid, password, handler), authenticationResultHandler);
+    }
+
+    /**
+     * Gets a token from the cache or retrieves it from the remote server.
+     * <p>
+     * All invocations of this method are expected to happen on this verticle's context.
+     * 
+     * @param key The key identifying the credentials.
+     * @param remoteRequest The request to send to the remote server on a cache miss.
+     * @param resultHandler The handler to invoke with the result.
+     */
+    private void getToken(
+            final String key,
+            final Consumer<Handler<AsyncResult<HonoUser>>> remoteRequest,
+            final Handler<AsyncResult<HonoUser>> resultHandler) {
+
+        final HonoUser cachedUser = tokenCache.get(key);
+        if (cachedUser != null) {
+            if (cachedUser.isExpired()) {
+                tokenCache.remove(key);
+            } else {
+                log.trace("using cached token");
+                resultHandler.handle(Future.succeededFuture(cachedUser));
+                return;
+            }
+        }
+
+        final List<Handler<AsyncResult<HonoUser>>> waitingHandlers = pendingRequests.get(key);
+        if (waitingHandlers != null) {
+            log.trace("request for same credentials already in progress, waiting for result");
+            waitingHandlers.add(resultHandler);
+            return;
+        }
+
+        final List<Handler<AsyncResult<HonoUser>>> handlers = new ArrayList<>();
+        handlers.add(resultHandler);
+        pendingRequests.put(key, handlers);
+        remoteRequest.accept(result -> {
+            pendingRequests.remove(key);
+            final AsyncResult<HonoUser> userResult = result.succeeded() ? Future.succeededFuture(withExpiration(result.result())) : result;
+            if (userResult.succeeded()) {
+                putToken(key, userResult.result());
+            }
+            handlers.forEach(handler -> handler.handle(userResult));
+        });
+    }
+
+    private void putToken(final String key, final HonoUser user) {
+        if (getConfig().getTokenCacheMaxSize() > 0 && !user.isExpired()) {
+            tokenCache.put(key, user);
+        }
+    }
+
+    /**
+     * Wraps a user so that its expiration time reflects the <em>exp</em> claim
+     * contained in its token.
+     * 
+     * @param user The user retrieved from the remote server.
+     * @return The wrapped user or the original user if the token contains no
+     *         expiration time.
+     */
+    private HonoUser withExpiration(final HonoUser user) {
+
+        try {
+            final Instant expirationTime = JwtHelper.getExpiration(user.getToken()).toInstant();
+            return new HonoUserAdapter() {
+
+                @Override
+                public String getName() {
+                    return user.getName();
+                }
+
+                @Override
+                public Authorities getAuthorities() {
+                    return user.getAuthorities();
+                }
+
+                @Override
+                public String getToken() {
+                    return user.getToken();
+                }
+
+                @Override
+                public Instant getExpirationTime() {
+                    return expirationTime;
+                }
+            };
+        } catch (final IllegalArgumentException | NullPointerException e) {
+            // token cannot be parsed or contains no exp claim
+            return user;
+        }
+    }
+
+    private static Map<String, HonoUser> newTokenCache(final int maxSize) {
+        return new LinkedHashMap<String, HonoUser>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, HonoUser> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Creates a cache key from a SASL mechanism and credentials.
+     * <p>
+     * The key contains a SHA-256 digest of the credentials only so that
+     * no clear text passwords are kept in memory.
+     * 
+     * @param mechanism The SASL mechanism.
+     * @param fields The credentials.
+     * @return The key.
+     */
+    static String getCacheKey(final String mechanism, final String... fields) {
+
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (final String field : fields) {
+                if (field != null) {
+                    digest.update(field.getBytes(StandardCharsets.UTF_8));
+                }
+                // separate fields so that e.g. ("ab", "c") and ("a", "bc") yield different keys
+                digest.update((byte) 0);
+            }
+            return mechanism + ":" + Base64.getEncoder().encodeToString(digest.digest());
+        } catch (final NoSuchAlgorithmException e) {
+            // every JVM is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
     }
 
     @Override
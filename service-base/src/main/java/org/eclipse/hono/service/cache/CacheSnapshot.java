@@ -0,0 +1,398 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.service.cache;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import javax.security.auth.x500.X500Principal;
+
+import org.eclipse.hono.cache.BasicExpiringValue;
+import org.eclipse.hono.util.CacheDirective;
+import org.eclipse.hono.util.RegistrationResult;
+import org.eclipse.hono.util.TenantConstants.TenantAction;
+import org.eclipse.hono.util.TenantObject;
+import org.eclipse.hono.util.TenantResult;
+import org.eclipse.hono.util.TriTuple;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * A snapshot of the responses cached by Hono clients which survives restarts.
+ * <p>
+ * The snapshot is written to a file on graceful shutdown by means of {@link #save()}
+ * and contains the responses of all cache managers that have been {@linkplain #attach(CacheManager)
+ * attached} to it. During start-up, the responses contained in the file that have not
+ * expired yet are put to the caches of each cache manager that gets attached. This allows
+ * multiple verticle instances, each using its own cache manager, to share one snapshot.
+ * <p>
+ * The file uses a compact binary format and is read by means of a memory mapped buffer.
+ * Only entries keyed by a {@link TriTuple} of strings, {@link TenantAction}s and
+ * {@link X500Principal}s with a {@link RegistrationResult} or a {@link TenantResult} value
+ * are supported, which are the entries created by the Device Registration and Tenant clients.
+ * Other entries are not included in the snapshot.
+ */
+public final class CacheSnapshot {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CacheSnapshot.class);
+
+    private static final int MAGIC = 0x484F4E43; // HONC
+    private static final byte VERSION = 1;
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_TENANT_ACTION = 2;
+    private static final byte TYPE_X500_PRINCIPAL = 3;
+
+    private static final byte TYPE_REGISTRATION_RESULT = 1;
+    private static final byte TYPE_TENANT_RESULT = 2;
+
+    private final Path file;
+    private final Set<CacheManager> managers = Collections.newSetFromMap(new WeakHashMap<>());
+    private Map<String, List<Entry>> restoredEntries;
+
+    /**
+     * Creates a new snapshot.
+     *
+     * @param path The path to the file to read the snapshot from and write it to
+     *             or {@code null} if responses should not be kept across restarts.
+     */
+    public CacheSnapshot(final String path) {
+        this.file = path == null ? null : Paths.get(path);
+    }
+
+    /**
+     * Checks if this snapshot is enabled.
+     *
+     * @return {@code true} if a file has been set.
+     */
+    public boolean isEnabled() {
+        return file != null;
+    }
+
+    /**
+     * Attaches a cache manager to this snapshot.
+     * <p>
+     * The responses contained in the snapshot file that have not expired yet are put to
+     * the caches of the manager. The manager's caches will be included in the snapshot
+     * written by {@link #save()}.
+     * <p>
+     * This method does nothing if this snapshot is not enabled.
+     *
+     * @param manager The cache manager.
+     * @return The number of responses that have been restored.
+     * @throws NullPointerException if manager is {@code null}.
+     */
+    public synchronized int attach(final CacheManager manager) {
+
+        Objects.requireNonNull(manager);
+        if (file == null) {
+            return 0;
+        }
+        if (restoredEntries == null) {
+            restoredEntries = read();
+        }
+        managers.add(manager);
+
+        final Instant now = Instant.now();
+        int count = 0;
+        for (final Map.Entry<String, List<Entry>> cacheEntries : restoredEntries.entrySet()) {
+            final Cache cache = manager.getCache(cacheEntries.getKey());
+            if (cache != null) {
+                for (final Entry entry : cacheEntries.getValue()) {
+                    if (!entry.value.isExpired(now)) {
+                        cache.put(entry.key, entry.value);
+                        count++;
+                    }
+                }
+            }
+        }
+        LOG.debug("restored {} cached responses from snapshot [{}]", count, file);
+        return count;
+    }
+
+    /**
+     * Writes the responses contained in the caches of all attached managers to the snapshot file.
+     * <p>
+     * The file is replaced atomically. Expired responses are not included. If multiple managers
+     * contain a response for the same key, the response expiring last is included.
+     * <p>
+     * This method does nothing if this snapshot is not enabled.
+     *
+     * @return The number of responses that have been written.
+     */
+    public synchronized int save() {
+
+        if (file == null) {
+            return 0;
+        }
+
+        final Instant now = Instant.now();
+        final Map<String, Map<Object, BasicExpiringValue<?>>> snapshot = new HashMap<>();
+        for (final CacheManager manager : managers) {
+            for (final String name : manager.getCacheNames()) {
+                final Map<Object, BasicExpiringValue<?>> entries = snapshot.computeIfAbsent(name, n -> new HashMap<>());
+                nativeEntries(manager.getCache(name)).forEach((key, value) -> {
+                    if (value instanceof BasicExpiringValue && !((BasicExpiringValue<?>) value).isExpired(now)) {
+                        entries.merge(key, (BasicExpiringValue<?>) value, (existing, candidate) ->
+                            candidate.getExpirationTime().isAfter(existing.getExpirationTime()) ? candidate : existing);
+                    }
+                });
+            }
+        }
+
+        final Path tmpFile = file.resolveSibling(file.getFileName() + ".tmp");
+        int count = 0;
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+                out.writeInt(MAGIC);
+                out.writeByte(VERSION);
+                for (final Map.Entry<String, Map<Object, BasicExpiringValue<?>>> cacheEntries : snapshot.entrySet()) {
+                    final List<byte[]> encodedEntries = new ArrayList<>();
+                    cacheEntries.getValue().forEach((key, value) -> {
+                        final byte[] encoded = encode(key, value);
+                        if (encoded != null) {
+                            encodedEntries.add(encoded);
+                        }
+                    });
+                    writeString(out, cacheEntries.getKey());
+                    out.writeInt(encodedEntries.size());
+                    for (final byte[] encoded : encodedEntries) {
+                        out.write(encoded);
+                    }
+                    count += encodedEntries.size();
+                }
+            }
+            Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOG.info("saved {} cached responses to snapshot [{}]", count, file);
+        } catch (final IOException e) {
+            LOG.warn("cannot save cached responses to snapshot [{}]", file, e);
+        }
+        return count;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Object, Object> nativeEntries(final Cache cache) {
+
+        if (cache == null) {
+            return Collections.emptyMap();
+        }
+        final Object nativeCache = cache.getNativeCache();
+        if (nativeCache instanceof com.google.common.cache.Cache) {
+            return ((com.google.common.cache.Cache<Object, Object>) nativeCache).asMap();
+        } else if (nativeCache instanceof Map) {
+            return (Map<Object, Object>) nativeCache;
+        } else {
+            LOG.debug("cannot include cache of unsupported type [{}] in snapshot", nativeCache.getClass().getName());
+            return Collections.emptyMap();
+        }
+    }
+
+    private Map<String, List<Entry>> read() {
+
+        final Map<String, List<Entry>> result = new HashMap<>();
+        if (!Files.isReadable(file)) {
+            LOG.info("no snapshot of cached responses found [{}]", file);
+            return result;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < 5 || buffer.getInt() != MAGIC || buffer.get() != VERSION) {
+                LOG.warn("ignoring snapshot of cached responses with unsupported format [{}]", file);
+                return result;
+            }
+            while (buffer.hasRemaining()) {
+                final String name = readString(buffer);
+                final int size = buffer.getInt();
+                final List<Entry> entries = result.computeIfAbsent(name, n -> new ArrayList<>(size));
+                for (int i = 0; i < size; i++) {
+                    final Entry entry = decode(buffer);
+                    if (entry != null) {
+                        entries.add(entry);
+                    }
+                }
+            }
+            LOG.info("read snapshot of cached responses [{}]", file);
+        } catch (final IOException | RuntimeException e) {
+            // a corrupt snapshot must not prevent start-up
+            LOG.warn("cannot read snapshot of cached responses [{}], ignoring remaining content", file, e);
+        }
+        return result;
+    }
+
+    private static byte[] encode(final Object key, final BasicExpiringValue<?> value) {
+
+        if (!(key instanceof TriTuple)) {
+            return null;
+        }
+        final TriTuple<?, ?, ?> tuple = (TriTuple<?, ?, ?>) key;
+        try {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final DataOutputStream out = new DataOutputStream(bytes);
+            out.writeLong(value.getExpirationTime().toEpochMilli());
+            if (!writeKeyComponent(out, tuple.one()) || !writeKeyComponent(out, tuple.two())
+                    || !writeKeyComponent(out, tuple.three())) {
+                return null;
+            }
+            final Object result = value.getValue();
+            if (result instanceof RegistrationResult) {
+                final RegistrationResult registrationResult = (RegistrationResult) result;
+                out.writeByte(TYPE_REGISTRATION_RESULT);
+                out.writeInt(registrationResult.getStatus());
+                writeString(out, toString(registrationResult.getCacheDirective()));
+                writeString(out, registrationResult.getPayload() == null ? null : registrationResult.getPayload().encode());
+            } else if (result instanceof TenantResult && (((TenantResult<?>) result).getPayload() == null
+                    || ((TenantResult<?>) result).getPayload() instanceof TenantObject)) {
+                final TenantResult<?> tenantResult = (TenantResult<?>) result;
+                out.writeByte(TYPE_TENANT_RESULT);
+                out.writeInt(tenantResult.getStatus());
+                writeString(out, toString(tenantResult.getCacheDirective()));
+                writeString(out, tenantResult.getPayload() == null ? null : Json.encode(tenantResult.getPayload()));
+            } else {
+                return null;
+            }
+            out.flush();
+            return bytes.toByteArray();
+        } catch (final IOException | RuntimeException e) {
+            LOG.debug("cannot include cached response in snapshot [key: {}]", key, e);
+            return null;
+        }
+    }
+
+    private static Entry decode(final ByteBuffer buffer) {
+
+        final Instant expirationTime = Instant.ofEpochMilli(buffer.getLong());
+        final Object one = readKeyComponent(buffer);
+        final Object two = readKeyComponent(buffer);
+        final Object three = readKeyComponent(buffer);
+        final byte type = buffer.get();
+        final int status = buffer.getInt();
+        final CacheDirective directive = CacheDirective.from(readString(buffer));
+        final String payload = readString(buffer);
+
+        final Object result;
+        if (type == TYPE_REGISTRATION_RESULT) {
+            result = RegistrationResult.from(status, payload == null ? null : new JsonObject(payload), directive);
+        } else if (type == TYPE_TENANT_RESULT) {
+            result = TenantResult.from(status, payload == null ? null : Json.decodeValue(payload, TenantObject.class), directive);
+        } else {
+            throw new IllegalArgumentException("unsupported value type: " + type);
+        }
+        return new Entry(TriTuple.of(one, two, three), new BasicExpiringValue<>(result, expirationTime));
+    }
+
+    private static boolean writeKeyComponent(final DataOutputStream out, final Object component) throws IOException {
+
+        if (component == null) {
+            out.writeByte(TYPE_NULL);
+        } else if (component instanceof String) {
+            out.writeByte(TYPE_STRING);
+            writeString(out, (String) component);
+        } else if (component instanceof TenantAction) {
+            out.writeByte(TYPE_TENANT_ACTION);
+            writeString(out, ((TenantAction) component).name());
+        } else if (component instanceof X500Principal) {
+            out.writeByte(TYPE_X500_PRINCIPAL);
+            writeString(out, ((X500Principal) component).getName(X500Principal.RFC2253));
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private static Object readKeyComponent(final ByteBuffer buffer) {
+
+        final byte type = buffer.get();
+        switch (type) {
+        case TYPE_NULL:
+            return null;
+        case TYPE_STRING:
+            return readString(buffer);
+        case TYPE_TENANT_ACTION:
+            return TenantAction.valueOf(readString(buffer));
+        case TYPE_X500_PRINCIPAL:
+            return new X500Principal(readString(buffer));
+        default:
+            throw new IllegalArgumentException("unsupported key type: " + type);
+        }
+    }
+
+    private static String toString(final CacheDirective directive) {
+        return directive == null ? null : directive.toString();
+    }
+
+    private static void writeString(final DataOutputStream out, final String value) throws IOException {
+
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static String readString(final ByteBuffer buffer) {
+
+        final int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A cache entry read from a snapshot.
+     */
+    private static final class Entry {
+
+        private final Object key;
+        private final BasicExpiringValue<?> value;
+
+        Entry(final Object key, final BasicExpiringValue<?> value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
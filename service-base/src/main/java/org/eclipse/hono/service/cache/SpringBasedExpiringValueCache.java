@@ -74,6 +74,17 @@ public class SpringBasedExpiringValueCache<K, V> implements ExpiringValueCache<K
     @Override
     public V get(final K key) {
 
+        final ExpiringValue<V> value = getExpiringValue(key);
+        if (value == null || value.isExpired()) {
+            return null;
+        } else {
+            return value.getValue();
+        }
+    }
+
+    @Override
+    public ExpiringValue<V> getExpiringValue(final K key) {
+
         if (key == null) {
             return null;
         } else {
@@ -82,16 +93,18 @@ public class SpringBasedExpiringValueCache<K, V> implements ExpiringValueCache<K
             ExpiringValue<V> value = cache.get(key, ExpiringValue.class);
             if (value == null) {
                 LOG.trace("cache miss [key: {}]", key);
-                return null;
             } else if (value.isExpired()) {
                 LOG.trace("cache hit expired [key: {}]", key);
                 cache.evict(key);
-                return null;
             } else {
                 LOG.trace("cache hit [key: {}]", key);
-                return value.getValue();
             }
+            return value;
         }
     }
 
+    @Override
+    public void clear() {
+        cache.clear();
+    }
 }
@@ -210,6 +210,7 @@ public abstract class HttpServiceBase<T extends ServiceConfigProperties> extends
                 .setMaxChunkSize(4096);
         addTlsKeyCertOptions(options);
         addTlsTrustOptions(options);
+        getConfig().applyTransportOptions(options);
         return options;
     }
 
@@ -228,6 +229,7 @@ public abstract class HttpServiceBase<T extends ServiceConfigProperties> extends
         final HttpServerOptions options = new HttpServerOptions();
         options.setHost(getConfig().getInsecurePortBindAddress())
                 .setPort(getConfig().getInsecurePort(getInsecurePortDefaultValue())).setMaxChunkSize(4096);
+        getConfig().applyTransportOptions(options);
         return options;
     }
 
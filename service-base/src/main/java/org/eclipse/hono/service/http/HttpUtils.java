@@ -53,6 +53,10 @@ public final class HttpUtils {
      * The <em>text/plain; charset=utf-8</em> content type.
      */
     public static final String CONTENT_TYPE_TEXT_UTF8 = "text/plain; charset=utf-8";
+    /**
+     * The <em>429 Too Many Requests</em> status code.
+     */
+    public static final int HTTP_TOO_MANY_REQUESTS = 429;
 
     private HttpUtils() {
         // prevent instantiation
@@ -117,6 +121,25 @@ public final class HttpUtils {
                 headers);
     }
 
+    /**
+     * Fails a routing context with HTTP status code 429 (Too Many Requests) and sets the <em>Retry-After</em> HTTP header
+     * to a given number of seconds.
+     * 
+     * @param ctx The vert.x routing context to fail.
+     * @param retryAfterSeconds The number of seconds to set in the header.
+     * @param detail The message to write to the response's body (may be {@code null}).
+     * @throws NullPointerException if routing context is {@code null}.
+     */
+    public static void tooManyRequests(final RoutingContext ctx, final int retryAfterSeconds, final String detail) {
+
+        final Map<CharSequence, CharSequence> headers = new HashMap<>(1);
+        headers.put(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        failWithHeaders(
+                ctx,
+                new ClientErrorException(HTTP_TOO_MANY_REQUESTS, detail),
+                headers);
+    }
+
     /**
      * Fails a routing context with HTTP status code 401 (Unauthorized) and an optional message.
      *
@@ -0,0 +1,241 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.service.limiting;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decides if a protocol adapter accepts new connections from devices.
+ * <p>
+ * The controller enforces
+ * <ul>
+ * <li>a limit on the number of concurrent connections,</li>
+ * <li>a limit on the number of concurrent connections per tenant,</li>
+ * <li>a limit on the rate at which new connections are accepted and</li>
+ * <li>a limit on the number of connections that are being authenticated concurrently.</li>
+ * </ul>
+ * Connections exceeding any of the limits are supposed to be rejected as early as possible,
+ * so that a mass reconnect of devices slows down the reconnect instead of exhausting the
+ * adapter's resources.
+ * <p>
+ * The limits are set by means of {@link #setLimits(int, int, long, int)}. A value of 0 means
+ * that the corresponding property is not limited. Connections are not limited at all by default.
+ * <p>
+ * Instances are thread safe and do not use locks when admitting connections.
+ */
+public final class ConnectionAdmissionController {
+
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger authentications = new AtomicInteger();
+    private final ConcurrentMap<String, Integer> tenantConnections = new ConcurrentHashMap<>();
+
+    private volatile int maxConnections;
+    private volatile int maxConnectionsPerTenant;
+    private volatile int maxConcurrentAuthentications;
+    private volatile TokenBucket acceptRate;
+
+    /**
+     * Sets the limits to enforce.
+     * <p>
+     * The token bucket for the accept rate is only replaced if the rate has changed.
+     *
+     * @param maxConnections The maximum number of concurrent connections or 0 if not limited.
+     * @param maxConnectionsPerTenant The maximum number of concurrent connections of devices
+     *                                of the same tenant or 0 if not limited.
+     * @param maxAcceptRate The maximum number of connections accepted per second or 0 if not limited.
+     * @param maxConcurrentAuthentications The maximum number of connections being authenticated
+     *                                     concurrently or 0 if not limited.
+     */
+    public void setLimits(
+            final int maxConnections,
+            final int maxConnectionsPerTenant,
+            final long maxAcceptRate,
+            final int maxConcurrentAuthentications) {
+
+        this.maxConnections = Math.max(0, maxConnections);
+        this.maxConnectionsPerTenant = Math.max(0, maxConnectionsPerTenant);
+        this.maxConcurrentAuthentications = Math.max(0, maxConcurrentAuthentications);
+        final TokenBucket current = acceptRate;
+        if (maxAcceptRate <= 0) {
+            acceptRate = null;
+        } else if (current == null || current.getRate() != maxAcceptRate) {
+            acceptRate = new TokenBucket(maxAcceptRate);
+        }
+    }
+
+    /**
+     * Gets the number of connections that have been admitted and not been released yet.
+     *
+     * @return The number of connections.
+     */
+    public int getConnections() {
+        return connections.get();
+    }
+
+    /**
+     * Gets the number of admitted connections of devices of a tenant.
+     *
+     * @param tenantId The tenant.
+     * @return The number of connections.
+     * @throws NullPointerException if tenant ID is {@code null}.
+     */
+    public int getConnections(final String tenantId) {
+        return tenantConnections.getOrDefault(Objects.requireNonNull(tenantId), 0);
+    }
+
+    /**
+     * Tries to admit a new connection.
+     * <p>
+     * This method should be invoked as soon as a device has established a connection,
+     * i.e. before the device is being authenticated.
+     *
+     * @return The admission or {@code null} if the connection should be rejected because
+     *         the maximum number of connections or the accept rate has been exceeded.
+     *         The admission must be {@linkplain Admission#release() released} once the
+     *         connection has been closed.
+     */
+    public Admission tryAdmit() {
+
+        final TokenBucket bucket = acceptRate;
+        if (bucket != null && !bucket.tryAcquire(1)) {
+            return null;
+        }
+        if (!tryIncrement(connections, maxConnections)) {
+            return null;
+        }
+        return new Admission();
+    }
+
+    private static boolean tryIncrement(final AtomicInteger counter, final int max) {
+
+        if (max <= 0) {
+            counter.incrementAndGet();
+            return true;
+        }
+        while (true) {
+            final int current = counter.get();
+            if (current >= max) {
+                return false;
+            }
+            if (counter.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * The resources that an admitted connection holds.
+     * <p>
+     * All methods may be invoked multiple times, the resources are released only once.
+     */
+    public final class Admission {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+        private final AtomicBoolean authenticating = new AtomicBoolean();
+        private volatile String tenantId;
+
+        private Admission() {
+        }
+
+        /**
+         * Tries to start the authentication of the connection's device.
+         *
+         * @return {@code true} if the device may be authenticated, {@code false} if
+         *         the maximum number of concurrent authentications has been reached
+         *         and the connection should be rejected.
+         */
+        public boolean tryStartAuthentication() {
+
+            if (released.get()) {
+                return false;
+            }
+            if (!authenticating.compareAndSet(false, true)) {
+                return true;
+            }
+            if (tryIncrement(authentications, maxConcurrentAuthentications)) {
+                return true;
+            }
+            authenticating.set(false);
+            return false;
+        }
+
+        /**
+         * Marks the authentication of the connection's device as finished.
+         */
+        public void authenticationFinished() {
+            if (authenticating.compareAndSet(true, false)) {
+                authentications.decrementAndGet();
+            }
+        }
+
+        /**
+         * Tries to assign the connection to the tenant of its authenticated device.
+         *
+         * @param tenant The tenant that the device belongs to.
+         * @return {@code true} if the connection has been assigned, {@code false} if the
+         *         maximum number of connections per tenant has been reached and the
+         *         connection should be rejected.
+         * @throws NullPointerException if tenant is {@code null}.
+         * @throws IllegalStateException if the connection has already been assigned to
+         *                               another tenant.
+         */
+        public synchronized boolean tryAssignTenant(final String tenant) {
+
+            Objects.requireNonNull(tenant);
+            if (tenantId != null) {
+                if (!tenantId.equals(tenant)) {
+                    throw new IllegalStateException("connection has already been assigned to a tenant");
+                }
+                return true;
+            }
+            if (released.get()) {
+                return false;
+            }
+            final int max = maxConnectionsPerTenant;
+            final AtomicBoolean assigned = new AtomicBoolean();
+            tenantConnections.compute(tenant, (k, count) -> {
+                final int current = count == null ? 0 : count;
+                if (max > 0 && current >= max) {
+                    return count;
+                }
+                assigned.set(true);
+                return current + 1;
+            });
+            if (assigned.get()) {
+                tenantId = tenant;
+            }
+            return assigned.get();
+        }
+
+        /**
+         * Releases all resources held by the connection.
+         * <p>
+         * This method should be invoked once the connection has been closed or rejected.
+         */
+        public synchronized void release() {
+
+            if (released.compareAndSet(false, true)) {
+                authenticationFinished();
+                connections.decrementAndGet();
+                if (tenantId != null) {
+                    tenantConnections.computeIfPresent(tenantId, (k, count) -> count <= 1 ? null : count - 1);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.service.limiting;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.hono.util.TenantConstants;
+
+/**
+ * Limits the number of messages and payload bytes per second that devices of a tenant
+ * may publish.
+ * <p>
+ * The limits of a tenant are set by means of {@link #setLimits(String, long, long)},
+ * typically based on the tenant's configuration as retrieved from the Tenant service.
+ * Messages of tenants for which no limits have been set are not limited at all.
+ * This allows for checking a message before the tenant's configuration has been
+ * retrieved, using the limits known from a previous message.
+ * <p>
+ * Instances are thread safe and do not use locks when checking messages.
+ */
+public final class TenantRateLimiter {
+
+    private final ConcurrentMap<String, Limits> limits = new ConcurrentHashMap<>();
+
+    /**
+     * Sets the limits for a tenant.
+     * <p>
+     * The token buckets of the tenant are only replaced if the limits have changed.
+     *
+     * @param tenantId The tenant to set the limits for.
+     * @param maxMessagesPerSecond The maximum number of messages per second or
+     *              {@link TenantConstants#UNLIMITED_RATE} if not limited.
+     * @param maxBytesPerSecond The maximum number of payload bytes per second or
+     *              {@link TenantConstants#UNLIMITED_RATE} if not limited.
+     * @throws NullPointerException if tenant ID is {@code null}.
+     */
+    public void setLimits(final String tenantId, final long maxMessagesPerSecond, final long maxBytesPerSecond) {
+
+        Objects.requireNonNull(tenantId);
+
+        if (maxMessagesPerSecond <= 0 && maxBytesPerSecond <= 0) {
+            limits.remove(tenantId);
+        } else {
+            final Limits current = limits.get(tenantId);
+            if (current == null || !current.hasRates(maxMessagesPerSecond, maxBytesPerSecond)) {
+                limits.put(tenantId, new Limits(maxMessagesPerSecond, maxBytesPerSecond));
+            }
+        }
+    }
+
+    /**
+     * Checks if a message of a tenant may be published.
+     * <p>
+     * A message that is rejected because of its payload size still counts
+     * towards the tenant's message limit.
+     *
+     * @param tenantId The tenant that the device publishing the message belongs to.
+     * @param payloadSize The size of the message's payload in bytes.
+     * @return {@code true} if the message may be published, {@code false} if
+     *         any of the tenant's limits has been exceeded.
+     * @throws NullPointerException if tenant ID is {@code null}.
+     */
+    public boolean tryAcquire(final String tenantId, final long payloadSize) {
+
+        final Limits tenantLimits = limits.get(Objects.requireNonNull(tenantId));
+        if (tenantLimits == null) {
+            return true;
+        }
+        return tenantLimits.tryAcquire(payloadSize);
+    }
+
+    /**
+     * The token buckets of a tenant.
+     */
+    private static final class Limits {
+
+        private final TokenBucket messages;
+        private final TokenBucket bytes;
+
+        Limits(final long maxMessagesPerSecond, final long maxBytesPerSecond) {
+            this.messages = maxMessagesPerSecond > 0 ? new TokenBucket(maxMessagesPerSecond) : null;
+            this.bytes = maxBytesPerSecond > 0 ? new TokenBucket(maxBytesPerSecond) : null;
+        }
+
+        boolean hasRates(final long maxMessagesPerSecond, final long maxBytesPerSecond) {
+            return getRate(messages) == Math.max(0, maxMessagesPerSecond)
+                    && getRate(bytes) == Math.max(0, maxBytesPerSecond);
+        }
+
+        boolean tryAcquire(final long payloadSize) {
+            return (messages == null || messages.tryAcquire(1))
+                    && (bytes == null || bytes.tryAcquire(payloadSize));
+        }
+
+        private static long getRate(final TokenBucket bucket) {
+            return bucket == null ? 0 : bucket.getRate();
+        }
+    }
+}
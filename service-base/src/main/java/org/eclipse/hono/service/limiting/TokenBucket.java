@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.service.limiting;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * A lock-free token bucket.
+ * <p>
+ * The bucket holds up to <em>rate</em> tokens and is refilled continuously at
+ * <em>rate</em> tokens per second. Instead of keeping track of the number of available
+ * tokens, the bucket only records the point in time at which it would be completely
+ * full again (the <em>generic cell rate algorithm</em>). This allows the bucket's
+ * state to be updated with a single compare-and-set operation.
+ * <p>
+ * Instances are thread safe.
+ */
+public final class TokenBucket {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final long rate;
+    private final long nanosPerToken;
+    private final long capacityNanos;
+    private final LongSupplier clock;
+    private final AtomicLong fullAt;
+
+    /**
+     * Creates a new, full bucket.
+     *
+     * @param rate The number of tokens that the bucket is refilled with per second.
+     *             This is also the maximum number of tokens the bucket can hold.
+     * @throws IllegalArgumentException if rate is &lt;= 0.
+     */
+    public TokenBucket(final long rate) {
+        this(rate, System::nanoTime);
+    }
+
+    /**
+     * Creates a new, full bucket using a custom clock.
+     *
+     * @param rate The number of tokens that the bucket is refilled with per second.
+     *             This is also the maximum number of tokens the bucket can hold.
+     * @param clock The clock to use for determining the current time in nanoseconds.
+     * @throws NullPointerException if clock is {@code null}.
+     * @throws IllegalArgumentException if rate is &lt;= 0.
+     */
+    TokenBucket(final long rate, final LongSupplier clock) {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("rate must be > 0");
+        }
+        this.rate = rate;
+        this.clock = Objects.requireNonNull(clock);
+        this.nanosPerToken = Math.max(1, NANOS_PER_SECOND / rate);
+        this.capacityNanos = NANOS_PER_SECOND;
+        this.fullAt = new AtomicLong(clock.getAsLong());
+    }
+
+    /**
+     * Gets the number of tokens that the bucket is refilled with per second.
+     *
+     * @return The rate.
+     */
+    public long getRate() {
+        return rate;
+    }
+
+    /**
+     * Tries to take tokens from this bucket.
+     * <p>
+     * A request for more tokens than the bucket can hold succeeds if the bucket is full.
+     * The bucket will then remain empty until the surplus has been refilled.
+     *
+     * @param tokens The number of tokens to take.
+     * @return {@code true} if the tokens have been taken, {@code false} if the bucket
+     *         does not contain enough tokens.
+     */
+    public boolean tryAcquire(final long tokens) {
+
+        if (tokens <= 0) {
+            return true;
+        }
+
+        final long cost = tokens > Long.MAX_VALUE / (2 * nanosPerToken) ? Long.MAX_VALUE / 2 : tokens * nanosPerToken;
+        final long now = clock.getAsLong();
+
+        while (true) {
+            final long current = fullAt.get();
+            final long base = current - now > 0 ? current : now;
+            final long next = base + cost;
+            if (next - now > capacityNanos && current - now > 0) {
+                return false;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+}
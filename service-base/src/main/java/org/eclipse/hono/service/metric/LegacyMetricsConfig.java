@@ -131,7 +131,7 @@ public class LegacyMetricsConfig {
 
             return amendWithTags(id.getConventionName(convention), id,
                     new String[] { "host", "meterType", "hono", "protocol" },
-                    new String[] { "type", "tenant", "subName", "typeSuffix" });
+                    new String[] { "endpoint", "type", "tenant", "stage", "subName", "typeSuffix" });
         };
     }
 
@@ -155,7 +155,7 @@ public class LegacyMetricsConfig {
     private static void addTags(final StringBuilder sb, final Meter.Id id, final String[] tags) {
         for (final String tag : tags) {
             final String value = id.getTag(tag);
-            if (value != null) {
+            if (value != null && !value.isEmpty()) {
                 if (sb.length() > 0) {
                     sb.append('.');
                 }
@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.service.metric;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.LongSupplier;
+
+/**
+ * A cache of meters that are identified by a key (e.g. a tenant) and an optional type.
+ * <p>
+ * Resolving a meter from a {@code MeterRegistry} requires the creation of tags and
+ * a lookup of the meter's ID for every invocation. This cache instead keeps the resolved
+ * meters so that they can be looked up without any allocation.
+ * <p>
+ * The meters of keys that have not been used for a given amount of time are removed from
+ * the cache. Note that the meters are not removed from the registry, i.e. when a meter is
+ * requested again for such a key, the same meter is resolved from the registry.
+ * <p>
+ * Instances are thread safe.
+ *
+ * @param <T> The type of meter.
+ */
+public final class MeterCache<T> {
+
+    /**
+     * The default duration after which the meters of an unused key are removed from the cache.
+     */
+    public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(10);
+
+    private static final String NO_TYPE = "";
+
+    private final ConcurrentMap<String, Meters<T>> meters = new ConcurrentHashMap<>();
+    private final BiFunction<String, String, T> meterFactory;
+    private final long idleTimeoutNanos;
+    private final LongSupplier clock;
+    private final AtomicLong nextSweep;
+
+    /**
+     * Creates a new cache using the default idle timeout.
+     *
+     * @param meterFactory The function to invoke for resolving a meter that is not in the cache.
+     *                     The function is invoked with the key and the type of the meter. The
+     *                     type is {@code null} for meters that have been requested without a type.
+     * @throws NullPointerException if factory is {@code null}.
+     */
+    public MeterCache(final BiFunction<String, String, T> meterFactory) {
+        this(meterFactory, DEFAULT_IDLE_TIMEOUT, System::nanoTime);
+    }
+
+    /**
+     * Creates a new cache.
+     *
+     * @param meterFactory The function to invoke for resolving a meter that is not in the cache.
+     *                     The function is invoked with the key and the type of the meter. The
+     *                     type is {@code null} for meters that have been requested without a type.
+     * @param idleTimeout The duration after which the meters of an unused key are removed.
+     * @param clock The clock to use for determining the current time in nanoseconds.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    MeterCache(final BiFunction<String, String, T> meterFactory, final Duration idleTimeout, final LongSupplier clock) {
+        this.meterFactory = Objects.requireNonNull(meterFactory);
+        this.idleTimeoutNanos = Objects.requireNonNull(idleTimeout).toNanos();
+        this.clock = Objects.requireNonNull(clock);
+        this.nextSweep = new AtomicLong(clock.getAsLong() + idleTimeoutNanos);
+    }
+
+    /**
+     * Gets the meter for a key.
+     *
+     * @param key The key.
+     * @return The meter.
+     * @throws NullPointerException if key is {@code null}.
+     */
+    public T get(final String key) {
+        return get(key, null);
+    }
+
+    /**
+     * Gets the meter for a key and type.
+     *
+     * @param key The key.
+     * @param type The type (may be {@code null}).
+     * @return The meter.
+     * @throws NullPointerException if key is {@code null}.
+     */
+    public T get(final String key, final String type) {
+
+        Objects.requireNonNull(key);
+        final long now = clock.getAsLong();
+
+        Meters<T> metersOfKey = meters.get(key);
+        if (metersOfKey == null) {
+            metersOfKey = meters.computeIfAbsent(key, k -> new Meters<>());
+        }
+        metersOfKey.lastAccess = now;
+
+        final String typeKey = type == null ? NO_TYPE : type;
+        T meter = metersOfKey.byType.get(typeKey);
+        if (meter == null) {
+            meter = metersOfKey.byType.computeIfAbsent(typeKey, t -> meterFactory.apply(key, type));
+        }
+
+        removeIdleKeys(now);
+        return meter;
+    }
+
+    /**
+     * Gets the number of keys that meters are cached for.
+     *
+     * @return The number of keys.
+     */
+    int size() {
+        return meters.size();
+    }
+
+    private void removeIdleKeys(final long now) {
+
+        final long scheduled = nextSweep.get();
+        if (now - scheduled >= 0 && nextSweep.compareAndSet(scheduled, now + idleTimeoutNanos)) {
+            meters.values().removeIf(m -> now - m.lastAccess > idleTimeoutNanos);
+        }
+    }
+
+    /**
+     * The meters of a key.
+     *
+     * @param <T> The type of meter.
+     */
+    private static final class Meters<T> {
+
+        private final ConcurrentMap<String, T> byType = new ConcurrentHashMap<>(4);
+        private volatile long lastAccess;
+    }
+}
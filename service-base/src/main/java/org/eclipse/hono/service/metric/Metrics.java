@@ -63,6 +63,15 @@ public interface Metrics {
      */
     void incrementUndeliverableMessages(String type, String tenantId);
 
+    /**
+     * Reports a message received from a device as <em>rejected</em> because
+     * the message rate limits of the device's tenant have been exceeded.
+     *
+     * @param type The type of message received, e.g. <em>telemetry</em> or <em>event</em>.
+     * @param tenantId The tenant that the device belongs to.
+     */
+    void incrementRateLimitedMessages(String type, String tenantId);
+
     /**
      * Reports the size of a processed message's payload that has been received
      * from a device.
@@ -73,6 +82,16 @@ public interface Metrics {
      */
     void incrementProcessedPayload(String type, String tenantId, long payloadSize);
 
+    /**
+     * Reports the duration of a stage of processing a message received from a device.
+     *
+     * @param type The type of message received, e.g. <em>telemetry</em> or <em>event</em>.
+     * @param tenantId The tenant that the device belongs to.
+     * @param stage The processing stage.
+     * @param durationNanos The duration of the stage in nanoseconds.
+     */
+    void reportUploadDuration(String type, String tenantId, UploadStage stage, long durationNanos);
+
     /**
      * Reports a command being delivered to a device.
      * 
@@ -13,14 +13,18 @@
 
 package org.eclipse.hono.service.metric;
 
+import java.util.EnumMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 
 /**
  * Micrometer based metrics implementation.
@@ -32,6 +36,15 @@ public abstract class MicrometerBasedMetrics implements Metrics {
     private final Map<String, AtomicLong> authenticatedConnections = new ConcurrentHashMap<>();
     private final AtomicLong unauthenticatedConnections;
 
+    private final MeterCache<Counter> processedMessages;
+    private final MeterCache<Counter> undeliverableMessages;
+    private final MeterCache<Counter> rateLimitedMessages;
+    private final MeterCache<Counter> processedPayload;
+    private final MeterCache<Counter> commandsDeliveredToDevice;
+    private final MeterCache<Counter> commandsTtdExpired;
+    private final MeterCache<Counter> commandResponsesDelivered;
+    private final Map<UploadStage, MeterCache<Timer>> uploadDurations = new EnumMap<>(UploadStage.class);
+
     /**
      * Create a new metrics instance.
      * 
@@ -45,6 +58,22 @@ public abstract class MicrometerBasedMetrics implements Metrics {
         this.registry = registry;
 
         this.unauthenticatedConnections = registry.gauge("hono.connections.unauthenticated", new AtomicLong());
+
+        this.processedMessages = counterCacheForTenantAndType("hono.messages.processed");
+        this.undeliverableMessages = counterCacheForTenantAndType("hono.messages.undeliverable");
+        this.rateLimitedMessages = counterCacheForTenantAndType("hono.messages.ratelimited");
+        this.processedPayload = counterCacheForTenantAndType("hono.messages.processed.payload");
+        this.commandsDeliveredToDevice = counterCacheForTenant("hono.commands.device.delivered");
+        this.commandsTtdExpired = counterCacheForTenant("hono.commands.ttd.expired");
+        this.commandResponsesDelivered = counterCacheForTenant("hono.commands.response.delivered");
+        for (final UploadStage stage : UploadStage.values()) {
+            this.uploadDurations.put(stage, new MeterCache<>((tenant, type) -> Timer.builder("hono.upload.duration")
+                    .tags(Tags
+                            .of("tenant", tenant)
+                            .and("type", type)
+                            .and("stage", stage.getTagValue()))
+                    .register(this.registry)));
+        }
     }
 
     @Override
@@ -76,22 +105,21 @@ public abstract class MicrometerBasedMetrics implements Metrics {
     @Override
     public final void incrementProcessedMessages(final String type, final String tenantId) {
 
-        this.registry.counter("hono.messages.processed",
-                Tags
-                        .of("tenant", tenantId)
-                        .and("type", type))
-                .increment();
+        this.processedMessages.get(tenantId, type).increment();
 
     }
 
     @Override
     public final void incrementUndeliverableMessages(final String type, final String tenantId) {
 
-        this.registry.counter("hono.messages.undeliverable",
-                Tags
-                        .of("tenant", tenantId)
-                        .and("type", type))
-                .increment();
+        this.undeliverableMessages.get(tenantId, type).increment();
+
+    }
+
+    @Override
+    public final void incrementRateLimitedMessages(final String type, final String tenantId) {
+
+        this.rateLimitedMessages.get(tenantId, type).increment();
 
     }
 
@@ -104,41 +132,68 @@ public abstract class MicrometerBasedMetrics implements Metrics {
             return;
         }
 
-        this.registry.counter("hono.messages.processed.payload",
-                Tags
-                        .of("tenant", tenantId)
-                        .and("type", type))
-                .increment(payloadSize);
+        this.processedPayload.get(tenantId, type).increment(payloadSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The durations are recorded by means of a timer named <em>hono.upload.duration</em>.
+     * Percentiles and SLA buckets can be configured for the timer using the standard
+     * Spring Boot <em>management.metrics.distribution</em> properties.
+     */
+    @Override
+    public final void reportUploadDuration(final String type, final String tenantId, final UploadStage stage,
+            final long durationNanos) {
+
+        this.uploadDurations.get(stage).get(tenantId, type).record(durationNanos, TimeUnit.NANOSECONDS);
+
     }
 
     @Override
     public final void incrementCommandDeliveredToDevice(final String tenantId) {
 
-        this.registry.counter("hono.commands.device.delivered",
-                Tags
-                        .of("tenant", tenantId))
-                .increment();
+        this.commandsDeliveredToDevice.get(tenantId).increment();
 
     }
 
     @Override
     public final void incrementNoCommandReceivedAndTTDExpired(final String tenantId) {
 
-        this.registry.counter("hono.commands.ttd.expired",
-                Tags
-                        .of("tenant", tenantId))
-                .increment();
+        this.commandsTtdExpired.get(tenantId).increment();
 
     }
 
     @Override
     public final void incrementCommandResponseDeliveredToApplication(final String tenantId) {
 
-        this.registry.counter("hono.commands.response.delivered",
+        this.commandResponsesDelivered.get(tenantId).increment();
+
+    }
+
+    /**
+     * Creates a cache for counters that are tagged with a tenant and a type.
+     *
+     * @param name The name of the counters.
+     * @return The cache.
+     */
+    protected final MeterCache<Counter> counterCacheForTenantAndType(final String name) {
+        return new MeterCache<>((tenant, type) -> this.registry.counter(name,
                 Tags
-                        .of("tenant", tenantId))
-                .increment();
+                        .of("tenant", tenant)
+                        .and("type", type)));
+    }
 
+    /**
+     * Creates a cache for counters that are tagged with a tenant.
+     *
+     * @param name The name of the counters.
+     * @return The cache.
+     */
+    protected final MeterCache<Counter> counterCacheForTenant(final String name) {
+        return new MeterCache<>((tenant, type) -> this.registry.counter(name,
+                Tags
+                        .of("tenant", tenant)));
     }
 
     protected <T extends Number> T gaugeForKey(final String name, final Map<String, T> map, final String key,
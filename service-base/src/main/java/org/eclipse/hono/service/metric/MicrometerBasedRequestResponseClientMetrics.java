@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+
+package org.eclipse.hono.service.metric;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.hono.client.RequestResponseClientMetrics;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Micrometer based metrics for request-response clients.
+ * <p>
+ * All meters are tagged with the <em>endpoint</em> and the <em>tenant</em> that the client is scoped to.
+ * The tenant tag is empty for clients that are not scoped to a tenant, e.g. the Tenant service client.
+ * <p>
+ * The response times are recorded by means of a timer named <em>hono.client.request.duration</em>.
+ * Percentiles and SLA buckets can be configured for the timer using the standard
+ * Spring Boot <em>management.metrics.distribution</em> properties.
+ */
+@Component
+public class MicrometerBasedRequestResponseClientMetrics implements RequestResponseClientMetrics {
+
+    private static final String NO_TENANT = "";
+
+    private final MeterRegistry registry;
+    /**
+     * The number of pending requests by endpoint and tenant.
+     */
+    private final Map<String, Map<String, AtomicLong>> pendingRequests = new ConcurrentHashMap<>();
+    private final MeterCache<Timer> responseTimes;
+    private final MeterCache<Counter> timedOutRequests;
+    private final MeterCache<Counter> requestsWithoutCredit;
+    private final MeterCache<Counter> cacheHits;
+    private final MeterCache<Counter> cacheMisses;
+    private final MeterCache<Counter> staleCacheHits;
+
+    /**
+     * Creates a new metrics instance.
+     *
+     * @param registry The meter registry to use.
+     * @throws NullPointerException if registry is {@code null}.
+     */
+    public MicrometerBasedRequestResponseClientMetrics(final MeterRegistry registry) {
+        this.registry = Objects.requireNonNull(registry);
+        this.responseTimes = new MeterCache<>((endpoint, tenant) -> Timer.builder("hono.client.request.duration")
+                .tags(tags(endpoint, tenant))
+                .register(registry));
+        this.timedOutRequests = counterCache("hono.client.requests.timeout");
+        this.requestsWithoutCredit = counterCache("hono.client.requests.nocredit");
+        this.cacheHits = counterCache("hono.client.cache.hit");
+        this.cacheMisses = counterCache("hono.client.cache.miss");
+        this.staleCacheHits = counterCache("hono.client.cache.stale");
+    }
+
+    @Override
+    public void reportResponseTime(final String endpoint, final String tenantId, final long durationNanos) {
+
+        this.responseTimes.get(endpoint, tenantOrDefault(tenantId)).record(durationNanos, TimeUnit.NANOSECONDS);
+
+    }
+
+    @Override
+    public void incrementPendingRequests(final String endpoint, final String tenantId) {
+
+        pendingRequests(endpoint, tenantOrDefault(tenantId)).incrementAndGet();
+
+    }
+
+    @Override
+    public void decrementPendingRequests(final String endpoint, final String tenantId) {
+
+        pendingRequests(endpoint, tenantOrDefault(tenantId)).decrementAndGet();
+
+    }
+
+    @Override
+    public void incrementTimedOutRequests(final String endpoint, final String tenantId) {
+
+        this.timedOutRequests.get(endpoint, tenantOrDefault(tenantId)).increment();
+
+    }
+
+    @Override
+    public void incrementRequestsWithoutCredit(final String endpoint, final String tenantId) {
+
+        this.requestsWithoutCredit.get(endpoint, tenantOrDefault(tenantId)).increment();
+
+    }
+
+    @Override
+    public void incrementCacheHits(final String endpoint, final String tenantId) {
+
+        this.cacheHits.get(endpoint, tenantOrDefault(tenantId)).increment();
+
+    }
+
+    @Override
+    public void incrementCacheMisses(final String endpoint, final String tenantId) {
+
+        this.cacheMisses.get(endpoint, tenantOrDefault(tenantId)).increment();
+
+    }
+
+    @Override
+    public void incrementStaleCacheHits(final String endpoint, final String tenantId) {
+
+        this.staleCacheHits.get(endpoint, tenantOrDefault(tenantId)).increment();
+
+    }
+
+    private AtomicLong pendingRequests(final String endpoint, final String tenant) {
+
+        // look up by endpoint and tenant separately so that no key needs to be created
+        Map<String, AtomicLong> pendingRequestsOfEndpoint = pendingRequests.get(endpoint);
+        if (pendingRequestsOfEndpoint == null) {
+            pendingRequestsOfEndpoint = pendingRequests.computeIfAbsent(endpoint, e -> new ConcurrentHashMap<>());
+        }
+        final AtomicLong count = pendingRequestsOfEndpoint.get(tenant);
+        if (count == null) {
+            return pendingRequestsOfEndpoint.computeIfAbsent(tenant,
+                    t -> registry.gauge("hono.client.requests.pending", tags(endpoint, tenant), new AtomicLong()));
+        }
+        return count;
+    }
+
+    private MeterCache<Counter> counterCache(final String name) {
+        return new MeterCache<>((endpoint, tenant) -> registry.counter(name, tags(endpoint, tenant)));
+    }
+
+    private static Tags tags(final String endpoint, final String tenant) {
+        return Tags
+                .of("endpoint", endpoint)
+                .and("tenant", tenant);
+    }
+
+    private static String tenantOrDefault(final String tenantId) {
+        return tenantId == null ? NO_TENANT : tenantId;
+    }
+}
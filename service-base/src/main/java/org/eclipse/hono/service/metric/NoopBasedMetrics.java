@@ -25,6 +25,10 @@ public class NoopBasedMetrics implements Metrics {
     public void incrementUndeliverableMessages(final String type, final String tenantId) {
     }
 
+    @Override
+    public void incrementRateLimitedMessages(final String type, final String tenantId) {
+    }
+
     @Override
     public void incrementUnauthenticatedConnections() {
     }
@@ -33,6 +37,11 @@ public class NoopBasedMetrics implements Metrics {
     public void incrementProcessedPayload(final String type, final String tenantId, final long payloadSize) {
     }
 
+    @Override
+    public void reportUploadDuration(final String type, final String tenantId, final UploadStage stage,
+            final long durationNanos) {
+    }
+
     @Override
     public void incrementProcessedMessages(final String type, final String tenantId) {
     }
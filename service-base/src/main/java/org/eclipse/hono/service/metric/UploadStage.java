@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+
+package org.eclipse.hono.service.metric;
+
+/**
+ * The stages of processing a message that has been uploaded by a device.
+ */
+public enum UploadStage {
+
+    /**
+     * Retrieval of the device's registration assertion from the Device Registration service.
+     */
+    REGISTRATION_ASSERTION("registration"),
+    /**
+     * Retrieval of the tenant's configuration from the Tenant service.
+     */
+    TENANT_LOOKUP("tenant"),
+    /**
+     * Acquisition of the sender for forwarding the message downstream.
+     */
+    SENDER_ACQUISITION("sender"),
+    /**
+     * Forwarding of the message downstream, including waiting for the disposition
+     * if the message is forwarded using <em>at least once</em> semantics.
+     */
+    DISPOSITION("disposition"),
+    /**
+     * The overall processing of the message.
+     */
+    TOTAL("total");
+
+    private final String tagValue;
+
+    UploadStage(final String tagValue) {
+        this.tagValue = tagValue;
+    }
+
+    /**
+     * Gets the value to use for tagging metrics with this stage.
+     *
+     * @return The value.
+     */
+    public String getTagValue() {
+        return tagValue;
+    }
+}
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+
+package org.eclipse.hono.service.metric;
+
+import java.util.Objects;
+
+import io.vertx.core.Future;
+
+/**
+ * Measures the durations of the stages of processing a message uploaded by a device.
+ * <p>
+ * An instance is created when the processing of a message starts and is used for tracking
+ * the futures representing the outcome of the individual stages. The durations are
+ * reported to {@link Metrics#reportUploadDuration(String, String, UploadStage, long)}
+ * regardless of whether a stage has succeeded or failed.
+ */
+public final class UploadTimer {
+
+    private final Metrics metrics;
+    private final String type;
+    private final String tenantId;
+    private final long start;
+
+    /**
+     * Creates a new timer for a message.
+     * <p>
+     * The processing of the message is considered to start when this constructor is invoked.
+     *
+     * @param metrics The metrics to report the durations to.
+     * @param type The type of message, e.g. <em>telemetry</em> or <em>event</em>.
+     * @param tenantId The tenant that the device belongs to.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    public UploadTimer(final Metrics metrics, final String type, final String tenantId) {
+        this.metrics = Objects.requireNonNull(metrics);
+        this.type = Objects.requireNonNull(type);
+        this.tenantId = Objects.requireNonNull(tenantId);
+        this.start = System.nanoTime();
+    }
+
+    /**
+     * Tracks the duration of a stage.
+     * <p>
+     * The stage is considered to start when this method is invoked and to end
+     * when the given future completes.
+     * <p>
+     * Note that the returned future needs to be used instead of the given one
+     * because this method registers a handler on the given future.
+     *
+     * @param <T> The type of the stage's result.
+     * @param stage The stage.
+     * @param outcome The future representing the outcome of the stage.
+     * @return A future that completes with the outcome of the stage after its duration
+     *         has been reported.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    public <T> Future<T> track(final UploadStage stage, final Future<T> outcome) {
+
+        Objects.requireNonNull(stage);
+        Objects.requireNonNull(outcome);
+
+        final long stageStart = System.nanoTime();
+        final Future<T> result = Future.future();
+        outcome.setHandler(r -> {
+            metrics.reportUploadDuration(type, tenantId, stage, System.nanoTime() - stageStart);
+            result.handle(r);
+        });
+        return result;
+    }
+
+    /**
+     * Reports the duration of the overall processing of the message.
+     */
+    public void stop() {
+        metrics.reportUploadDuration(type, tenantId, UploadStage.TOTAL, System.nanoTime() - start);
+    }
+}
@@ -19,18 +19,23 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import org.apache.qpid.proton.message.Message;
 import org.eclipse.hono.client.ClientErrorException;
 import org.eclipse.hono.client.HonoClient;
 import org.eclipse.hono.client.RegistrationClient;
 import org.eclipse.hono.client.ServiceInvocationException;
+import org.eclipse.hono.client.TenantClient;
 import org.eclipse.hono.client.CommandConnection;
 import org.eclipse.hono.auth.Device;
 import org.eclipse.hono.config.ProtocolAdapterProperties;
 import org.eclipse.hono.util.EventConstants;
 import org.eclipse.hono.util.MessageHelper;
 import org.eclipse.hono.util.RegistrationConstants;
+import org.eclipse.hono.util.TenantObject;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -39,10 +44,14 @@ import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 
 import io.opentracing.SpanContext;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
+import io.vertx.ext.healthchecks.HealthCheckHandler;
+import io.vertx.ext.healthchecks.Status;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
 import io.vertx.proton.ProtonConnection;
@@ -526,4 +535,59 @@ public class AbstractProtocolAdapterBaseTest {
         // arbitrary content-type needs non empty payload
         ctx.assertFalse(adapter.isPayloadOfIndicatedType(payload, arbitraryContentType));
     }
+
+    /**
+     * Verifies that the adapter retrieves the configuration of the tenants
+     * configured for warming up the cache during start-up, using no more than
+     * the configured number of concurrent requests, and that the adapter's
+     * readiness check only succeeds once the warm-up has completed.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testStartInternalWarmsUpTenantCache(final TestContext ctx) {
+
+        // GIVEN an adapter configured to warm up the cache for three tenants
+        // using at most two concurrent requests
+        properties.setWarmUpTenants(Arrays.asList("tenant-1", "tenant-2", "tenant-3"));
+        properties.setWarmUpMaxConcurrentRequests(2);
+        final List<Future<TenantObject>> requests = new ArrayList<>();
+        final TenantClient tenantClient = mock(TenantClient.class);
+        when(tenantClient.get(anyString())).thenAnswer(invocation -> {
+            final Future<TenantObject> request = Future.future();
+            requests.add(request);
+            return request;
+        });
+        when(tenantService.getOrCreateTenantClient()).thenReturn(Future.succeededFuture(tenantClient));
+        givenAnAdapterConfiguredWithServiceClients(mock(Handler.class), null, null);
+        adapter.init(mock(Vertx.class), mock(Context.class));
+        final HealthCheckHandler healthCheckHandler = mock(HealthCheckHandler.class);
+        adapter.registerReadinessChecks(healthCheckHandler);
+        final ArgumentCaptor<Handler<Future<Status>>> warmUpCheck = ArgumentCaptor.forClass(Handler.class);
+        verify(healthCheckHandler).register(eq("cache-warm-up"), warmUpCheck.capture());
+
+        // WHEN starting the adapter
+        adapter.startInternal().setHandler(ctx.asyncAssertSuccess());
+
+        // THEN the configuration of two tenants is requested
+        verify(tenantClient).get("tenant-1");
+        verify(tenantClient).get("tenant-2");
+        verify(tenantClient, never()).get("tenant-3");
+        // AND the adapter is not ready yet
+        Future<Status> status = Future.future();
+        warmUpCheck.getValue().handle(status);
+        assertFalse(status.result().isOk());
+
+        // and the next tenant is requested once one of the requests has failed
+        requests.get(0).fail(new ClientErrorException(HttpURLConnection.HTTP_NOT_FOUND));
+        verify(tenantClient).get("tenant-3");
+
+        // AND the adapter is ready once all requests have completed
+        requests.get(1).complete(TenantObject.from("tenant-2", true));
+        requests.get(2).complete(TenantObject.from("tenant-3", true));
+        status = Future.future();
+        warmUpCheck.getValue().handle(status);
+        assertTrue(status.result().isOk());
+    }
 }
@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.service.auth.delegating;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.qpid.proton.amqp.messaging.AmqpValue;
+import org.apache.qpid.proton.amqp.messaging.ApplicationProperties;
+import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.auth.AuthoritiesImpl;
+import org.eclipse.hono.auth.HonoUser;
+import org.eclipse.hono.connection.ConnectionFactory;
+import org.eclipse.hono.service.auth.AuthTokenHelperImpl;
+import org.eclipse.hono.util.AuthenticationConstants;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.proton.ProtonConnection;
+import io.vertx.proton.ProtonDelivery;
+import io.vertx.proton.ProtonMessageHandler;
+import io.vertx.proton.ProtonReceiver;
+
+/**
+ * Verifies behavior of {@link DelegatingAuthenticationService}.
+ *
+ */
+public class DelegatingAuthenticationServiceTest {
+
+    private DelegatingAuthenticationService service;
+    private ConnectionFactory factory;
+    private AtomicReference<Handler<AsyncResult<ProtonConnection>>> connectHandler;
+    private String token;
+
+    /**
+     * Sets up the fixture.
+     */
+    @SuppressWarnings("unchecked")
+    @Before
+    public void setUp() {
+
+        token = AuthTokenHelperImpl.forSharedSecret("suzfgsuzdfgadsjfjfaksgfkadfgduzsafdsfsaf", 60)
+                .createToken("userA", new AuthoritiesImpl());
+        connectHandler = new AtomicReference<>();
+        factory = mock(ConnectionFactory.class);
+        doAnswer(invocation -> {
+            connectHandler.set(invocation.getArgument(5));
+            return null;
+        }).when(factory).connect(any(), anyString(), anyString(), any(), any(), any(Handler.class));
+
+        final Vertx vertx = mock(Vertx.class);
+        service = new DelegatingAuthenticationService();
+        service.init(vertx, mock(Context.class));
+        service.setConfig(new AuthenticationServerClientConfigProperties());
+        service.setConnectionFactory(factory);
+        final Future<Void> startup = Future.future();
+        service.doStart(startup);
+        assertTrue(startup.succeeded());
+    }
+
+    /**
+     * Verifies that concurrent requests for the same credentials result in a single
+     * request to the Authentication server and that the retrieved token is cached.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testVerifyPlainCoalescesRequestsAndCachesToken() {
+
+        final Future<HonoUser> first = Future.future();
+        final Future<HonoUser> second = Future.future();
+        service.verifyPlain(null, "user", "pwd", first.completer());
+        service.verifyPlain(null, "user", "pwd", second.completer());
+        verify(factory, times(1)).connect(any(), eq("user"), eq("pwd"), any(), any(), any(Handler.class));
+
+        // WHEN the Authentication server issues a token
+        connectHandler.get().handle(Future.succeededFuture(newConnectionIssuingToken(token)));
+
+        // THEN both requests succeed
+        assertTrue(first.succeeded());
+        assertTrue(second.succeeded());
+        assertEquals(token, first.result().getToken());
+        assertEquals(token, second.result().getToken());
+
+        // and the token is served from the cache for subsequent requests
+        final Future<HonoUser> third = Future.future();
+        service.verifyPlain(null, "user", "pwd", third.completer());
+        assertTrue(third.succeeded());
+        assertEquals(token, third.result().getToken());
+        verify(factory, times(1)).connect(any(), eq("user"), eq("pwd"), any(), any(), any(Handler.class));
+    }
+
+    /**
+     * Verifies that failed authentication attempts are not cached.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testVerifyPlainDoesNotCacheFailures() {
+
+        final Future<HonoUser> first = Future.future();
+        service.verifyPlain(null, "user", "wrong", first.completer());
+        connectHandler.get().handle(Future.failedFuture("unauthorized"));
+        assertTrue(first.failed());
+
+        final Future<HonoUser> second = Future.future();
+        service.verifyPlain(null, "user", "wrong", second.completer());
+        verify(factory, times(2)).connect(any(), eq("user"), eq("wrong"), any(), any(), any(Handler.class));
+    }
+
+    /**
+     * Verifies that the cache key depends on all fields of the credentials.
+     */
+    @Test
+    public void testGetCacheKeyDistinguishesFields() {
+
+        final String key = DelegatingAuthenticationService.getCacheKey(AuthenticationConstants.MECHANISM_PLAIN, null, "ab", "c");
+        assertEquals(key, DelegatingAuthenticationService.getCacheKey(AuthenticationConstants.MECHANISM_PLAIN, null, "ab", "c"));
+        assertNotEquals(key, DelegatingAuthenticationService.getCacheKey(AuthenticationConstants.MECHANISM_PLAIN, null, "a", "bc"));
+        assertNotEquals(key, DelegatingAuthenticationService.getCacheKey(AuthenticationConstants.MECHANISM_EXTERNAL, null, "ab", "c"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ProtonConnection newConnectionIssuingToken(final String token) {
+
+        final Message message = mock(Message.class);
+        when(message.getApplicationProperties()).thenReturn(
+                new ApplicationProperties(
+                        Collections.singletonMap(
+                                AuthenticationConstants.APPLICATION_PROPERTY_TYPE,
+                                AuthenticationConstants.TYPE_AMQP_JWT)));
+        when(message.getBody()).thenReturn(new AmqpValue(token));
+
+        final ProtonReceiver receiver = mock(ProtonReceiver.class);
+        final AtomicReference<ProtonMessageHandler> messageHandler = new AtomicReference<>();
+        final AtomicReference<Handler<AsyncResult<ProtonReceiver>>> openHandler = new AtomicReference<>();
+        when(receiver.handler(any(ProtonMessageHandler.class))).thenAnswer(invocation -> {
+            messageHandler.set(invocation.getArgument(0));
+            return receiver;
+        });
+        when(receiver.openHandler(any(Handler.class))).thenAnswer(invocation -> {
+            openHandler.set(invocation.getArgument(0));
+            return receiver;
+        });
+        when(receiver.open()).thenAnswer(invocation -> {
+            openHandler.get().handle(Future.succeededFuture(receiver));
+            messageHandler.get().handle(mock(ProtonDelivery.class), message);
+            return receiver;
+        });
+
+        final ProtonConnection con = mock(ProtonConnection.class);
+        when(con.createReceiver(AuthenticationConstants.ENDPOINT_NAME_AUTHENTICATION)).thenReturn(receiver);
+        return con;
+    }
+}
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.service.cache;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.net.HttpURLConnection;
+import java.time.Instant;
+
+import javax.security.auth.x500.X500Principal;
+
+import org.eclipse.hono.cache.BasicExpiringValue;
+import org.eclipse.hono.util.CacheDirective;
+import org.eclipse.hono.util.RegistrationResult;
+import org.eclipse.hono.util.TenantConstants.TenantAction;
+import org.eclipse.hono.util.TenantObject;
+import org.eclipse.hono.util.TenantResult;
+import org.eclipse.hono.util.TriTuple;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.guava.GuavaCacheManager;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Tests verifying behavior of {@link CacheSnapshot}.
+ *
+ */
+public class CacheSnapshotTest {
+
+    /**
+     * A folder for the snapshot files.
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Verifies that responses which have not expired yet are restored from a snapshot
+     * written by another instance.
+     *
+     * @throws Exception if the snapshot file cannot be created.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testAttachRestoresSavedResponses() throws Exception {
+
+        final String path = new File(folder.getRoot(), "cache.snapshot").getAbsolutePath();
+        final Instant expiration = Instant.now().plusSeconds(60);
+
+        // GIVEN a cache manager containing a registration assertion, a tenant and an expired response
+        final CacheSnapshot snapshot = new CacheSnapshot(path);
+        final GuavaCacheManager manager = new GuavaCacheManager();
+        snapshot.attach(manager);
+        final Cache registrations = manager.getCache("registration/tenant");
+        final TriTuple<String, String, String> assertKey = TriTuple.of("assert", "device", null);
+        registrations.put(assertKey, new BasicExpiringValue<>(
+                RegistrationResult.from(HttpURLConnection.HTTP_OK, new JsonObject().put("assertion", "token"),
+                        CacheDirective.maxAgeDirective(60)),
+                expiration));
+        registrations.put(TriTuple.of("assert", "expired-device", null), new BasicExpiringValue<>(
+                RegistrationResult.from(HttpURLConnection.HTTP_OK, new JsonObject()),
+                Instant.now().minusSeconds(1)));
+        final Cache tenants = manager.getCache("tenant");
+        final X500Principal subjectDn = new X500Principal("CN=ca,O=Eclipse");
+        final TriTuple<TenantAction, X500Principal, Object> tenantKey = TriTuple.of(TenantAction.get, subjectDn, null);
+        tenants.put(tenantKey, new BasicExpiringValue<>(
+                TenantResult.from(HttpURLConnection.HTTP_OK, TenantObject.from("tenant", true)),
+                expiration));
+
+        // WHEN the snapshot is saved
+        assertThat(snapshot.save(), is(2));
+
+        // THEN the responses that have not expired are restored into the caches
+        // of another instance
+        final GuavaCacheManager restoredManager = new GuavaCacheManager();
+        assertThat(new CacheSnapshot(path).attach(restoredManager), is(2));
+
+        final BasicExpiringValue<RegistrationResult> registration = restoredManager
+                .getCache("registration/tenant").get(assertKey, BasicExpiringValue.class);
+        assertThat(registration.getExpirationTime().toEpochMilli(), is(expiration.toEpochMilli()));
+        assertThat(registration.getValue().getStatus(), is(HttpURLConnection.HTTP_OK));
+        assertThat(registration.getValue().getPayload().getString("assertion"), is("token"));
+        assertThat(registration.getValue().getCacheDirective().getMaxAge(), is(60L));
+        assertNull(restoredManager.getCache("registration/tenant")
+                .get(TriTuple.of("assert", "expired-device", null)));
+
+        final BasicExpiringValue<TenantResult<TenantObject>> tenant = restoredManager
+                .getCache("tenant").get(TriTuple.of(TenantAction.get, new X500Principal("CN=ca,O=Eclipse"), null),
+                        BasicExpiringValue.class);
+        assertThat(tenant.getValue().getPayload(), instanceOf(TenantObject.class));
+        assertThat(tenant.getValue().getPayload().getTenantId(), is("tenant"));
+    }
+
+    /**
+     * Verifies that a missing snapshot file does not prevent caches from being used.
+     */
+    @Test
+    public void testAttachSucceedsForMissingSnapshot() {
+
+        final CacheSnapshot snapshot = new CacheSnapshot(new File(folder.getRoot(), "missing").getAbsolutePath());
+        assertThat(snapshot.attach(new GuavaCacheManager()), is(0));
+    }
+}
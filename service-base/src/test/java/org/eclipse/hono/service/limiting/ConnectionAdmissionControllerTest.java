@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.service.limiting;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.hono.service.limiting.ConnectionAdmissionController.Admission;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Verifies behavior of {@link ConnectionAdmissionController}.
+ *
+ */
+public class ConnectionAdmissionControllerTest {
+
+    private ConnectionAdmissionController controller;
+
+    /**
+     * Sets up the fixture.
+     */
+    @Before
+    public void setUp() {
+        controller = new ConnectionAdmissionController();
+    }
+
+    /**
+     * Verifies that connections are not limited by default.
+     */
+    @Test
+    public void testTryAdmitSucceedsWithoutLimits() {
+
+        for (int i = 0; i < 100; i++) {
+            final Admission admission = controller.tryAdmit();
+            assertNotNull(admission);
+            assertTrue(admission.tryStartAuthentication());
+            assertTrue(admission.tryAssignTenant("tenant"));
+        }
+        assertEquals(100, controller.getConnections());
+        assertEquals(100, controller.getConnections("tenant"));
+    }
+
+    /**
+     * Verifies that connections are rejected once the maximum number of connections
+     * has been reached and that releasing an admission frees its slot exactly once.
+     */
+    @Test
+    public void testTryAdmitEnforcesMaxConnections() {
+
+        controller.setLimits(2, 0, 0, 0);
+        final Admission first = controller.tryAdmit();
+        assertNotNull(first);
+        assertNotNull(controller.tryAdmit());
+        assertNull(controller.tryAdmit());
+
+        first.release();
+        first.release();
+        assertEquals(1, controller.getConnections());
+        assertNotNull(controller.tryAdmit());
+        assertNull(controller.tryAdmit());
+    }
+
+    /**
+     * Verifies that connections are rejected once the accept rate has been exceeded.
+     */
+    @Test
+    public void testTryAdmitEnforcesAcceptRate() {
+
+        controller.setLimits(0, 0, 5, 0);
+        for (int i = 0; i < 5; i++) {
+            assertNotNull(controller.tryAdmit());
+        }
+        assertNull(controller.tryAdmit());
+    }
+
+    /**
+     * Verifies that the number of connections per tenant is limited and that the
+     * tenant's slot is released along with the admission.
+     */
+    @Test
+    public void testTryAssignTenantEnforcesMaxConnectionsPerTenant() {
+
+        controller.setLimits(0, 1, 0, 0);
+        final Admission first = controller.tryAdmit();
+        final Admission second = controller.tryAdmit();
+        assertTrue(first.tryAssignTenant("tenant"));
+        assertFalse(second.tryAssignTenant("tenant"));
+        assertTrue(second.tryAssignTenant("other-tenant"));
+
+        first.release();
+        assertEquals(0, controller.getConnections("tenant"));
+        assertTrue(controller.tryAdmit().tryAssignTenant("tenant"));
+    }
+
+    /**
+     * Verifies that the number of concurrent authentications is limited.
+     */
+    @Test
+    public void testTryStartAuthenticationEnforcesMaxConcurrentAuthentications() {
+
+        controller.setLimits(0, 0, 0, 1);
+        final Admission first = controller.tryAdmit();
+        final Admission second = controller.tryAdmit();
+        assertTrue(first.tryStartAuthentication());
+        assertFalse(second.tryStartAuthentication());
+
+        first.authenticationFinished();
+        assertTrue(second.tryStartAuthentication());
+        second.release();
+        assertTrue(first.tryStartAuthentication());
+    }
+}
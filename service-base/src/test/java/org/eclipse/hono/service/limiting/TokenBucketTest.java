@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.service.limiting;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Verifies behavior of {@link TokenBucket}.
+ *
+ */
+public class TokenBucketTest {
+
+    private AtomicLong now;
+
+    /**
+     * Sets up the fixture.
+     */
+    @Before
+    public void setUp() {
+        now = new AtomicLong(-TimeUnit.SECONDS.toNanos(5));
+    }
+
+    /**
+     * Verifies that a new bucket allows for a burst of <em>rate</em> tokens
+     * and is refilled over time.
+     */
+    @Test
+    public void testTryAcquireLimitsRate() {
+
+        final TokenBucket bucket = new TokenBucket(10, now::get);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(bucket.tryAcquire(1));
+        }
+        assertFalse(bucket.tryAcquire(1));
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue(bucket.tryAcquire(1));
+        assertFalse(bucket.tryAcquire(1));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        for (int i = 0; i < 10; i++) {
+            assertTrue(bucket.tryAcquire(1));
+        }
+        assertFalse(bucket.tryAcquire(1));
+    }
+
+    /**
+     * Verifies that a request for more tokens than the bucket can hold succeeds
+     * only if the bucket is full and that the surplus needs to be refilled
+     * before tokens can be taken again.
+     */
+    @Test
+    public void testTryAcquireAllowsOversizedRequestIfFull() {
+
+        final TokenBucket bucket = new TokenBucket(100, now::get);
+        assertTrue(bucket.tryAcquire(300));
+        assertFalse(bucket.tryAcquire(1));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertFalse(bucket.tryAcquire(1));
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+        assertTrue(bucket.tryAcquire(1));
+        assertFalse(bucket.tryAcquire(300));
+    }
+}
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.service.metric;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Verifies behavior of {@link MeterCache}.
+ *
+ */
+public class MeterCacheTest {
+
+    /**
+     * Verifies that meters are resolved only once per key and type.
+     */
+    @Test
+    public void testGetResolvesMeterOnce() {
+
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        final AtomicInteger resolved = new AtomicInteger();
+        final MeterCache<Counter> cache = new MeterCache<>((tenant, type) -> {
+            resolved.incrementAndGet();
+            return registry.counter("test", Tags.of("tenant", tenant).and("type", type));
+        });
+
+        final Counter counter = cache.get("tenant", "telemetry");
+        assertSame(counter, cache.get("tenant", "telemetry"));
+        assertNotSame(counter, cache.get("tenant", "event"));
+        assertNotSame(counter, cache.get("other", "telemetry"));
+        assertEquals(3, resolved.get());
+    }
+
+    /**
+     * Verifies that the meters of keys that have not been used for longer than
+     * the idle timeout are removed from the cache.
+     */
+    @Test
+    public void testGetRemovesIdleKeys() {
+
+        final AtomicLong now = new AtomicLong();
+        final AtomicInteger resolved = new AtomicInteger();
+        final MeterCache<Integer> cache = new MeterCache<>(
+                (tenant, type) -> resolved.incrementAndGet(),
+                Duration.ofNanos(100),
+                now::get);
+
+        cache.get("idle");
+        cache.get("active");
+        now.set(60);
+        cache.get("active");
+        now.set(120);
+        cache.get("active");
+
+        assertEquals(1, cache.size());
+        assertEquals(2, resolved.get());
+        cache.get("idle");
+        assertEquals(3, resolved.get());
+    }
+}
@@ -29,6 +29,7 @@ public class AuthenticationServerConfigProperties {
     private static final Resource DEFAULT_PERMISSIONS_RESOURCE = new ClassPathResource("permissions.json");
     private final SignatureSupportingConfigProperties signing = new SignatureSupportingConfigProperties();
     private Resource permissionsResource = DEFAULT_PERMISSIONS_RESOURCE;
+    private long permissionsReloadInterval = 0L;
 
     /**
      * Gets the properties for determining key material for creating tokens.
@@ -70,4 +71,38 @@ public class AuthenticationServerConfigProperties {
     public final void setPermissionsPath(final Resource permissionsResource) {
         this.permissionsResource = Objects.requireNonNull(permissionsResource);
     }
+
+    /**
+     * Gets the interval at which the permissions resource is checked for modifications.
+     * <p>
+     * If the resource has been modified since it has last been loaded, the users
+     * and roles are re-loaded from the resource.
+     * <p>
+     * The default value of this property is 0 which means that permissions
+     * are loaded at startup only.
+     * 
+     * @return The interval in seconds.
+     */
+    public final long getPermissionsReloadInterval() {
+        return permissionsReloadInterval;
+    }
+
+    /**
+     * Sets the interval at which the permissions resource is checked for modifications.
+     * <p>
+     * If the resource has been modified since it has last been loaded, the users
+     * and roles are re-loaded from the resource.
+     * <p>
+     * The default value of this property is 0 which means that permissions
+     * are loaded at startup only.
+     * 
+     * @param seconds The interval in seconds.
+     * @throws IllegalArgumentException if the interval is negative.
+     */
+    public final void setPermissionsReloadInterval(final long seconds) {
+        if (seconds < 0) {
+            throw new IllegalArgumentException("reload interval must not be negative");
+        }
+        this.permissionsReloadInterval = seconds;
+    }
 }
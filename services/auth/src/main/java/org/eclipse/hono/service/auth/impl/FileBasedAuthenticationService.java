@@ -18,8 +18,12 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -46,6 +50,14 @@ import io.vertx.core.json.JsonObject;
 
 /**
  * An authentication service based on authorities read from a JSON file.
+ * <p>
+ * The users defined in the file are materialized into immutable objects containing the
+ * user's effective authorities and a digest of the user's password when the file is loaded.
+ * The file can optionally be re-loaded periodically, see
+ * {@link AuthenticationServerConfigProperties#getPermissionsReloadInterval()}.
+ * <p>
+ * Tokens created for a user are cached and re-used for subsequent authentications of the
+ * same identity until less than a tenth of the token's lifetime remains.
  */
 @Service
 @Profile("authentication-impl")
@@ -58,10 +70,14 @@ public final class FileBasedAuthenticationService extends AbstractHonoAuthentica
     private static final String FIELD_ACTIVITIES = "activities";
     private static final String FIELD_AUTHORITIES = "authorities";
     private static final String FIELD_MECHANISM = "mechanism";
+    private static final String FIELD_PASSWORD = "password";
+    private static final String ROLE_HONO_COMPONENT = "hono-component";
 
-    private static final Map<String, Authorities> roles = new HashMap<>();
-    private static final Map<String, JsonObject> users = new HashMap<>();
+    private Map<String, User> users = Collections.emptyMap();
+    private final Map<String, HonoUser> tokens = new HashMap<>();
     private AuthTokenHelper tokenFactory;
+    private long permissionsLastModified = -1;
+    private long reloadTimerId = -1;
 
     @Autowired
     @Override
@@ -88,6 +104,11 @@ public final class FileBasedAuthenticationService extends AbstractHonoAuthentica
         } else {
             try {
                 loadPermissions();
+                if (getConfig().getPermissionsReloadInterval() > 0) {
+                    reloadTimerId = vertx.setPeriodic(
+                            getConfig().getPermissionsReloadInterval() * 1000L,
+                            tid -> reloadPermissionsIfModified());
+                }
                 startFuture.complete();
             } catch (final IOException e) {
                 log.error("cannot load permissions from resource {}", getConfig().getPermissionsPath(), e);
@@ -96,6 +117,15 @@ public final class FileBasedAuthenticationService extends AbstractHonoAuthentica
         }
     }
 
+    @Override
+    protected void doStop(final Future<Void> stopFuture) {
+        if (reloadTimerId >= 0) {
+            vertx.cancelTimer(reloadTimerId);
+            reloadTimerId = -1;
+        }
+        stopFuture.complete();
+    }
+
     /**
      * Loads permissions from <em>permissionsPath</em>.
      * 
@@ -108,14 +138,57 @@ public final class FileBasedAuthenticationService extends AbstractHonoAuthentica
         }
         if (getConfig().getPermissionsPath().isReadable()) {
             log.info("loading permissions from resource {}", getConfig().getPermissionsPath().getURI().toString());
+            final long lastModified = getLastModified(getConfig().getPermissionsPath());
             final StringBuilder json = new StringBuilder();
             load(getConfig().getPermissionsPath(), json);
-            parsePermissions(new JsonObject(json.toString()));
+            users = parsePermissions(new JsonObject(json.toString()));
+            permissionsLastModified = lastModified;
+            tokens.clear();
         } else {
             throw new FileNotFoundException("permissions resource does not exist");
         }
     }
 
+    private void reloadPermissionsIfModified() {
+
+        final long currentLastModified = permissionsLastModified;
+        vertx.<LoadedPermissions> executeBlocking(blockingCode -> {
+            final Resource resource = getConfig().getPermissionsPath();
+            try {
+                final long lastModified = getLastModified(resource);
+                if (lastModified < 0 || lastModified == currentLastModified) {
+                    blockingCode.complete();
+                } else {
+                    log.info("re-loading permissions from modified resource {}", resource.getURI().toString());
+                    final StringBuilder json = new StringBuilder();
+                    load(resource, json);
+                    blockingCode.complete(new LoadedPermissions(
+                            parsePermissions(new JsonObject(json.toString())), lastModified));
+                }
+            } catch (final IOException | RuntimeException e) {
+                blockingCode.fail(e);
+            }
+        }, reload -> {
+            if (reload.failed()) {
+                // the timestamp is not recorded, so the resource is read again on the next check
+                log.warn("cannot re-load permissions, keeping current permissions", reload.cause());
+            } else if (reload.result() != null) {
+                users = reload.result().users;
+                permissionsLastModified = reload.result().lastModified;
+                tokens.clear();
+            }
+        });
+    }
+
+    private static long getLastModified(final Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (final IOException e) {
+            // resource is not backed by a file
+            return -1;
+        }
+    }
+
     private void load(final Resource source, final StringBuilder target) throws IOException {
 
         final char[] buffer = new char[4096];
@@ -127,14 +200,15 @@ public final class FileBasedAuthenticationService extends AbstractHonoAuthentica
         }
     }
 
-    private void parsePermissions(final JsonObject permissionsObject) {
+    private Map<String, User> parsePermissions(final JsonObject permissionsObject) {
 
         Objects.requireNonNull(permissionsObject);
-        parseRoles(permissionsObject.getJsonObject(FIELD_ROLES, new JsonObject()));
-        parseUsers(permissionsObject.getJsonObject(FIELD_USERS, new JsonObject()));
+        final Map<String, Authorities> roles = parseRoles(permissionsObject.getJsonObject(FIELD_ROLES, new JsonObject()));
+        return parseUsers(permissionsObject.getJsonObject(FIELD_USERS, new JsonObject()), roles);
     }
 
-    private void parseRoles(final JsonObject rolesObject) {
+    private Map<String, Authorities> parseRoles(final JsonObject rolesObject) {
+        final Map<String, Authorities> roles = new HashMap<>();
         rolesObject.stream().filter(entry -> entry.getValue() instanceof JsonArray)
             .forEach(entry -> {
                 final String roleName = entry.getKey();
@@ -142,30 +216,37 @@ public final class FileBasedAuthenticationService extends AbstractHonoAuthentica
                 log.debug("adding role [{}] with {} authorities", roleName, authSpecs.size());
                 roles.put(roleName, toAuthorities(authSpecs));
             });
+        return roles;
     }
 
-    private void parseUsers(final JsonObject usersObject) {
+    private Map<String, User> parseUsers(final JsonObject usersObject, final Map<String, Authorities> roles) {
+        final Map<String, User> result = new HashMap<>();
         usersObject.stream().filter(entry -> entry.getValue() instanceof JsonObject)
             .forEach(entry -> {
                 final String authenticationId = entry.getKey();
                 final JsonObject userSpec = (JsonObject) entry.getValue();
                 log.debug("adding user [{}]", authenticationId);
-                users.put(authenticationId, userSpec);
+                result.put(authenticationId, new User(
+                        userSpec.getString(FIELD_MECHANISM),
+                        userSpec.getString(FIELD_PASSWORD),
+                        getAuthorities(userSpec, roles),
+                        hasAuthority(userSpec, ROLE_HONO_COMPONENT)));
             });
+        return Collections.unmodifiableMap(result);
     }
 
-    private JsonObject getUser(final String authenticationId, final String mechanism) {
-        final JsonObject result = users.get(authenticationId);
-        if (result != null && mechanism.equals(result.getString(FIELD_MECHANISM))) {
+    private User getUser(final String authenticationId, final String mechanism) {
+        final User result = users.get(authenticationId);
+        if (result != null && mechanism.equals(result.mechanism)) {
             return result;
         } else {
             return null;
         }
     }
 
-    private Authorities getAuthorities(final JsonObject user) {
+    private static Authorities getAuthorities(final JsonObject user, final Map<String, Authorities> roles) {
         final AuthoritiesImpl result = new AuthoritiesImpl();
-        user.getJsonArray(FIELD_AUTHORITIES).forEach(obj -> {
+        user.getJsonArray(FIELD_AUTHORITIES, new JsonArray()).forEach(obj -> {
             final String authority = (String) obj;
             final Authorities roleAuthorities = roles.get(authority);
             if (roleAuthorities != null) {
@@ -208,14 +289,10 @@ public final class FileBasedAuthenticationService extends AbstractHonoAuthentica
         return result;
     }
 
-    private boolean hasAuthority(final JsonObject user, final String role) {
+    private static boolean hasAuthority(final JsonObject user, final String role) {
         return user.getJsonArray(FIELD_AUTHORITIES, new JsonArray()).contains(role);
     }
 
-    private boolean isAuthorizedToImpersonate(final JsonObject user) {
-        return hasAuthority(user, "hono-component");
-    }
-
     @Override
     public void verifyPlain(final String authzid, final String username, final String password,
             final Handler<AsyncResult<HonoUser>> authenticationResultHandler) {
@@ -225,11 +302,11 @@ public final class FileBasedAuthenticationService extends AbstractHonoAuthentica
         } else if (password == null || password.isEmpty()) {
             authenticationResultHandler.handle(Future.failedFuture("missing password"));
         } else {
-            final JsonObject user = getUser(username, AuthenticationConstants.MECHANISM_PLAIN);
+            final User user = getUser(username, AuthenticationConstants.MECHANISM_PLAIN);
             if (user == null) {
                 log.debug("no such user [{}]", username);
                 authenticationResultHandler.handle(Future.failedFuture("unauthorized"));
-            } else if (password.equals(user.getString("password"))) {
+            } else if (user.hasPassword(password)) {
                 verify(username, user, authzid, authenticationResultHandler);
             } else {
                 log.debug("password mismatch");
@@ -248,7 +325,7 @@ public final class FileBasedAuthenticationService extends AbstractHonoAuthentica
             if (commonName == null) {
                 authenticationResultHandler.handle(Future.failedFuture("could not determine authorization ID for subject DN"));
             } else {
-                final JsonObject user = getUser(commonName, AuthenticationConstants.MECHANISM_EXTERNAL);
+                final User user = getUser(commonName, AuthenticationConstants.MECHANISM_EXTERNAL);
                 if (user == null) {
                     authenticationResultHandler.handle(Future.failedFuture("unauthorized"));
                 } else {
@@ -258,12 +335,12 @@ public final class FileBasedAuthenticationService extends AbstractHonoAuthentica
         }
     }
 
-    private void verify(final String authenticationId, final JsonObject user, final String authorizationId, final Handler<AsyncResult<HonoUser>> authenticationResultHandler) {
+    private void verify(final String authenticationId, final User user, final String authorizationId, final Handler<AsyncResult<HonoUser>> authenticationResultHandler) {
 
-        JsonObject effectiveUser = user;
+        User effectiveUser = user;
         String effectiveAuthorizationId = authenticationId;
-        if (authorizationId != null && !authorizationId.isEmpty() && isAuthorizedToImpersonate(user)) {
-            final JsonObject impersonatedUser = users.get(authorizationId);
+        if (authorizationId != null && !authorizationId.isEmpty() && user.authorizedToImpersonate) {
+            final User impersonatedUser = users.get(authorizationId);
             if (impersonatedUser != null) {
                 effectiveUser = impersonatedUser;
                 effectiveAuthorizationId = authorizationId;
@@ -272,9 +349,27 @@ public final class FileBasedAuthenticationService extends AbstractHonoAuthentica
                 log.debug("no user found for authorization id provided by client, granting authentication id instead");
             }
         }
-        final Authorities grantedAuthorities = getAuthorities(effectiveUser);
-        final String grantedAuthorizationId = effectiveAuthorizationId;
-        final Instant tokenExpirationTime = Instant.now().plus(tokenFactory.getTokenLifetime());
+        authenticationResultHandler.handle(Future.succeededFuture(getHonoUser(effectiveAuthorizationId, effectiveUser)));
+    }
+
+    /**
+     * Gets a cached token for an identity or creates a new one.
+     * 
+     * @param grantedAuthorizationId The identity to create the token for.
+     * @param user The user that the identity refers to.
+     * @return The user representing the identity.
+     */
+    private HonoUser getHonoUser(final String grantedAuthorizationId, final User user) {
+
+        final Duration tokenLifetime = tokenFactory.getTokenLifetime();
+        final HonoUser cachedUser = tokens.get(grantedAuthorizationId);
+        if (cachedUser != null && Instant.now().plus(tokenLifetime.dividedBy(10)).isBefore(cachedUser.getExpirationTime())) {
+            log.trace("re-using token for [{}]", grantedAuthorizationId);
+            return cachedUser;
+        }
+
+        final Authorities grantedAuthorities = user.authorities;
+        final Instant tokenExpirationTime = Instant.now().plus(tokenLifetime);
         final String token = tokenFactory.createToken(grantedAuthorizationId, grantedAuthorities);
         final HonoUser honoUser = new HonoUser() {
 
@@ -303,6 +398,61 @@ public final class FileBasedAuthenticationService extends AbstractHonoAuthentica
                 return tokenExpirationTime;
             }
         };
-        authenticationResultHandler.handle(Future.succeededFuture(honoUser));
+        tokens.put(grantedAuthorizationId, honoUser);
+        return honoUser;
+    }
+
+    private static byte[] digest(final String password) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(password.getBytes(UTF_8));
+        } catch (final NoSuchAlgorithmException e) {
+            // every JVM is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * An immutable user as defined in the permissions file.
+     */
+    private static final class User {
+
+        private final String mechanism;
+        private final byte[] passwordHash;
+        private final Authorities authorities;
+        private final boolean authorizedToImpersonate;
+
+        User(final String mechanism, final String password, final Authorities authorities, final boolean authorizedToImpersonate) {
+            this.mechanism = mechanism;
+            this.passwordHash = password == null ? null : digest(password);
+            this.authorities = authorities;
+            this.authorizedToImpersonate = authorizedToImpersonate;
+        }
+
+        /**
+         * Checks if a password matches this user's password.
+         * <p>
+         * The comparison is done in constant time.
+         * 
+         * @param password The password to check.
+         * @return {@code true} if the password matches.
+         */
+        boolean hasPassword(final String password) {
+            return passwordHash != null && MessageDigest.isEqual(passwordHash, digest(password));
+        }
+    }
+
+    /**
+     * The permissions parsed from a resource along with the time of the
+     * resource's last modification.
+     */
+    private static final class LoadedPermissions {
+
+        private final Map<String, User> users;
+        private final long lastModified;
+
+        LoadedPermissions(final Map<String, User> users, final long lastModified) {
+            this.users = users;
+            this.lastModified = lastModified;
+        }
     }
 }
@@ -18,11 +18,17 @@ import static org.junit.Assert.*;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.time.Duration;
 
+import org.eclipse.hono.auth.Activity;
 import org.eclipse.hono.auth.Authorities;
 import org.eclipse.hono.service.auth.AuthTokenHelper;
 import org.eclipse.hono.util.ResourceIdentifier;
@@ -30,7 +36,10 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
 
+import io.vertx.core.Vertx;
+import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
 
@@ -53,9 +62,7 @@ public class FileBasedAuthenticationServiceTest {
     @BeforeClass
     public static void loadPermissions() throws IOException {
 
-        final AuthTokenHelper tokenFactory = mock(AuthTokenHelper.class);
-        when(tokenFactory.createToken(anyString(), any(Authorities.class))).thenReturn(TOKEN);
-        when(tokenFactory.getTokenLifetime()).thenReturn(TOKEN_LIFETIME);
+        final AuthTokenHelper tokenFactory = newTokenFactory();
 
         final AuthenticationServerConfigProperties props = new AuthenticationServerConfigProperties();
         props.setPermissionsPath(new ClassPathResource("authentication-service-test-permissions.json"));
@@ -239,4 +246,201 @@ public class FileBasedAuthenticationServiceTest {
             assertTrue(res.getAuthorities().isAuthorized(registration, "add"));
         }));
     }
+
+    /**
+     * Verifies that the service re-uses a token it has created for an identity
+     * on subsequent authentications of the same identity.
+     * 
+     * @param ctx The vert.x test context.
+     * @throws IOException if the permissions cannot be loaded.
+     */
+    @Test
+    public void testVerifyPlainReusesToken(final TestContext ctx) throws IOException {
+
+        final AuthTokenHelper tokenFactory = newTokenFactory();
+        final AuthenticationServerConfigProperties props = new AuthenticationServerConfigProperties();
+        props.setPermissionsPath(new ClassPathResource("authentication-service-test-permissions.json"));
+        final FileBasedAuthenticationService service = new FileBasedAuthenticationService();
+        service.setConfig(props);
+        service.setTokenFactory(tokenFactory);
+        service.loadPermissions();
+
+        service.verifyPlain(null, "hono-client@HONO", "secret", ctx.asyncAssertSuccess(first -> {
+            service.verifyPlain(null, "hono-client@HONO", "secret", ctx.asyncAssertSuccess(second -> {
+                assertThat(second.getToken(), is(TOKEN));
+                verify(tokenFactory, times(1)).createToken(anyString(), any(Authorities.class));
+            }));
+        }));
+    }
+
+    /**
+     * Verifies that the service uses the users defined in the permissions file
+     * after the file has been re-loaded.
+     * 
+     * @param ctx The vert.x test context.
+     * @throws IOException if the permissions cannot be loaded.
+     */
+    @Test
+    public void testLoadPermissionsReplacesUsers(final TestContext ctx) throws IOException {
+
+        final File permissionsFile = File.createTempFile("permissions", ".json");
+        permissionsFile.deleteOnExit();
+        writePermissions(permissionsFile, "userA", "secret");
+
+        final AuthenticationServerConfigProperties props = new AuthenticationServerConfigProperties();
+        props.setPermissionsPath(new FileSystemResource(permissionsFile));
+        final FileBasedAuthenticationService service = new FileBasedAuthenticationService();
+        service.setConfig(props);
+        service.setTokenFactory(newTokenFactory());
+        service.loadPermissions();
+        service.verifyPlain(null, "userA", "secret", ctx.asyncAssertSuccess());
+
+        writePermissions(permissionsFile, "userB", "secret");
+        service.loadPermissions();
+        service.verifyPlain(null, "userA", "secret", ctx.asyncAssertFailure());
+        service.verifyPlain(null, "userB", "secret", ctx.asyncAssertSuccess());
+    }
+
+    /**
+     * Verifies that the service periodically re-loads the permissions file once it
+     * has been modified and that the next authentication uses the new authorities
+     * instead of a token that has been cached for the old authorities.
+     *
+     * @param ctx The vert.x test context.
+     * @throws IOException if the permissions file cannot be written.
+     */
+    @Test
+    public void testPeriodicReloadUsesModifiedAuthorities(final TestContext ctx) throws IOException {
+
+        final File permissionsFile = File.createTempFile("permissions", ".json");
+        permissionsFile.deleteOnExit();
+        writePermissions(permissionsFile, "userA", "secret", "telemetry/*");
+
+        final AuthTokenHelper tokenFactory = newTokenFactory();
+        final AuthenticationServerConfigProperties props = new AuthenticationServerConfigProperties();
+        props.setPermissionsPath(new FileSystemResource(permissionsFile));
+        props.setPermissionsReloadInterval(1);
+        final FileBasedAuthenticationService service = new FileBasedAuthenticationService();
+        service.setConfig(props);
+        service.setTokenFactory(tokenFactory);
+
+        final ResourceIdentifier telemetry = ResourceIdentifier.fromString("telemetry/tenant");
+        final ResourceIdentifier event = ResourceIdentifier.fromString("event/tenant");
+        final Vertx vertx = Vertx.vertx();
+
+        // GIVEN a started service which has issued a token for a user
+        final Async startup = ctx.async();
+        vertx.deployVerticle(service, ctx.asyncAssertSuccess(ok -> startup.complete()));
+        startup.await();
+        final Async authenticated = ctx.async();
+        service.verifyPlain(null, "userA", "secret", ctx.asyncAssertSuccess(user -> {
+            ctx.assertTrue(user.getAuthorities().isAuthorized(telemetry, Activity.WRITE));
+            ctx.assertFalse(user.getAuthorities().isAuthorized(event, Activity.WRITE));
+            authenticated.complete();
+        }));
+        authenticated.await();
+
+        // WHEN the user's authorities are changed in the permissions file
+        writePermissions(permissionsFile, "userA", "secret", "event/*");
+        ctx.assertTrue(permissionsFile.setLastModified(permissionsFile.lastModified() + 10000));
+
+        // THEN the next authentication after the file has been re-loaded
+        // yields a new token with the new authorities
+        final Async reloaded = ctx.async();
+        final long timerId = vertx.setPeriodic(200, tid -> {
+            service.verifyPlain(null, "userA", "secret", ctx.asyncAssertSuccess(user -> {
+                if (user.getAuthorities().isAuthorized(event, Activity.WRITE) && !reloaded.isCompleted()) {
+                    ctx.assertFalse(user.getAuthorities().isAuthorized(telemetry, Activity.WRITE));
+                    verify(tokenFactory, times(2)).createToken(anyString(), any(Authorities.class));
+                    reloaded.complete();
+                }
+            }));
+        });
+        reloaded.await(3000);
+        vertx.cancelTimer(timerId);
+        vertx.close(ctx.asyncAssertSuccess());
+    }
+
+    /**
+     * Verifies that the service re-loads the permissions file if it has been
+     * modified again with the same timestamp after a previous attempt to
+     * re-load the file has failed, e.g. because the file had been read while
+     * still being written.
+     *
+     * @param ctx The vert.x test context.
+     * @throws IOException if the permissions file cannot be written.
+     */
+    @Test
+    public void testPeriodicReloadRetriesAfterFailedReload(final TestContext ctx) throws IOException {
+
+        final File permissionsFile = File.createTempFile("permissions", ".json");
+        permissionsFile.deleteOnExit();
+        writePermissions(permissionsFile, "userA", "secret", "telemetry/*");
+
+        final AuthenticationServerConfigProperties props = new AuthenticationServerConfigProperties();
+        props.setPermissionsPath(new FileSystemResource(permissionsFile));
+        props.setPermissionsReloadInterval(1);
+        final FileBasedAuthenticationService service = new FileBasedAuthenticationService();
+        service.setConfig(props);
+        service.setTokenFactory(newTokenFactory());
+
+        final ResourceIdentifier event = ResourceIdentifier.fromString("event/tenant");
+        final Vertx vertx = Vertx.vertx();
+
+        // GIVEN a started service
+        final Async startup = ctx.async();
+        vertx.deployVerticle(service, ctx.asyncAssertSuccess(ok -> startup.complete()));
+        startup.await();
+
+        // WHEN the service tries to re-load a partially written permissions file
+        final long lastModified = permissionsFile.lastModified() + 10000;
+        Files.write(permissionsFile.toPath(), "{\"roles\": {".getBytes(StandardCharsets.UTF_8));
+        ctx.assertTrue(permissionsFile.setLastModified(lastModified));
+        final Async failedReload = ctx.async();
+        vertx.setTimer(1500, tid -> failedReload.complete());
+        failedReload.await();
+
+        // AND the file is completely written with the same timestamp
+        writePermissions(permissionsFile, "userA", "secret", "event/*");
+        ctx.assertTrue(permissionsFile.setLastModified(lastModified));
+
+        // THEN the service eventually uses the new authorities
+        final Async reloaded = ctx.async();
+        final long timerId = vertx.setPeriodic(200, tid -> {
+            service.verifyPlain(null, "userA", "secret", ctx.asyncAssertSuccess(user -> {
+                if (user.getAuthorities().isAuthorized(event, Activity.WRITE) && !reloaded.isCompleted()) {
+                    reloaded.complete();
+                }
+            }));
+        });
+        reloaded.await(3000);
+        vertx.cancelTimer(timerId);
+        vertx.close(ctx.asyncAssertSuccess());
+    }
+
+        private static AuthTokenHelper newTokenFactory() {
+        final AuthTokenHelper tokenFactory = mock(AuthTokenHelper.class);
+        when(tokenFactory.createToken(anyString(), any(Authorities.class))).thenReturn(TOKEN);
+        when(tokenFactory.getTokenLifetime()).thenReturn(TOKEN_LIFETIME);
+        return tokenFactory;
+    }
+
+    private static void writePermissions(final File file, final String username, final String password) throws IOException {
+        final String permissions = String.format(
+                "{\"roles\": {}, \"users\": {\"%s\": {\"mechanism\": \"PLAIN\", \"password\": \"%s\", \"authorities\": []}}}",
+                username, password);
+        Files.write(file.toPath(), permissions.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writePermissions(
+            final File file,
+            final String username,
+            final String password,
+            final String writableResource) throws IOException {
+        final String permissions = String.format(
+                "{\"roles\": {\"role\": [{\"resource\": \"%s\", \"activities\": [\"WRITE\"]}]}, "
+                + "\"users\": {\"%s\": {\"mechanism\": \"PLAIN\", \"password\": \"%s\", \"authorities\": [\"role\"]}}}",
+                writableResource, username, password);
+        Files.write(file.toPath(), permissions.getBytes(StandardCharsets.UTF_8));
+    }
 }
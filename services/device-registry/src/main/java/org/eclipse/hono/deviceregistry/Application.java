@@ -48,6 +48,7 @@ public class Application extends AbstractApplication {
     private CredentialsService credentialsService;
     private RegistrationService registrationService;
     private TenantService tenantService;
+    private RegistryReplica registryReplica;
 
     /**
      * Sets the credentials service implementation this server is based on.
@@ -93,6 +94,19 @@ public class Application extends AbstractApplication {
         this.authenticationService = Objects.requireNonNull(authenticationService);
     }
 
+    /**
+     * Sets the component keeping this registry in sync with a primary registry.
+     * <p>
+     * The component is only available if this registry is configured as a replica.
+     *
+     * @param registryReplica The replica.
+     * @throws NullPointerException if replica is {@code null}.
+     */
+    @Autowired(required = false)
+    public final void setRegistryReplica(final RegistryReplica registryReplica) {
+        this.registryReplica = Objects.requireNonNull(registryReplica);
+    }
+
     @Override
     protected final Future<Void> deployRequiredVerticles(final int maxInstances) {
 
@@ -101,7 +115,10 @@ public class Application extends AbstractApplication {
                 deployAuthenticationService(), // we only need 1 authentication service
                 deployTenantService(),
                 deployRegistrationService(),
-                deployCredentialsService()).setHandler(ar -> {
+                deployCredentialsService())
+        // the services need to be started before the replica receives the snapshots
+        .compose(ok -> deployRegistryReplica())
+        .setHandler(ar -> {
             if (ar.succeeded()) {
                 result.complete();
             } else {
@@ -111,6 +128,17 @@ public class Application extends AbstractApplication {
         return result;
     }
 
+    private Future<String> deployRegistryReplica() {
+        final Future<String> result = Future.future();
+        if (registryReplica == null) {
+            result.complete();
+        } else {
+            log.info("Starting registry replica {}", registryReplica);
+            getVertx().deployVerticle(registryReplica, result.completer());
+        }
+        return result;
+    }
+
     private Future<String> deployCredentialsService() {
         final Future<String> result = Future.future();
         log.info("Starting credentials service {}", credentialsService);
@@ -159,6 +187,9 @@ public class Application extends AbstractApplication {
         if (HealthCheckProvider.class.isInstance(registrationService)) {
             registerHealthchecks((HealthCheckProvider) registrationService);
         }
+        if (registryReplica != null) {
+            registerHealthchecks(registryReplica);
+        }
         return Future.succeededFuture();
     }
 
@@ -18,6 +18,7 @@ import io.vertx.core.dns.AddressResolverOptions;
 import org.eclipse.hono.config.ApplicationConfigProperties;
 import org.eclipse.hono.config.ServiceConfigProperties;
 import org.eclipse.hono.config.VertxProperties;
+import org.eclipse.hono.connection.ConnectionFactory;
 import org.eclipse.hono.service.credentials.CredentialsAmqpEndpoint;
 import org.eclipse.hono.service.credentials.CredentialsHttpEndpoint;
 import org.eclipse.hono.service.metric.MetricsTags;
@@ -30,6 +31,7 @@ import org.eclipse.hono.service.tenant.TenantHttpEndpoint;
 import org.eclipse.hono.util.Constants;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.config.ObjectFactoryCreatingFactoryBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -257,6 +259,89 @@ public class ApplicationConfig {
         return new FileBasedTenantsConfigProperties();
     }
 
+    /**
+     * Gets properties for configuring the key-value store that the {@code KeyValueRegistrationService}
+     * and {@code KeyValueCredentialsService} keep their data in.
+     *
+     * @return The properties.
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "hono.registry.kv")
+    public KeyValueStoreConfigProperties keyValueStoreProperties() {
+        return new KeyValueStoreConfigProperties();
+    }
+
+    /**
+     * Creates the key-value store that registration and credentials data is kept in
+     * if the registry is configured to use the <em>kv</em> storage type.
+     *
+     * @return The store.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "hono.app.type", havingValue = "kv")
+    public KeyValueStore keyValueStore() {
+        return new FileKeyValueStore(keyValueStoreProperties());
+    }
+
+    /**
+     * Gets properties for configuring the replication of the registry's content.
+     *
+     * @return The properties.
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "hono.registry.replication")
+    public ReplicationConfigProperties replicationProperties() {
+        return new ReplicationConfigProperties();
+    }
+
+    /**
+     * Exposes the replication support used by the file based services as a Spring bean.
+     *
+     * @return The bean.
+     */
+    @Bean
+    public RegistryReplication registryReplication() {
+        return new RegistryReplication(replicationProperties());
+    }
+
+    /**
+     * Creates a new instance of the AMQP 1.0 endpoint notifying clients about changes
+     * of the registry's content.
+     *
+     * @return The endpoint.
+     */
+    @Bean
+    @Scope("prototype")
+    public NotificationAmqpEndpoint notificationAmqpEndpoint() {
+        return new NotificationAmqpEndpoint(vertx());
+    }
+
+    /**
+     * Creates a new instance of the AMQP 1.0 endpoint streaming the registry's content
+     * to replicas if this registry is configured as the <em>primary</em>.
+     *
+     * @return The endpoint.
+     */
+    @Bean
+    @Scope("prototype")
+    @ConditionalOnProperty(name = "hono.registry.replication.role", havingValue = "primary")
+    public ReplicationAmqpEndpoint replicationAmqpEndpoint() {
+        return new ReplicationAmqpEndpoint(vertx(), replicationProperties());
+    }
+
+    /**
+     * Creates the component keeping this registry in sync with the primary registry
+     * if this registry is configured as a <em>replica</em>.
+     *
+     * @return The replica.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "hono.registry.replication.role", havingValue = "replica")
+    public RegistryReplica registryReplica() {
+        return new RegistryReplica(replicationProperties(),
+                ConnectionFactory.newConnectionFactory(vertx(), replicationProperties()));
+    }
+
     /**
      * Exposes a factory for JWTs asserting a device's registration status as a Spring bean.
      *
@@ -21,12 +21,12 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.hono.service.credentials.CompleteBaseCredentialsService;
 import org.eclipse.hono.util.CacheDirective;
 import org.eclipse.hono.util.CredentialsConstants;
 import org.eclipse.hono.util.CredentialsResult;
+import org.eclipse.hono.util.EventBusMessage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
@@ -64,6 +64,8 @@ public final class FileBasedCredentialsService extends CompleteBaseCredentialsSe
     private final Map<String, Map<String, JsonArray>> credentials = new HashMap<>();
     private boolean running = false;
     private boolean dirty = false;
+    private RegistryReplication replication;
+    private boolean applyingReplicatedChange;
 
     @Autowired
     @Override
@@ -71,6 +73,17 @@ public final class FileBasedCredentialsService extends CompleteBaseCredentialsSe
         setSpecificConfig(configuration);
     }
 
+    /**
+     * Sets the replication support to use for keeping replicas in sync.
+     *
+     * @param replication The replication support.
+     * @throws NullPointerException if replication is {@code null}.
+     */
+    @Autowired(required = false)
+    public void setReplication(final RegistryReplication replication) {
+        this.replication = Objects.requireNonNull(replication);
+    }
+
     private Future<Void> checkFileExists(final boolean createIfMissing) {
 
         final Future<Void> result = Future.future();
@@ -97,6 +110,10 @@ public final class FileBasedCredentialsService extends CompleteBaseCredentialsSe
             if (!getConfig().isModificationEnabled()) {
                 log.info("modification of credentials has been disabled");
             }
+            if (replication != null) {
+                replication.register(vertx, CredentialsConstants.CREDENTIALS_ENDPOINT,
+                        this::createSnapshot, this::restoreSnapshot, this::applyReplicatedChange);
+            }
 
             if (getConfig().getFilename() == null) {
                 log.debug("credentials filename is not set, no credentials will be loaded");
@@ -198,19 +215,7 @@ public final class FileBasedCredentialsService extends CompleteBaseCredentialsSe
             return Future.succeededFuture();
         } else if (dirty) {
             return checkFileExists(true).compose(s -> {
-                final AtomicInteger idCount = new AtomicInteger();
-                final JsonArray tenants = new JsonArray();
-                for (final Entry<String, Map<String, JsonArray>> entry : credentials.entrySet()) {
-                    final JsonArray credentialsArray = new JsonArray();
-                    for (final JsonArray singleAuthIdCredentials : entry.getValue().values()) {
-                        credentialsArray.addAll(singleAuthIdCredentials.copy());
-                        idCount.incrementAndGet();
-                    }
-                    tenants.add(
-                            new JsonObject()
-                                    .put(FIELD_TENANT, entry.getKey())
-                                    .put(ARRAY_CREDENTIALS, credentialsArray));
-                }
+                final JsonArray tenants = createSnapshot();
                 final Future<Void> writeHandler = Future.future();
                 vertx.fileSystem().writeFile(
                         getConfig().getFilename(),
@@ -218,7 +223,7 @@ public final class FileBasedCredentialsService extends CompleteBaseCredentialsSe
                         writeHandler.completer());
                 return writeHandler.map(ok -> {
                     dirty = false;
-                    log.trace("successfully wrote {} credentials to file {}", idCount.get(), getConfig().getFilename());
+                    log.trace("successfully wrote credentials of {} tenants to file {}", tenants.size(), getConfig().getFilename());
                     return (Void) null;
                 }).otherwise(t -> {
                     log.warn("could not write credentials to file {}", getConfig().getFilename(), t);
@@ -231,6 +236,77 @@ public final class FileBasedCredentialsService extends CompleteBaseCredentialsSe
         }
     }
 
+    /**
+     * Gets all credentials in the format of the credentials file.
+     *
+     * @return The credentials grouped by tenant.
+     */
+    JsonArray createSnapshot() {
+
+        final JsonArray tenants = new JsonArray();
+        for (final Entry<String, Map<String, JsonArray>> entry : credentials.entrySet()) {
+            final JsonArray credentialsArray = new JsonArray();
+            for (final JsonArray singleAuthIdCredentials : entry.getValue().values()) {
+                credentialsArray.addAll(singleAuthIdCredentials.copy());
+            }
+            tenants.add(
+                    new JsonObject()
+                            .put(FIELD_TENANT, entry.getKey())
+                            .put(ARRAY_CREDENTIALS, credentialsArray));
+        }
+        return tenants;
+    }
+
+    /**
+     * Replaces all credentials.
+     *
+     * @param snapshot The credentials grouped by tenant in the format of the credentials file.
+     */
+    void restoreSnapshot(final JsonArray snapshot) {
+
+        clear();
+        int credentialsCount = 0;
+        for (final Object obj : snapshot) {
+            if (JsonObject.class.isInstance(obj)) {
+                credentialsCount += addCredentialsForTenant((JsonObject) obj);
+            }
+        }
+        log.debug("restored {} credentials from snapshot", credentialsCount);
+    }
+
+    /**
+     * Applies a change received from the primary registry.
+     * <p>
+     * The change is applied even if modification of the registry's content
+     * has been disabled.
+     *
+     * @param change The request that has modified the primary's content.
+     * @return The outcome of applying the change.
+     */
+    Future<EventBusMessage> applyReplicatedChange(final EventBusMessage change) {
+        // requests are processed synchronously, i.e. the change has been
+        // applied once processRequest returns
+        applyingReplicatedChange = true;
+        try {
+            return processRequest(change);
+        } finally {
+            applyingReplicatedChange = false;
+        }
+    }
+
+    private boolean isModificationEnabled() {
+        return applyingReplicatedChange || getConfig().isModificationEnabled();
+    }
+
+    @Override
+    protected Future<EventBusMessage> handleRequest(final EventBusMessage request) {
+        if (replication == null) {
+            return processRequest(request);
+        } else {
+            return replication.handleRequest(vertx, CredentialsConstants.CREDENTIALS_ENDPOINT, request, this::processRequest);
+        }
+    }
+
     /**
      * {@inheritDoc}
      * <p>
@@ -401,7 +477,7 @@ public final class FileBasedCredentialsService extends CompleteBaseCredentialsSe
         Objects.requireNonNull(newCredentials);
         Objects.requireNonNull(resultHandler);
 
-        if (getConfig().isModificationEnabled()) {
+        if (isModificationEnabled()) {
             final String authId = newCredentials.getString(CredentialsConstants.FIELD_AUTH_ID);
             final String type = newCredentials.getString(CredentialsConstants.FIELD_TYPE);
             log.debug("updating credentials for device [tenant-id: {}, auth-id: {}, type: {}]", tenantId, authId, type);
@@ -447,7 +523,7 @@ public final class FileBasedCredentialsService extends CompleteBaseCredentialsSe
         Objects.requireNonNull(authId);
         Objects.requireNonNull(resultHandler);
 
-        if (getConfig().isModificationEnabled()) {
+        if (isModificationEnabled()) {
             final Map<String, JsonArray> credentialsForTenant = credentials.get(tenantId);
             if (credentialsForTenant == null) {
                 resultHandler.handle(Future.succeededFuture(CredentialsResult.from(HttpURLConnection.HTTP_NOT_FOUND)));
@@ -476,7 +552,7 @@ public final class FileBasedCredentialsService extends CompleteBaseCredentialsSe
         Objects.requireNonNull(deviceId);
         Objects.requireNonNull(resultHandler);
 
-        if (getConfig().isModificationEnabled()) {
+        if (isModificationEnabled()) {
 
             final Map<String, JsonArray> credentialsForTenant = credentials.get(tenantId);
             if (credentialsForTenant == null) {
@@ -23,9 +23,10 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.hono.service.registration.CompleteBaseRegistrationService;
+import org.eclipse.hono.util.EventBusMessage;
+import org.eclipse.hono.util.RegistrationConstants;
 import org.eclipse.hono.util.RegistrationResult;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -62,6 +63,8 @@ public final class FileBasedRegistrationService extends CompleteBaseRegistration
     private final Map<String, Map<String, JsonObject>> identities = new HashMap<>();
     private boolean running = false;
     private boolean dirty = false;
+    private RegistryReplication replication;
+    private boolean applyingReplicatedChange;
 
     @Autowired
     @Override
@@ -69,6 +72,17 @@ public final class FileBasedRegistrationService extends CompleteBaseRegistration
         setSpecificConfig(configuration);
     }
 
+    /**
+     * Sets the replication support to use for keeping replicas in sync.
+     *
+     * @param replication The replication support.
+     * @throws NullPointerException if replication is {@code null}.
+     */
+    @Autowired(required = false)
+    public void setReplication(final RegistryReplication replication) {
+        this.replication = Objects.requireNonNull(replication);
+    }
+
     @Override
     protected void doStart(final Future<Void> startFuture) {
 
@@ -79,6 +93,10 @@ public final class FileBasedRegistrationService extends CompleteBaseRegistration
             if (!getConfig().isModificationEnabled()) {
                 log.info("modification of registered devices has been disabled");
             }
+            if (replication != null) {
+                replication.register(vertx, RegistrationConstants.REGISTRATION_ENDPOINT,
+                        this::createSnapshot, this::restoreSnapshot, this::applyReplicatedChange);
+            }
 
             if (getConfig().getFilename() == null) {
                 log.debug("device identity filename is not set, no identity information will be loaded");
@@ -199,28 +217,12 @@ public final class FileBasedRegistrationService extends CompleteBaseRegistration
             return Future.succeededFuture();
         } else if (dirty) {
             return checkFileExists(true).compose(s -> {
-                final AtomicInteger idCount = new AtomicInteger();
-                final JsonArray tenants = new JsonArray();
-                for (final Entry<String, Map<String, JsonObject>> entry : identities.entrySet()) {
-                    final JsonArray devices = new JsonArray();
-                    for (final Entry<String, JsonObject> deviceEntry : entry.getValue().entrySet()) {
-                        devices.add(
-                                new JsonObject()
-                                        .put(FIELD_PAYLOAD_DEVICE_ID, deviceEntry.getKey())
-                                        .put(FIELD_DATA, deviceEntry.getValue()));
-                        idCount.incrementAndGet();
-                    }
-                    tenants.add(
-                            new JsonObject()
-                                    .put(FIELD_TENANT, entry.getKey())
-                                    .put(ARRAY_DEVICES, devices));
-                }
-
+                final JsonArray tenants = createSnapshot();
                 final Future<Void> writeHandler = Future.future();
                 vertx.fileSystem().writeFile(getConfig().getFilename(), Buffer.factory.buffer(tenants.encodePrettily()), writeHandler.completer());
                 return writeHandler.map(ok -> {
                     dirty = false;
-                    log.trace("successfully wrote {} device identities to file {}", idCount.get(), getConfig().getFilename());
+                    log.trace("successfully wrote device identities of {} tenants to file {}", tenants.size(), getConfig().getFilename());
                     return (Void) null;
                 }).otherwise(t -> {
                     log.warn("could not write device identities to file {}", getConfig().getFilename(), t);
@@ -233,6 +235,80 @@ public final class FileBasedRegistrationService extends CompleteBaseRegistration
         }
     }
 
+    /**
+     * Gets all registered devices in the format of the device identities file.
+     *
+     * @return The devices grouped by tenant.
+     */
+    JsonArray createSnapshot() {
+
+        final JsonArray tenants = new JsonArray();
+        for (final Entry<String, Map<String, JsonObject>> entry : identities.entrySet()) {
+            final JsonArray devices = new JsonArray();
+            for (final Entry<String, JsonObject> deviceEntry : entry.getValue().entrySet()) {
+                devices.add(
+                        new JsonObject()
+                                .put(FIELD_PAYLOAD_DEVICE_ID, deviceEntry.getKey())
+                                .put(FIELD_DATA, deviceEntry.getValue()));
+            }
+            tenants.add(
+                    new JsonObject()
+                            .put(FIELD_TENANT, entry.getKey())
+                            .put(ARRAY_DEVICES, devices));
+        }
+        return tenants;
+    }
+
+    /**
+     * Replaces all registered devices.
+     *
+     * @param snapshot The devices grouped by tenant in the format of the device identities file.
+     */
+    void restoreSnapshot(final JsonArray snapshot) {
+
+        clear();
+        int deviceCount = 0;
+        for (final Object obj : snapshot) {
+            if (JsonObject.class.isInstance(obj)) {
+                deviceCount += addDevicesForTenant((JsonObject) obj);
+            }
+        }
+        log.debug("restored {} device identities from snapshot", deviceCount);
+    }
+
+    /**
+     * Applies a change received from the primary registry.
+     * <p>
+     * The change is applied even if modification of the registry's content
+     * has been disabled.
+     *
+     * @param change The request that has modified the primary's content.
+     * @return The outcome of applying the change.
+     */
+    Future<EventBusMessage> applyReplicatedChange(final EventBusMessage change) {
+        // requests are processed synchronously, i.e. the change has been
+        // applied once processRequest returns
+        applyingReplicatedChange = true;
+        try {
+            return processRequest(change);
+        } finally {
+            applyingReplicatedChange = false;
+        }
+    }
+
+    private boolean isModificationEnabled() {
+        return applyingReplicatedChange || getConfig().isModificationEnabled();
+    }
+
+    @Override
+    protected Future<EventBusMessage> handleRequest(final EventBusMessage request) {
+        if (replication == null) {
+            return processRequest(request);
+        } else {
+            return replication.handleRequest(vertx, RegistrationConstants.REGISTRATION_ENDPOINT, request, this::processRequest);
+        }
+    }
+
     @Override
     public void getDevice(final String tenantId, final String deviceId, final Handler<AsyncResult<RegistrationResult>> resultHandler) {
         Objects.requireNonNull(tenantId);
@@ -275,7 +351,7 @@ public final class FileBasedRegistrationService extends CompleteBaseRegistration
         Objects.requireNonNull(tenantId);
         Objects.requireNonNull(deviceId);
 
-        if (getConfig().isModificationEnabled()) {
+        if (isModificationEnabled()) {
             final Map<String, JsonObject> devices = identities.get(tenantId);
             if (devices != null && devices.remove(deviceId) != null) {
                 dirty = true;
@@ -340,7 +416,7 @@ public final class FileBasedRegistrationService extends CompleteBaseRegistration
         Objects.requireNonNull(tenantId);
         Objects.requireNonNull(deviceId);
 
-        if (getConfig().isModificationEnabled()) {
+        if (isModificationEnabled()) {
             final JsonObject obj = data != null ? data : new JsonObject().put(FIELD_ENABLED, Boolean.TRUE);
             final Map<String, JsonObject> devices = identities.get(tenantId);
             if (devices != null && devices.containsKey(deviceId)) {
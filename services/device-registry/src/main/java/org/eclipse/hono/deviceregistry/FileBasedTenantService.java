@@ -17,15 +17,18 @@ import java.net.HttpURLConnection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 
 import javax.security.auth.x500.X500Principal;
 
 import org.eclipse.hono.service.tenant.CompleteBaseTenantService;
 import org.eclipse.hono.util.CacheDirective;
+import org.eclipse.hono.util.EventBusMessage;
+import org.eclipse.hono.util.TenantConstants;
 import org.eclipse.hono.util.TenantObject;
 import org.eclipse.hono.util.TenantResult;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.stereotype.Repository;
 
 import io.vertx.core.AsyncResult;
@@ -43,15 +46,21 @@ import io.vertx.core.json.JsonObject;
  * to the file.
  */
 @Repository
-@ConditionalOnProperty(name = "hono.app.type", havingValue = "file", matchIfMissing = true)
+@ConditionalOnExpression("'${hono.app.type:file}' != 'dummy'")
 public final class FileBasedTenantService extends CompleteBaseTenantService<FileBasedTenantsConfigProperties> {
 
     private static final long MAX_AGE_GET_TENANT = 180L; // seconds
 
     // <ID, tenant>
     private final Map<String, TenantObject> tenants = new HashMap<>();
+    /**
+     * An index of the tenants by the (canonical) subject DN of their trusted CA.
+     */
+    private final Map<String, String> tenantIdsByTrustedCa = new HashMap<>();
     private boolean running = false;
     private boolean dirty = false;
+    private RegistryReplication replication;
+    private boolean applyingReplicatedChange;
 
     @Autowired
     @Override
@@ -59,6 +68,17 @@ public final class FileBasedTenantService extends CompleteBaseTenantService<File
         setSpecificConfig(configuration);
     }
 
+    /**
+     * Sets the replication support to use for keeping replicas in sync.
+     *
+     * @param replication The replication support.
+     * @throws NullPointerException if replication is {@code null}.
+     */
+    @Autowired(required = false)
+    public void setReplication(final RegistryReplication replication) {
+        this.replication = Objects.requireNonNull(replication);
+    }
+
     @Override
     protected void doStart(final Future<Void> startFuture) {
 
@@ -69,6 +89,10 @@ public final class FileBasedTenantService extends CompleteBaseTenantService<File
             if (!getConfig().isModificationEnabled()) {
                 log.info("modification of registered tenants has been disabled");
             }
+            if (replication != null) {
+                replication.register(vertx, TenantConstants.TENANT_ENDPOINT,
+                        this::createSnapshot, this::restoreSnapshot, this::applyReplicatedChange);
+            }
 
             if (getConfig().getFilename() == null) {
                 log.debug("tenant file name is not set, tenant information will not be loaded");
@@ -153,7 +177,15 @@ public final class FileBasedTenantService extends CompleteBaseTenantService<File
         try {
             final TenantObject tenantObject = tenant.mapTo(TenantObject.class);
             log.debug("loading tenant [{}]", tenantObject.getTenantId());
-            tenants.put(tenantObject.getTenantId(), tenantObject);
+            final TenantObject conflictingTenant = getByCa(tenantObject.getTrustedCaSubjectDn());
+            if (conflictingTenant != null && !conflictingTenant.getTenantId().equals(tenantObject.getTenantId())) {
+                log.warn("trusted CA of tenant [{}] is already used by tenant [{}], tenant cannot be looked up by CA",
+                        tenantObject.getTenantId(), conflictingTenant.getTenantId());
+                tenants.put(tenantObject.getTenantId(), tenantObject);
+            } else {
+                Optional.ofNullable(tenants.get(tenantObject.getTenantId())).ifPresent(this::removeFromTrustedCaIndex);
+                putTenant(tenantObject);
+            }
         } catch (final IllegalArgumentException e) {
             log.warn("cannot deserialize tenant", e);
         }
@@ -179,10 +211,7 @@ public final class FileBasedTenantService extends CompleteBaseTenantService<File
         } else if (dirty) {
             return checkFileExists(true).compose(s -> {
 
-                final JsonArray tenantsJson = new JsonArray();
-                tenants.values().stream().forEach(tenant -> {
-                    tenantsJson.add(JsonObject.mapFrom(tenant));
-                });
+                final JsonArray tenantsJson = createSnapshot();
 
                 final Future<Void> writeHandler = Future.future();
                 vertx.fileSystem().writeFile(getConfig().getFilename(),
@@ -263,8 +292,10 @@ public final class FileBasedTenantService extends CompleteBaseTenantService<File
 
         Objects.requireNonNull(tenantId);
 
-        if (getConfig().isModificationEnabled()) {
-            if (tenants.remove(tenantId) != null) {
+        if (isModificationEnabled()) {
+            final TenantObject removedTenant = tenants.remove(tenantId);
+            if (removedTenant != null) {
+                removeFromTrustedCaIndex(removedTenant);
                 dirty = true;
                 return TenantResult.from(HttpURLConnection.HTTP_NO_CONTENT);
             } else {
@@ -309,7 +340,7 @@ public final class FileBasedTenantService extends CompleteBaseTenantService<File
                     // we are trying to use the same CA as an already existing tenant
                     return TenantResult.from(HttpURLConnection.HTTP_CONFLICT);
                 } else {
-                    tenants.put(tenantId, tenant);
+                    putTenant(tenant);
                     dirty = true;
                     return TenantResult.from(HttpURLConnection.HTTP_CREATED);
                 }
@@ -350,7 +381,7 @@ public final class FileBasedTenantService extends CompleteBaseTenantService<File
         Objects.requireNonNull(tenantId);
         Objects.requireNonNull(tenantSpec);
 
-        if (getConfig().isModificationEnabled()) {
+        if (isModificationEnabled()) {
             if (tenants.containsKey(tenantId)) {
                 try {
                     final TenantObject tenant = tenantSpec.mapTo(TenantObject.class);
@@ -360,7 +391,8 @@ public final class FileBasedTenantService extends CompleteBaseTenantService<File
                         // we are trying to use the same CA as another tenant
                         return TenantResult.from(HttpURLConnection.HTTP_CONFLICT);
                     } else {
-                        tenants.put(tenantId, tenant);
+                        removeFromTrustedCaIndex(tenants.get(tenantId));
+                        putTenant(tenant);
                         dirty = true;
                         return TenantResult.from(HttpURLConnection.HTTP_NO_CONTENT);
                     }
@@ -380,9 +412,91 @@ public final class FileBasedTenantService extends CompleteBaseTenantService<File
         if (subjectDn == null) {
             return null;
         } else {
-            return tenants.values().stream()
-                    .filter(t -> subjectDn.equals(t.getTrustedCaSubjectDn()))
-                    .findFirst().orElse(null);
+            return Optional.ofNullable(tenantIdsByTrustedCa.get(getIndexKey(subjectDn)))
+                    .map(tenants::get)
+                    .orElse(null);
+        }
+    }
+
+    private void putTenant(final TenantObject tenant) {
+
+        tenants.put(tenant.getTenantId(), tenant);
+        final X500Principal trustedCa = tenant.getTrustedCaSubjectDn();
+        if (trustedCa != null) {
+            tenantIdsByTrustedCa.put(getIndexKey(trustedCa), tenant.getTenantId());
+        }
+    }
+
+    private void removeFromTrustedCaIndex(final TenantObject tenant) {
+
+        final X500Principal trustedCa = tenant.getTrustedCaSubjectDn();
+        if (trustedCa != null) {
+            // only remove the entry if it refers to the given tenant
+            tenantIdsByTrustedCa.remove(getIndexKey(trustedCa), tenant.getTenantId());
+        }
+    }
+
+    private static String getIndexKey(final X500Principal subjectDn) {
+        return subjectDn.getName(X500Principal.CANONICAL);
+    }
+
+    /**
+     * Gets all tenants in the format of the tenants file.
+     *
+     * @return The tenants.
+     */
+    JsonArray createSnapshot() {
+        final JsonArray tenantsJson = new JsonArray();
+        tenants.values().forEach(tenant -> tenantsJson.add(JsonObject.mapFrom(tenant)));
+        return tenantsJson;
+    }
+
+    /**
+     * Replaces all tenants.
+     *
+     * @param snapshot The tenants in the format of the tenants file.
+     */
+    void restoreSnapshot(final JsonArray snapshot) {
+
+        clear();
+        for (final Object obj : snapshot) {
+            if (JsonObject.class.isInstance(obj)) {
+                addTenant((JsonObject) obj);
+            }
+        }
+        log.debug("restored {} tenants from snapshot", tenants.size());
+    }
+
+    /**
+     * Applies a change received from the primary registry.
+     * <p>
+     * The change is applied even if modification of the registry's content
+     * has been disabled.
+     *
+     * @param change The request that has modified the primary's content.
+     * @return The outcome of applying the change.
+     */
+    Future<EventBusMessage> applyReplicatedChange(final EventBusMessage change) {
+        // requests are processed synchronously, i.e. the change has been
+        // applied once processRequest returns
+        applyingReplicatedChange = true;
+        try {
+            return processRequest(change);
+        } finally {
+            applyingReplicatedChange = false;
+        }
+    }
+
+    private boolean isModificationEnabled() {
+        return applyingReplicatedChange || getConfig().isModificationEnabled();
+    }
+
+    @Override
+    protected Future<EventBusMessage> handleRequest(final EventBusMessage request) {
+        if (replication == null) {
+            return processRequest(request);
+        } else {
+            return replication.handleRequest(vertx, TenantConstants.TENANT_ENDPOINT, request, this::processRequest);
         }
     }
 
@@ -391,6 +505,7 @@ public final class FileBasedTenantService extends CompleteBaseTenantService<File
      */
     public void clear() {
         tenants.clear();
+        tenantIdsByTrustedCa.clear();
         dirty = true;
     }
 
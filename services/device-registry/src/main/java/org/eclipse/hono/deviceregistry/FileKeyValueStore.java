@@ -0,0 +1,522 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.deviceregistry;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An embedded key-value store which keeps its data in an append-only log file.
+ * <p>
+ * Every write operation appends a record containing the changes to the file. Each record
+ * is protected by a checksum. When the store is opened, the file is scanned and an index
+ * from each key to the position of its current value in the file is built. A record that
+ * has not been written completely, e.g. because the process crashed, is discarded and
+ * the file is truncated accordingly, so that the store always recovers to the state
+ * after the last complete write operation.
+ * <p>
+ * Only the keys and the positions of the values are kept in memory, the values are read
+ * from the file on demand. Once the file has reached the configured minimum compaction
+ * size and more than half of it is occupied by values that have been overwritten or
+ * removed, the current values are copied to a new file which then replaces the original
+ * file. The values are copied on a separate thread while the store remains available
+ * for reading and writing. Only the records that have been written in the meantime
+ * are copied while holding the write lock, right before the files are swapped.
+ */
+public final class FileKeyValueStore implements KeyValueStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileKeyValueStore.class);
+
+    private static final int RECORD_HEADER_SIZE = 8; // length + checksum
+    private static final byte OP_PUT = 1;
+    private static final byte OP_REMOVE = 2;
+    private static final int ENTRY_OVERHEAD = 9; // op + key length + value length
+    private static final int MAX_VALUE_SIZE = (1 << 24) - 1;
+    private static final long MAX_FILE_SIZE = 1L << 40;
+
+    // key -> (position of value in file << 24 | length of value)
+    private volatile NavigableMap<String, Long> index = new ConcurrentSkipListMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Path file;
+    private final Path compactionFile;
+    private final boolean syncWrites;
+    private final long minCompactionSize;
+
+    private FileChannel channel;
+    private long size;
+    private long liveBytes;
+    private ExecutorService compactor;
+    private Future<?> compaction;
+    // the size that the file needs to reach before compaction is retried
+    private long compactionRetrySize;
+
+    /**
+     * Creates a new store.
+     *
+     * @param config The configuration properties.
+     * @throws NullPointerException if config is {@code null}.
+     */
+    public FileKeyValueStore(final KeyValueStoreConfigProperties config) {
+        Objects.requireNonNull(config);
+        this.file = Paths.get(config.getPath());
+        this.compactionFile = Paths.get(config.getPath() + ".compact");
+        this.syncWrites = config.isSyncWrites();
+        this.minCompactionSize = config.getMinCompactionSize();
+    }
+
+    @Override
+    public void open() throws IOException {
+
+        lock.writeLock().lock();
+        try {
+            if (channel != null) {
+                return;
+            }
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            // a left over compaction file has not replaced the original file
+            Files.deleteIfExists(compactionFile);
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            recover();
+            compactionRetrySize = 0;
+            compactor = Executors.newSingleThreadExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "key-value-store-compaction");
+                thread.setDaemon(true);
+                return thread;
+            });
+            LOG.info("opened key-value store [file: {}, size: {} bytes, keys: {}]", file, size, index.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void recover() throws IOException {
+
+        final long fileSize = channel.size();
+        final ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        final CRC32 checksum = new CRC32();
+        long position = 0;
+
+        while (position + RECORD_HEADER_SIZE <= fileSize) {
+            header.clear();
+            readFully(channel, header, position);
+            header.flip();
+            final int length = header.getInt();
+            final int expectedChecksum = header.getInt();
+            if (length < 4 || position + RECORD_HEADER_SIZE + length > fileSize) {
+                break;
+            }
+            final ByteBuffer payload = ByteBuffer.allocate(length);
+            readFully(channel, payload, position + RECORD_HEADER_SIZE);
+            checksum.reset();
+            checksum.update(payload.array(), 0, length);
+            if ((int) checksum.getValue() != expectedChecksum) {
+                break;
+            }
+            payload.flip();
+            liveBytes += apply(payload, position + RECORD_HEADER_SIZE, index);
+            position += RECORD_HEADER_SIZE + length;
+        }
+
+        if (position < fileSize) {
+            LOG.warn("discarding incomplete record at end of key-value store [file: {}, position: {}, size: {}]",
+                    file, position, fileSize);
+            channel.truncate(position);
+            channel.force(true);
+        }
+        size = position;
+    }
+
+    /**
+     * Applies the changes contained in a record to an index.
+     *
+     * @return The change of the number of bytes occupied by the current values.
+     */
+    private static long apply(final ByteBuffer payload, final long payloadPosition, final Map<String, Long> targetIndex) {
+
+        long liveBytesDelta = 0;
+        final int count = payload.getInt();
+        for (int i = 0; i < count; i++) {
+            final byte op = payload.get();
+            final byte[] key = new byte[payload.getInt()];
+            payload.get(key);
+            final String keyString = new String(key, StandardCharsets.UTF_8);
+            final Long previous;
+            if (op == OP_PUT) {
+                final int valueLength = payload.getInt();
+                final long valuePosition = payloadPosition + payload.position();
+                payload.position(payload.position() + valueLength);
+                previous = targetIndex.put(keyString, (valuePosition << 24) | valueLength);
+                liveBytesDelta += ENTRY_OVERHEAD + key.length + valueLength;
+            } else {
+                payload.getInt();
+                previous = targetIndex.remove(keyString);
+            }
+            if (previous != null) {
+                liveBytesDelta -= ENTRY_OVERHEAD + key.length + getLength(previous);
+            }
+        }
+        return liveBytesDelta;
+    }
+
+    @Override
+    public byte[] get(final String key) throws IOException {
+
+        Objects.requireNonNull(key);
+        lock.readLock().lock();
+        try {
+            assertOpen();
+            final Long location = index.get(key);
+            if (location == null) {
+                return null;
+            } else {
+                final ByteBuffer value = ByteBuffer.allocate(getLength(location));
+                readFully(channel, value, getPosition(location));
+                return value.array();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean contains(final String key) {
+        return index.containsKey(Objects.requireNonNull(key));
+    }
+
+    @Override
+    public void write(final Map<String, byte[]> changes) throws IOException {
+
+        Objects.requireNonNull(changes);
+        if (changes.isEmpty()) {
+            return;
+        }
+        final ByteBuffer record = encode(changes);
+        lock.writeLock().lock();
+        try {
+            assertOpen();
+            if (size + record.remaining() > MAX_FILE_SIZE) {
+                throw new IOException("key-value store has reached maximum size");
+            }
+            final long position = size;
+            writeFully(channel, record, position);
+            if (syncWrites) {
+                channel.force(false);
+            }
+            size += record.limit();
+            record.position(RECORD_HEADER_SIZE);
+            liveBytes += apply(record.slice(), position + RECORD_HEADER_SIZE, index);
+            if (isCompactionRequired()) {
+                startCompaction();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static ByteBuffer encode(final Map<String, byte[]> changes) {
+
+        int length = 4;
+        final byte[][] keys = new byte[changes.size()][];
+        int i = 0;
+        for (final Entry<String, byte[]> change : changes.entrySet()) {
+            keys[i] = change.getKey().getBytes(StandardCharsets.UTF_8);
+            final byte[] value = change.getValue();
+            if (value != null && value.length > MAX_VALUE_SIZE) {
+                throw new IllegalArgumentException("value must not exceed " + MAX_VALUE_SIZE + " bytes");
+            }
+            length += ENTRY_OVERHEAD + keys[i].length + (value == null ? 0 : value.length);
+            i++;
+        }
+
+        final ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + length);
+        record.position(RECORD_HEADER_SIZE);
+        record.putInt(changes.size());
+        i = 0;
+        for (final Entry<String, byte[]> change : changes.entrySet()) {
+            final byte[] value = change.getValue();
+            record.put(value == null ? OP_REMOVE : OP_PUT);
+            record.putInt(keys[i].length);
+            record.put(keys[i]);
+            record.putInt(value == null ? 0 : value.length);
+            if (value != null) {
+                record.put(value);
+            }
+            i++;
+        }
+
+        final CRC32 checksum = new CRC32();
+        checksum.update(record.array(), RECORD_HEADER_SIZE, length);
+        record.putInt(0, length);
+        record.putInt(4, (int) checksum.getValue());
+        record.flip();
+        return record;
+    }
+
+    /**
+     * Checks if the store's file should be compacted.
+     * <p>
+     * Must be invoked while holding the write lock.
+     */
+    private boolean isCompactionRequired() {
+        return compactor != null && (compaction == null || compaction.isDone())
+                && size >= Math.max(minCompactionSize, compactionRetrySize) && liveBytes < size / 2;
+    }
+
+    /**
+     * Starts copying the current values to a new file on the compaction thread.
+     * <p>
+     * Must be invoked while holding the write lock.
+     */
+    private void startCompaction() {
+        final FileChannel source = channel;
+        final long end = size;
+        compaction = compactor.submit(() -> compact(source, end));
+    }
+
+    /**
+     * Copies the current values to a new file which then replaces the store's file.
+     * <p>
+     * The values that have been written before the compaction has been started are
+     * copied without holding a lock. The records that have been appended since then
+     * are copied while holding the write lock, before the new file replaces the
+     * store's file. A failure to compact the file does not affect the store's content.
+     *
+     * @param source The store's file when the compaction has been started.
+     * @param end The size of the file when the compaction has been started.
+     */
+    private void compact(final FileChannel source, final long end) {
+
+        LOG.info("compacting key-value store [file: {}, size: {} bytes]", file, end);
+        final NavigableMap<String, Long> newIndex = new ConcurrentSkipListMap<>();
+        FileChannel target = null;
+        try {
+            target = FileChannel.open(compactionFile, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long position = 0;
+            long live = 0;
+            for (final Entry<String, Long> entry : index.entrySet()) {
+                final long location = entry.getValue();
+                if (getPosition(location) >= end) {
+                    // written after the compaction has been started, will be copied along with the file's tail
+                    continue;
+                }
+                final ByteBuffer value = ByteBuffer.allocate(getLength(location));
+                readFully(source, value, getPosition(location));
+                final ByteBuffer record = encode(Collections.singletonMap(entry.getKey(), value.array()));
+                writeFully(target, record, position);
+                final long valuePosition = position + record.limit() - value.capacity();
+                newIndex.put(entry.getKey(), (valuePosition << 24) | value.capacity());
+                live += record.limit() - RECORD_HEADER_SIZE - 4;
+                position += record.limit();
+            }
+
+            lock.writeLock().lock();
+            try {
+                if (channel != source) {
+                    throw new IOException("key-value store has been closed");
+                }
+                // copy and apply the records that have been written in the meantime
+                final long newSize = position + size - end;
+                long transferred = 0;
+                target.position(position);
+                while (transferred < size - end) {
+                    transferred += source.transferTo(end + transferred, size - end - transferred, target);
+                }
+                final ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+                while (position < newSize) {
+                    header.clear();
+                    readFully(target, header, position);
+                    header.flip();
+                    final ByteBuffer payload = ByteBuffer.allocate(header.getInt());
+                    readFully(target, payload, position + RECORD_HEADER_SIZE);
+                    payload.flip();
+                    live += apply(payload, position + RECORD_HEADER_SIZE, newIndex);
+                    position += RECORD_HEADER_SIZE + payload.capacity();
+                }
+                target.force(true);
+                Files.move(compactionFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                source.close();
+                channel = target;
+                index = newIndex;
+                size = newSize;
+                liveBytes = live;
+                LOG.info("compacted key-value store [file: {}, size: {} bytes]", file, size);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } catch (final IOException | RuntimeException e) {
+            LOG.warn("cannot compact key-value store, will retry once it has grown further [file: {}]", file, e);
+            if (target != null) {
+                try {
+                    target.close();
+                    Files.deleteIfExists(compactionFile);
+                } catch (final IOException ignore) {
+                    // nothing we can do
+                }
+            }
+            lock.writeLock().lock();
+            try {
+                compactionRetrySize = size + minCompactionSize;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Waits until the store's file has been compacted if it needs to be compacted.
+     * <p>
+     * This method is intended for testing only.
+     *
+     * @throws InterruptedException if the invoking thread has been interrupted while waiting.
+     * @throws ExecutionException if the compaction has failed unexpectedly.
+     */
+    void awaitCompaction() throws InterruptedException, ExecutionException {
+        while (true) {
+            final Future<?> current;
+            lock.writeLock().lock();
+            try {
+                if (isCompactionRequired()) {
+                    startCompaction();
+                }
+                current = compaction;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (current == null || current.isDone()) {
+                return;
+            }
+            current.get();
+        }
+    }
+
+    @Override
+    public void forEachKey(final String prefix, final Predicate<String> consumer) {
+
+        Objects.requireNonNull(prefix);
+        Objects.requireNonNull(consumer);
+        for (final String key : index.tailMap(prefix, true).keySet()) {
+            if (!key.startsWith(prefix) || !consumer.test(key)) {
+                break;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+
+        final ExecutorService executor;
+        lock.writeLock().lock();
+        try {
+            executor = compactor;
+            compactor = null;
+            compaction = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (executor != null) {
+            // let a running compaction finish, it needs to acquire the write lock
+            executor.shutdown();
+            try {
+                while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                    LOG.debug("waiting for compaction of key-value store to finish [file: {}]", file);
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            if (channel != null) {
+                channel.force(true);
+                channel.close();
+                channel = null;
+                index.clear();
+                liveBytes = 0;
+                size = 0;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the size of the store's file.
+     *
+     * @return The number of bytes.
+     */
+    long getSize() {
+        return size;
+    }
+
+    private void assertOpen() throws IOException {
+        if (channel == null) {
+            throw new IOException("key-value store is not open");
+        }
+    }
+
+    private static void readFully(final FileChannel source, final ByteBuffer buffer, final long position) throws IOException {
+        long currentPosition = position;
+        while (buffer.hasRemaining()) {
+            final int read = source.read(buffer, currentPosition);
+            if (read < 0) {
+                throw new IOException("unexpected end of key-value store file");
+            }
+            currentPosition += read;
+        }
+    }
+
+    private static void writeFully(final FileChannel target, final ByteBuffer buffer, final long position) throws IOException {
+        long currentPosition = position;
+        while (buffer.hasRemaining()) {
+            currentPosition += target.write(buffer, currentPosition);
+        }
+    }
+
+    private static long getPosition(final long location) {
+        return location >>> 24;
+    }
+
+    private static int getLength(final long location) {
+        return (int) (location & MAX_VALUE_SIZE);
+    }
+}
@@ -0,0 +1,367 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.deviceregistry;
+
+import static java.net.HttpURLConnection.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+
+import org.eclipse.hono.service.credentials.CompleteBaseCredentialsService;
+import org.eclipse.hono.util.CacheDirective;
+import org.eclipse.hono.util.CredentialsConstants;
+import org.eclipse.hono.util.CredentialsResult;
+import org.eclipse.hono.util.EventBusMessage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * A credentials service that keeps all data in a {@link KeyValueStore}.
+ * <p>
+ * Each set of credentials is stored under a key consisting of the tenant identifier,
+ * the authentication identifier and the type of the credentials. An additional (empty)
+ * entry per set of credentials, keyed by the identifier of the device that the credentials
+ * belong to, allows to look up all credentials of a device without scanning the
+ * credentials of the whole tenant.
+ * <p>
+ * The service uses the same configuration properties as the {@link FileBasedCredentialsService}
+ * with the exception of the <em>filename</em> and <em>saveToFile</em> properties.
+ */
+@Repository
+@ConditionalOnProperty(name = "hono.app.type", havingValue = "kv")
+public final class KeyValueCredentialsService extends CompleteBaseCredentialsService<FileBasedCredentialsConfigProperties> {
+
+    private static final String KEY_PREFIX_CREDENTIALS = "cred";
+    private static final String KEY_PREFIX_DEVICE_INDEX = "cred-dev";
+    private static final byte[] EMPTY = new byte[0];
+
+    private KeyValueStore store;
+
+    @Autowired
+    @Override
+    public void setConfig(final FileBasedCredentialsConfigProperties configuration) {
+        setSpecificConfig(configuration);
+    }
+
+    /**
+     * Sets the store to keep the credentials in.
+     *
+     * @param store The store.
+     * @throws NullPointerException if store is {@code null}.
+     */
+    @Autowired
+    public void setStore(final KeyValueStore store) {
+        this.store = Objects.requireNonNull(store);
+    }
+
+    @Override
+    protected void doStart(final Future<Void> startFuture) {
+
+        if (store == null) {
+            startFuture.fail(new IllegalStateException("key-value store must be set"));
+        } else {
+            if (!getConfig().isModificationEnabled()) {
+                log.info("modification of credentials has been disabled");
+            }
+            vertx.executeBlocking(open -> {
+                try {
+                    store.open();
+                    open.complete();
+                } catch (final Exception e) {
+                    open.fail(e);
+                }
+            }, startFuture);
+        }
+    }
+
+    /**
+     * Publishes the requests that have successfully modified the store's content
+     * to {@link RegistryReplication#EVENT_BUS_ADDRESS_CHANGES} so that clients can
+     * be notified about the changes.
+     */
+    @Override
+    protected Future<EventBusMessage> handleRequest(final EventBusMessage request) {
+        return RegistryReplication.processAndPublish(vertx, CredentialsConstants.CREDENTIALS_ENDPOINT, request, this::processRequest);
+    }
+
+    private static String getCredentialsKey(final String tenantId, final String authId, final String type) {
+        return KeyValueStoreSupport.key(KEY_PREFIX_CREDENTIALS, tenantId, authId, type);
+    }
+
+    private static String getDeviceIndexKey(final String tenantId, final String deviceId, final String authId, final String type) {
+        return KeyValueStoreSupport.key(KEY_PREFIX_DEVICE_INDEX, tenantId, deviceId, authId, type);
+    }
+
+    private static String getDeviceIndexPrefix(final String tenantId, final String deviceId) {
+        return KeyValueStoreSupport.key(KEY_PREFIX_DEVICE_INDEX, tenantId, deviceId, "");
+    }
+
+    private JsonObject read(final String key) throws Exception {
+        final byte[] data = store.get(key);
+        return data == null ? null : Buffer.buffer(data).toJsonObject();
+    }
+
+    /**
+     * Gets the keys of all credentials of a device.
+     *
+     * @return The keys of the credentials mapped to the corresponding keys in the device index.
+     */
+    private Map<String, String> getCredentialsKeysOfDevice(final String tenantId, final String deviceId) {
+
+        final String prefix = getDeviceIndexPrefix(tenantId, deviceId);
+        final Map<String, String> result = new HashMap<>();
+        store.forEachKey(prefix, indexKey -> {
+            // remainder is authId + separator + type
+            final String[] segments = indexKey.substring(prefix.length()).split(String.valueOf(KeyValueStoreSupport.SEPARATOR), 2);
+            if (segments.length == 2) {
+                result.put(getCredentialsKey(tenantId, segments[0], segments[1]), indexKey);
+            }
+            return true;
+        });
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The result object will include a <em>no-cache</em> directive.
+     */
+    @Override
+    public void get(final String tenantId, final String type, final String authId, final Handler<AsyncResult<CredentialsResult<JsonObject>>> resultHandler) {
+        get(tenantId, type, authId, null, resultHandler);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The result object will include a <em>no-cache</em> directive.
+     */
+    @Override
+    public void get(
+            final String tenantId,
+            final String type,
+            final String authId,
+            final JsonObject clientContext,
+            final Handler<AsyncResult<CredentialsResult<JsonObject>>> resultHandler) {
+
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(type);
+        Objects.requireNonNull(authId);
+        Objects.requireNonNull(resultHandler);
+
+        execute(false, () -> {
+            final JsonObject data = read(getCredentialsKey(tenantId, authId, type));
+            if (data == null || !matches(data, clientContext)) {
+                return CredentialsResult.from(HTTP_NOT_FOUND);
+            } else {
+                return CredentialsResult.from(HTTP_OK, data, CacheDirective.noCacheDirective());
+            }
+        }, resultHandler);
+    }
+
+    private static boolean matches(final JsonObject credentials, final JsonObject clientContext) {
+
+        if (clientContext == null) {
+            return true;
+        }
+        return clientContext.stream().allMatch(field -> credentials.containsKey(field.getKey()) &&
+                credentials.getString(field.getKey()).equals(field.getValue()));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The result object will include a <em>no-cache</em> directive.
+     */
+    @Override
+    public void getAll(final String tenantId, final String deviceId, final Handler<AsyncResult<CredentialsResult<JsonObject>>> resultHandler) {
+
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(deviceId);
+        Objects.requireNonNull(resultHandler);
+
+        execute(false, () -> {
+            final JsonArray matchingCredentials = new JsonArray();
+            for (final String key : getCredentialsKeysOfDevice(tenantId, deviceId).keySet()) {
+                final JsonObject data = read(key);
+                if (data != null) {
+                    matchingCredentials.add(data);
+                }
+            }
+            if (matchingCredentials.isEmpty()) {
+                return CredentialsResult.from(HTTP_NOT_FOUND);
+            } else {
+                final JsonObject result = new JsonObject()
+                        .put(CredentialsConstants.FIELD_CREDENTIALS_TOTAL, matchingCredentials.size())
+                        .put(CredentialsConstants.CREDENTIALS_ENDPOINT, matchingCredentials);
+                return CredentialsResult.from(HTTP_OK, result, CacheDirective.noCacheDirective());
+            }
+        }, resultHandler);
+    }
+
+    @Override
+    public void add(final String tenantId, final JsonObject credentials, final Handler<AsyncResult<CredentialsResult<JsonObject>>> resultHandler) {
+
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(credentials);
+        Objects.requireNonNull(resultHandler);
+
+        final String authId = credentials.getString(CredentialsConstants.FIELD_AUTH_ID);
+        final String type = credentials.getString(CredentialsConstants.FIELD_TYPE);
+        final String deviceId = credentials.getString(CredentialsConstants.FIELD_PAYLOAD_DEVICE_ID);
+        log.debug("adding credentials for device [tenant-id: {}, auth-id: {}, type: {}]", tenantId, authId, type);
+
+        execute(true, () -> {
+            final String key = getCredentialsKey(tenantId, authId, type);
+            if (store.contains(key)) {
+                return CredentialsResult.from(HTTP_CONFLICT);
+            } else {
+                final Map<String, byte[]> changes = new HashMap<>();
+                changes.put(key, credentials.toBuffer().getBytes());
+                changes.put(getDeviceIndexKey(tenantId, deviceId, authId, type), EMPTY);
+                store.write(changes);
+                return CredentialsResult.from(HTTP_CREATED);
+            }
+        }, resultHandler);
+    }
+
+    @Override
+    public void update(final String tenantId, final JsonObject newCredentials, final Handler<AsyncResult<CredentialsResult<JsonObject>>> resultHandler) {
+
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(newCredentials);
+        Objects.requireNonNull(resultHandler);
+
+        if (!getConfig().isModificationEnabled()) {
+            resultHandler.handle(Future.succeededFuture(CredentialsResult.from(HTTP_FORBIDDEN)));
+            return;
+        }
+
+        final String authId = newCredentials.getString(CredentialsConstants.FIELD_AUTH_ID);
+        final String type = newCredentials.getString(CredentialsConstants.FIELD_TYPE);
+        final String deviceId = newCredentials.getString(CredentialsConstants.FIELD_PAYLOAD_DEVICE_ID);
+        log.debug("updating credentials for device [tenant-id: {}, auth-id: {}, type: {}]", tenantId, authId, type);
+
+        execute(true, () -> {
+            final String key = getCredentialsKey(tenantId, authId, type);
+            final JsonObject existing = read(key);
+            if (existing == null) {
+                return CredentialsResult.from(HTTP_NOT_FOUND);
+            } else {
+                final Map<String, byte[]> changes = new HashMap<>();
+                changes.put(key, newCredentials.toBuffer().getBytes());
+                final String existingDeviceId = existing.getString(CredentialsConstants.FIELD_PAYLOAD_DEVICE_ID);
+                if (!Objects.equals(existingDeviceId, deviceId)) {
+                    // credentials have been re-assigned to another device
+                    changes.put(getDeviceIndexKey(tenantId, existingDeviceId, authId, type), null);
+                }
+                changes.put(getDeviceIndexKey(tenantId, deviceId, authId, type), EMPTY);
+                store.write(changes);
+                return CredentialsResult.from(HTTP_NO_CONTENT);
+            }
+        }, resultHandler);
+    }
+
+    @Override
+    public void remove(final String tenantId, final String type, final String authId, final Handler<AsyncResult<CredentialsResult<JsonObject>>> resultHandler) {
+
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(type);
+        Objects.requireNonNull(authId);
+        Objects.requireNonNull(resultHandler);
+
+        if (!getConfig().isModificationEnabled()) {
+            resultHandler.handle(Future.succeededFuture(CredentialsResult.from(HTTP_FORBIDDEN)));
+            return;
+        }
+
+        execute(true, () -> {
+            final String key = getCredentialsKey(tenantId, authId, type);
+            final JsonObject existing = read(key);
+            if (existing == null) {
+                return CredentialsResult.from(HTTP_NOT_FOUND);
+            } else {
+                final Map<String, byte[]> changes = new HashMap<>();
+                changes.put(key, null);
+                changes.put(getDeviceIndexKey(tenantId,
+                        existing.getString(CredentialsConstants.FIELD_PAYLOAD_DEVICE_ID), authId, type), null);
+                store.write(changes);
+                return CredentialsResult.from(HTTP_NO_CONTENT);
+            }
+        }, resultHandler);
+    }
+
+    @Override
+    public void removeAll(final String tenantId, final String deviceId, final Handler<AsyncResult<CredentialsResult<JsonObject>>> resultHandler) {
+
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(deviceId);
+        Objects.requireNonNull(resultHandler);
+
+        if (!getConfig().isModificationEnabled()) {
+            resultHandler.handle(Future.succeededFuture(CredentialsResult.from(HTTP_FORBIDDEN)));
+            return;
+        }
+
+        execute(true, () -> {
+            final Map<String, String> keys = getCredentialsKeysOfDevice(tenantId, deviceId);
+            if (keys.isEmpty()) {
+                return CredentialsResult.from(HTTP_NOT_FOUND);
+            } else {
+                final Map<String, byte[]> changes = new HashMap<>();
+                final List<String> allKeys = new ArrayList<>(keys.keySet());
+                allKeys.addAll(keys.values());
+                allKeys.forEach(key -> changes.put(key, null));
+                store.write(changes);
+                return CredentialsResult.from(HTTP_NO_CONTENT);
+            }
+        }, resultHandler);
+    }
+
+    /**
+     * Runs an operation on the store on a worker thread.
+     * <p>
+     * Operations that modify the store are run on the service's context in the order
+     * in which they have been invoked.
+     */
+    private void execute(
+            final boolean modifying,
+            final Callable<CredentialsResult<JsonObject>> operation,
+            final Handler<AsyncResult<CredentialsResult<JsonObject>>> resultHandler) {
+
+        context.executeBlocking(KeyValueStoreSupport.toBlockingCode(operation), modifying, resultHandler);
+    }
+
+    @Override
+    protected int getMaxBcryptIterations() {
+        return getConfig().getMaxBcryptIterations();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[store=%s]", KeyValueCredentialsService.class.getSimpleName(), store);
+    }
+}
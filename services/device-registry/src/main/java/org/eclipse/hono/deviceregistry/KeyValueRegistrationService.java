@@ -0,0 +1,240 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.deviceregistry;
+
+import static java.net.HttpURLConnection.*;
+import static org.eclipse.hono.util.RequestResponseApiConstants.FIELD_ENABLED;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.hono.service.registration.CompleteBaseRegistrationService;
+import org.eclipse.hono.util.EventBusMessage;
+import org.eclipse.hono.util.RegistrationConstants;
+import org.eclipse.hono.util.RegistrationResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * A registration service that keeps all data in a {@link KeyValueStore}.
+ * <p>
+ * In contrast to the {@link FileBasedRegistrationService}, the registered devices are
+ * not kept in memory, so the number of devices is not limited by the available heap.
+ * Each device is stored under a key consisting of its tenant and device identifier.
+ * <p>
+ * The service uses the same configuration properties as the {@link FileBasedRegistrationService}
+ * with the exception of the <em>filename</em> and <em>saveToFile</em> properties.
+ */
+@Repository
+@ConditionalOnProperty(name = "hono.app.type", havingValue = "kv")
+public final class KeyValueRegistrationService extends CompleteBaseRegistrationService<FileBasedRegistrationConfigProperties> {
+
+    private static final String KEY_PREFIX_DEVICE = "dev";
+
+    // the number of devices per tenant, determined on first use
+    private final Map<String, AtomicInteger> deviceCounts = new ConcurrentHashMap<>();
+    private KeyValueStore store;
+
+    @Autowired
+    @Override
+    public void setConfig(final FileBasedRegistrationConfigProperties configuration) {
+        setSpecificConfig(configuration);
+    }
+
+    /**
+     * Sets the store to keep the registration data in.
+     *
+     * @param store The store.
+     * @throws NullPointerException if store is {@code null}.
+     */
+    @Autowired
+    public void setStore(final KeyValueStore store) {
+        this.store = Objects.requireNonNull(store);
+    }
+
+    @Override
+    protected void doStart(final Future<Void> startFuture) {
+
+        if (store == null) {
+            startFuture.fail(new IllegalStateException("key-value store must be set"));
+        } else {
+            if (!getConfig().isModificationEnabled()) {
+                log.info("modification of registered devices has been disabled");
+            }
+            vertx.executeBlocking(open -> {
+                try {
+                    store.open();
+                    open.complete();
+                } catch (final Exception e) {
+                    open.fail(e);
+                }
+            }, startFuture);
+        }
+    }
+
+    /**
+     * Publishes the requests that have successfully modified the store's content
+     * to {@link RegistryReplication#EVENT_BUS_ADDRESS_CHANGES} so that clients can
+     * be notified about the changes.
+     */
+    @Override
+    protected Future<EventBusMessage> handleRequest(final EventBusMessage request) {
+        return RegistryReplication.processAndPublish(vertx, RegistrationConstants.REGISTRATION_ENDPOINT, request, this::processRequest);
+    }
+
+    /**
+     * Gets the key that the registration data of a device is stored under.
+     *
+     * @param tenantId The tenant that the device belongs to.
+     * @param deviceId The identifier of the device.
+     * @return The key.
+     */
+    static String getDeviceKey(final String tenantId, final String deviceId) {
+        return KeyValueStoreSupport.key(KEY_PREFIX_DEVICE, tenantId, deviceId);
+    }
+
+    private static String getTenantPrefix(final String tenantId) {
+        return KeyValueStoreSupport.key(KEY_PREFIX_DEVICE, tenantId, "");
+    }
+
+    @Override
+    public void getDevice(final String tenantId, final String deviceId, final Handler<AsyncResult<RegistrationResult>> resultHandler) {
+
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(deviceId);
+        Objects.requireNonNull(resultHandler);
+
+        execute(false, () -> {
+            final byte[] data = store.get(getDeviceKey(tenantId, deviceId));
+            if (data == null) {
+                return RegistrationResult.from(HTTP_NOT_FOUND);
+            } else {
+                return RegistrationResult.from(HTTP_OK, getResultPayload(deviceId, Buffer.buffer(data).toJsonObject()));
+            }
+        }, resultHandler);
+    }
+
+    @Override
+    public void addDevice(final String tenantId, final String deviceId, final JsonObject data,
+            final Handler<AsyncResult<RegistrationResult>> resultHandler) {
+
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(deviceId);
+        Objects.requireNonNull(resultHandler);
+
+        final JsonObject obj = data != null ? data : new JsonObject().put(FIELD_ENABLED, Boolean.TRUE);
+        execute(true, () -> {
+            final String key = getDeviceKey(tenantId, deviceId);
+            final AtomicInteger deviceCount = getDeviceCount(tenantId);
+            if (store.contains(key)) {
+                return RegistrationResult.from(HTTP_CONFLICT);
+            } else if (deviceCount.get() >= getConfig().getMaxDevicesPerTenant()) {
+                return RegistrationResult.from(HTTP_FORBIDDEN);
+            } else {
+                store.write(Collections.singletonMap(key, obj.toBuffer().getBytes()));
+                deviceCount.incrementAndGet();
+                return RegistrationResult.from(HTTP_CREATED);
+            }
+        }, resultHandler);
+    }
+
+    @Override
+    public void updateDevice(final String tenantId, final String deviceId, final JsonObject data,
+            final Handler<AsyncResult<RegistrationResult>> resultHandler) {
+
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(deviceId);
+        Objects.requireNonNull(resultHandler);
+
+        if (!getConfig().isModificationEnabled()) {
+            resultHandler.handle(Future.succeededFuture(RegistrationResult.from(HTTP_FORBIDDEN)));
+            return;
+        }
+        final JsonObject obj = data != null ? data : new JsonObject().put(FIELD_ENABLED, Boolean.TRUE);
+        execute(true, () -> {
+            final String key = getDeviceKey(tenantId, deviceId);
+            if (store.contains(key)) {
+                store.write(Collections.singletonMap(key, obj.toBuffer().getBytes()));
+                return RegistrationResult.from(HTTP_NO_CONTENT);
+            } else {
+                return RegistrationResult.from(HTTP_NOT_FOUND);
+            }
+        }, resultHandler);
+    }
+
+    @Override
+    public void removeDevice(final String tenantId, final String deviceId,
+            final Handler<AsyncResult<RegistrationResult>> resultHandler) {
+
+        Objects.requireNonNull(tenantId);
+        Objects.requireNonNull(deviceId);
+        Objects.requireNonNull(resultHandler);
+
+        if (!getConfig().isModificationEnabled()) {
+            resultHandler.handle(Future.succeededFuture(RegistrationResult.from(HTTP_FORBIDDEN)));
+            return;
+        }
+        execute(true, () -> {
+            final String key = getDeviceKey(tenantId, deviceId);
+            if (store.contains(key)) {
+                store.write(Collections.singletonMap(key, null));
+                getDeviceCount(tenantId).decrementAndGet();
+                return RegistrationResult.from(HTTP_NO_CONTENT);
+            } else {
+                return RegistrationResult.from(HTTP_NOT_FOUND);
+            }
+        }, resultHandler);
+    }
+
+    private AtomicInteger getDeviceCount(final String tenantId) {
+        return deviceCounts.computeIfAbsent(tenantId, id -> {
+            final AtomicInteger count = new AtomicInteger();
+            store.forEachKey(getTenantPrefix(id), key -> {
+                count.incrementAndGet();
+                return true;
+            });
+            return count;
+        });
+    }
+
+    /**
+     * Runs an operation on the store on a worker thread.
+     * <p>
+     * Operations that modify the store are run on the service's context in the order
+     * in which they have been invoked.
+     */
+    private void execute(
+            final boolean modifying,
+            final Callable<RegistrationResult> operation,
+            final Handler<AsyncResult<RegistrationResult>> resultHandler) {
+
+        context.executeBlocking(KeyValueStoreSupport.toBlockingCode(operation), modifying, resultHandler);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[store=%s]", KeyValueRegistrationService.class.getSimpleName(), store);
+    }
+}
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.deviceregistry;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * A key-value store that the device registry's services keep their data in.
+ * <p>
+ * Implementations are expected to be thread safe. The methods of this interface
+ * may block the invoking thread while accessing the underlying storage and
+ * must therefore not be invoked on a vert.x event loop thread.
+ */
+public interface KeyValueStore {
+
+    /**
+     * Opens the store.
+     * <p>
+     * This method is expected to be idempotent.
+     *
+     * @throws IOException if the store cannot be opened.
+     */
+    void open() throws IOException;
+
+    /**
+     * Gets the value stored under a key.
+     *
+     * @param key The key.
+     * @return The value or {@code null} if no value is stored under the key.
+     * @throws NullPointerException if key is {@code null}.
+     * @throws IOException if the value cannot be read.
+     */
+    byte[] get(String key) throws IOException;
+
+    /**
+     * Checks if a value is stored under a key.
+     *
+     * @param key The key.
+     * @return {@code true} if a value is stored under the key.
+     * @throws NullPointerException if key is {@code null}.
+     */
+    boolean contains(String key);
+
+    /**
+     * Atomically applies a set of changes to the store.
+     * <p>
+     * Either all or none of the changes are applied, even if the process crashes
+     * while the changes are being written.
+     *
+     * @param changes The changes to apply. A {@code null} value indicates that
+     *                the key is to be removed.
+     * @throws NullPointerException if changes is {@code null}.
+     * @throws IOException if the changes cannot be written.
+     */
+    void write(Map<String, byte[]> changes) throws IOException;
+
+    /**
+     * Iterates over the keys that start with a prefix in ascending order.
+     * <p>
+     * The iteration reflects the state of the store at some point at or
+     * since the invocation of this method.
+     *
+     * @param prefix The prefix.
+     * @param consumer The consumer to invoke with each key. The iteration
+     *                 stops if the consumer returns {@code false}.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    void forEachKey(String prefix, Predicate<String> consumer);
+
+    /**
+     * Closes the store.
+     *
+     * @throws IOException if the store cannot be closed.
+     */
+    void close() throws IOException;
+}
@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.deviceregistry;
+
+import java.util.Objects;
+
+/**
+ * Configuration properties for the {@link FileKeyValueStore}.
+ *
+ */
+public final class KeyValueStoreConfigProperties {
+
+    /**
+     * The default path of the store's file.
+     */
+    public static final String DEFAULT_PATH = "/var/lib/hono/device-registry/registry.db";
+    /**
+     * The default minimum size of the store's file (bytes) before it is compacted.
+     */
+    public static final long DEFAULT_MIN_COMPACTION_SIZE = 64 * 1024 * 1024; // 64 MB
+
+    private String path = DEFAULT_PATH;
+    private boolean syncWrites = false;
+    private long minCompactionSize = DEFAULT_MIN_COMPACTION_SIZE;
+
+    /**
+     * Gets the path to the file that the store keeps its data in.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_PATH}.
+     *
+     * @return The path.
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Sets the path to the file that the store keeps its data in.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_PATH}.
+     *
+     * @param path The path.
+     * @throws NullPointerException if path is {@code null}.
+     */
+    public void setPath(final String path) {
+        this.path = Objects.requireNonNull(path);
+    }
+
+    /**
+     * Checks whether changes are flushed to the storage device before a write
+     * operation completes.
+     * <p>
+     * If {@code false}, changes that have been written shortly before the operating
+     * system crashes may get lost. Changes are never lost if only the process crashes.
+     * <p>
+     * The default value of this property is {@code false}.
+     *
+     * @return {@code true} if changes are flushed on every write.
+     */
+    public boolean isSyncWrites() {
+        return syncWrites;
+    }
+
+    /**
+     * Sets whether changes are flushed to the storage device before a write
+     * operation completes.
+     * <p>
+     * The default value of this property is {@code false}.
+     *
+     * @param syncWrites {@code true} if changes should be flushed on every write.
+     */
+    public void setSyncWrites(final boolean syncWrites) {
+        this.syncWrites = syncWrites;
+    }
+
+    /**
+     * Gets the minimum size of the store's file before obsolete entries are
+     * removed from it.
+     * <p>
+     * The file is compacted once it has reached this size and more than half of
+     * it is occupied by obsolete entries.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_MIN_COMPACTION_SIZE}.
+     *
+     * @return The number of bytes.
+     */
+    public long getMinCompactionSize() {
+        return minCompactionSize;
+    }
+
+    /**
+     * Sets the minimum size of the store's file before obsolete entries are
+     * removed from it.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_MIN_COMPACTION_SIZE}.
+     *
+     * @param size The number of bytes.
+     * @throws IllegalArgumentException if size is &lt; 0.
+     */
+    public void setMinCompactionSize(final long size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("min compaction size must not be negative");
+        }
+        this.minCompactionSize = size;
+    }
+}
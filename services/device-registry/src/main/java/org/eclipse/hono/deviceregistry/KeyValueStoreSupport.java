@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.deviceregistry;
+
+import java.util.concurrent.Callable;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+
+/**
+ * Helper methods for services that keep their data in a {@link KeyValueStore}.
+ */
+final class KeyValueStoreSupport {
+
+    /**
+     * The character separating the segments of a key.
+     * <p>
+     * Identifiers never contain this character, so that a key prefix ending with
+     * the separator never matches the keys of another identifier.
+     */
+    static final char SEPARATOR = '\0';
+
+    private KeyValueStoreSupport() {
+        // prevent instantiation
+    }
+
+    /**
+     * Creates a key from segments.
+     *
+     * @param segments The segments.
+     * @return The segments joined by the {@link #SEPARATOR}.
+     */
+    static String key(final String... segments) {
+        return String.join(String.valueOf(SEPARATOR), segments);
+    }
+
+    /**
+     * Adapts an operation on a store to vert.x blocking code.
+     *
+     * @param <T> The type of the operation's result.
+     * @param operation The operation.
+     * @return The blocking code, failing its future if the operation throws an exception.
+     */
+    static <T> Handler<Future<T>> toBlockingCode(final Callable<T> operation) {
+        return future -> {
+            try {
+                future.complete(operation.call());
+            } catch (final Exception e) {
+                future.fail(e);
+            }
+        };
+    }
+}
@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.deviceregistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.apache.qpid.proton.amqp.transport.AmqpError;
+import org.apache.qpid.proton.amqp.transport.ErrorCondition;
+import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.config.ServiceConfigProperties;
+import org.eclipse.hono.service.amqp.AbstractAmqpEndpoint;
+import org.eclipse.hono.util.EventBusMessage;
+import org.eclipse.hono.util.MessageHelper;
+import org.eclipse.hono.util.RegistryNotificationConstants;
+import org.eclipse.hono.util.RequestResponseApiConstants;
+import org.eclipse.hono.util.ResourceIdentifier;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.proton.ProtonConnection;
+import io.vertx.proton.ProtonHelper;
+import io.vertx.proton.ProtonQoS;
+import io.vertx.proton.ProtonSender;
+
+/**
+ * An AMQP 1.0 endpoint that notifies clients about changes of the registry's content.
+ * <p>
+ * Clients like protocol adapters open a link for receiving messages from the
+ * {@link RegistryNotificationConstants#NOTIFICATION_ENDPOINT} address in order to
+ * invalidate responses they have cached. The endpoint sends a pre-settled message
+ * for each change published to {@link RegistryReplication#EVENT_BUS_ADDRESS_CHANGES}.
+ * Please refer to {@link RegistryNotificationConstants} for the format of the messages.
+ * <p>
+ * Notifications are not buffered. If a client has run out of credit, its link is closed
+ * so that the client can re-establish the link and discard all of its cached responses.
+ */
+public final class NotificationAmqpEndpoint extends AbstractAmqpEndpoint<ServiceConfigProperties> {
+
+    private final List<NotificationLink> links = new ArrayList<>();
+
+    /**
+     * Creates a new endpoint.
+     *
+     * @param vertx The vert.x instance to use.
+     * @throws NullPointerException if vertx is {@code null}.
+     */
+    public NotificationAmqpEndpoint(final Vertx vertx) {
+        super(vertx);
+    }
+
+    @Override
+    public String getName() {
+        return RegistryNotificationConstants.NOTIFICATION_ENDPOINT;
+    }
+
+    @Override
+    protected boolean passesFormalVerification(final ResourceIdentifier targetAddress, final Message message) {
+        // clients do not send any messages
+        return false;
+    }
+
+    @Override
+    public void onLinkAttach(final ProtonConnection con, final ProtonSender sender, final ResourceIdentifier sourceAddress) {
+
+        logger.debug("client [container: {}] has opened link for receiving notifications", con.getRemoteContainer());
+        final NotificationLink link = new NotificationLink(con, sender);
+        links.add(link);
+        sender.setQoS(ProtonQoS.AT_MOST_ONCE);
+        sender.closeHandler(remoteClose -> link.close(null));
+        sender.open();
+        link.start();
+    }
+
+    @Override
+    public void onConnectionClosed(final ProtonConnection connection) {
+        Objects.requireNonNull(connection);
+        new ArrayList<>(links).stream()
+            .filter(link -> link.connection == connection)
+            .forEach(link -> link.close(null));
+    }
+
+    /**
+     * Creates the notification for a change of the registry's content.
+     *
+     * @param change The change as published to {@link RegistryReplication#EVENT_BUS_ADDRESS_CHANGES}.
+     * @return The notification.
+     */
+    static Message newNotification(final JsonObject change) {
+
+        final Message message = ProtonHelper.message();
+        message.setSubject(change.getString(RegistryReplication.FIELD_API));
+        Optional.ofNullable(change.getJsonObject(RegistryReplication.FIELD_CHANGE)).ifPresent(json -> {
+            final EventBusMessage request = EventBusMessage.fromJson(json);
+            final String deviceId = Optional.ofNullable(request.getDeviceId()).orElseGet(() -> {
+                // credentials requests convey the device ID in the payload
+                final JsonObject payload = request.getJsonPayload();
+                return payload == null ? null : payload.getString(RequestResponseApiConstants.FIELD_PAYLOAD_DEVICE_ID);
+            });
+            Optional.ofNullable(request.getTenant()).ifPresent(id -> MessageHelper.addTenantId(message, id));
+            Optional.ofNullable(deviceId).ifPresent(id -> MessageHelper.addDeviceId(message, id));
+        });
+        return message;
+    }
+
+    /**
+     * A link to a client.
+     */
+    private final class NotificationLink {
+
+        private final ProtonConnection connection;
+        private final ProtonSender sender;
+        private MessageConsumer<JsonObject> changeConsumer;
+        private boolean closed;
+
+        NotificationLink(final ProtonConnection connection, final ProtonSender sender) {
+            this.connection = connection;
+            this.sender = sender;
+        }
+
+        void start() {
+            changeConsumer = vertx.eventBus().consumer(RegistryReplication.EVENT_BUS_ADDRESS_CHANGES, msg -> {
+                if (closed) {
+                    return;
+                } else if (sender.sendQueueFull()) {
+                    logger.info("client [container: {}] does not keep up with notifications, closing link",
+                            connection.getRemoteContainer());
+                    close(ProtonHelper.condition(AmqpError.RESOURCE_LIMIT_EXCEEDED, "client has run out of credit"));
+                } else {
+                    sender.send(newNotification(msg.body()));
+                }
+            });
+        }
+
+        void close(final ErrorCondition error) {
+            if (!closed) {
+                closed = true;
+                links.remove(this);
+                if (changeConsumer != null) {
+                    changeConsumer.unregister();
+                }
+                if (sender.isOpen()) {
+                    onLinkDetach(sender, error);
+                }
+            }
+        }
+    }
+}
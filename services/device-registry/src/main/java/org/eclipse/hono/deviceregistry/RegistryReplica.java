@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.deviceregistry;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.connection.ConnectionFactory;
+import org.eclipse.hono.service.HealthCheckProvider;
+import org.eclipse.hono.util.MessageHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.healthchecks.HealthCheckHandler;
+import io.vertx.ext.healthchecks.Status;
+import io.vertx.proton.ProtonConnection;
+import io.vertx.proton.ProtonQoS;
+import io.vertx.proton.ProtonReceiver;
+
+/**
+ * Keeps the content of a replica's registry services in sync with the primary registry.
+ * <p>
+ * The replica connects to the primary's {@link ReplicationAmqpEndpoint} and forwards the
+ * snapshots and changes received from the primary to the services. The connection is
+ * re-established if it is lost, in which case the primary sends fresh snapshots. The
+ * replica also re-connects if a service could not apply a change, i.e. its content
+ * has diverged from the primary's content.
+ * <p>
+ * The replica is considered <em>ready</em> once it has received the snapshots of all
+ * services on its current connection.
+ */
+public final class RegistryReplica extends AbstractVerticle implements HealthCheckProvider {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RegistryReplica.class);
+
+    private final ReplicationConfigProperties config;
+    private final ConnectionFactory connectionFactory;
+    private final Set<String> receivedSnapshots = new HashSet<>();
+    private ProtonConnection connection;
+    private boolean stopped;
+
+    /**
+     * Creates a new replica.
+     *
+     * @param config The configuration for connecting to the primary.
+     * @param connectionFactory The factory to use for connecting to the primary.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    public RegistryReplica(final ReplicationConfigProperties config, final ConnectionFactory connectionFactory) {
+        this.config = Objects.requireNonNull(config);
+        this.connectionFactory = Objects.requireNonNull(connectionFactory);
+    }
+
+    @Override
+    public void start() {
+        vertx.eventBus().<String>consumer(RegistryReplication.EVENT_BUS_ADDRESS_RESYNC, msg -> {
+            LOG.info("service could not apply change received from primary registry, re-synchronizing [api: {}]",
+                    msg.body());
+            onConnectionLost();
+        });
+        connect();
+    }
+
+    @Override
+    public void stop() {
+        stopped = true;
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    private void connect() {
+
+        if (stopped) {
+            return;
+        }
+        receivedSnapshots.clear();
+        connectionFactory.connect(null, remoteClose -> onConnectionLost(), con -> onConnectionLost(), attempt -> {
+            if (attempt.failed()) {
+                LOG.debug("cannot connect to primary registry: {}", attempt.cause().getMessage());
+                reconnect();
+            } else {
+                connection = attempt.result();
+                LOG.info("connected to primary registry [{}:{}]", config.getHost(), config.getPort());
+                openReceiver();
+            }
+        });
+    }
+
+    private void openReceiver() {
+
+        final ProtonReceiver receiver = connection.createReceiver(ReplicationAmqpEndpoint.REPLICATION_ENDPOINT);
+        receiver.setQoS(ProtonQoS.AT_MOST_ONCE);
+        receiver.setPrefetch(config.getInitialCredits());
+        receiver.handler((delivery, message) -> handleMessage(message));
+        receiver.openHandler(remoteAttach -> {
+            if (remoteAttach.failed()) {
+                LOG.info("primary registry refused to open replication link", remoteAttach.cause());
+                onConnectionLost();
+            }
+        });
+        receiver.closeHandler(remoteDetach -> {
+            LOG.info("primary registry has closed replication link");
+            onConnectionLost();
+        });
+        receiver.open();
+    }
+
+    private void handleMessage(final Message message) {
+
+        final String api = MessageHelper.getApplicationProperty(message.getApplicationProperties(),
+                RegistryReplication.FIELD_API, String.class);
+        final Buffer payload = MessageHelper.getPayload(message);
+        if (api == null || payload == null) {
+            LOG.debug("discarding malformed message from primary registry");
+        } else if (ReplicationAmqpEndpoint.SUBJECT_SNAPSHOT.equals(message.getSubject())) {
+            receivedSnapshots.add(api);
+            vertx.eventBus().send(RegistryReplication.getApplyAddress(api),
+                    new JsonObject().put(RegistryReplication.FIELD_SNAPSHOT, payload.toJsonArray()));
+        } else if (ReplicationAmqpEndpoint.SUBJECT_CHANGE.equals(message.getSubject())) {
+            vertx.eventBus().send(RegistryReplication.getApplyAddress(api),
+                    new JsonObject().put(RegistryReplication.FIELD_CHANGE, payload.toJsonObject()));
+        }
+    }
+
+    private void onConnectionLost() {
+        if (connection != null) {
+            LOG.info("lost connection to primary registry");
+            connection.disconnectHandler(null);
+            connection.closeHandler(null);
+            connection.close();
+            connection = null;
+            reconnect();
+        }
+    }
+
+    private void reconnect() {
+        if (!stopped) {
+            vertx.setTimer(config.getReconnectInterval(), tid -> connect());
+        }
+    }
+
+    /**
+     * Checks if the snapshots of all services have been received from the primary.
+     *
+     * @return {@code true} if the replica is in sync with the primary.
+     */
+    boolean isSynchronized() {
+        return connection != null && receivedSnapshots.containsAll(ReplicationAmqpEndpoint.APIS);
+    }
+
+    /**
+     * Registers a check which succeeds if the replica is in sync with the primary.
+     */
+    @Override
+    public void registerReadinessChecks(final HealthCheckHandler readinessHandler) {
+        readinessHandler.register("registry-replication", status -> {
+            context.runOnContext(check -> status.tryComplete(isSynchronized() ? Status.OK() : Status.KO()));
+        });
+    }
+
+    @Override
+    public void registerLivenessChecks(final HealthCheckHandler livenessHandler) {
+        // nothing to check
+    }
+}
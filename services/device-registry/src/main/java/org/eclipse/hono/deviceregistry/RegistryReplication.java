@@ -0,0 +1,291 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.deviceregistry;
+
+import java.net.HttpURLConnection;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.eclipse.hono.client.ClientErrorException;
+import org.eclipse.hono.util.EventBusMessage;
+import org.eclipse.hono.util.RegistrationConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Replicates the content of the file based registry services from a <em>primary</em>
+ * registry to <em>replicas</em>.
+ * <p>
+ * The key-value store based services do not support replication but publish their
+ * changes by means of {@link #processAndPublish(Vertx, String, EventBusMessage, Function)}.
+ * <p>
+ * Each request that has successfully modified a service's content is published
+ * to {@link #EVENT_BUS_ADDRESS_CHANGES} on the vert.x event bus. On a primary, the
+ * changes are streamed to the replicas by means of the {@link ReplicationAmqpEndpoint}.
+ * The endpoint also retrieves a snapshot of each service's content for replicas that
+ * have just connected. Independent of the role, the {@link NotificationAmqpEndpoint}
+ * notifies clients about the changes.
+ * <p>
+ * On a replica, requests trying to modify a service's content are rejected. The
+ * {@link RegistryReplica} instead forwards the snapshots and changes received from
+ * the primary to the services which then apply them to their content, regardless
+ * of whether modification of the content has been disabled for clients. The changes
+ * applied are published as well, a restored snapshot is published as a change
+ * without a {@link #FIELD_CHANGE}. A change that cannot be applied indicates that the
+ * replica is out of sync, in which case {@link #EVENT_BUS_ADDRESS_RESYNC} is notified
+ * and the replica re-connects to the primary in order to receive fresh snapshots.
+ * <p>
+ * Snapshots and changes are exchanged between the services and the endpoint or
+ * replica over the local event bus, which delivers the messages sent from one
+ * context to another context in order.
+ */
+public final class RegistryReplication {
+
+    /**
+     * The event bus address that the changes of the services' content are published to.
+     */
+    public static final String EVENT_BUS_ADDRESS_CHANGES = "registry.replication.changes";
+    /**
+     * The name of the field containing the API of a change or snapshot.
+     */
+    public static final String FIELD_API = "api";
+    /**
+     * The name of the field containing a change.
+     */
+    public static final String FIELD_CHANGE = "change";
+    /**
+     * The name of the field containing a snapshot.
+     */
+    public static final String FIELD_SNAPSHOT = "snapshot";
+    /**
+     * The event bus address that a replica's services request a re-synchronization
+     * with the primary at if they could not apply a change.
+     */
+    public static final String EVENT_BUS_ADDRESS_RESYNC = "registry.replication.resync";
+
+    private static final String EVENT_BUS_ADDRESS_SNAPSHOT_PREFIX = "registry.replication.snapshot.";
+    private static final String EVENT_BUS_ADDRESS_APPLY_PREFIX = "registry.replication.apply.";
+    private static final Logger LOG = LoggerFactory.getLogger(RegistryReplication.class);
+
+    private final ReplicationConfigProperties.Role role;
+
+    /**
+     * Creates replication support for a role.
+     *
+     * @param config The replication configuration.
+     * @throws NullPointerException if config is {@code null}.
+     */
+    public RegistryReplication(final ReplicationConfigProperties config) {
+        this.role = Objects.requireNonNull(config).getRole();
+    }
+
+    /**
+     * Gets the role of this registry instance.
+     *
+     * @return The role.
+     */
+    public ReplicationConfigProperties.Role getRole() {
+        return role;
+    }
+
+    /**
+     * Gets the event bus address that a service's snapshots are requested at.
+     *
+     * @param api The name of the service's API.
+     * @return The address.
+     */
+    public static String getSnapshotAddress(final String api) {
+        return EVENT_BUS_ADDRESS_SNAPSHOT_PREFIX + api;
+    }
+
+    /**
+     * Gets the event bus address that snapshots and changes for a service are sent to.
+     *
+     * @param api The name of the service's API.
+     * @return The address.
+     */
+    public static String getApplyAddress(final String api) {
+        return EVENT_BUS_ADDRESS_APPLY_PREFIX + api;
+    }
+
+    /**
+     * Checks if a request may modify a service's content.
+     *
+     * @param request The request.
+     * @return {@code true} if the request's operation is neither <em>get</em> nor <em>assert</em>.
+     */
+    static boolean isModification(final EventBusMessage request) {
+        final String operation = request.getOperation();
+        return !RegistrationConstants.ACTION_GET.equals(operation) && !RegistrationConstants.ACTION_ASSERT.equals(operation);
+    }
+
+    /**
+     * Registers a service for replication.
+     * <p>
+     * This method must be invoked on the service's context.
+     *
+     * @param vertx The vert.x instance to register the event bus consumers with.
+     * @param api The name of the service's API.
+     * @param snapshot The supplier of the service's current content.
+     * @param restore The consumer replacing the service's content with a snapshot.
+     * @param apply The function applying a change received from the primary to the
+     *              service's content. The function must not reject the change because
+     *              modification of the service's content has been disabled.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    public void register(
+            final Vertx vertx,
+            final String api,
+            final Supplier<JsonArray> snapshot,
+            final Consumer<JsonArray> restore,
+            final Function<EventBusMessage, Future<EventBusMessage>> apply) {
+
+        Objects.requireNonNull(vertx);
+        Objects.requireNonNull(api);
+        Objects.requireNonNull(snapshot);
+        Objects.requireNonNull(restore);
+        Objects.requireNonNull(apply);
+
+        switch (role) {
+        case PRIMARY:
+            vertx.eventBus().<JsonObject>consumer(getSnapshotAddress(api), msg -> {
+                LOG.debug("creating snapshot [api: {}]", api);
+                msg.reply(snapshot.get());
+            });
+            break;
+        case REPLICA:
+            vertx.eventBus().<JsonObject>consumer(getApplyAddress(api), msg -> {
+                final JsonArray content = msg.body().getJsonArray(FIELD_SNAPSHOT);
+                if (content != null) {
+                    LOG.info("restoring snapshot received from primary [api: {}]", api);
+                    restore.accept(content);
+                    vertx.eventBus().publish(EVENT_BUS_ADDRESS_CHANGES, new JsonObject().put(FIELD_API, api));
+                } else {
+                    final EventBusMessage change = EventBusMessage.fromJson(msg.body().getJsonObject(FIELD_CHANGE));
+                    apply.apply(change).setHandler(applied -> {
+                        if (applied.failed()) {
+                            LOG.warn("cannot apply change received from primary [api: {}, operation: {}]",
+                                    api, change.getOperation(), applied.cause());
+                            vertx.eventBus().publish(EVENT_BUS_ADDRESS_RESYNC, api);
+                        } else if (!isSuccessful(applied.result())) {
+                            LOG.warn("cannot apply change received from primary [api: {}, operation: {}, status: {}]",
+                                    api, change.getOperation(), applied.result().getStatus());
+                            vertx.eventBus().publish(EVENT_BUS_ADDRESS_RESYNC, api);
+                        } else {
+                            publishIfSuccessful(vertx, api, change, applied.result());
+                        }
+                    });
+                }
+            });
+            break;
+        default:
+            // nothing to do
+        }
+    }
+
+    /**
+     * Handles a request received by a service.
+     * <p>
+     * On a replica, requests that modify the service's content are rejected with a 403.
+     * Otherwise, the requests that have modified the service's content are published
+     * to {@link #EVENT_BUS_ADDRESS_CHANGES}.
+     *
+     * @param vertx The vert.x instance to publish changes on.
+     * @param api The name of the service's API.
+     * @param request The request.
+     * @param processor The function processing the request on the service.
+     * @return The outcome of processing the request.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    public Future<EventBusMessage> handleRequest(
+            final Vertx vertx,
+            final String api,
+            final EventBusMessage request,
+            final Function<EventBusMessage, Future<EventBusMessage>> processor) {
+
+        Objects.requireNonNull(vertx);
+        Objects.requireNonNull(api);
+        Objects.requireNonNull(request);
+        Objects.requireNonNull(processor);
+
+        if (!isModification(request)) {
+            return processor.apply(request);
+        } else if (role == ReplicationConfigProperties.Role.REPLICA) {
+            return Future.failedFuture(new ClientErrorException(HttpURLConnection.HTTP_FORBIDDEN,
+                    "registry is a read-only replica"));
+        } else {
+            return processAndPublish(vertx, api, request, processor);
+        }
+    }
+
+    /**
+     * Processes a request and publishes it to {@link #EVENT_BUS_ADDRESS_CHANGES}
+     * if it has successfully modified a service's content.
+     * <p>
+     * Services that do not support replication use this method in order to
+     * notify clients about changes of their content.
+     *
+     * @param vertx The vert.x instance to publish changes on.
+     * @param api The name of the service's API.
+     * @param request The request.
+     * @param processor The function processing the request on the service.
+     * @return The outcome of processing the request.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    public static Future<EventBusMessage> processAndPublish(
+            final Vertx vertx,
+            final String api,
+            final EventBusMessage request,
+            final Function<EventBusMessage, Future<EventBusMessage>> processor) {
+
+        Objects.requireNonNull(vertx);
+        Objects.requireNonNull(api);
+        Objects.requireNonNull(request);
+        Objects.requireNonNull(processor);
+
+        if (!isModification(request)) {
+            return processor.apply(request);
+        } else {
+            return processor.apply(request).map(response -> {
+                publishIfSuccessful(vertx, api, request, response);
+                return response;
+            });
+        }
+    }
+
+    private static void publishIfSuccessful(
+            final Vertx vertx,
+            final String api,
+            final EventBusMessage request,
+            final EventBusMessage response) {
+
+        if (isSuccessful(response)) {
+            vertx.eventBus().publish(EVENT_BUS_ADDRESS_CHANGES, new JsonObject()
+                    .put(FIELD_API, api)
+                    .put(FIELD_CHANGE, request.toJson()));
+        }
+    }
+
+    private static boolean isSuccessful(final EventBusMessage response) {
+        final Integer status = response.getStatus();
+        return status != null && status >= 200 && status < 300;
+    }
+}
@@ -0,0 +1,213 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.deviceregistry;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import org.apache.qpid.proton.amqp.transport.AmqpError;
+import org.apache.qpid.proton.amqp.transport.ErrorCondition;
+import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.config.ServiceConfigProperties;
+import org.eclipse.hono.service.amqp.AbstractAmqpEndpoint;
+import org.eclipse.hono.util.CredentialsConstants;
+import org.eclipse.hono.util.MessageHelper;
+import org.eclipse.hono.util.RegistrationConstants;
+import org.eclipse.hono.util.ResourceIdentifier;
+import org.eclipse.hono.util.TenantConstants;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.proton.ProtonConnection;
+import io.vertx.proton.ProtonHelper;
+import io.vertx.proton.ProtonQoS;
+import io.vertx.proton.ProtonSender;
+
+/**
+ * An AMQP 1.0 endpoint that streams the content of a primary device registry to replicas.
+ * <p>
+ * A replica opens a link for receiving messages from the <em>replication</em> address.
+ * The endpoint first sends a snapshot of the content of each service (tenants, device
+ * registrations and credentials) and then each change made to the content. Snapshots
+ * and changes are sent pre-settled with a subject of {@link #SUBJECT_SNAPSHOT} or
+ * {@link #SUBJECT_CHANGE}, an application property {@link RegistryReplication#FIELD_API}
+ * indicating the service and a JSON body.
+ * <p>
+ * Changes are buffered while the replica has no credit. The link is closed if the
+ * number of buffered changes exceeds the configured maximum.
+ */
+public final class ReplicationAmqpEndpoint extends AbstractAmqpEndpoint<ServiceConfigProperties> {
+
+    /**
+     * The name of this endpoint.
+     */
+    public static final String REPLICATION_ENDPOINT = "replication";
+    /**
+     * The subject of messages containing a snapshot.
+     */
+    public static final String SUBJECT_SNAPSHOT = "snapshot";
+    /**
+     * The subject of messages containing a change.
+     */
+    public static final String SUBJECT_CHANGE = "change";
+    /**
+     * The names of the APIs whose content is replicated.
+     */
+    public static final List<String> APIS = Collections.unmodifiableList(Arrays.asList(
+            TenantConstants.TENANT_ENDPOINT,
+            RegistrationConstants.REGISTRATION_ENDPOINT,
+            CredentialsConstants.CREDENTIALS_ENDPOINT));
+
+    private final ReplicationConfigProperties replicationConfig;
+    private final List<ReplicaLink> links = new ArrayList<>();
+
+    /**
+     * Creates a new endpoint.
+     *
+     * @param vertx The vert.x instance to use.
+     * @param replicationConfig The replication configuration.
+     * @throws NullPointerException if any of the parameters is {@code null}.
+     */
+    public ReplicationAmqpEndpoint(final Vertx vertx, final ReplicationConfigProperties replicationConfig) {
+        super(vertx);
+        this.replicationConfig = Objects.requireNonNull(replicationConfig);
+    }
+
+    @Override
+    public String getName() {
+        return REPLICATION_ENDPOINT;
+    }
+
+    @Override
+    protected boolean passesFormalVerification(final ResourceIdentifier targetAddress, final Message message) {
+        // replicas do not send any messages
+        return false;
+    }
+
+    @Override
+    public void onLinkAttach(final ProtonConnection con, final ProtonSender sender, final ResourceIdentifier sourceAddress) {
+
+        logger.info("replica [container: {}] has opened link for receiving changes", con.getRemoteContainer());
+        final ReplicaLink link = new ReplicaLink(con, sender);
+        links.add(link);
+        sender.setQoS(ProtonQoS.AT_MOST_ONCE);
+        sender.closeHandler(remoteClose -> link.close(null));
+        sender.sendQueueDrainHandler(replenished -> link.flush());
+        sender.open();
+        link.start();
+    }
+
+    @Override
+    public void onConnectionClosed(final ProtonConnection connection) {
+        Objects.requireNonNull(connection);
+        new ArrayList<>(links).stream()
+            .filter(link -> link.connection == connection)
+            .forEach(link -> link.close(null));
+    }
+
+    private static Message newMessage(final String subject, final String api, final Buffer body) {
+        final Message message = ProtonHelper.message();
+        message.setSubject(subject);
+        MessageHelper.addProperty(message, RegistryReplication.FIELD_API, api);
+        MessageHelper.setPayload(message, MessageHelper.CONTENT_TYPE_APPLICATION_JSON, body);
+        return message;
+    }
+
+    /**
+     * A link to a replica.
+     */
+    private final class ReplicaLink {
+
+        private final ProtonConnection connection;
+        private final ProtonSender sender;
+        // the APIs for which the snapshot has not been sent yet
+        private final Set<String> pendingSnapshots = new HashSet<>(APIS);
+        private final Deque<Message> queue = new ArrayDeque<>();
+        private MessageConsumer<JsonObject> changeConsumer;
+        private boolean closed;
+
+        ReplicaLink(final ProtonConnection connection, final ProtonSender sender) {
+            this.connection = connection;
+            this.sender = sender;
+        }
+
+        void start() {
+            // register for changes before requesting the snapshots so that no change gets lost
+            changeConsumer = vertx.eventBus().consumer(RegistryReplication.EVENT_BUS_ADDRESS_CHANGES, msg -> {
+                final String api = msg.body().getString(RegistryReplication.FIELD_API);
+                // changes published before the snapshot has been created are already contained in it
+                if (!closed && !pendingSnapshots.contains(api)) {
+                    enqueue(newMessage(SUBJECT_CHANGE, api,
+                            msg.body().getJsonObject(RegistryReplication.FIELD_CHANGE).toBuffer()));
+                }
+            });
+            changeConsumer.completionHandler(registered -> APIS.forEach(this::requestSnapshot));
+        }
+
+        private void requestSnapshot(final String api) {
+            vertx.eventBus().<JsonArray>send(RegistryReplication.getSnapshotAddress(api), null, reply -> {
+                if (closed) {
+                    return;
+                } else if (reply.failed()) {
+                    logger.info("cannot create snapshot [api: {}]: {}", api, reply.cause().getMessage());
+                    close(ProtonHelper.condition(AmqpError.INTERNAL_ERROR, "cannot create snapshot"));
+                } else {
+                    pendingSnapshots.remove(api);
+                    enqueue(newMessage(SUBJECT_SNAPSHOT, api, reply.result().body().toBuffer()));
+                }
+            });
+        }
+
+        private void enqueue(final Message message) {
+            if (queue.size() >= replicationConfig.getMaxPendingChanges()) {
+                logger.info("replica [container: {}] does not keep up with changes, closing link",
+                        connection.getRemoteContainer());
+                close(ProtonHelper.condition(AmqpError.RESOURCE_LIMIT_EXCEEDED, "too many pending changes"));
+            } else {
+                queue.add(message);
+                flush();
+            }
+        }
+
+        void flush() {
+            while (!closed && !queue.isEmpty() && !sender.sendQueueFull()) {
+                sender.send(queue.poll());
+            }
+        }
+
+        void close(final ErrorCondition error) {
+            if (!closed) {
+                closed = true;
+                links.remove(this);
+                queue.clear();
+                if (changeConsumer != null) {
+                    changeConsumer.unregister();
+                }
+                if (sender.isOpen()) {
+                    onLinkDetach(sender, error);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.hono.deviceregistry;
+
+import java.util.Objects;
+
+import org.eclipse.hono.config.ClientConfigProperties;
+
+/**
+ * Configuration properties for replicating the content of the device registry.
+ * <p>
+ * The inherited client properties are used by a <em>replica</em> for connecting
+ * to the <em>primary</em> registry's AMQP endpoint.
+ */
+public class ReplicationConfigProperties extends ClientConfigProperties {
+
+    /**
+     * The default maximum number of changes buffered for a replica.
+     */
+    public static final int DEFAULT_MAX_PENDING_CHANGES = 10000;
+    /**
+     * The default number of milliseconds to wait before re-connecting to the primary.
+     */
+    public static final long DEFAULT_RECONNECT_INTERVAL = 1000L;
+
+    /**
+     * The role of a device registry instance with respect to replication.
+     */
+    public enum Role {
+        /**
+         * The registry neither publishes nor receives changes.
+         */
+        NONE,
+        /**
+         * The registry accepts modifications and streams them to its replicas.
+         */
+        PRIMARY,
+        /**
+         * The registry only serves read operations and receives its content from a primary.
+         */
+        REPLICA
+    }
+
+    private Role role = Role.NONE;
+    private int maxPendingChanges = DEFAULT_MAX_PENDING_CHANGES;
+    private long reconnectInterval = DEFAULT_RECONNECT_INTERVAL;
+
+    /**
+     * Gets the role of this registry instance.
+     * <p>
+     * The default value of this property is {@link Role#NONE}.
+     *
+     * @return The role.
+     */
+    public final Role getRole() {
+        return role;
+    }
+
+    /**
+     * Sets the role of this registry instance.
+     * <p>
+     * The default value of this property is {@link Role#NONE}.
+     *
+     * @param role The role.
+     * @throws NullPointerException if role is {@code null}.
+     */
+    public final void setRole(final Role role) {
+        this.role = Objects.requireNonNull(role);
+    }
+
+    /**
+     * Gets the maximum number of changes that a primary buffers for a replica
+     * which does not keep up with the rate of changes.
+     * <p>
+     * The link to a replica exceeding this number is closed. The replica then
+     * re-connects and starts over with a full snapshot of the registry's content.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_MAX_PENDING_CHANGES}.
+     *
+     * @return The number of changes.
+     */
+    public final int getMaxPendingChanges() {
+        return maxPendingChanges;
+    }
+
+    /**
+     * Sets the maximum number of changes that a primary buffers for a replica
+     * which does not keep up with the rate of changes.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_MAX_PENDING_CHANGES}.
+     *
+     * @param maxPendingChanges The number of changes.
+     * @throws IllegalArgumentException if the number is &lt; 1.
+     */
+    public final void setMaxPendingChanges(final int maxPendingChanges) {
+        if (maxPendingChanges < 1) {
+            throw new IllegalArgumentException("max pending changes must be > 0");
+        }
+        this.maxPendingChanges = maxPendingChanges;
+    }
+
+    /**
+     * Gets the time that a replica waits before re-connecting to the primary
+     * after the connection has been lost.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_RECONNECT_INTERVAL}.
+     *
+     * @return The number of milliseconds.
+     */
+    public final long getReconnectInterval() {
+        return reconnectInterval;
+    }
+
+    /**
+     * Sets the time that a replica waits before re-connecting to the primary
+     * after the connection has been lost.
+     * <p>
+     * The default value of this property is {@link #DEFAULT_RECONNECT_INTERVAL}.
+     *
+     * @param interval The number of milliseconds.
+     * @throws IllegalArgumentException if the interval is &lt; 1.
+     */
+    public final void setReconnectInterval(final long interval) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("reconnect interval must be > 0");
+        }
+        this.reconnectInterval = interval;
+    }
+}
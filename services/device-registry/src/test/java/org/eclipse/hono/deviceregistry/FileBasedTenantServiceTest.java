@@ -417,6 +417,48 @@ public class FileBasedTenantServiceTest {
         });
     }
 
+    /**
+     * Verifies that the service finds a tenant by the subject DN of the trusted CA
+     * it has been updated with and no longer finds it by the subject DN of its
+     * former trusted CA.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testGetForCertificateAuthorityReflectsUpdatedTrustedCa(final TestContext ctx) {
+
+        final X500Principal formerSubjectDn = new X500Principal("O=Eclipse, OU=Hono, CN=ca");
+        final X500Principal subjectDn = new X500Principal("O=Eclipse, OU=Hono, CN=new-ca");
+        final JsonObject tenant = buildTenantPayload("tenant")
+                .put(TenantConstants.FIELD_PAYLOAD_TRUSTED_CA, new JsonObject()
+                        .put(TenantConstants.FIELD_PAYLOAD_SUBJECT_DN, formerSubjectDn.getName(X500Principal.RFC2253))
+                        .put(TenantConstants.FIELD_PAYLOAD_PUBLIC_KEY, "NOTAPUBLICKEY"));
+        final JsonObject updatedTenant = buildTenantPayload("tenant")
+                .put(TenantConstants.FIELD_PAYLOAD_TRUSTED_CA, new JsonObject()
+                        .put(TenantConstants.FIELD_PAYLOAD_SUBJECT_DN, subjectDn.getName(X500Principal.RFC2253))
+                        .put(TenantConstants.FIELD_PAYLOAD_PUBLIC_KEY, "NOTAPUBLICKEY"));
+
+        addTenant("tenant", tenant).compose(ok -> {
+            final Future<TenantResult<JsonObject>> updateResult = Future.future();
+            svc.update("tenant", updatedTenant, updateResult.completer());
+            return updateResult;
+        }).map(updateResult -> {
+            ctx.assertEquals(HttpURLConnection.HTTP_NO_CONTENT, updateResult.getStatus());
+            svc.get(formerSubjectDn, ctx.asyncAssertSuccess(s -> {
+                assertThat(s.getStatus(), is(HttpURLConnection.HTTP_NOT_FOUND));
+            }));
+            // look up using a different (but equivalent) representation of the DN
+            svc.get(new X500Principal("o=eclipse,ou=hono,cn=new-ca"), ctx.asyncAssertSuccess(s -> {
+                assertThat(s.getStatus(), is(HttpURLConnection.HTTP_OK));
+                assertThat(s.getPayload().getString(TenantConstants.FIELD_PAYLOAD_TENANT_ID), is("tenant"));
+            }));
+            return null;
+        }).otherwise(t -> {
+            ctx.fail(t);
+            return null;
+        });
+    }
+
     /**
      * Verifies that the service removes tenants for a given tenantId.
      *
@@ -0,0 +1,220 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.hono.deviceregistry;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests verifying behavior of {@link FileKeyValueStore}.
+ *
+ */
+public class FileKeyValueStoreTest {
+
+    /**
+     * A folder for the store's file.
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private KeyValueStoreConfigProperties config;
+    private FileKeyValueStore store;
+
+    /**
+     * Sets up the fixture.
+     *
+     * @throws IOException if the store cannot be opened.
+     */
+    @Before
+    public void setUp() throws IOException {
+        config = new KeyValueStoreConfigProperties();
+        config.setPath(new File(folder.getRoot(), "registry.db").getAbsolutePath());
+        store = new FileKeyValueStore(config);
+        store.open();
+    }
+
+    /**
+     * Closes the store.
+     *
+     * @throws IOException if the store cannot be closed.
+     */
+    @After
+    public void tearDown() throws IOException {
+        store.close();
+    }
+
+    private static byte[] bytes(final String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void put(final String key, final String value) throws IOException {
+        store.write(Collections.singletonMap(key, value == null ? null : bytes(value)));
+    }
+
+    private void reopen() throws IOException {
+        store.close();
+        store = new FileKeyValueStore(config);
+        store.open();
+    }
+
+    /**
+     * Verifies that values can be written, overwritten and removed and that the
+     * changes survive re-opening the store.
+     *
+     * @throws IOException if the store cannot be accessed.
+     */
+    @Test
+    public void testWriteSurvivesReopening() throws IOException {
+
+        put("a", "one");
+        put("b", "two");
+        put("a", "three");
+        put("b", null);
+        assertArrayEquals(bytes("three"), store.get("a"));
+        assertNull(store.get("b"));
+
+        reopen();
+        assertArrayEquals(bytes("three"), store.get("a"));
+        assertFalse(store.contains("b"));
+    }
+
+    /**
+     * Verifies that the keys having a prefix are iterated in ascending order.
+     *
+     * @throws IOException if the store cannot be accessed.
+     */
+    @Test
+    public void testForEachKeyIteratesOverKeysWithPrefix() throws IOException {
+
+        put("dev\0t1\0b", "b");
+        put("dev\0t1\0a", "a");
+        put("dev\0t10\0c", "c");
+        put("dev\0t2\0d", "d");
+
+        final List<String> keys = new ArrayList<>();
+        store.forEachKey("dev\0t1\0", keys::add);
+        assertEquals(2, keys.size());
+        assertEquals("dev\0t1\0a", keys.get(0));
+        assertEquals("dev\0t1\0b", keys.get(1));
+    }
+
+    /**
+     * Verifies that an incompletely written batch of changes at the end of the
+     * file is discarded as a whole when the store is opened.
+     *
+     * @throws IOException if the store cannot be accessed.
+     */
+    @Test
+    public void testOpenDiscardsIncompleteBatch() throws IOException {
+
+        put("a", "one");
+        final long sizeBeforeBatch = store.getSize();
+        final Map<String, byte[]> batch = new HashMap<>();
+        batch.put("b", bytes("two"));
+        batch.put("c", bytes("three"));
+        store.write(batch);
+        final long sizeAfterBatch = store.getSize();
+        store.close();
+
+        // simulate a crash while the batch was written
+        try (RandomAccessFile raf = new RandomAccessFile(config.getPath(), "rw")) {
+            raf.setLength(sizeAfterBatch - 2);
+        }
+
+        store = new FileKeyValueStore(config);
+        store.open();
+        assertArrayEquals(bytes("one"), store.get("a"));
+        assertFalse(store.contains("b"));
+        assertFalse(store.contains("c"));
+        assertEquals(sizeBeforeBatch, store.getSize());
+
+        // and the store can be written to again
+        put("d", "four");
+        reopen();
+        assertArrayEquals(bytes("four"), store.get("d"));
+    }
+
+    /**
+     * Verifies that obsolete values are removed from the file once it has
+     * reached the minimum compaction size.
+     *
+     * @throws Exception if the store cannot be accessed.
+     */
+    @Test
+    public void testWriteCompactsFile() throws Exception {
+
+        config.setMinCompactionSize(1024);
+        reopen();
+
+        for (int i = 0; i < 100; i++) {
+            put("a", "value-" + i);
+            put("b" + i, "x");
+            put("b" + i, null);
+        }
+        store.awaitCompaction();
+        assertTrue(store.getSize() < 1024);
+        assertArrayEquals(bytes("value-99"), store.get("a"));
+
+        reopen();
+        assertArrayEquals(bytes("value-99"), store.get("a"));
+        assertFalse(store.contains("b99"));
+    }
+
+    /**
+     * Verifies that changes are written successfully even if the file
+     * cannot be compacted.
+     *
+     * @throws Exception if the store cannot be accessed.
+     */
+    @Test
+    public void testWriteSucceedsIfCompactionFails() throws Exception {
+
+        config.setMinCompactionSize(1024);
+        reopen();
+        // prevent the compaction file from being created
+        final File compactionFile = new File(config.getPath() + ".compact");
+        assertTrue(compactionFile.mkdir());
+        final File blocker = new File(compactionFile, "blocker");
+        assertTrue(blocker.createNewFile());
+
+        for (int i = 0; i < 100; i++) {
+            put("a", "value-" + i);
+        }
+        store.awaitCompaction();
+        assertTrue(store.getSize() >= 1024);
+        assertArrayEquals(bytes("value-99"), store.get("a"));
+
+        assertTrue(blocker.delete());
+        reopen();
+        assertArrayEquals(bytes("value-99"), store.get("a"));
+    }
+}
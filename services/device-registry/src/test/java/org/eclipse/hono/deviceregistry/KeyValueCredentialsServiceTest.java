@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.hono.deviceregistry;
+
+import java.io.File;
+import java.net.HttpURLConnection;
+
+import org.eclipse.hono.util.CredentialsConstants;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.rules.Timeout;
+import org.junit.runner.RunWith;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+
+/**
+ * Tests verifying behavior of {@link KeyValueCredentialsService}.
+ *
+ */
+@RunWith(VertxUnitRunner.class)
+public class KeyValueCredentialsServiceTest {
+
+    private static final String TENANT = "tenant";
+
+    /**
+     * Time out each test after 5 seconds.
+     */
+    @Rule
+    public Timeout timeout = Timeout.seconds(5);
+    /**
+     * A folder for the store's file.
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Vertx vertx;
+    private FileKeyValueStore store;
+    private KeyValueCredentialsService service;
+
+    /**
+     * Sets up the fixture.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Before
+    public void setUp(final TestContext ctx) {
+
+        vertx = Vertx.vertx();
+        final KeyValueStoreConfigProperties storeConfig = new KeyValueStoreConfigProperties();
+        storeConfig.setPath(new File(folder.getRoot(), "registry.db").getAbsolutePath());
+        store = new FileKeyValueStore(storeConfig);
+        service = new KeyValueCredentialsService();
+        service.setConfig(new FileBasedCredentialsConfigProperties());
+        service.setStore(store);
+        service.init(vertx, vertx.getOrCreateContext());
+        final Future<Void> startup = Future.future();
+        service.doStart(startup);
+        startup.setHandler(ctx.asyncAssertSuccess());
+    }
+
+    /**
+     * Closes the store and vert.x.
+     *
+     * @param ctx The vert.x test context.
+     * @throws Exception if the store cannot be closed.
+     */
+    @After
+    public void tearDown(final TestContext ctx) throws Exception {
+        store.close();
+        vertx.close(ctx.asyncAssertSuccess());
+    }
+
+    private static JsonObject newCredentials(final String deviceId, final String authId, final String type) {
+        return new JsonObject()
+                .put(CredentialsConstants.FIELD_PAYLOAD_DEVICE_ID, deviceId)
+                .put(CredentialsConstants.FIELD_AUTH_ID, authId)
+                .put(CredentialsConstants.FIELD_TYPE, type);
+    }
+
+    /**
+     * Verifies that adding credentials fails with a 409 if credentials of the same
+     * type and authentication identifier already exist.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testAddFailsForExistingCredentials(final TestContext ctx) {
+
+        service.add(TENANT, newCredentials("4711", "sensor", "psk"), ctx.asyncAssertSuccess(added -> {
+            ctx.assertEquals(HttpURLConnection.HTTP_CREATED, added.getStatus());
+        }));
+        service.add(TENANT, newCredentials("4712", "sensor", "psk"), ctx.asyncAssertSuccess(conflict -> {
+            ctx.assertEquals(HttpURLConnection.HTTP_CONFLICT, conflict.getStatus());
+        }));
+    }
+
+    /**
+     * Verifies that all credentials of a device can be retrieved and removed
+     * and that credentials re-assigned to another device are found for that device only.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testGetAllAndRemoveAllReflectDeviceOfCredentials(final TestContext ctx) {
+
+        final Future<Void> result = Future.future();
+        service.add(TENANT, newCredentials("4711", "sensor", "psk"), ctx.asyncAssertSuccess());
+        service.add(TENANT, newCredentials("4711", "sensor", "hashed-password"), ctx.asyncAssertSuccess());
+        service.add(TENANT, newCredentials("4711", "other", "psk"), ctx.asyncAssertSuccess());
+        // modifications are applied in order, so the update completes after the additions
+        service.update(TENANT, newCredentials("4712", "other", "psk"), ctx.asyncAssertSuccess(updated -> {
+            ctx.assertEquals(HttpURLConnection.HTTP_NO_CONTENT, updated.getStatus());
+            service.getAll(TENANT, "4711", ctx.asyncAssertSuccess(found -> {
+                ctx.assertEquals(HttpURLConnection.HTTP_OK, found.getStatus());
+                ctx.assertEquals(2, found.getPayload().getInteger(CredentialsConstants.FIELD_CREDENTIALS_TOTAL));
+                service.removeAll(TENANT, "4711", ctx.asyncAssertSuccess(removed -> {
+                    ctx.assertEquals(HttpURLConnection.HTTP_NO_CONTENT, removed.getStatus());
+                    service.get(TENANT, "psk", "sensor", ctx.asyncAssertSuccess(notFound -> {
+                        ctx.assertEquals(HttpURLConnection.HTTP_NOT_FOUND, notFound.getStatus());
+                        service.getAll(TENANT, "4712", ctx.asyncAssertSuccess(other -> {
+                            ctx.assertEquals(1, other.getPayload().getInteger(CredentialsConstants.FIELD_CREDENTIALS_TOTAL));
+                            result.complete();
+                        }));
+                    }));
+                }));
+            }));
+        }));
+        result.setHandler(ctx.asyncAssertSuccess());
+    }
+}
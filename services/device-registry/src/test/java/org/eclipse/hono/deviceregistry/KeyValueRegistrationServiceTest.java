@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.hono.deviceregistry;
+
+import java.io.File;
+import java.net.HttpURLConnection;
+
+import org.eclipse.hono.util.EventBusMessage;
+import org.eclipse.hono.util.RegistrationConstants;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.rules.Timeout;
+import org.junit.runner.RunWith;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+
+/**
+ * Tests verifying behavior of {@link KeyValueRegistrationService}.
+ *
+ */
+@RunWith(VertxUnitRunner.class)
+public class KeyValueRegistrationServiceTest {
+
+    private static final String TENANT = "tenant";
+
+    /**
+     * Time out each test after 5 seconds.
+     */
+    @Rule
+    public Timeout timeout = Timeout.seconds(5);
+    /**
+     * A folder for the store's file.
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Vertx vertx;
+    private FileBasedRegistrationConfigProperties props;
+    private FileKeyValueStore store;
+    private KeyValueRegistrationService service;
+
+    /**
+     * Sets up the fixture.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Before
+    public void setUp(final TestContext ctx) {
+
+        vertx = Vertx.vertx();
+        final KeyValueStoreConfigProperties storeConfig = new KeyValueStoreConfigProperties();
+        storeConfig.setPath(new File(folder.getRoot(), "registry.db").getAbsolutePath());
+        store = new FileKeyValueStore(storeConfig);
+        props = new FileBasedRegistrationConfigProperties();
+        props.setMaxDevicesPerTenant(2);
+        service = new KeyValueRegistrationService();
+        service.setConfig(props);
+        service.setStore(store);
+        service.init(vertx, vertx.getOrCreateContext());
+        final Future<Void> startup = Future.future();
+        service.doStart(startup);
+        startup.setHandler(ctx.asyncAssertSuccess());
+    }
+
+    /**
+     * Closes the store and vert.x.
+     *
+     * @param ctx The vert.x test context.
+     * @throws Exception if the store cannot be closed.
+     */
+    @After
+    public void tearDown(final TestContext ctx) throws Exception {
+        store.close();
+        vertx.close(ctx.asyncAssertSuccess());
+    }
+
+    /**
+     * Verifies that a device can be added, retrieved and removed.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testAddGetAndRemoveDevice(final TestContext ctx) {
+
+        final JsonObject data = new JsonObject().put("ep", "sensor");
+        final Future<Void> result = Future.future();
+        service.addDevice(TENANT, "4711", data, ctx.asyncAssertSuccess(added -> {
+            ctx.assertEquals(HttpURLConnection.HTTP_CREATED, added.getStatus());
+            service.getDevice(TENANT, "4711", ctx.asyncAssertSuccess(found -> {
+                ctx.assertEquals(HttpURLConnection.HTTP_OK, found.getStatus());
+                ctx.assertEquals("sensor", found.getPayload().getJsonObject("data").getString("ep"));
+                service.removeDevice(TENANT, "4711", ctx.asyncAssertSuccess(removed -> {
+                    ctx.assertEquals(HttpURLConnection.HTTP_NO_CONTENT, removed.getStatus());
+                    service.getDevice(TENANT, "4711", ctx.asyncAssertSuccess(notFound -> {
+                        ctx.assertEquals(HttpURLConnection.HTTP_NOT_FOUND, notFound.getStatus());
+                        result.complete();
+                    }));
+                }));
+            }));
+        }));
+        result.setHandler(ctx.asyncAssertSuccess());
+    }
+
+    /**
+     * Verifies that devices can no longer be added to a tenant once the maximum
+     * number of devices per tenant has been reached.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testAddDeviceFailsIfMaxDevicesPerTenantReached(final TestContext ctx) {
+
+        service.addDevice(TENANT, "1", null, ctx.asyncAssertSuccess());
+        service.addDevice(TENANT, "2", null, ctx.asyncAssertSuccess());
+        service.addDevice(TENANT, "3", null, ctx.asyncAssertSuccess(result -> {
+            ctx.assertEquals(HttpURLConnection.HTTP_FORBIDDEN, result.getStatus());
+        }));
+        service.addDevice("other-tenant", "3", null, ctx.asyncAssertSuccess(result -> {
+            ctx.assertEquals(HttpURLConnection.HTTP_CREATED, result.getStatus());
+        }));
+    }
+
+    /**
+     * Verifies that the service publishes the requests that have successfully
+     * modified its content so that clients can be notified about the changes.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testHandleRequestPublishesSuccessfulModifications(final TestContext ctx) {
+
+        final Async published = ctx.async();
+        vertx.eventBus().<JsonObject>consumer(RegistryReplication.EVENT_BUS_ADDRESS_CHANGES, msg -> {
+            ctx.assertEquals(RegistrationConstants.REGISTRATION_ENDPOINT, msg.body().getString(RegistryReplication.FIELD_API));
+            final EventBusMessage change = EventBusMessage.fromJson(msg.body().getJsonObject(RegistryReplication.FIELD_CHANGE));
+            ctx.assertEquals(RegistrationConstants.ACTION_DEREGISTER, change.getOperation());
+            published.complete();
+        }).completionHandler(ctx.asyncAssertSuccess(registered -> {
+            // neither a read request nor an unsuccessful modification is published
+            service.handleRequest(newRequest(RegistrationConstants.ACTION_GET));
+            service.handleRequest(newRequest(RegistrationConstants.ACTION_UPDATE));
+            service.addDevice(TENANT, "4711", null, ctx.asyncAssertSuccess(added -> {
+                service.handleRequest(newRequest(RegistrationConstants.ACTION_DEREGISTER));
+            }));
+        }));
+    }
+
+    private static EventBusMessage newRequest(final String operation) {
+        return EventBusMessage.forOperation(operation).setTenant(TENANT).setDeviceId("4711");
+    }
+}
@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.hono.deviceregistry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.apache.qpid.proton.message.Message;
+import org.eclipse.hono.util.CredentialsConstants;
+import org.eclipse.hono.util.EventBusMessage;
+import org.eclipse.hono.util.MessageHelper;
+import org.eclipse.hono.util.RequestResponseApiConstants;
+import org.eclipse.hono.util.TenantConstants;
+import org.junit.Test;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Tests verifying behavior of {@link NotificationAmqpEndpoint}.
+ *
+ */
+public class NotificationAmqpEndpointTest {
+
+    /**
+     * Verifies that the notification about a change of credentials contains
+     * the tenant and the device ID conveyed in the request's payload.
+     */
+    @Test
+    public void testNewNotificationContainsDeviceIdOfCredentials() {
+
+        final EventBusMessage request = EventBusMessage.forOperation(CredentialsConstants.CredentialsAction.add.toString())
+                .setTenant("tenant")
+                .setJsonPayload(new JsonObject().put(RequestResponseApiConstants.FIELD_PAYLOAD_DEVICE_ID, "4711"));
+        final Message notification = NotificationAmqpEndpoint.newNotification(new JsonObject()
+                .put(RegistryReplication.FIELD_API, CredentialsConstants.CREDENTIALS_ENDPOINT)
+                .put(RegistryReplication.FIELD_CHANGE, request.toJson()));
+
+        assertEquals(CredentialsConstants.CREDENTIALS_ENDPOINT, notification.getSubject());
+        assertEquals("tenant", MessageHelper.getTenantId(notification));
+        assertEquals("4711", MessageHelper.getDeviceId(notification));
+    }
+
+    /**
+     * Verifies that the notification about a restored snapshot does not contain
+     * a tenant, indicating that the whole content of the API may have changed.
+     */
+    @Test
+    public void testNewNotificationForSnapshotHasNoTenant() {
+
+        final Message notification = NotificationAmqpEndpoint.newNotification(new JsonObject()
+                .put(RegistryReplication.FIELD_API, TenantConstants.TENANT_ENDPOINT));
+
+        assertEquals(TenantConstants.TENANT_ENDPOINT, notification.getSubject());
+        assertNull(MessageHelper.getTenantId(notification));
+        assertNull(MessageHelper.getDeviceId(notification));
+    }
+}
@@ -0,0 +1,226 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.hono.deviceregistry;
+
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.hono.client.ServiceInvocationException;
+import org.eclipse.hono.util.EventBusMessage;
+import org.eclipse.hono.util.RegistrationConstants;
+import org.eclipse.hono.util.RequestResponseApiConstants;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import org.junit.runner.RunWith;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+
+/**
+ * Tests verifying behavior of {@link RegistryReplication}.
+ *
+ */
+@RunWith(VertxUnitRunner.class)
+public class RegistryReplicationTest {
+
+    private static final String API = RegistrationConstants.REGISTRATION_ENDPOINT;
+
+    /**
+     * Time out each test after 5 seconds.
+     */
+    @Rule
+    public Timeout timeout = Timeout.seconds(5);
+
+    private Vertx vertx;
+
+    /**
+     * Sets up the fixture.
+     */
+    @Before
+    public void setUp() {
+        vertx = Vertx.vertx();
+    }
+
+    /**
+     * Closes vert.x.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @After
+    public void tearDown(final TestContext ctx) {
+        vertx.close(ctx.asyncAssertSuccess());
+    }
+
+    private static RegistryReplication newReplication(final ReplicationConfigProperties.Role role) {
+        final ReplicationConfigProperties config = new ReplicationConfigProperties();
+        config.setRole(role);
+        return new RegistryReplication(config);
+    }
+
+    private static EventBusMessage newRequest(final String operation) {
+        return EventBusMessage.forOperation(operation).setTenant("tenant").setDeviceId("4711");
+    }
+
+    private static Future<EventBusMessage> succeed(final EventBusMessage request) {
+        return Future.succeededFuture(request.getResponse(HttpURLConnection.HTTP_CREATED));
+    }
+
+    /**
+     * Verifies that a replica rejects requests modifying a service's content
+     * but processes read requests.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testReplicaRejectsModifications(final TestContext ctx) {
+
+        final RegistryReplication replication = newReplication(ReplicationConfigProperties.Role.REPLICA);
+        replication.handleRequest(vertx, API, newRequest(RegistrationConstants.ACTION_REGISTER), RegistryReplicationTest::succeed)
+            .setHandler(ctx.asyncAssertFailure(t -> {
+                ctx.assertEquals(HttpURLConnection.HTTP_FORBIDDEN, ((ServiceInvocationException) t).getErrorCode());
+            }));
+        replication.handleRequest(vertx, API, newRequest(RegistrationConstants.ACTION_GET), RegistryReplicationTest::succeed)
+            .setHandler(ctx.asyncAssertSuccess());
+    }
+
+    /**
+     * Verifies that a primary publishes the requests that have successfully
+     * modified a service's content only.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testPrimaryPublishesSuccessfulModifications(final TestContext ctx) {
+
+        final RegistryReplication replication = newReplication(ReplicationConfigProperties.Role.PRIMARY);
+        final Async published = ctx.async();
+        vertx.eventBus().<JsonObject>consumer(RegistryReplication.EVENT_BUS_ADDRESS_CHANGES, msg -> {
+            ctx.assertEquals(API, msg.body().getString(RegistryReplication.FIELD_API));
+            final EventBusMessage change = EventBusMessage.fromJson(msg.body().getJsonObject(RegistryReplication.FIELD_CHANGE));
+            ctx.assertEquals(RegistrationConstants.ACTION_UPDATE, change.getOperation());
+            published.complete();
+        }).completionHandler(ctx.asyncAssertSuccess(registered -> {
+            replication.handleRequest(vertx, API, newRequest(RegistrationConstants.ACTION_GET), RegistryReplicationTest::succeed);
+            replication.handleRequest(vertx, API, newRequest(RegistrationConstants.ACTION_REGISTER),
+                    request -> Future.succeededFuture(request.getResponse(HttpURLConnection.HTTP_CONFLICT)));
+            replication.handleRequest(vertx, API, newRequest(RegistrationConstants.ACTION_UPDATE), RegistryReplicationTest::succeed);
+        }));
+    }
+
+    /**
+     * Verifies that a replica restores snapshots and applies changes in the order
+     * in which they have been received.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testReplicaAppliesSnapshotAndChangesInOrder(final TestContext ctx) {
+
+        final RegistryReplication replication = newReplication(ReplicationConfigProperties.Role.REPLICA);
+        final List<String> applied = new ArrayList<>();
+        final Async done = ctx.async();
+        vertx.runOnContext(go -> {
+            replication.register(vertx, API, JsonArray::new, snapshot -> applied.add("snapshot"), request -> {
+                applied.add(request.getOperation());
+                if (applied.size() == 3) {
+                    done.complete();
+                }
+                return succeed(request);
+            });
+            vertx.eventBus().send(RegistryReplication.getApplyAddress(API),
+                    new JsonObject().put(RegistryReplication.FIELD_SNAPSHOT, new JsonArray()));
+            vertx.eventBus().send(RegistryReplication.getApplyAddress(API),
+                    new JsonObject().put(RegistryReplication.FIELD_CHANGE, newRequest(RegistrationConstants.ACTION_REGISTER).toJson()));
+            vertx.eventBus().send(RegistryReplication.getApplyAddress(API),
+                    new JsonObject().put(RegistryReplication.FIELD_CHANGE, newRequest(RegistrationConstants.ACTION_DEREGISTER).toJson()));
+        });
+        done.await();
+        ctx.assertEquals("snapshot", applied.get(0));
+        ctx.assertEquals(RegistrationConstants.ACTION_REGISTER, applied.get(1));
+        ctx.assertEquals(RegistrationConstants.ACTION_DEREGISTER, applied.get(2));
+    }
+
+    /**
+     * Verifies that a replica's registration service applies the changes received
+     * from the primary even if modification of its content has been disabled.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testReplicaAppliesChangesIfModificationIsDisabled(final TestContext ctx) {
+
+        final FileBasedRegistrationConfigProperties props = new FileBasedRegistrationConfigProperties();
+        props.setModificationEnabled(false);
+        final FileBasedRegistrationService service = new FileBasedRegistrationService();
+        service.setConfig(props);
+        service.setReplication(newReplication(ReplicationConfigProperties.Role.REPLICA));
+        service.addDevice("tenant", "4711", new JsonObject().put(RequestResponseApiConstants.FIELD_ENABLED, Boolean.TRUE));
+        service.addDevice("tenant", "4712", null);
+
+        final Async deployed = ctx.async();
+        vertx.deployVerticle(service, ctx.asyncAssertSuccess(id -> deployed.complete()));
+        deployed.await();
+
+        final Async applied = ctx.async(2);
+        vertx.eventBus().<JsonObject>consumer(RegistryReplication.EVENT_BUS_ADDRESS_CHANGES, msg -> applied.countDown());
+        vertx.eventBus().consumer(RegistryReplication.EVENT_BUS_ADDRESS_RESYNC, msg -> ctx.fail("replica should not re-synchronize"));
+        vertx.eventBus().send(RegistryReplication.getApplyAddress(API),
+                new JsonObject().put(RegistryReplication.FIELD_CHANGE, newRequest(RegistrationConstants.ACTION_UPDATE)
+                        .setJsonPayload(new JsonObject().put(RequestResponseApiConstants.FIELD_ENABLED, Boolean.FALSE))
+                        .toJson()));
+        vertx.eventBus().send(RegistryReplication.getApplyAddress(API),
+                new JsonObject().put(RegistryReplication.FIELD_CHANGE, newRequest(RegistrationConstants.ACTION_DEREGISTER)
+                        .setDeviceId("4712")
+                        .toJson()));
+        applied.await();
+
+        ctx.assertFalse(service.getDevice("tenant", "4711").getPayload()
+                .getJsonObject(RegistrationConstants.FIELD_DATA).getBoolean(RequestResponseApiConstants.FIELD_ENABLED));
+        ctx.assertEquals(HttpURLConnection.HTTP_NOT_FOUND, service.getDevice("tenant", "4712").getStatus());
+        // requests from clients are still rejected
+        ctx.assertEquals(HttpURLConnection.HTTP_FORBIDDEN, service.removeDevice("tenant", "4711").getStatus());
+    }
+
+    /**
+     * Verifies that a replica requests a re-synchronization with the primary
+     * if a service does not successfully apply a change.
+     *
+     * @param ctx The vert.x test context.
+     */
+    @Test
+    public void testReplicaRequestsResyncIfChangeCannotBeApplied(final TestContext ctx) {
+
+        final RegistryReplication replication = newReplication(ReplicationConfigProperties.Role.REPLICA);
+        final Async resync = ctx.async();
+        vertx.eventBus().<String>consumer(RegistryReplication.EVENT_BUS_ADDRESS_RESYNC, msg -> {
+            ctx.assertEquals(API, msg.body());
+            resync.complete();
+        });
+        vertx.eventBus().consumer(RegistryReplication.EVENT_BUS_ADDRESS_CHANGES, msg -> ctx.fail("failed change should not be published"));
+        vertx.runOnContext(go -> {
+            replication.register(vertx, API, JsonArray::new, snapshot -> {},
+                    request -> Future.succeededFuture(request.getResponse(HttpURLConnection.HTTP_NOT_FOUND)));
+            vertx.eventBus().send(RegistryReplication.getApplyAddress(API),
+                    new JsonObject().put(RegistryReplication.FIELD_CHANGE, newRequest(RegistrationConstants.ACTION_DEREGISTER).toJson()));
+        });
+    }
+}
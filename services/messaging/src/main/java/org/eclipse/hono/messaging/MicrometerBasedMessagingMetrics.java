@@ -19,11 +19,13 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
+import org.eclipse.hono.service.metric.MeterCache;
 import org.eclipse.hono.service.metric.MicrometerBasedMetrics;
 import org.springframework.stereotype.Component;
 
 import com.google.common.util.concurrent.AtomicDouble;
 
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
 
@@ -39,6 +41,10 @@ public class MicrometerBasedMessagingMetrics extends MicrometerBasedMetrics impl
 
     private final AtomicLong downstreamConnections;
 
+    private final MeterCache<Counter> discardedMessages;
+    private final MeterCache<Counter> processedMessages;
+    private final MeterCache<Counter> undeliverableMessages;
+
     /**
      * Create a new metrics instance for messaging services.
      * 
@@ -52,6 +58,10 @@ public class MicrometerBasedMessagingMetrics extends MicrometerBasedMetrics impl
         Objects.requireNonNull(registry);
 
         this.downstreamConnections = registry.gauge("connections.downstream", new AtomicLong());
+
+        this.discardedMessages = counterCacheForAddress("hono.messages.discarded");
+        this.processedMessages = counterCacheForAddress("hono.messages.processed");
+        this.undeliverableMessages = counterCacheForAddress("hono.messages.underliverable");
     }
 
     @Override
@@ -107,30 +117,21 @@ public class MicrometerBasedMessagingMetrics extends MicrometerBasedMetrics impl
     @Override
     public final void incrementDiscardedMessages(final String address) {
 
-        this.registry.counter("hono.messages.discarded",
-                Tags
-                        .of("address", normalizeAddress(address)))
-                .increment();
+        this.discardedMessages.get(address).increment();
 
     }
 
     @Override
     public final void incrementProcessedMessages(final String address) {
 
-        this.registry.counter("hono.messages.processed",
-                Tags
-                        .of("address", normalizeAddress(address)))
-                .increment();
+        this.processedMessages.get(address).increment();
 
     }
 
     @Override
     public final void incrementUndeliverableMessages(final String address) {
 
-        this.registry.counter("hono.messages.underliverable",
-                Tags
-                        .of("address", normalizeAddress(address)))
-                .increment();
+        this.undeliverableMessages.get(address).increment();
 
     }
 
@@ -141,6 +142,14 @@ public class MicrometerBasedMessagingMetrics extends MicrometerBasedMetrics impl
 
     }
 
+    private MeterCache<Counter> counterCacheForAddress(final String name) {
+
+        return new MeterCache<>((address, type) -> this.registry.counter(name,
+                Tags
+                        .of("address", normalizeAddress(address))));
+
+    }
+
     private static String normalizeAddress(final String address) {
         return address.replace('/', '.');
     }